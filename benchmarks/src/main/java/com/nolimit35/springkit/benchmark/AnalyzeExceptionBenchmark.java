@@ -0,0 +1,69 @@
+package com.nolimit35.springkit.benchmark;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.service.ExceptionAnalyzerService;
+import com.nolimit35.springkit.trace.DefaultTraceInfoProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analysis of a captured exception: stack trace rendering, location lookup and enrichment against stubbed
+ * source control services, with enrichment run on the worker pool or inline on the calling thread
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyzeExceptionBenchmark {
+
+    @Param({"5", "50", "200"})
+    private int stackDepth;
+
+    @Param({"32", "4096"})
+    private int messageSize;
+
+    @Param({"true", "false"})
+    private boolean parallelEnrichment;
+
+    private ExceptionAnalyzerService analyzerService;
+    private RuntimeException exception;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ExceptionNotifyProperties properties = BenchmarkFixtures.properties();
+        properties.getEnrichment().setParallel(parallelEnrichment);
+        properties.getAi().setEnabled(true);
+        properties.getAi().setIncludeCodeContext(true);
+        analyzerService = new ExceptionAnalyzerService(
+                Collections.singletonList(new BenchmarkFixtures.StubSourceControlService()),
+                properties, new DefaultTraceInfoProvider(properties));
+        exception = BenchmarkFixtures.exception(stackDepth, messageSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        analyzerService.shutdown();
+    }
+
+    @Benchmark
+    public ExceptionInfo analyzeException() {
+        return analyzerService.analyzeException(exception, "0af7651916cd43dd8448eb211c80319c");
+    }
+}
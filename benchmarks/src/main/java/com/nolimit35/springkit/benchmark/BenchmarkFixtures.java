@@ -0,0 +1,118 @@
+package com.nolimit35.springkit.benchmark;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.CodeAuthorInfo;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.service.GitSourceControlService;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Shared inputs of the benchmarks
+ */
+final class BenchmarkFixtures {
+
+    private static final LocalDateTime COMMIT_TIME = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Properties with package filtering on the benchmark package, so the thrown frames count as application code
+     *
+     * @return properties
+     */
+    static ExceptionNotifyProperties properties() {
+        ExceptionNotifyProperties properties = new ExceptionNotifyProperties();
+        properties.getPackageFilter().setEnabled(true);
+        properties.getPackageFilter().setIncludePackages(Collections.singleton("com.nolimit35.springkit.benchmark"));
+        properties.getEnvironment().setCurrent("bench");
+        properties.getNotification().setMaxStacktraceLines(10);
+        return properties;
+    }
+
+    /**
+     * Create an exception thrown below the given number of frames of this class
+     *
+     * @param stackDepth number of application frames
+     * @param messageSize length of the exception message
+     * @return the exception
+     */
+    static RuntimeException exception(int stackDepth, int messageSize) {
+        try {
+            recurse(stackDepth, message(messageSize));
+            throw new AssertionError("unreachable");
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    private static void recurse(int depth, String message) {
+        if (depth <= 1) {
+            throw new IllegalStateException(message);
+        }
+        recurse(depth - 1, message);
+    }
+
+    private static String message(int size) {
+        char[] chars = new char[size];
+        Arrays.fill(chars, 'x');
+        return new String(chars);
+    }
+
+    /**
+     * Create the analyzed form of an exception, as handed to the formatters
+     *
+     * @param stackDepth number of application frames
+     * @param messageSize length of the exception message
+     * @return exception information
+     */
+    static ExceptionInfo exceptionInfo(int stackDepth, int messageSize) {
+        RuntimeException exception = exception(stackDepth, messageSize);
+        StringWriter writer = new StringWriter();
+        exception.printStackTrace(new PrintWriter(writer));
+        StackTraceElement top = exception.getStackTrace()[0];
+        return ExceptionInfo.builder()
+                .time(LocalDateTime.now())
+                .type(exception.getClass().getName())
+                .message(exception.getMessage())
+                .location(top.getClassName() + "." + top.getMethodName() + "(" + top.getFileName() + ":" + top.getLineNumber() + ")")
+                .stacktrace(writer.toString())
+                .traceId("0af7651916cd43dd8448eb211c80319c")
+                .appName("benchmark-app")
+                .environment("bench")
+                .authorInfo(authorInfo())
+                .build();
+    }
+
+    static CodeAuthorInfo authorInfo() {
+        return CodeAuthorInfo.builder()
+                .name("Bench Author")
+                .email("bench@example.com")
+                .lastCommitTime(COMMIT_TIME)
+                .fileName("com/nolimit35/springkit/benchmark/BenchmarkFixtures.java")
+                .lineNumber(42)
+                .commitMessage("Add benchmarks")
+                .build();
+    }
+
+    /**
+     * Source control stub answering from memory, so the benchmarks measure the library and not the network
+     */
+    static final class StubSourceControlService implements GitSourceControlService {
+
+        @Override
+        public CodeAuthorInfo getAuthorInfo(String fileName, int lineNumber) {
+            return authorInfo();
+        }
+
+        @Override
+        public String getCodeContext(String fileName, int lineNumber, int contextLines) {
+            return "        throw new IllegalStateException(message);";
+        }
+    }
+}
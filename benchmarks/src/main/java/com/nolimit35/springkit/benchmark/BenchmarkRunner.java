@@ -0,0 +1,149 @@
+package com.nolimit35.springkit.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of benchmarks.jar
+ * Runs the selected benchmarks with the GC profiler, so allocation rates (gc.alloc.rate.norm) are reported next to
+ * the scores, writes the JSON results and optionally saves them as a baseline or compares them against one.
+ * <pre>
+ * java -jar target/benchmarks.jar [jmh options] [--save baselines/NAME.json] [--baseline baselines/NAME.json] [--threshold 10]
+ * </pre>
+ * Any other argument is passed to JMH, e.g. a benchmark regex, {@code -p stackDepth=50} or {@code -t 8}.
+ * The process exits with status 2 when a score regressed by more than the threshold percentage.
+ */
+public final class BenchmarkRunner {
+
+    private static final String RESULT_FILE = "target/jmh-result.json";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>();
+        File save = null;
+        File baseline = null;
+        double threshold = 10;
+        for (int i = 0; i < args.length; i++) {
+            if ("--save".equals(args[i]) && i + 1 < args.length) {
+                save = new File(args[++i]);
+            } else if ("--baseline".equals(args[i]) && i + 1 < args.length) {
+                baseline = new File(args[++i]);
+            } else if ("--threshold".equals(args[i]) && i + 1 < args.length) {
+                threshold = Double.parseDouble(args[++i]);
+            } else {
+                jmhArgs.add(args[i]);
+            }
+        }
+
+        File result = new File(RESULT_FILE);
+        if (result.getParentFile() != null) {
+            result.getParentFile().mkdirs();
+        }
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(jmhArgs.toArray(new String[0])))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.getPath())
+                .build();
+        new Runner(options).run();
+
+        if (save != null) {
+            if (save.getParentFile() != null) {
+                save.getParentFile().mkdirs();
+            }
+            Files.copy(result.toPath(), save.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline saved to " + save);
+        }
+        if (baseline != null && compare(baseline, result, threshold) > 0) {
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Compare the primary scores and allocation rates of a run against a baseline
+     *
+     * @param baseline baseline JSON results
+     * @param current current JSON results
+     * @param threshold allowed regression in percent
+     * @return number of regressed benchmarks
+     * @throws IOException if a result file cannot be read
+     */
+    static int compare(File baseline, File current, double threshold) throws IOException {
+        Map<String, JsonNode> baselineResults = index(OBJECT_MAPPER.readTree(baseline));
+        Map<String, JsonNode> currentResults = index(OBJECT_MAPPER.readTree(current));
+
+        int regressions = 0;
+        System.out.printf("%n%-90s %14s %14s %9s %12s%n", "Benchmark", "Baseline", "Current", "Change", "Alloc B/op");
+        for (Map.Entry<String, JsonNode> entry : currentResults.entrySet()) {
+            JsonNode before = baselineResults.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            double afterScore = after.path("primaryMetric").path("score").asDouble();
+            double change = beforeScore == 0 ? 0 : (afterScore - beforeScore) * 100 / beforeScore;
+            // Throughput regresses downwards, times regress upwards
+            double regression = "thrpt".equals(after.path("mode").asText()) ? -change : change;
+
+            double beforeAlloc = allocationRate(before);
+            double afterAlloc = allocationRate(after);
+            double allocChange = beforeAlloc <= 0 ? 0 : (afterAlloc - beforeAlloc) * 100 / beforeAlloc;
+
+            boolean regressed = regression > threshold || allocChange > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %12.1f%s%n", entry.getKey(), beforeScore, afterScore,
+                    change, afterAlloc, regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d regression(s) above %.1f%%%n", regressions, threshold);
+        return regressions;
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                key.append(' ').append(field.getKey()).append('=').append(field.getValue().asText());
+            }
+            indexed.put(key.toString(), result);
+        }
+        return indexed;
+    }
+
+    private static double allocationRate(JsonNode result) {
+        // Profiler metric names carry a leading marker character, e.g. "\u00b7gc.alloc.rate.norm"
+        Iterator<Map.Entry<String, JsonNode>> metrics = result.path("secondaryMetrics").fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            if (metric.getKey().endsWith("gc.alloc.rate.norm")) {
+                return metric.getValue().path("score").asDouble();
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,95 @@
+package com.nolimit35.springkit.benchmark;
+
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.service.ExceptionDeduplicationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fingerprinting and the deduplication check under contention
+ * A small number of distinct keys makes every thread hit the same cache entries, as during an exception storm;
+ * the thread count is varied with the threaded methods or with {@code -t} on the command line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeduplicationBenchmark {
+
+    @Param({"1", "64", "4096"})
+    private int distinctKeys;
+
+    @Param({"32", "4096"})
+    private int messageSize;
+
+    private ExceptionDeduplicationService deduplicationService;
+    private ExceptionInfo[] exceptionInfos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        deduplicationService = new ExceptionDeduplicationService(BenchmarkFixtures.properties());
+        ExceptionInfo template = BenchmarkFixtures.exceptionInfo(20, messageSize);
+        exceptionInfos = new ExceptionInfo[distinctKeys];
+        for (int i = 0; i < distinctKeys; i++) {
+            exceptionInfos[i] = ExceptionInfo.builder()
+                    .time(template.getTime())
+                    .type(template.getType())
+                    .message(template.getMessage())
+                    .location(template.getLocation().replace(")", "") + i + ")")
+                    .stacktrace(template.getStacktrace())
+                    .build();
+        }
+    }
+
+    /**
+     * Per-thread cursor over the distinct keys
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        ExceptionInfo next(ExceptionInfo[] exceptionInfos) {
+            ExceptionInfo exceptionInfo = exceptionInfos[next];
+            next = next + 1 == exceptionInfos.length ? 0 : next + 1;
+            return exceptionInfo;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean shouldNotify1Thread(Cursor cursor) {
+        return deduplicationService.shouldNotify(cursor.next(exceptionInfos));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean shouldNotify4Threads(Cursor cursor) {
+        return deduplicationService.shouldNotify(cursor.next(exceptionInfos));
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean shouldNotify16Threads(Cursor cursor) {
+        return deduplicationService.shouldNotify(cursor.next(exceptionInfos));
+    }
+
+    @Benchmark
+    public String generateExceptionKey(Cursor cursor) {
+        return ExceptionDeduplicationService.generateExceptionKey(cursor.next(exceptionInfos));
+    }
+}
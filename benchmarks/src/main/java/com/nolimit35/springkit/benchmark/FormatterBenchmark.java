@@ -0,0 +1,68 @@
+package com.nolimit35.springkit.benchmark;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.formatter.DefaultNotificationFormatter;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.notification.provider.FeishuNotificationProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering of the notification text: the Markdown formatter shared by DingTalk and WeChat Work,
+ * and the plain text builder of the Feishu provider
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatterBenchmark {
+
+    @Param({"5", "50", "200"})
+    private int stackDepth;
+
+    @Param({"32", "4096"})
+    private int messageSize;
+
+    /**
+     * Maximum number of stack trace lines rendered, 0 renders all of them
+     */
+    @Param({"10", "0"})
+    private int maxStacktraceLines;
+
+    private DefaultNotificationFormatter formatter;
+    private FeishuNotificationProvider feishuProvider;
+    private ExceptionInfo exceptionInfo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ExceptionNotifyProperties properties = BenchmarkFixtures.properties();
+        properties.getNotification().setMaxStacktraceLines(maxStacktraceLines);
+        formatter = new DefaultNotificationFormatter(properties);
+        feishuProvider = new FeishuNotificationProvider(properties, formatter);
+        exceptionInfo = BenchmarkFixtures.exceptionInfo(stackDepth, messageSize);
+    }
+
+    @Benchmark
+    public String defaultFormat() {
+        return formatter.format(exceptionInfo);
+    }
+
+    @Benchmark
+    public String feishuText() {
+        return feishuProvider.buildText(exceptionInfo);
+    }
+}
@@ -0,0 +1,146 @@
+package com.nolimit35.springkit.agent;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static net.bytebuddy.matcher.ElementMatchers.isAbstract;
+import static net.bytebuddy.matcher.ElementMatchers.isBridge;
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.isMethod;
+import static net.bytebuddy.matcher.ElementMatchers.isNative;
+import static net.bytebuddy.matcher.ElementMatchers.isSynthetic;
+import static net.bytebuddy.matcher.ElementMatchers.nameContains;
+import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.none;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+
+/**
+ * Options of the java agent, given as -javaagent:exception-notify-agent.jar=&lt;options&gt;
+ * Options are separated by ';' and values by ',', for example
+ * packages=com.example.order,com.example.billing;excludes=com.example.order.dto;entry-points=com.example.Job#run
+ * <ul>
+ *     <li>packages: every method of the types in these packages and their subpackages is woven</li>
+ *     <li>entry-points: single methods, as type#method, woven in addition to the packages</li>
+ *     <li>excludes: packages or types left untouched</li>
+ * </ul>
+ */
+final class AgentArguments {
+    private final List<String> packages = new ArrayList<>();
+    private final List<String> entryPoints = new ArrayList<>();
+    private final List<String> excludes = new ArrayList<>();
+
+    private AgentArguments() {
+    }
+
+    static AgentArguments parse(String arguments) {
+        AgentArguments parsed = new AgentArguments();
+        if (arguments == null) {
+            return parsed;
+        }
+
+        for (String option : arguments.split(";")) {
+            if (option.trim().isEmpty()) {
+                continue;
+            }
+            int separator = option.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Agent option without value: " + option);
+            }
+            String name = option.substring(0, separator).trim();
+            List<String> values = split(option.substring(separator + 1));
+            switch (name) {
+                case "packages":
+                    parsed.packages.addAll(values);
+                    break;
+                case "entry-points":
+                    for (String entryPoint : values) {
+                        if (entryPoint.indexOf('#') <= 0 || entryPoint.endsWith("#")) {
+                            throw new IllegalArgumentException("Entry point is not type#method: " + entryPoint);
+                        }
+                    }
+                    parsed.entryPoints.addAll(values);
+                    break;
+                case "excludes":
+                    parsed.excludes.addAll(values);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown agent option: " + name);
+            }
+        }
+        return parsed;
+    }
+
+    private static List<String> split(String values) {
+        List<String> result = new ArrayList<>();
+        for (String value : values.split(",")) {
+            if (!value.trim().isEmpty()) {
+                result.add(value.trim());
+            }
+        }
+        return result;
+    }
+
+    boolean isEmpty() {
+        return packages.isEmpty() && entryPoints.isEmpty();
+    }
+
+    List<String> getPackages() {
+        return Collections.unmodifiableList(packages);
+    }
+
+    List<String> getEntryPoints() {
+        return Collections.unmodifiableList(entryPoints);
+    }
+
+    /**
+     * Types to weave: those in the packages or declaring an entry point, except excluded ones and generated
+     * proxies such as CGLIB subclasses, whose calls already pass through the woven original
+     */
+    ElementMatcher.Junction<TypeDescription> typeMatcher() {
+        ElementMatcher.Junction<TypeDescription> excluded = nameContains("$$");
+        for (String exclude : excludes) {
+            excluded = excluded.or(named(exclude)).or(nameStartsWith(exclude + "."));
+        }
+        return inPackages().or(entryPointTypes()).and(not(excluded));
+    }
+
+    /**
+     * Methods to weave within the matched types, constructors and type initializers are left alone
+     */
+    ElementMatcher.Junction<MethodDescription> methodMatcher() {
+        ElementMatcher.Junction<MethodDescription> selected = isDeclaredBy(inPackages());
+        for (String entryPoint : entryPoints) {
+            int separator = entryPoint.indexOf('#');
+            selected = selected.or(named(entryPoint.substring(separator + 1))
+                    .and(isDeclaredBy(named(entryPoint.substring(0, separator)))));
+        }
+        return isMethod()
+                .and(not(isAbstract()))
+                .and(not(isNative()))
+                .and(not(isSynthetic()))
+                .and(not(isBridge()))
+                .and(selected);
+    }
+
+    private ElementMatcher.Junction<TypeDescription> inPackages() {
+        ElementMatcher.Junction<TypeDescription> matcher = none();
+        for (String packageName : packages) {
+            matcher = matcher.or(nameStartsWith(packageName + "."));
+        }
+        return matcher;
+    }
+
+    private ElementMatcher.Junction<TypeDescription> entryPointTypes() {
+        ElementMatcher.Junction<TypeDescription> matcher = none();
+        for (String entryPoint : entryPoints) {
+            matcher = matcher.or(named(entryPoint.substring(0, entryPoint.indexOf('#'))));
+        }
+        return matcher;
+    }
+}
@@ -0,0 +1,101 @@
+package com.nolimit35.springkit.agent;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.loading.ClassInjector;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.instrument.Instrumentation;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static net.bytebuddy.matcher.ElementMatchers.isSynthetic;
+import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
+
+/**
+ * Java agent capturing exceptions without Spring AOP proxies
+ * Methods of the configured packages and entry points are woven at class load time with
+ * {@link ThrownExceptionAdvice}; exceptions leaving them go through {@link ExceptionNotifyAgentBridge} to the
+ * notification pipeline, registered by the starter or ExceptionNotifier when exception.notify.capture.mode=agent.
+ * Started with -javaagent:exception-notify-agent.jar=packages=com.example.order, see {@link AgentArguments}.
+ */
+public final class ExceptionNotifyAgent {
+    private static final String BRIDGE_CLASS = "com.nolimit35.springkit.agent.ExceptionNotifyAgentBridge";
+    private static final String LOG_PREFIX = "[exception-notify-agent] ";
+
+    private ExceptionNotifyAgent() {
+    }
+
+    public static void premain(String arguments, Instrumentation instrumentation) {
+        install(arguments, instrumentation);
+    }
+
+    /**
+     * Attach to a running JVM, classes that are already loaded are retransformed
+     */
+    public static void agentmain(String arguments, Instrumentation instrumentation) {
+        install(arguments, instrumentation);
+    }
+
+    private static void install(String arguments, Instrumentation instrumentation) {
+        AgentArguments parsed;
+        try {
+            parsed = AgentArguments.parse(arguments);
+        } catch (IllegalArgumentException e) {
+            System.err.println(LOG_PREFIX + e.getMessage() + ", no class is woven");
+            return;
+        }
+        if (parsed.isEmpty()) {
+            System.err.println(LOG_PREFIX + "No packages or entry-points configured, no class is woven");
+            return;
+        }
+
+        try {
+            injectBridge(instrumentation);
+        } catch (IOException e) {
+            System.err.println(LOG_PREFIX + "Failed to inject the bridge into the bootstrap class loader, no class is woven: " + e);
+            return;
+        }
+
+        new AgentBuilder.Default()
+                .disableClassFormatChanges()
+                .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+                .with(AgentBuilder.Listener.StreamWriting.toSystemError().withErrorsOnly())
+                .ignore(nameStartsWith("net.bytebuddy.")
+                        .or(nameStartsWith("com.nolimit35.springkit."))
+                        .or(isSynthetic()))
+                .type(parsed.typeMatcher())
+                .transform(new AgentBuilder.Transformer.ForAdvice()
+                        .include(ExceptionNotifyAgent.class.getClassLoader())
+                        .advice(parsed.methodMatcher(), ThrownExceptionAdvice.class.getName()))
+                .installOn(instrumentation);
+
+        ExceptionNotifyAgentBridge.markInstalled();
+    }
+
+    /**
+     * Define the bridge in the bootstrap class loader before anything loads it, so woven classes of every
+     * class loader resolve the same copy the pipeline registers with
+     */
+    private static void injectBridge(Instrumentation instrumentation) throws IOException {
+        byte[] bridge = ClassFileLocator.ForClassLoader.of(ExceptionNotifyAgent.class.getClassLoader())
+                .locate(BRIDGE_CLASS)
+                .resolve();
+        File folder = Files.createTempDirectory("exception-notify-agent").toFile();
+        // Registered before its files, so the folder is deleted after the jar written into it
+        folder.deleteOnExit();
+        try {
+            ClassInjector.UsingInstrumentation
+                    .of(folder, ClassInjector.UsingInstrumentation.Target.BOOTSTRAP, instrumentation)
+                    .injectRaw(Collections.singletonMap(BRIDGE_CLASS, bridge));
+        } finally {
+            File[] files = folder.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.deleteOnExit();
+                }
+            }
+        }
+    }
+}
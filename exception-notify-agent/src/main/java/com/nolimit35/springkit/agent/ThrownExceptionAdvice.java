@@ -0,0 +1,22 @@
+package com.nolimit35.springkit.agent;
+
+import net.bytebuddy.asm.Advice;
+
+/**
+ * Advice inlined at the exit of every woven method
+ * A method that returns normally only pays the null check; exceptions are handed to
+ * {@link ExceptionNotifyAgentBridge} and then rethrown unchanged. Every woven frame an exception crosses reports it,
+ * the pipeline skips an instance already processed on the same thread.
+ */
+public final class ThrownExceptionAdvice {
+
+    private ThrownExceptionAdvice() {
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
+    public static void onExit(@Advice.Thrown Throwable thrown) {
+        if (thrown != null) {
+            ExceptionNotifyAgentBridge.report(thrown);
+        }
+    }
+}
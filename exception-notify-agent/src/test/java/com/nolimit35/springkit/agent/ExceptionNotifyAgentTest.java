@@ -0,0 +1,135 @@
+package com.nolimit35.springkit.agent;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExceptionNotifyAgentTest {
+
+    @Test
+    public void testParseArguments() {
+        AgentArguments arguments = AgentArguments.parse(
+                "packages=com.example.order, com.example.billing;entry-points=com.example.Job#run;excludes=com.example.order.dto");
+
+        assertEquals(2, arguments.getPackages().size());
+        assertEquals("com.example.billing", arguments.getPackages().get(1));
+        assertEquals("com.example.Job#run", arguments.getEntryPoints().get(0));
+        assertFalse(arguments.isEmpty());
+        assertTrue(AgentArguments.parse(null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> AgentArguments.parse("package=com.example"));
+        assertThrows(IllegalArgumentException.class, () -> AgentArguments.parse("entry-points=com.example.Job"));
+    }
+
+    @Test
+    public void testTypeMatcher() {
+        AgentArguments arguments = AgentArguments.parse("packages=java.util;excludes=java.util.concurrent;entry-points=java.lang.Thread#run");
+
+        assertTrue(arguments.typeMatcher().matches(TypeDescription.ForLoadedType.of(ArrayList.class)));
+        assertTrue(arguments.typeMatcher().matches(TypeDescription.ForLoadedType.of(Thread.class)));
+        assertFalse(arguments.typeMatcher().matches(TypeDescription.ForLoadedType.of(ConcurrentHashMap.class)));
+        assertFalse(arguments.typeMatcher().matches(TypeDescription.ForLoadedType.of(String.class)));
+    }
+
+    @Test
+    public void testMethodMatcherSelectsEntryPointsOnly() throws NoSuchMethodException {
+        AgentArguments arguments = AgentArguments.parse("entry-points=java.lang.Thread#run");
+
+        assertTrue(arguments.methodMatcher().matches(new MethodDescription.ForLoadedMethod(Thread.class.getMethod("run"))));
+        assertFalse(arguments.methodMatcher().matches(new MethodDescription.ForLoadedMethod(Thread.class.getMethod("start"))));
+    }
+
+    @Test
+    public void testAdviceReportsAndRethrows() throws Exception {
+        Class<?> woven = weaveJob();
+        Object job = woven.getDeclaredConstructor().newInstance();
+        Method run = woven.getMethod("run", boolean.class);
+
+        List<Throwable> reported = new ArrayList<>();
+        Consumer<Throwable> handler = reported::add;
+        ExceptionNotifyAgentBridge.register(handler);
+        try {
+            assertEquals("done", run.invoke(job, false));
+            assertTrue(reported.isEmpty());
+
+            InvocationTargetException thrown = assertThrows(InvocationTargetException.class, () -> run.invoke(job, true));
+            assertTrue(thrown.getCause() instanceof IllegalStateException);
+            assertEquals(1, reported.size());
+            assertSame(thrown.getCause(), reported.get(0));
+        } finally {
+            ExceptionNotifyAgentBridge.unregister(handler);
+        }
+    }
+
+    @Test
+    public void testAdviceReportsTheSameInstanceFromEveryWovenFrame() throws Exception {
+        Class<?> woven = weaveJob();
+        Object job = woven.getDeclaredConstructor().newInstance();
+        Method delegate = woven.getMethod("delegate");
+        Method recover = woven.getMethod("recover");
+
+        List<Throwable> reported = new ArrayList<>();
+        Consumer<Throwable> handler = reported::add;
+        ExceptionNotifyAgentBridge.register(handler);
+        try {
+            // Reported by the frame it left, even though a woven caller handles it
+            assertEquals("recovered", recover.invoke(job));
+            assertEquals(1, reported.size());
+            reported.clear();
+
+            // Crossing two woven frames, each reports the same instance and the pipeline processes it once
+            InvocationTargetException thrown = assertThrows(InvocationTargetException.class, () -> delegate.invoke(job));
+            assertEquals(2, reported.size());
+            assertSame(thrown.getCause(), reported.get(0));
+            assertSame(thrown.getCause(), reported.get(1));
+        } finally {
+            ExceptionNotifyAgentBridge.unregister(handler);
+        }
+    }
+
+    private Class<?> weaveJob() {
+        // Woven under another name, so the copy loaded next to the original is the instrumented one
+        String wovenName = Job.class.getName() + "Woven";
+        return new ByteBuddy()
+                .redefine(Job.class)
+                .name(wovenName)
+                .visit(Advice.to(ThrownExceptionAdvice.class)
+                        .on(AgentArguments.parse("entry-points=" + wovenName + "#run," + wovenName + "#delegate,"
+                                + wovenName + "#recover").methodMatcher()))
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+    }
+
+    public static class Job {
+        public String run(boolean fail) {
+            if (fail) {
+                throw new IllegalStateException("job failed");
+            }
+            return "done";
+        }
+
+        public String delegate() {
+            return run(true);
+        }
+
+        public String recover() {
+            try {
+                return run(true);
+            } catch (IllegalStateException e) {
+                return "recovered";
+            }
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.nolimit35.springkit;
+
+import com.nolimit35.springkit.agent.AgentExceptionCapture;
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.config.ExceptionNotifySnapshotHolder;
+import com.nolimit35.springkit.filter.DefaultExceptionFilter;
+import com.nolimit35.springkit.filter.ExceptionFilter;
+import com.nolimit35.springkit.formatter.DefaultNotificationFormatter;
+import com.nolimit35.springkit.formatter.NotificationFormatter;
+import com.nolimit35.springkit.metrics.ExceptionNotifyMetrics;
+import com.nolimit35.springkit.notification.AbstractNotificationProvider;
+import com.nolimit35.springkit.notification.NotificationProvider;
+import com.nolimit35.springkit.notification.NotificationProviderManager;
+import com.nolimit35.springkit.notification.provider.DingTalkNotificationProvider;
+import com.nolimit35.springkit.notification.provider.FeishuNotificationProvider;
+import com.nolimit35.springkit.notification.provider.WeChatWorkNotificationProvider;
+import com.nolimit35.springkit.service.AbstractGitSourceControlService;
+import com.nolimit35.springkit.service.CodeOwnersService;
+import com.nolimit35.springkit.service.CompressedPayloadAiAnalysisLinkService;
+import com.nolimit35.springkit.service.DegradationController;
+import com.nolimit35.springkit.service.ExceptionAnalyzerService;
+import com.nolimit35.springkit.service.ExceptionDeduplicationService;
+import com.nolimit35.springkit.service.ExceptionNotificationService;
+import com.nolimit35.springkit.service.GitHubService;
+import com.nolimit35.springkit.service.GitLabService;
+import com.nolimit35.springkit.service.GitSourceControlService;
+import com.nolimit35.springkit.service.GiteeService;
+import com.nolimit35.springkit.trace.DefaultTraceInfoProvider;
+import com.nolimit35.springkit.trace.TraceInfoProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exception notification pipeline for applications without a Spring context
+ * Batch jobs, plain Netty services and CLI tools build one notifier at startup and report exceptions to it;
+ * it wires the same services the Spring Boot starter registers as beans.
+ *
+ * <pre>
+ * ExceptionNotifier notifier = ExceptionNotifier.builder()
+ *         .properties(properties)
+ *         .applicationName("order-batch")
+ *         .environment("prod")
+ *         .build();
+ * notifier.notify(exception);
+ * </pre>
+ *
+ * With exception.notify.capture.mode=agent the notifier also receives the exceptions of methods woven by the
+ * exception-notify java agent until it is closed.
+ */
+@Slf4j
+public class ExceptionNotifier implements Closeable {
+    private final ExceptionNotificationService notificationService;
+    private final ExceptionAnalyzerService analyzerService;
+    private final List<GitSourceControlService> scmServices;
+    private final ScheduledExecutorService scheduler;
+    private final DegradationController degradationController;
+    private final AgentExceptionCapture agentCapture;
+
+    private ExceptionNotifier(ExceptionNotificationService notificationService,
+                              ExceptionAnalyzerService analyzerService,
+                              List<GitSourceControlService> scmServices,
+                              ScheduledExecutorService scheduler,
+                              DegradationController degradationController,
+                              AgentExceptionCapture agentCapture) {
+        this.notificationService = notificationService;
+        this.analyzerService = analyzerService;
+        this.scmServices = scmServices;
+        this.scheduler = scheduler;
+        this.degradationController = degradationController;
+        this.agentCapture = agentCapture;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Report an exception, it is analyzed, deduplicated and sent to the enabled notification providers
+     *
+     * @param throwable the exception to report
+     */
+    public void notify(Throwable throwable) {
+        notificationService.processException(throwable);
+    }
+
+    public ExceptionNotificationService getNotificationService() {
+        return notificationService;
+    }
+
+    /**
+     * Stop the agent capture, the deduplication cleanup, the degradation evaluation and the enrichment threads,
+     * and release the source control disk cache
+     */
+    @Override
+    public void close() {
+        if (agentCapture != null) {
+            agentCapture.close();
+        }
+        scheduler.shutdownNow();
+        if (degradationController != null) {
+            degradationController.close();
+        }
+        analyzerService.shutdown();
+        for (GitSourceControlService service : scmServices) {
+            if (service instanceof AbstractGitSourceControlService) {
+                ((AbstractGitSourceControlService) service).shutdown();
+            }
+        }
+    }
+
+    /**
+     * Builder of {@link ExceptionNotifier}
+     * Everything not set explicitly falls back to the defaults of the Spring Boot starter.
+     */
+    public static class Builder {
+        private ExceptionNotifyProperties properties = new ExceptionNotifyProperties();
+        private String applicationName = "unknown";
+        private String environment;
+        private final List<NotificationProvider> providers = new ArrayList<>();
+        private ExceptionFilter filter;
+        private NotificationFormatter formatter;
+        private TraceInfoProvider traceInfoProvider;
+        private ExceptionNotifyMetrics metrics = ExceptionNotifyMetrics.NOOP;
+
+        private Builder() {
+        }
+
+        /**
+         * Set the configuration, laid out like the exception.notify properties of the starter
+         *
+         * @param properties the properties
+         * @return this builder
+         */
+        public Builder properties(ExceptionNotifyProperties properties) {
+            this.properties = properties;
+            return this;
+        }
+
+        /**
+         * Set the application name shown in notifications
+         *
+         * @param applicationName the application name
+         * @return this builder
+         */
+        public Builder applicationName(String applicationName) {
+            this.applicationName = applicationName;
+            return this;
+        }
+
+        /**
+         * Set the current environment, checked against environment.report-from
+         * Defaults to environment.current of the properties.
+         *
+         * @param environment the current environment
+         * @return this builder
+         */
+        public Builder environment(String environment) {
+            this.environment = environment;
+            return this;
+        }
+
+        /**
+         * Add a notification provider next to the built-in DingTalk, Feishu and WeChat Work providers
+         *
+         * @param provider the provider
+         * @return this builder
+         */
+        public Builder addProvider(NotificationProvider provider) {
+            this.providers.add(provider);
+            return this;
+        }
+
+        public Builder filter(ExceptionFilter filter) {
+            this.filter = filter;
+            return this;
+        }
+
+        public Builder formatter(NotificationFormatter formatter) {
+            this.formatter = formatter;
+            return this;
+        }
+
+        public Builder traceInfoProvider(TraceInfoProvider traceInfoProvider) {
+            this.traceInfoProvider = traceInfoProvider;
+            return this;
+        }
+
+        public Builder metrics(ExceptionNotifyMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public ExceptionNotifier build() {
+            String currentEnvironment = environment != null ? environment : properties.getEnvironment().getCurrent();
+            ExceptionNotifySnapshotHolder snapshotHolder = new ExceptionNotifySnapshotHolder(properties, () -> currentEnvironment);
+
+            TraceInfoProvider trace = traceInfoProvider != null ? traceInfoProvider : new DefaultTraceInfoProvider(properties);
+            List<GitSourceControlService> scmServices = scmServices();
+            ExceptionAnalyzerService analyzerService = new ExceptionAnalyzerService(scmServices, properties, trace);
+            analyzerService.setSnapshotHolder(snapshotHolder);
+            analyzerService.setApplicationName(applicationName);
+            analyzerService.setMetrics(metrics);
+            if (properties.getAi().isEnabled()) {
+                CompressedPayloadAiAnalysisLinkService aiAnalysisLinkService = new CompressedPayloadAiAnalysisLinkService(properties);
+                aiAnalysisLinkService.setMetrics(metrics);
+                analyzerService.setAiAnalysisLinkService(aiAnalysisLinkService);
+            }
+
+            ExceptionDeduplicationService deduplicationService = new ExceptionDeduplicationService(properties);
+            deduplicationService.setSnapshotHolder(snapshotHolder);
+            deduplicationService.setMetrics(metrics);
+
+            NotificationFormatter notificationFormatter = formatter != null ? formatter : new DefaultNotificationFormatter(properties);
+            List<NotificationProvider> allProviders = new ArrayList<>();
+            allProviders.add(new DingTalkNotificationProvider(properties, notificationFormatter));
+            allProviders.add(new FeishuNotificationProvider(properties, notificationFormatter));
+            allProviders.add(new WeChatWorkNotificationProvider(properties, notificationFormatter));
+            for (NotificationProvider provider : allProviders) {
+                AbstractNotificationProvider builtIn = (AbstractNotificationProvider) provider;
+                builtIn.setSnapshotHolder(snapshotHolder);
+                builtIn.setMetrics(metrics);
+            }
+            allProviders.addAll(providers);
+            NotificationProviderManager notificationManager = new NotificationProviderManager(allProviders);
+
+            ExceptionNotificationService notificationService = new ExceptionNotificationService(
+                    snapshotHolder, analyzerService, notificationManager, notificationFormatter,
+                    filter != null ? filter : new DefaultExceptionFilter(), trace, deduplicationService);
+            notificationService.setMetrics(metrics);
+
+            DegradationController degradationController = null;
+            if (properties.getDegradation().isEnabled()) {
+                degradationController = new DegradationController(properties);
+                analyzerService.setDegradationController(degradationController);
+                notificationService.setDegradationController(degradationController);
+            }
+
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "exception-notify-dedup-cleanup");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = properties.getNotification().getDeduplication().getCleanupIntervalMinutes();
+            scheduler.scheduleAtFixedRate(() -> {
+                try {
+                    deduplicationService.cleanupExpiredEntries();
+                } catch (RuntimeException e) {
+                    log.warn("Failed to clean up expired deduplication entries", e);
+                }
+            }, interval, interval, TimeUnit.MINUTES);
+
+            AgentExceptionCapture agentCapture = null;
+            if (properties.getCapture().getMode() == ExceptionNotifyProperties.Capture.Mode.AGENT) {
+                agentCapture = new AgentExceptionCapture(notificationService, degradationController);
+            }
+
+            return new ExceptionNotifier(notificationService, analyzerService, scmServices, scheduler,
+                    degradationController, agentCapture);
+        }
+
+        /**
+         * Source control services in the order the starter registers them, each only when configured
+         */
+        private List<GitSourceControlService> scmServices() {
+            List<GitSourceControlService> services = new ArrayList<>();
+            if (properties.getCodeowners().isEnabled()) {
+                services.add(new CodeOwnersService(properties));
+            }
+            if (StringUtils.hasText(properties.getGithub().getToken())) {
+                services.add(new GitHubService(properties));
+            }
+            if (StringUtils.hasText(properties.getGitee().getToken())) {
+                services.add(new GiteeService(properties));
+            }
+            if (StringUtils.hasText(properties.getGitlab().getToken())) {
+                services.add(new GitLabService(properties));
+            }
+            return services;
+        }
+    }
+}
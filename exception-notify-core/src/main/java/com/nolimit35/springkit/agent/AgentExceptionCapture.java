@@ -0,0 +1,55 @@
+package com.nolimit35.springkit.agent;
+
+import com.nolimit35.springkit.service.DegradationController;
+import com.nolimit35.springkit.service.ExceptionNotificationService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.function.Consumer;
+
+/**
+ * Feeds exceptions captured by the exception-notify java agent into the notification pipeline
+ * Registered with {@link ExceptionNotifyAgentBridge} while open; enabled with exception.notify.capture.mode=agent.
+ */
+@Slf4j
+public class AgentExceptionCapture implements Closeable {
+    private final ExceptionNotificationService notificationService;
+    private final DegradationController degradationController;
+    private final Consumer<Throwable> handler = this::report;
+
+    public AgentExceptionCapture(ExceptionNotificationService notificationService,
+                                 DegradationController degradationController) {
+        this.notificationService = notificationService;
+        this.degradationController = degradationController;
+        ExceptionNotifyAgentBridge.register(handler);
+        if (!ExceptionNotifyAgentBridge.isInstalled()) {
+            log.warn("Exception capture mode is agent, but the exception-notify java agent is not attached; "
+                    + "start the JVM with -javaagent:exception-notify-agent.jar=packages=...");
+        }
+    }
+
+    private void report(Throwable throwable) {
+        if (!(throwable instanceof Exception)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            notificationService.processException(throwable);
+        } catch (Exception e) {
+            log.error("Error in exception notification agent capture", e);
+        } finally {
+            if (degradationController != null) {
+                degradationController.recordOverhead(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Stop feeding agent captures into the pipeline
+     */
+    @Override
+    public void close() {
+        ExceptionNotifyAgentBridge.unregister(handler);
+    }
+}
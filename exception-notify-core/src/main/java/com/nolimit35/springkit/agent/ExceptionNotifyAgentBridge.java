@@ -0,0 +1,76 @@
+package com.nolimit35.springkit.agent;
+
+import java.util.function.Consumer;
+
+/**
+ * Hand-off point between methods woven by the exception-notify java agent and the notification pipeline
+ * The agent injects this class into the bootstrap class loader, so woven classes of every class loader and the
+ * pipeline share one copy. It must therefore only depend on the JDK.
+ */
+public final class ExceptionNotifyAgentBridge {
+    private static final ThreadLocal<Boolean> REPORTING = new ThreadLocal<>();
+
+    private static volatile Consumer<Throwable> handler;
+    private static volatile boolean installed;
+
+    private ExceptionNotifyAgentBridge() {
+    }
+
+    /**
+     * Called by woven methods that exit with an exception
+     * Never throws, and exceptions thrown while a report is handled on the same thread are not reported again.
+     *
+     * @param throwable the exception leaving the woven method
+     */
+    public static void report(Throwable throwable) {
+        Consumer<Throwable> current = handler;
+        if (current == null || REPORTING.get() != null) {
+            return;
+        }
+
+        REPORTING.set(Boolean.TRUE);
+        try {
+            current.accept(throwable);
+        } catch (Throwable ignored) {
+            // A failing pipeline must not change how the woven method completes
+        } finally {
+            REPORTING.remove();
+        }
+    }
+
+    /**
+     * Set the handler receiving the exceptions of woven methods, replacing any previous one
+     *
+     * @param exceptionHandler the handler
+     */
+    public static synchronized void register(Consumer<Throwable> exceptionHandler) {
+        handler = exceptionHandler;
+    }
+
+    /**
+     * Remove the handler, if it is still the registered one
+     *
+     * @param exceptionHandler the handler given to {@link #register(Consumer)}
+     */
+    public static synchronized void unregister(Consumer<Throwable> exceptionHandler) {
+        if (handler == exceptionHandler) {
+            handler = null;
+        }
+    }
+
+    /**
+     * Called by the agent once its transformer is installed
+     */
+    public static void markInstalled() {
+        installed = true;
+    }
+
+    /**
+     * Check whether the java agent is attached to this JVM
+     *
+     * @return true once the agent weaves classes
+     */
+    public static boolean isInstalled() {
+        return installed;
+    }
+}
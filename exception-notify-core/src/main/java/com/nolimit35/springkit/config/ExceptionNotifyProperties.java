@@ -0,0 +1,784 @@
+package com.nolimit35.springkit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuration properties for Exception-Notify
+ */
+@Data
+@ConfigurationProperties(prefix = "exception.notify")
+public class ExceptionNotifyProperties {
+    /**
+     * Whether to enable exception notification
+     */
+    private boolean enabled = true;
+
+    /**
+     * DingTalk configuration
+     */
+    private DingTalk dingtalk = new DingTalk();
+
+    /**
+     * Feishu configuration
+     */
+    private Feishu feishu = new Feishu();
+
+    /**
+     * WeChat Work configuration
+     */
+    private WeChatWork wechatwork = new WeChatWork();
+
+    /**
+     * GitHub configuration
+     */
+    private GitHub github = new GitHub();
+
+    /**
+     * Gitee configuration
+     */
+    private Gitee gitee = new Gitee();
+
+    /**
+     * GitLab configuration
+     */
+    private GitLab gitlab = new GitLab();
+
+    /**
+     * Trace configuration
+     */
+    private Trace trace = new Trace();
+
+    /**
+     * Notification configuration
+     */
+    private Notification notification = new Notification();
+
+    /**
+     * Environment configuration
+     */
+    private Environment environment = new Environment();
+
+    /**
+     * Tencent CLS configuration
+     */
+    private TencentCls tencentcls = new TencentCls();
+
+    /**
+     * Package filter configuration
+     */
+    private PackageFilter packageFilter = new PackageFilter();
+
+    /**
+     * CODEOWNERS configuration
+     */
+    private CodeOwners codeowners = new CodeOwners();
+
+    /**
+     * AI suggestion configuration
+     */
+    private AI ai = new AI();
+
+    /**
+     * Enrichment configuration
+     */
+    private Enrichment enrichment = new Enrichment();
+
+    /**
+     * Adaptive degradation configuration
+     */
+    private Degradation degradation = new Degradation();
+
+    /**
+     * Source control (GitHub/Gitee/GitLab) client configuration
+     */
+    private Scm scm = new Scm();
+
+    /**
+     * Exception capture configuration
+     */
+    private Capture capture = new Capture();
+
+    /**
+     * DingTalk configuration properties
+     */
+    @Data
+    public static class DingTalk {
+        /**
+         * DingTalk webhook URL
+         */
+        private String webhook;
+        
+        /**
+         * DingTalk @ configuration
+         */
+        private At at = new At();
+        
+        /**
+         * DingTalk @ configuration properties
+         */
+        @Data
+        public static class At {
+            /**
+             * Whether to enable @ functionality
+             */
+            private boolean enabled = true;
+
+            
+            /**
+             * Mapping of DingTalk user IDs to Git email addresses
+             */
+            private Map<String, List<String>> userIdMappingGitEmail;
+        }
+    }
+
+    /**
+     * Feishu configuration properties
+     */
+    @Data
+    public static class Feishu {
+        /**
+         * Feishu webhook URL
+         */
+        private String webhook;
+        
+        /**
+         * Feishu @ configuration
+         */
+        private At at = new At();
+        
+        /**
+         * Feishu @ configuration properties
+         */
+        @Data
+        public static class At {
+            /**
+             * Whether to enable @ functionality
+             */
+            private boolean enabled = true;
+
+            /**
+             * Mapping of Feishu open IDs to Git email addresses
+             */
+            private Map<String, List<String>> openIdMappingGitEmail;
+        }
+    }
+
+    /**
+     * WeChat Work configuration properties
+     */
+    @Data
+    public static class WeChatWork {
+        /**
+         * WeChat Work webhook URL
+         */
+        private String webhook;
+        
+        /**
+         * WeChat Work @ configuration
+         */
+        private At at = new At();
+        
+        /**
+         * WeChat Work @ configuration properties
+         */
+        @Data
+        public static class At {
+            /**
+             * Whether to enable @ functionality
+             */
+            private boolean enabled = true;
+            
+            /**
+             * Mapping of WeChat Work user IDs to Git email addresses
+             */
+            private Map<String, List<String>> userIdMappingGitEmail;
+        }
+    }
+
+    /**
+     * Tencent CLS configuration properties
+     */
+    @Data
+    public static class TencentCls {
+        /**
+         * Tencent CLS region
+         */
+        private String region;
+
+        /**
+         * Tencent CLS topic ID
+         */
+        private String topicId;
+    }
+
+    /**
+     * GitHub configuration properties
+     */
+    @Data
+    public static class GitHub {
+        /**
+         * GitHub access token
+         */
+        private String token;
+
+        /**
+         * GitHub repository owner
+         */
+        private String repoOwner;
+
+        /**
+         * GitHub repository name
+         */
+        private String repoName;
+
+        /**
+         * GitHub API base URL, e.g. a local stand-in server for load tests
+         */
+        private String baseUrl = "https://api.github.com";
+        
+        /**
+         * GitHub repository branch
+         */
+        private String branch = "master";
+
+        /**
+         * Maximum number of files blamed in one GraphQL request by batched author lookups
+         */
+        private int blameBatchSize = 10;
+    }
+
+    /**
+     * Gitee configuration properties
+     */
+    @Data
+    public static class Gitee {
+        /**
+         * Gitee access token
+         */
+        private String token;
+
+        /**
+         * Gitee repository owner
+         */
+        private String repoOwner;
+
+        /**
+         * Gitee repository name
+         */
+        private String repoName;
+        
+        /**
+         * Gitee repository branch
+         */
+        private String branch = "master";
+    }
+
+    /**
+     * GitLab configuration properties
+     */
+    @Data
+    public static class GitLab {
+        /**
+         * GitLab access token
+         */
+        private String token;
+
+        /**
+         * GitLab project id or path
+         */
+        private String projectId;
+
+        /**
+         * GitLab API base URL
+         */
+        private String baseUrl = "https://gitlab.com/api/v4";
+        
+        /**
+         * GitLab repository branch
+         */
+        private String branch = "master";
+    }
+
+    /**
+     * Trace configuration properties
+     */
+    @Data
+    public static class Trace {
+        /**
+         * Whether to enable trace
+         */
+        private boolean enabled = true;
+
+        /**
+         * Trace ID header name
+         */
+        private String headerName = "X-Trace-Id";
+    }
+
+    /**
+     * Notification configuration properties
+     */
+    @Data
+    public static class Notification {
+        /**
+         * Title template for notification
+         */
+        private String titleTemplate = "【${appName}】异常告警";
+
+        /**
+         * Whether to include stacktrace in notification
+         */
+        private boolean includeStacktrace = true;
+
+        /**
+         * Maximum number of stacktrace lines to include
+         */
+        private int maxStacktraceLines = 10;
+
+        /**
+         * Deduplication configuration
+         */
+        private Deduplication deduplication = new Deduplication();
+
+        /**
+         * Deduplication configuration properties
+         */
+        @Data
+        public static class Deduplication {
+            /**
+             * Whether to enable exception deduplication
+             */
+            private boolean enabled = true;
+
+            /**
+             * Time window for deduplication in minutes
+             * Default is 3 minutes
+             */
+            private long timeWindowMinutes = 3;
+
+            /**
+             * Cleanup interval for expired cache entries in minutes
+             * Default is 60 minutes (1 hour)
+             */
+            private long cleanupIntervalMinutes = 60;
+        }
+    }
+
+    /**
+     * Environment configuration properties
+     */
+    @Data
+    public static class Environment {
+        /**
+         * Current environment (automatically determined from spring.profiles.active)
+         * This property is not meant to be set directly in most cases.
+         * It will be automatically set based on spring.profiles.active.
+         */
+        private String current = "dev";
+
+        /**
+         * Environments to report exceptions from (comma-separated)
+         */
+        private Set<String> reportFrom = new HashSet<>(Arrays.asList("test", "prod"));
+
+        /**
+         * Check if exceptions should be reported from the current environment
+         *
+         * @return true if exceptions should be reported, false otherwise
+         */
+        public boolean shouldReportFromCurrentEnvironment() {
+            return reportFrom.contains(current);
+        }
+    }
+
+    /**
+     * Package filter configuration properties
+     */
+    @Data
+    public static class PackageFilter {
+        /**
+         * Whether to enable package filtering
+         */
+        private boolean enabled = false;
+
+        /**
+         * List of package names to include in exception analysis
+         */
+        private Set<String> includePackages = new HashSet<>();
+    }
+
+    /**
+     * CODEOWNERS configuration properties
+     * Owners of the failing file are resolved from a local CODEOWNERS file without any network request;
+     * files no rule matches fall through to the blame lookup of the source control services
+     */
+    @Data
+    public static class CodeOwners {
+        /**
+         * Whether to resolve owners from CODEOWNERS
+         */
+        private boolean enabled = false;
+
+        /**
+         * CODEOWNERS resource location, e.g. classpath:CODEOWNERS or file:/app/CODEOWNERS; by default
+         * CODEOWNERS, .github/CODEOWNERS, .gitlab/CODEOWNERS and docs/CODEOWNERS in the working directory
+         * are tried, then CODEOWNERS on the classpath
+         */
+        private String location;
+
+        /**
+         * Repository directories that contain the package tree, prepended to class file paths before matching
+         */
+        private List<String> sourceRoots = new ArrayList<>(Arrays.asList("src/main/java/"));
+    }
+
+    /**
+     * AI suggestion configuration properties
+     */
+    @Data
+    public static class AI {
+        /**
+         * Whether to enable AI suggestions
+         */
+        private boolean enabled = true;
+        
+        /**
+         * Whether to include code context when available
+         */
+        private boolean includeCodeContext = true;
+
+        /**
+         * Number of lines of code context to include (before and after the error line)
+         */
+        private int codeContextLines = 5;
+
+        /**
+         * URL of the AI analysis web page that will receive the compressed payload
+         */
+        private String analysisPageUrl = "https://fixit.nolimit35.com";
+    }
+
+    /**
+     * Enrichment configuration properties
+     * Enrichment covers author lookup, code context fetch, trace URL generation and AI link building
+     */
+    @Data
+    public static class Enrichment {
+        /**
+         * Whether to run enrichment stages concurrently
+         */
+        private boolean parallel = true;
+
+        /**
+         * Total time budget in milliseconds for enriching a single exception.
+         * Results that arrive after the budget are dropped. 0 or negative means no limit.
+         */
+        private long timeoutMillis = 2000;
+
+        /**
+         * Number of worker threads used to run enrichment stages
+         */
+        private int threads = 4;
+
+        /**
+         * Maximum number of enrichment stages waiting for a worker thread
+         */
+        private int queueCapacity = 256;
+    }
+
+    /**
+     * Adaptive degradation configuration properties
+     * When the time the pipeline adds to a failing request or the enrichment backlog crosses its threshold,
+     * enrichment is reduced one level at a time: code context, then blame, then AI links are skipped, and finally
+     * exceptions are only counted and sent as a periodic digest. Levels are restored one at a time once pressure drops.
+     */
+    @Data
+    public static class Degradation {
+        /**
+         * Whether to degrade automatically
+         */
+        private boolean enabled = true;
+
+        /**
+         * Smoothed time in milliseconds the pipeline may add to a failing request before degrading
+         * Kept above the enrichment budget plus a webhook delivery, so a request within the budget never degrades.
+         */
+        private long maxOverheadMillis = 5000;
+
+        /**
+         * Number of consecutive requests slower than maxOverheadMillis before the overhead raises the level,
+         * so a single slow request such as the first one after a deploy does not degrade
+         */
+        private int minSlowRequests = 3;
+
+        /**
+         * Number of enrichment stages waiting for a worker thread before degrading
+         */
+        private int maxBacklog = 200;
+
+        /**
+         * Fraction of the thresholds that both overhead and backlog must stay below before a level is restored
+         */
+        private double recoverRatio = 0.5;
+
+        /**
+         * Minimum time in milliseconds between two level changes
+         */
+        private long evaluationIntervalMillis = 1000;
+
+        /**
+         * Time in milliseconds a level is kept before it may be restored
+         */
+        private long recoverAfterMillis = 30000;
+
+        /**
+         * Interval in seconds at which the digest of counted exceptions is sent at the digest-only level
+         */
+        private long digestIntervalSeconds = 60;
+    }
+
+    /**
+     * Source control client configuration properties
+     * Shared by the GitHub, Gitee and GitLab services
+     */
+    @Data
+    public static class Scm {
+        /**
+         * HTTP connect timeout in milliseconds
+         */
+        private long connectTimeoutMillis = 10000;
+
+        /**
+         * HTTP read timeout in milliseconds
+         */
+        private long readTimeoutMillis = 10000;
+
+        /**
+         * Circuit breaker configuration
+         */
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+        /**
+         * Negative cache configuration
+         */
+        private NegativeCache negativeCache = new NegativeCache();
+
+        /**
+         * Source file content cache configuration
+         */
+        private ContentCache contentCache = new ContentCache();
+
+        /**
+         * Conditional request (ETag / Last-Modified revalidation) configuration
+         */
+        private ConditionalRequests conditionalRequests = new ConditionalRequests();
+
+        /**
+         * Persistent disk cache configuration
+         */
+        private DiskCache diskCache = new DiskCache();
+
+        /**
+         * Startup cache warm-up configuration
+         */
+        private Warmup warmup = new Warmup();
+
+        /**
+         * Circuit breaker configuration properties
+         */
+        @Data
+        public static class CircuitBreaker {
+            /**
+             * Whether to enable the circuit breaker
+             */
+            private boolean enabled = true;
+
+            /**
+             * Number of consecutive failures that opens the circuit
+             */
+            private int failureThreshold = 5;
+
+            /**
+             * How long the circuit stays open before a half-open probe is allowed, in seconds
+             */
+            private long openDurationSeconds = 60;
+
+            /**
+             * Upper bound in seconds for open durations derived from Retry-After or rate-limit reset headers
+             */
+            private long maxOpenDurationSeconds = 3600;
+        }
+
+        /**
+         * Negative cache configuration properties
+         * Remembers files that could not be resolved (404, no tree match, empty blame) so they are not looked up again
+         */
+        @Data
+        public static class NegativeCache {
+            /**
+             * Whether to enable the negative cache
+             */
+            private boolean enabled = true;
+
+            /**
+             * Maximum number of unresolvable files remembered
+             */
+            private int maxEntries = 1000;
+
+            /**
+             * How long an unresolvable file is remembered, in minutes
+             */
+            private long ttlMinutes = 30;
+        }
+
+        /**
+         * Source file content cache configuration properties
+         * Cached files are kept with a line-offset table, so code context is sliced without downloading again
+         */
+        @Data
+        public static class ContentCache {
+            /**
+             * Whether to cache fetched source files; when disabled, code context is extracted
+             * while the response is streamed and the file is not kept
+             */
+            private boolean enabled = true;
+
+            /**
+             * Maximum number of source files kept in memory
+             */
+            private int maxEntries = 100;
+
+            /**
+             * How long a source file is kept, in minutes; with conditional requests enabled,
+             * stale files are kept this long so they can be revalidated
+             */
+            private long ttlMinutes = 30;
+        }
+
+        /**
+         * Conditional request configuration properties
+         * Cached files and repository trees are revalidated with If-None-Match / If-Modified-Since,
+         * so unchanged content is answered with an empty 304 response
+         */
+        @Data
+        public static class ConditionalRequests {
+            /**
+             * Whether to revalidate cached responses with conditional requests; when disabled,
+             * cached responses are used until they expire
+             */
+            private boolean enabled = true;
+
+            /**
+             * How long a cached response is used without revalidation, in seconds
+             */
+            private long revalidateAfterSeconds = 300;
+        }
+
+        /**
+         * Persistent disk cache configuration properties
+         * Keeps source files and blame results on local disk across restarts; several processes
+         * on the same host may share one directory
+         */
+        @Data
+        public static class DiskCache {
+            /**
+             * Whether to enable the disk cache
+             */
+            private boolean enabled = false;
+
+            /**
+             * Cache directory, defaults to exception-notify/scm-cache under java.io.tmpdir
+             */
+            private String directory;
+
+            /**
+             * Maximum number of cached entries
+             */
+            private int maxEntries = 4096;
+
+            /**
+             * Maximum total size of the cached content in MB
+             */
+            private long maxSizeMb = 64;
+
+            /**
+             * How long an entry is valid, in minutes; entries are keyed by branch, so this bounds staleness
+             */
+            private long ttlMinutes = 60;
+        }
+
+        /**
+         * Startup cache warm-up configuration properties
+         * After the application is ready, a low-priority background thread prefetches the repository path index,
+         * source files and blame for the most frequent exception locations of the previous run and for classes
+         * under packageFilter.includePackages
+         */
+        @Data
+        public static class Warmup {
+            /**
+             * Whether to warm up the source control caches on startup
+             */
+            private boolean enabled = false;
+
+            /**
+             * Maximum number of source control lookups the warm-up may issue
+             */
+            private int maxRequests = 50;
+
+            /**
+             * Number of most frequent exception locations remembered for the next run
+             */
+            private int hotLocations = 20;
+
+            /**
+             * File the exception locations are saved to on shutdown, defaults to
+             * exception-notify/hot-locations under java.io.tmpdir
+             */
+            private String stateFile;
+        }
+    }
+
+    /**
+     * Exception capture configuration properties
+     */
+    @Data
+    public static class Capture {
+        /**
+         * How exceptions are captured: aspect proxies controllers and @ExceptionNotify beans,
+         * filter catches exceptions escaping the servlet request without creating any proxy,
+         * agent takes the exceptions of methods woven by the exception-notify java agent,
+         * resolver sees each exception escaping a Spring MVC handler once, with the request it happened in
+         */
+        private Mode mode = Mode.ASPECT;
+
+        public enum Mode {
+            /**
+             * AspectJ @AfterThrowing advice on controllers and @ExceptionNotify methods
+             */
+            ASPECT,
+
+            /**
+             * Servlet filter around each request, needs no proxies and works in native images
+             */
+            FILTER,
+
+            /**
+             * Load-time weaving by the exception-notify java agent, also covers non-Spring threads
+             */
+            AGENT,
+
+            /**
+             * Spring MVC HandlerExceptionResolver ahead of all others, adds the request method, URI and handler
+             */
+            RESOLVER
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.nolimit35.springkit.config;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable view of {@link ExceptionNotifyProperties} read on the exception hot path
+ * Compiled once from the properties: nested getters are flattened into final fields, the package filter into a
+ * prefix array and the current environment is resolved up front. A new snapshot is compiled on refresh instead of
+ * modifying this one, so readers never need a lock.
+ * Settings that are only read when a notification is delivered (webhooks, mention mappings, templates) are taken
+ * from {@link #getProperties()}, the properties the snapshot was compiled from.
+ */
+public final class ExceptionNotifySnapshot {
+    private static final String[] NO_PREFIXES = new String[0];
+
+    private final ExceptionNotifyProperties properties;
+
+    private final boolean enabled;
+    private final String currentEnvironment;
+    private final boolean reportFromCurrentEnvironment;
+
+    private final boolean deduplicationEnabled;
+    private final long deduplicationWindowMinutes;
+
+    private final String[] includePackagePrefixes;
+
+    private final boolean traceEnabled;
+    private final boolean aiEnabled;
+    private final boolean includeCodeContext;
+    private final int codeContextLines;
+
+    private final boolean parallelEnrichment;
+    private final long enrichmentTimeoutNanos;
+
+    private final boolean dingTalkEnabled;
+    private final boolean feishuEnabled;
+    private final boolean weChatWorkEnabled;
+
+    private ExceptionNotifySnapshot(ExceptionNotifyProperties properties, String currentEnvironment) {
+        this.properties = properties;
+        this.enabled = properties.isEnabled();
+        this.currentEnvironment = currentEnvironment;
+        this.reportFromCurrentEnvironment = properties.getEnvironment().getReportFrom().contains(currentEnvironment);
+
+        ExceptionNotifyProperties.Notification.Deduplication deduplication = properties.getNotification().getDeduplication();
+        this.deduplicationEnabled = deduplication.isEnabled();
+        this.deduplicationWindowMinutes = deduplication.getTimeWindowMinutes();
+
+        ExceptionNotifyProperties.PackageFilter packageFilter = properties.getPackageFilter();
+        this.includePackagePrefixes = packageFilter.isEnabled() && packageFilter.getIncludePackages() != null
+                ? packageFilter.getIncludePackages().toArray(new String[0]) : NO_PREFIXES;
+
+        this.traceEnabled = properties.getTrace().isEnabled();
+        ExceptionNotifyProperties.AI ai = properties.getAi();
+        this.aiEnabled = ai.isEnabled();
+        this.includeCodeContext = ai.isEnabled() && ai.isIncludeCodeContext();
+        this.codeContextLines = ai.getCodeContextLines();
+
+        ExceptionNotifyProperties.Enrichment enrichment = properties.getEnrichment();
+        this.parallelEnrichment = enrichment.isParallel();
+        this.enrichmentTimeoutNanos = enrichment.isParallel() && enrichment.getTimeoutMillis() > 0
+                ? TimeUnit.MILLISECONDS.toNanos(enrichment.getTimeoutMillis()) : 0;
+
+        this.dingTalkEnabled = enabled && hasText(properties.getDingtalk().getWebhook());
+        this.feishuEnabled = enabled && hasText(properties.getFeishu().getWebhook());
+        this.weChatWorkEnabled = enabled && hasText(properties.getWechatwork().getWebhook());
+    }
+
+    /**
+     * Compile a snapshot of the properties
+     *
+     * @param properties the properties
+     * @param currentEnvironment the resolved current environment
+     * @return the snapshot
+     */
+    public static ExceptionNotifySnapshot compile(ExceptionNotifyProperties properties, String currentEnvironment) {
+        return new ExceptionNotifySnapshot(properties, currentEnvironment);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    /**
+     * Get the properties the snapshot was compiled from
+     * After a reload these are a freshly bound instance that is never modified, so a delivery that reads them
+     * keeps a consistent view even if the configuration is swapped while it runs.
+     *
+     * @return the source properties, to be treated as read-only
+     */
+    public ExceptionNotifyProperties getProperties() {
+        return properties;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getCurrentEnvironment() {
+        return currentEnvironment;
+    }
+
+    public boolean isReportFromCurrentEnvironment() {
+        return reportFromCurrentEnvironment;
+    }
+
+    public boolean isDeduplicationEnabled() {
+        return deduplicationEnabled;
+    }
+
+    public long getDeduplicationWindowMinutes() {
+        return deduplicationWindowMinutes;
+    }
+
+    /**
+     * Get the packages exceptions are attributed to
+     *
+     * @return package prefixes, empty when package filtering is disabled
+     */
+    public String[] getIncludePackagePrefixes() {
+        return includePackagePrefixes.clone();
+    }
+
+    /**
+     * Check whether a class belongs to one of the included packages
+     *
+     * @param className fully qualified class name
+     * @return true if the class name starts with an included package
+     */
+    public boolean isIncludedPackage(String className) {
+        for (String prefix : includePackagePrefixes) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isPackageFilterActive() {
+        return includePackagePrefixes.length > 0;
+    }
+
+    public boolean isTraceEnabled() {
+        return traceEnabled;
+    }
+
+    public boolean isAiEnabled() {
+        return aiEnabled;
+    }
+
+    public boolean isIncludeCodeContext() {
+        return includeCodeContext;
+    }
+
+    public int getCodeContextLines() {
+        return codeContextLines;
+    }
+
+    public boolean isParallelEnrichment() {
+        return parallelEnrichment;
+    }
+
+    /**
+     * Get the enrichment time budget
+     *
+     * @return budget in nanoseconds, 0 if unlimited
+     */
+    public long getEnrichmentTimeoutNanos() {
+        return enrichmentTimeoutNanos;
+    }
+
+    public boolean isDingTalkEnabled() {
+        return dingTalkEnabled;
+    }
+
+    public boolean isFeishuEnabled() {
+        return feishuEnabled;
+    }
+
+    public boolean isWeChatWorkEnabled() {
+        return weChatWorkEnabled;
+    }
+}
@@ -0,0 +1,98 @@
+package com.nolimit35.springkit.config;
+
+import com.nolimit35.springkit.service.EnvironmentProvider;
+import org.springframework.beans.BeanUtils;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Holds the current {@link ExceptionNotifySnapshot}
+ * Readers get the snapshot with a single volatile read; {@link #refresh()} compiles a new one from the properties
+ * and swaps it in atomically, so an exception being processed keeps the snapshot it started with.
+ * {@link #swap(ExceptionNotifyProperties)} does the same from freshly bound properties when the configuration is
+ * reloaded at runtime.
+ */
+public class ExceptionNotifySnapshotHolder {
+    private final ExceptionNotifyProperties properties;
+    private final Supplier<String> environmentResolver;
+    private final AtomicReference<ExceptionNotifySnapshot> current = new AtomicReference<>();
+
+    /**
+     * Create a holder that takes the current environment from the properties
+     *
+     * @param properties the properties
+     */
+    public ExceptionNotifySnapshotHolder(ExceptionNotifyProperties properties) {
+        this(properties, () -> properties.getEnvironment().getCurrent());
+    }
+
+    /**
+     * Create a holder that resolves the current environment from the active Spring profiles
+     *
+     * @param properties the properties
+     * @param environmentProvider the environment provider
+     */
+    public ExceptionNotifySnapshotHolder(ExceptionNotifyProperties properties, EnvironmentProvider environmentProvider) {
+        this(properties, environmentProvider::getCurrentEnvironment);
+    }
+
+    /**
+     * Create a holder with a custom environment resolver, used when there is no Spring environment
+     *
+     * @param properties the properties
+     * @param environmentResolver supplies the current environment each time a snapshot is compiled
+     */
+    public ExceptionNotifySnapshotHolder(ExceptionNotifyProperties properties, Supplier<String> environmentResolver) {
+        this.properties = properties;
+        this.environmentResolver = environmentResolver;
+        refresh();
+    }
+
+    /**
+     * Get the current snapshot
+     *
+     * @return the snapshot
+     */
+    public ExceptionNotifySnapshot get() {
+        return current.get();
+    }
+
+    /**
+     * Compile a new snapshot from the properties and swap it in
+     *
+     * @return the new snapshot
+     */
+    public synchronized ExceptionNotifySnapshot refresh() {
+        // Compile from a copy holding the current sections, so a later swap does not show through this snapshot
+        ExceptionNotifyProperties source = new ExceptionNotifyProperties();
+        BeanUtils.copyProperties(properties, source);
+        return compileAndSet(source);
+    }
+
+    /**
+     * Compile a new snapshot from freshly bound properties and swap it in
+     * The sections of the live properties are replaced by the fresh ones, so code that still reads the live
+     * properties sees either the old or the new section, never a half-updated one.
+     *
+     * @param fresh newly bound properties, not modified afterwards
+     * @return the new snapshot
+     */
+    public synchronized ExceptionNotifySnapshot swap(ExceptionNotifyProperties fresh) {
+        BeanUtils.copyProperties(fresh, properties);
+        return compileAndSet(fresh);
+    }
+
+    private ExceptionNotifySnapshot compileAndSet(ExceptionNotifyProperties source) {
+        String currentEnvironment = environmentResolver.get();
+        // Keep the resolved environment visible to code that still reads it from the properties
+        source.getEnvironment().setCurrent(currentEnvironment);
+        ExceptionNotifySnapshot snapshot = ExceptionNotifySnapshot.compile(source, currentEnvironment);
+        current.set(snapshot);
+        return snapshot;
+    }
+
+    public ExceptionNotifyProperties getProperties() {
+        return properties;
+    }
+}
@@ -3,6 +3,7 @@ package com.nolimit35.springkit.formatter;
 import com.nolimit35.springkit.config.ExceptionNotifyProperties;
 import com.nolimit35.springkit.model.CodeAuthorInfo;
 import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.model.RequestInfo;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.stereotype.Component;
 
@@ -40,6 +41,16 @@ public class DefaultNotificationFormatter implements NotificationFormatter {
         sb.append("**异常类型：** ").append(exceptionInfo.getType()).append("\n\n");
         sb.append("**异常描述：** ").append(exceptionInfo.getMessage()).append("\n\n");
         sb.append("**异常位置：** ").append(exceptionInfo.getLocation()).append("\n\n");
+
+        // Format request if captured during a web request
+        RequestInfo request = exceptionInfo.getRequest();
+        if (request != null) {
+            sb.append("**请求信息：** ").append(request.getMethod()).append(" ").append(request.getUri());
+            if (request.getHandler() != null) {
+                sb.append(" (").append(request.getHandler()).append(")");
+            }
+            sb.append("\n\n");
+        }
         
         // Format environment if available
         if (exceptionInfo.getEnvironment() != null && !exceptionInfo.getEnvironment().isEmpty()) {
@@ -60,7 +71,9 @@ public class DefaultNotificationFormatter implements NotificationFormatter {
         
         // Format author info if available
         CodeAuthorInfo authorInfo = exceptionInfo.getAuthorInfo();
-        if (authorInfo != null) {
+        if (authorInfo != null && authorInfo.getOwners() != null && !authorInfo.getOwners().isEmpty()) {
+            sb.append("**代码负责人：** ").append(String.join(", ", authorInfo.getOwners())).append("\n\n");
+        } else if (authorInfo != null) {
             sb.append("**代码提交者：** ").append(authorInfo.getName())
                     .append(" (").append(authorInfo.getEmail()).append(")\n\n");
             
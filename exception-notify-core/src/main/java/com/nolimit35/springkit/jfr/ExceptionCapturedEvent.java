@@ -0,0 +1,15 @@
+package com.nolimit35.springkit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.nolimit35.exceptionnotify.ExceptionCaptured")
+@Label("Exception Captured")
+@Description("An exception passing through the notification pipeline")
+@Category("Exception Notify")
+@StackTrace(false)
+class ExceptionCapturedEvent extends PipelineEvent {
+}
@@ -0,0 +1,79 @@
+package com.nolimit35.springkit.jfr;
+
+import java.util.function.Supplier;
+
+/**
+ * Java Flight Recorder events of the exception notification pipeline
+ * JFR is detected once. On runtimes without jdk.jfr (Java 8 before 8u262) the event classes are never loaded
+ * and every method returns {@link JfrSpan#NOOP}; with JFR present, a disabled event costs one allocation.
+ */
+public final class JfrEvents {
+    private static final boolean SUPPORTED = detect();
+
+    private JfrEvents() {
+    }
+
+    private static boolean detect() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JfrEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Begin an event covering the processing of one captured exception
+     *
+     * @return running span
+     */
+    public static JfrSpan exceptionCaptured() {
+        return SUPPORTED ? Factory.begin(Factory.EXCEPTION_CAPTURED) : JfrSpan.NOOP;
+    }
+
+    /**
+     * Begin an event covering the analysis and enrichment of an exception
+     *
+     * @return running span
+     */
+    public static JfrSpan enrichmentCompleted() {
+        return SUPPORTED ? Factory.begin(Factory.ENRICHMENT_COMPLETED) : JfrSpan.NOOP;
+    }
+
+    /**
+     * Begin an event covering the delivery of a notification through one provider
+     *
+     * @return running span
+     */
+    public static JfrSpan notificationDelivered() {
+        return SUPPORTED ? Factory.begin(Factory.NOTIFICATION_DELIVERED) : JfrSpan.NOOP;
+    }
+
+    /**
+     * Begin an event covering a deduplication check
+     *
+     * @return running span
+     */
+    public static JfrSpan dedupDecision() {
+        return SUPPORTED ? Factory.begin(Factory.DEDUP_DECISION) : JfrSpan.NOOP;
+    }
+
+    /**
+     * Holds the references to the event classes, so they are only resolved when JFR is supported
+     */
+    private static final class Factory {
+        private static final Supplier<PipelineEvent> EXCEPTION_CAPTURED = ExceptionCapturedEvent::new;
+        private static final Supplier<PipelineEvent> ENRICHMENT_COMPLETED = EnrichmentCompletedEvent::new;
+        private static final Supplier<PipelineEvent> NOTIFICATION_DELIVERED = NotificationDeliveredEvent::new;
+        private static final Supplier<PipelineEvent> DEDUP_DECISION = DedupDecisionEvent::new;
+
+        private static JfrSpan begin(Supplier<PipelineEvent> type) {
+            PipelineEvent event = type.get();
+            if (!event.isEnabled()) {
+                return JfrSpan.NOOP;
+            }
+            event.begin();
+            return event;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.nolimit35.springkit.jfr;
+
+/**
+ * A Java Flight Recorder event being timed
+ * Obtained from {@link JfrEvents}; the duration runs until {@link #commit()}. When JFR is unavailable or the
+ * event is not enabled in the running recording, the span is a shared no-op.
+ */
+public interface JfrSpan {
+
+    /**
+     * Span that records nothing
+     */
+    JfrSpan NOOP = new JfrSpan() {
+    };
+
+    /**
+     * Check whether the span is recorded, so callers can skip computing values that are only used for the event
+     *
+     * @return true if the event is enabled in a running recording
+     */
+    default boolean isRecording() {
+        return false;
+    }
+
+    default JfrSpan exceptionType(String exceptionType) {
+        return this;
+    }
+
+    default JfrSpan fingerprint(String fingerprint) {
+        return this;
+    }
+
+    default JfrSpan provider(String provider) {
+        return this;
+    }
+
+    default JfrSpan outcome(String outcome) {
+        return this;
+    }
+
+    /**
+     * End the span and write the event if it passes the recording's threshold
+     */
+    default void commit() {
+    }
+}
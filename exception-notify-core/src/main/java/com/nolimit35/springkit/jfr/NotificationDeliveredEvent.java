@@ -0,0 +1,15 @@
+package com.nolimit35.springkit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.nolimit35.exceptionnotify.NotificationDelivered")
+@Label("Notification Delivered")
+@Description("Delivery of a notification through one provider")
+@Category("Exception Notify")
+@StackTrace(false)
+class NotificationDeliveredEvent extends PipelineEvent {
+}
@@ -0,0 +1,53 @@
+package com.nolimit35.springkit.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of the exception notification JFR events
+ * Only loaded through {@link JfrEvents} after JFR has been detected, so the library still runs on Java 8.
+ * {@link Event#commit()} implements {@link JfrSpan#commit()}: it ends the event and applies the recording's threshold.
+ */
+abstract class PipelineEvent extends Event implements JfrSpan {
+
+    @Label("Exception Type")
+    String exceptionType;
+
+    @Label("Fingerprint")
+    String fingerprint;
+
+    @Label("Provider")
+    String provider;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Override
+    public boolean isRecording() {
+        return true;
+    }
+
+    @Override
+    public JfrSpan exceptionType(String exceptionType) {
+        this.exceptionType = exceptionType;
+        return this;
+    }
+
+    @Override
+    public JfrSpan fingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+        return this;
+    }
+
+    @Override
+    public JfrSpan provider(String provider) {
+        this.provider = provider;
+        return this;
+    }
+
+    @Override
+    public JfrSpan outcome(String outcome) {
+        this.outcome = outcome;
+        return this;
+    }
+}
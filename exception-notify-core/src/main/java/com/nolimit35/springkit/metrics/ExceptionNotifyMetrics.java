@@ -0,0 +1,80 @@
+package com.nolimit35.springkit.metrics;
+
+/**
+ * Metrics callback for the exception notification pipeline
+ * All methods default to no-ops, so instrumented components work unchanged when no metrics backend is present.
+ */
+public interface ExceptionNotifyMetrics {
+
+    /**
+     * Metrics implementation that records nothing
+     */
+    ExceptionNotifyMetrics NOOP = new ExceptionNotifyMetrics() {
+    };
+
+    /**
+     * Record one pass of an exception through the pipeline
+     *
+     * @param exceptionType the exception class name
+     * @param outcome how processing ended, e.g. sent, filtered, deduplicated, failed
+     * @param nanos elapsed time in nanoseconds
+     */
+    default void recordProcessing(String exceptionType, String outcome, long nanos) {
+    }
+
+    /**
+     * Record the analysis (enrichment) of an exception
+     *
+     * @param exceptionType the exception class name
+     * @param nanos elapsed time in nanoseconds
+     */
+    default void recordAnalysis(String exceptionType, long nanos) {
+    }
+
+    /**
+     * Record a call to a source control service
+     *
+     * @param service the service name
+     * @param operation the operation, e.g. author or code_context
+     * @param outcome found, not_found or error
+     * @param nanos elapsed time in nanoseconds
+     */
+    default void recordScmCall(String service, String operation, String outcome, long nanos) {
+    }
+
+    /**
+     * Record a deduplication decision
+     *
+     * @param notify true if the exception is notified, false if it was suppressed as a duplicate
+     */
+    default void recordDeduplication(boolean notify) {
+    }
+
+    /**
+     * Record building an AI analysis link
+     *
+     * @param outcome success or failure
+     * @param nanos elapsed time in nanoseconds
+     */
+    default void recordAiLink(String outcome, long nanos) {
+    }
+
+    /**
+     * Record a notification sent through a provider
+     *
+     * @param provider the provider name
+     * @param exceptionType the exception class name
+     * @param outcome success, failure or error
+     * @param nanos elapsed time in nanoseconds
+     */
+    default void recordNotification(String provider, String exceptionType, String outcome, long nanos) {
+    }
+
+    /**
+     * Record information that was dropped, e.g. an enrichment stage that missed its deadline
+     *
+     * @param reason why it was dropped
+     */
+    default void recordDropped(String reason) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.nolimit35.springkit.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Payload passed to the AI analysis web application.
+ */
+@Data
+@Builder
+public class AiAnalysisPayload {
+    /**
+     * Application name where the exception occurred.
+     */
+    private String appName;
+
+    /**
+     * Active environment (e.g. dev/test/prod).
+     */
+    private String environment;
+
+    /**
+     * Exception occurrence time formatted as ISO string.
+     */
+    private String occurrenceTime;
+
+    /**
+     * Exception fully qualified class name.
+     */
+    private String exceptionType;
+
+    /**
+     * Exception message.
+     */
+    private String exceptionMessage;
+
+    /**
+     * Location of the exception (class, method, file, line).
+     */
+    private String location;
+
+    /**
+     * Full stack trace text.
+     */
+    private String stacktrace;
+
+    /**
+     * Code context captured around the failure point.
+     */
+    private String codeContext;
+
+    /**
+     * Trace identifier when available.
+     */
+    private String traceId;
+
+    /**
+     * Trace URL when available.
+     */
+    private String traceUrl;
+
+    /**
+     * Author information for the related source file.
+     */
+    private Author author;
+
+    /**
+     * Serialize to JSON without reflection, with the same field names Jackson would use
+     *
+     * @return JSON object
+     */
+    public String toJson() {
+        return writeTo(new JsonWriter(512 + (stacktrace != null ? stacktrace.length() : 0)).beginObject())
+                .endObject()
+                .toString();
+    }
+
+    /**
+     * Write the payload fields into an open JSON object
+     *
+     * @param json the writer, positioned inside an object
+     * @return the writer
+     */
+    public JsonWriter writeTo(JsonWriter json) {
+        json.field("appName", appName)
+                .field("environment", environment)
+                .field("occurrenceTime", occurrenceTime)
+                .field("exceptionType", exceptionType)
+                .field("exceptionMessage", exceptionMessage)
+                .field("location", location)
+                .field("stacktrace", stacktrace)
+                .field("codeContext", codeContext)
+                .field("traceId", traceId)
+                .field("traceUrl", traceUrl);
+        if (author == null) {
+            return json.nullField("author");
+        }
+        return json.beginObject("author")
+                .field("name", author.getName())
+                .field("email", author.getEmail())
+                .field("lastCommitTime", author.getLastCommitTime())
+                .field("fileName", author.getFileName())
+                .field("lineNumber", author.getLineNumber())
+                .field("commitMessage", author.getCommitMessage())
+                .endObject();
+    }
+
+    /**
+     * Nested payload representing author metadata.
+     */
+    @Data
+    @Builder
+    public static class Author {
+        private String name;
+        private String email;
+        private String lastCommitTime;
+        private String fileName;
+        private Integer lineNumber;
+        private String commitMessage;
+    }
+}
@@ -4,6 +4,7 @@ import lombok.Builder;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Code author information model
@@ -40,4 +41,9 @@ public class CodeAuthorInfo {
      * Commit message
      */
     private String commitMessage;
+
+    /**
+     * Code owners (user handles, team handles or emails), set when resolved from CODEOWNERS
+     */
+    private List<String> owners;
 } 
\ No newline at end of file
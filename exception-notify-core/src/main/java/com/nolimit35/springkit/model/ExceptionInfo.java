@@ -0,0 +1,115 @@
+package com.nolimit35.springkit.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exception information model
+ */
+@Data
+@Builder
+public class ExceptionInfo {
+    /**
+     * Exception time
+     */
+    private LocalDateTime time;
+
+    /**
+     * Exception type
+     */
+    private String type;
+
+    /**
+     * Exception message
+     */
+    private String message;
+
+    /**
+     * Exception location (file and line number)
+     */
+    private String location;
+
+    /**
+     * Exception stacktrace
+     */
+    private String stacktrace;
+
+    /**
+     * Trace ID
+     */
+    private String traceId;
+
+    /**
+     * Application name
+     */
+    private String appName;
+
+    /**
+     * Current environment (e.g., dev, test, prod)
+     */
+    private String environment;
+
+    /**
+     * Code author information
+     */
+    private CodeAuthorInfo authorInfo;
+
+    /**
+     * Trace URL
+     */
+    private String traceUrl;
+
+    /**
+     * AI analysis web link for further investigation
+     */
+    private String aiAnalysisUrl;
+
+    /**
+     * Web request the exception was captured in, only set by request-aware capture modes
+     */
+    private RequestInfo request;
+
+    /**
+     * Serialize to JSON without reflection, time values as ISO-8601 strings
+     *
+     * @return JSON object
+     */
+    public String toJson() {
+        JsonWriter json = new JsonWriter(512 + (stacktrace != null ? stacktrace.length() : 0)).beginObject()
+                .field("time", time != null ? time.toString() : null)
+                .field("type", type)
+                .field("message", message)
+                .field("location", location)
+                .field("stacktrace", stacktrace)
+                .field("traceId", traceId)
+                .field("appName", appName)
+                .field("environment", environment);
+        if (authorInfo != null) {
+            json.beginObject("authorInfo")
+                    .field("name", authorInfo.getName())
+                    .field("email", authorInfo.getEmail())
+                    .field("lastCommitTime", authorInfo.getLastCommitTime() != null ? authorInfo.getLastCommitTime().toString() : null)
+                    .field("fileName", authorInfo.getFileName())
+                    .field("lineNumber", authorInfo.getLineNumber())
+                    .field("commitMessage", authorInfo.getCommitMessage())
+                    .field("owners", authorInfo.getOwners())
+                    .endObject();
+        } else {
+            json.nullField("authorInfo");
+        }
+        json.field("traceUrl", traceUrl)
+                .field("aiAnalysisUrl", aiAnalysisUrl);
+        if (request != null) {
+            json.beginObject("request")
+                    .field("method", request.getMethod())
+                    .field("uri", request.getUri())
+                    .field("handler", request.getHandler())
+                    .endObject();
+        } else {
+            json.nullField("request");
+        }
+        return json.endObject().toString();
+    }
+}
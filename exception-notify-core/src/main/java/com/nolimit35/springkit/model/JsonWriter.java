@@ -0,0 +1,130 @@
+package com.nolimit35.springkit.model;
+
+import java.util.List;
+
+/**
+ * Minimal JSON writer for the notification models
+ * Writes fields explicitly instead of introspecting getters, so serializing the models needs no reflection
+ * metadata in a GraalVM native image. Null values are written as JSON null.
+ */
+public final class JsonWriter {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final StringBuilder json;
+
+    public JsonWriter() {
+        this(256);
+    }
+
+    public JsonWriter(int capacity) {
+        this.json = new StringBuilder(capacity);
+    }
+
+    public JsonWriter beginObject() {
+        json.append('{');
+        return this;
+    }
+
+    public JsonWriter beginObject(String name) {
+        name(name);
+        json.append('{');
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        json.append('}');
+        return this;
+    }
+
+    public JsonWriter field(String name, String value) {
+        name(name);
+        string(value);
+        return this;
+    }
+
+    public JsonWriter field(String name, Number value) {
+        name(name);
+        json.append(value == null ? "null" : value.toString());
+        return this;
+    }
+
+    public JsonWriter field(String name, List<String> values) {
+        name(name);
+        if (values == null) {
+            json.append("null");
+            return this;
+        }
+
+        json.append('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            string(values.get(i));
+        }
+        json.append(']');
+        return this;
+    }
+
+    /**
+     * Write a field whose value is null
+     *
+     * @param name the field name
+     * @return this writer
+     */
+    public JsonWriter nullField(String name) {
+        name(name);
+        json.append("null");
+        return this;
+    }
+
+    private void name(String name) {
+        char last = json.length() == 0 ? '{' : json.charAt(json.length() - 1);
+        if (last != '{' && last != '[') {
+            json.append(',');
+        }
+        string(name);
+        json.append(':');
+    }
+
+    private void string(String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return json.toString();
+    }
+}
@@ -0,0 +1,26 @@
+package com.nolimit35.springkit.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Web request during which an exception was captured
+ */
+@Data
+@Builder
+public class RequestInfo {
+    /**
+     * HTTP method
+     */
+    private String method;
+
+    /**
+     * Request URI, without the query string
+     */
+    private String uri;
+
+    /**
+     * Handler that processed the request, as Type#method for controller methods
+     */
+    private String handler;
+}
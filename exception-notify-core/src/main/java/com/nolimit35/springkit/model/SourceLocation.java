@@ -0,0 +1,25 @@
+package com.nolimit35.springkit.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Source location model (a line of a file in the repository)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SourceLocation {
+    /**
+     * Source file name
+     */
+    private String fileName;
+
+    /**
+     * Source line number
+     */
+    private int lineNumber;
+}
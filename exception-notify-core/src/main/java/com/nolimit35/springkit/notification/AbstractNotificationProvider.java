@@ -0,0 +1,167 @@
+package com.nolimit35.springkit.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.config.ExceptionNotifySnapshot;
+import com.nolimit35.springkit.config.ExceptionNotifySnapshotHolder;
+import com.nolimit35.springkit.metrics.ExceptionNotifyMetrics;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.model.CodeAuthorInfo;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Abstract base class for notification providers
+ * Makes it easier to implement custom notification providers
+ */
+@Slf4j
+public abstract class AbstractNotificationProvider implements NotificationProvider {
+    protected final ExceptionNotifyProperties properties;
+    private ExceptionNotifyMetrics metrics = ExceptionNotifyMetrics.NOOP;
+    private ExceptionNotifySnapshotHolder snapshotHolder;
+
+    public AbstractNotificationProvider(ExceptionNotifyProperties properties) {
+        this.properties = properties;
+        this.snapshotHolder = new ExceptionNotifySnapshotHolder(properties);
+    }
+
+    /**
+     * Set the shared configuration snapshot holder, refreshed when the configuration changes
+     *
+     * @param snapshotHolder the snapshot holder
+     */
+    @Autowired(required = false)
+    public void setSnapshotHolder(ExceptionNotifySnapshotHolder snapshotHolder) {
+        this.snapshotHolder = snapshotHolder;
+    }
+
+    /**
+     * Get the current configuration snapshot
+     *
+     * @return the snapshot
+     */
+    protected ExceptionNotifySnapshot snapshot() {
+        return snapshotHolder.get();
+    }
+
+    /**
+     * Get the HTTP client shared by the built-in providers
+     * Built on the first delivery, so an application where no provider is enabled never creates one.
+     *
+     * @return the shared HTTP client
+     */
+    protected static OkHttpClient httpClient() {
+        return SharedClients.HTTP_CLIENT;
+    }
+
+    /**
+     * Get the object mapper shared by the built-in providers, built on first use
+     *
+     * @return the shared object mapper
+     */
+    protected static ObjectMapper objectMapper() {
+        return SharedClients.OBJECT_MAPPER;
+    }
+
+    /**
+     * Set the metrics callback, a no-op unless a metrics backend is configured
+     *
+     * @param metrics the metrics callback
+     */
+    @Autowired(required = false)
+    public void setMetrics(ExceptionNotifyMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean sendNotification(ExceptionInfo exceptionInfo) {
+        if (!isEnabled()) {
+            log.debug("{} notification provider is not enabled", getProviderName());
+            return false;
+        }
+
+        long start = System.nanoTime();
+        try {
+            boolean sent = doSendNotification(exceptionInfo);
+            metrics.recordNotification(getProviderName(), exceptionInfo.getType(), sent ? "success" : "failure",
+                    System.nanoTime() - start);
+            return sent;
+        } catch (Exception e) {
+            metrics.recordNotification(getProviderName(), exceptionInfo.getType(), "error", System.nanoTime() - start);
+            log.error("Error sending notification through {}: {}", 
+                getProviderName(), e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Implement actual notification sending logic in subclasses
+     *
+     * @param exceptionInfo the complete exception information
+     * @return true if notification was sent successfully
+     * @throws Exception if an error occurs during sending
+     */
+    protected abstract boolean doSendNotification(ExceptionInfo exceptionInfo) throws Exception;
+
+    /**
+     * Find the users to mention for an exception
+     * As before CODEOWNERS support, the author email mentions the first user whose list contains it; every user
+     * whose list contains one of the CODEOWNERS owners is mentioned on top.
+     *
+     * @param exceptionInfo the exception information
+     * @param mapping user ID to list of Git emails / owner handles
+     * @return the email match followed by the owner matches in mapping order, empty if nothing matches
+     */
+    protected List<String> findMentionedUserIds(ExceptionInfo exceptionInfo, Map<String, List<String>> mapping) {
+        CodeAuthorInfo authorInfo = exceptionInfo.getAuthorInfo();
+        if (authorInfo == null || mapping == null || mapping.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> userIds = new ArrayList<>();
+        String email = authorInfo.getEmail();
+        if (email != null && !email.isEmpty()) {
+            for (Map.Entry<String, List<String>> entry : mapping.entrySet()) {
+                if (entry.getValue() != null && entry.getValue().contains(email)) {
+                    userIds.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+
+        List<String> owners = authorInfo.getOwners();
+        if (owners != null && !owners.isEmpty()) {
+            for (Map.Entry<String, List<String>> entry : mapping.entrySet()) {
+                if (entry.getValue() != null && !userIds.contains(entry.getKey())
+                        && entry.getValue().stream().anyMatch(owners::contains)) {
+                    userIds.add(entry.getKey());
+                }
+            }
+        }
+        return userIds;
+    }
+
+    /**
+     * Get provider name for logging purposes
+     *
+     * @return name of the provider
+     */
+    protected String getProviderName() {
+        return this.getClass().getSimpleName();
+    }
+
+    /**
+     * Lazily initialized holder of the shared clients, loaded on the first call to {@link #httpClient()} or
+     * {@link #objectMapper()}
+     */
+    private static final class SharedClients {
+        private static final OkHttpClient HTTP_CLIENT = new OkHttpClient();
+        private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.nolimit35.springkit.notification;
+
+import com.nolimit35.springkit.jfr.JfrEvents;
+import com.nolimit35.springkit.jfr.JfrSpan;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.service.ExceptionDeduplicationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Manager for notification providers
+ */
+@Slf4j
+@Component
+public class NotificationProviderManager {
+    private final List<NotificationProvider> providers;
+    private final Map<String, ProviderStats> providerStats = new ConcurrentHashMap<>();
+    private volatile boolean paused;
+
+    public NotificationProviderManager(List<NotificationProvider> providers) {
+        this.providers = providers;
+        
+        if (log.isInfoEnabled()) {
+            log.info("Initialized NotificationProviderManager with {} provider(s)", providers.size());
+            for (NotificationProvider provider : providers) {
+                log.info("Found notification provider: {} (enabled: {})", 
+                    provider.getClass().getSimpleName(), 
+                    provider.isEnabled());
+            }
+        }
+    }
+    
+    /**
+     * Send notification through all enabled providers
+     *
+     * @param exceptionInfo the complete exception information
+     * @return true if at least one provider sent the notification successfully
+     */
+    public boolean sendNotification(ExceptionInfo exceptionInfo) {
+        if (providers.isEmpty()) {
+            log.warn("No notification providers available");
+            return false;
+        }
+
+        if (paused) {
+            log.info("Notification delivery is paused, skipping: {}", exceptionInfo.getType());
+            return false;
+        }
+        
+        AtomicBoolean atLeastOneSent = new AtomicBoolean(false);
+        
+        // Try sending through all enabled providers
+        providers.stream()
+            .filter(NotificationProvider::isEnabled)
+            .forEach(provider -> {
+                ProviderStats stats = providerStats.computeIfAbsent(
+                    provider.getClass().getSimpleName(), name -> new ProviderStats());
+                JfrSpan span = JfrEvents.notificationDelivered();
+                long start = System.nanoTime();
+                try {
+                    boolean sent = provider.sendNotification(exceptionInfo);
+                    stats.record(sent, System.nanoTime() - start);
+                    commit(span, provider, exceptionInfo, sent ? "success" : "failure");
+                    if (sent) {
+                        atLeastOneSent.set(true);
+                        log.info("Notification sent successfully through {}", 
+                            provider.getClass().getSimpleName());
+                    } else {
+                        log.warn("Failed to send notification through {}", 
+                            provider.getClass().getSimpleName());
+                    }
+                } catch (Exception e) {
+                    stats.record(false, System.nanoTime() - start);
+                    commit(span, provider, exceptionInfo, "error");
+                    log.error("Error sending notification through {}: {}", 
+                        provider.getClass().getSimpleName(), e.getMessage(), e);
+                }
+            });
+        
+        return atLeastOneSent.get();
+    }
+    
+    private static void commit(JfrSpan span, NotificationProvider provider, ExceptionInfo exceptionInfo, String outcome) {
+        if (span.isRecording()) {
+            span.provider(provider.getClass().getSimpleName())
+                .exceptionType(exceptionInfo.getType())
+                .fingerprint(ExceptionDeduplicationService.generateExceptionKey(exceptionInfo))
+                .outcome(outcome)
+                .commit();
+        }
+    }
+
+    /**
+     * Get all available providers
+     *
+     * @return list of notification providers
+     */
+    public List<NotificationProvider> getProviders() {
+        return providers;
+    }
+
+    /**
+     * Pause notification delivery, e.g. during an incident; exceptions are dropped while paused
+     */
+    public void pause() {
+        paused = true;
+        log.warn("Notification delivery paused");
+    }
+
+    /**
+     * Resume notification delivery
+     */
+    public void resume() {
+        paused = false;
+        log.info("Notification delivery resumed");
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Get delivery statistics per provider
+     *
+     * @return provider class simple name to statistics, for providers that were used at least once
+     */
+    public Map<String, ProviderStats> getProviderStats() {
+        return Collections.unmodifiableMap(providerStats);
+    }
+
+    /**
+     * Delivery statistics of one provider
+     */
+    public static class ProviderStats {
+        private final LongAdder success = new LongAdder();
+        private final LongAdder failure = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(boolean sent, long nanos) {
+            (sent ? success : failure).increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getSuccess() {
+            return success.sum();
+        }
+
+        public long getFailure() {
+            return failure.sum();
+        }
+
+        /**
+         * Average latency over all deliveries (successful and failed)
+         *
+         * @return average latency in milliseconds, 0 if nothing was sent yet
+         */
+        public double getAverageMillis() {
+            long count = success.sum() + failure.sum();
+            return count == 0 ? 0 : (double) totalNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        public long getMaxMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+        }
+    }
+} 
\ No newline at end of file
@@ -1,6 +1,5 @@
 package com.nolimit35.springkit.notification.provider;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nolimit35.springkit.config.ExceptionNotifyProperties;
 import com.nolimit35.springkit.formatter.NotificationFormatter;
 import com.nolimit35.springkit.model.ExceptionInfo;
@@ -8,9 +7,7 @@ import com.nolimit35.springkit.notification.AbstractNotificationProvider;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,21 +18,18 @@ import java.util.Map;
 @Slf4j
 @Component
 public class DingTalkNotificationProvider extends AbstractNotificationProvider {
-    private final OkHttpClient httpClient;
-    private final ObjectMapper objectMapper;
     private final NotificationFormatter formatter;
     private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
 
     public DingTalkNotificationProvider(ExceptionNotifyProperties properties, NotificationFormatter formatter) {
         super(properties);
-        this.httpClient = new OkHttpClient();
-        this.objectMapper = new ObjectMapper();
         this.formatter = formatter;
     }
 
     @Override
     protected boolean doSendNotification(ExceptionInfo exceptionInfo) throws Exception {
-        String webhook = properties.getDingtalk().getWebhook();
+        ExceptionNotifyProperties config = snapshot().getProperties();
+        String webhook = config.getDingtalk().getWebhook();
         
         // Format the exception info into a notification
         String content = formatter.format(exceptionInfo);
@@ -56,31 +50,24 @@ public class DingTalkNotificationProvider extends AbstractNotificationProvider {
 
 
         // 添加处理人信息
-        if (exceptionInfo.getAuthorInfo() != null && StringUtils.hasText(exceptionInfo.getAuthorInfo().getEmail()) &&
-            properties.getDingtalk().getAt() != null && properties.getDingtalk().getAt().isEnabled()) {
-
-            if (properties.getDingtalk().getAt().getUserIdMappingGitEmail() != null
-                && !properties.getDingtalk().getAt().getUserIdMappingGitEmail().isEmpty()) {
-                // at 具体用户
-                String dingUserId = properties.getDingtalk().getAt().getUserIdMappingGitEmail().entrySet().stream()
-                        // 根据邮箱匹配对应的企微用户id
-                        .filter(entry -> entry.getValue().contains(exceptionInfo.getAuthorInfo().getEmail()))
-                        .map(Map.Entry::getKey)
-                        .findFirst()
-                        .orElse(null);
-
-                if (StringUtils.hasText(dingUserId)) {
-                    Map<String, List<String>> atUserId = new HashMap<>();
-                    atUserId.put("atUserIds", Collections.singletonList(dingUserId));
-                    requestBody.put("at", atUserId);
-                }
+        if (exceptionInfo.getAuthorInfo() != null &&
+            config.getDingtalk().getAt() != null && config.getDingtalk().getAt().isEnabled()) {
+
+            // at 具体用户：根据邮箱或 CODEOWNERS 负责人匹配对应的钉钉用户id
+            List<String> dingUserIds = findMentionedUserIds(exceptionInfo,
+                    config.getDingtalk().getAt().getUserIdMappingGitEmail());
+
+            if (!dingUserIds.isEmpty()) {
+                Map<String, List<String>> atUserId = new HashMap<>();
+                atUserId.put("atUserIds", dingUserIds);
+                requestBody.put("at", atUserId);
             }
         }
 
         requestBody.put("markdown", text);
 
 
-        String jsonBody = objectMapper.writeValueAsString(requestBody);
+        String jsonBody = objectMapper().writeValueAsString(requestBody);
         
         Request request = new Request.Builder()
             .url(webhook)
@@ -88,7 +75,7 @@ public class DingTalkNotificationProvider extends AbstractNotificationProvider {
                 .post(RequestBody.create(jsonBody, JSON))
             .build();
 
-        try (Response response = httpClient.newCall(request).execute()) {
+        try (Response response = httpClient().newCall(request).execute()) {
             if (!response.isSuccessful()) {
                 log.error("Failed to send DingTalk notification: {}", response.code());
                 return false;
@@ -102,8 +89,6 @@ public class DingTalkNotificationProvider extends AbstractNotificationProvider {
 
     @Override
     public boolean isEnabled() {
-        return properties.isEnabled() && 
-               properties.getDingtalk().getWebhook() != null && 
-               !properties.getDingtalk().getWebhook().isEmpty();
+        return snapshot().isDingTalkEnabled();
     }
 } 
\ No newline at end of file
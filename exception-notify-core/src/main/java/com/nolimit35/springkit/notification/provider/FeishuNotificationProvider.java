@@ -1,15 +1,14 @@
 package com.nolimit35.springkit.notification.provider;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nolimit35.springkit.config.ExceptionNotifyProperties;
 import com.nolimit35.springkit.formatter.NotificationFormatter;
 import com.nolimit35.springkit.model.CodeAuthorInfo;
 import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.model.RequestInfo;
 import com.nolimit35.springkit.notification.AbstractNotificationProvider;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -22,28 +21,64 @@ import static com.nolimit35.springkit.formatter.DefaultNotificationFormatter.DAT
 @Slf4j
 @Component
 public class FeishuNotificationProvider extends AbstractNotificationProvider {
-    private final OkHttpClient httpClient;
-    private final ObjectMapper objectMapper;
     private final NotificationFormatter formatter;
     private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
 
     public FeishuNotificationProvider(ExceptionNotifyProperties properties, NotificationFormatter formatter) {
         super(properties);
-        this.httpClient = new OkHttpClient();
-        this.objectMapper = new ObjectMapper();
         this.formatter = formatter;
     }
 
     @Override
     protected boolean doSendNotification(ExceptionInfo exceptionInfo) throws Exception {
-        String webhook = properties.getFeishu().getWebhook();
+        ExceptionNotifyProperties config = snapshot().getProperties();
+        String webhook = config.getFeishu().getWebhook();
 
+        // Build request body according to Feishu bot API
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("msg_type", "text");
+
+        Map<String, String> contentMap = new HashMap<>();
+        contentMap.put("text", buildText(exceptionInfo, config));
+        requestBody.put("content", contentMap);
+
+        String jsonBody = objectMapper().writeValueAsString(requestBody);
+
+        Request request = new Request.Builder()
+                .url(webhook)
+                .header("Content-Type", "application/json")
+                .post(RequestBody.create(jsonBody, JSON))
+                .build();
+
+        try (Response response = httpClient().newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                log.error("Failed to send Feishu notification: {}", response.code());
+                return false;
+            }
+
+            String responseBody = response.body().string();
+            log.debug("Feishu response: {}", responseBody);
+            return true;
+        }
+    }
+
+    /**
+     * Build the plain text message sent to the Feishu bot
+     *
+     * @param exceptionInfo exception information
+     * @return message text
+     */
+    public String buildText(ExceptionInfo exceptionInfo) {
+        return buildText(exceptionInfo, snapshot().getProperties());
+    }
+
+    private String buildText(ExceptionInfo exceptionInfo, ExceptionNotifyProperties config) {
         // 飞书机器人不能直接支持 markdown 格式,不使用 formatter 格式化,直接使用原始的异常信息
         // String content = formatter.format(exceptionInfo);
         StringBuilder sb = new StringBuilder();
 
         // Format title as Markdown heading
-        String title = properties.getNotification().getTitleTemplate()
+        String title = config.getNotification().getTitleTemplate()
                 .replace("${appName}", exceptionInfo.getAppName());
         sb.append(title).append("\n");
 
@@ -53,6 +88,16 @@ public class FeishuNotificationProvider extends AbstractNotificationProvider {
         sb.append("异常描述：").append(exceptionInfo.getMessage()).append("\n");
         sb.append("异常位置：").append(exceptionInfo.getLocation()).append("\n");
 
+        // Format request if captured during a web request
+        RequestInfo request = exceptionInfo.getRequest();
+        if (request != null) {
+            sb.append("请求信息：").append(request.getMethod()).append(" ").append(request.getUri());
+            if (request.getHandler() != null) {
+                sb.append(" (").append(request.getHandler()).append(")");
+            }
+            sb.append("\n");
+        }
+
         // Format environment if available
         if (exceptionInfo.getEnvironment() != null && !exceptionInfo.getEnvironment().isEmpty()) {
             sb.append("当前环境：").append(exceptionInfo.getEnvironment()).append("\n");
@@ -60,10 +105,10 @@ public class FeishuNotificationProvider extends AbstractNotificationProvider {
 
         // Add branch information from GitHub or Gitee configuration
         String branch = null;
-        if (properties.getGithub() != null && properties.getGithub().getToken() != null && properties.getGithub().getBranch() != null) {
-            branch = properties.getGithub().getBranch();
-        } else if (properties.getGitee() != null && properties.getGitee().getToken() != null && properties.getGitee().getBranch() != null) {
-            branch = properties.getGitee().getBranch();
+        if (config.getGithub() != null && config.getGithub().getToken() != null && config.getGithub().getBranch() != null) {
+            branch = config.getGithub().getBranch();
+        } else if (config.getGitee() != null && config.getGitee().getToken() != null && config.getGitee().getBranch() != null) {
+            branch = config.getGitee().getBranch();
         }
 
         if (branch != null && !branch.isEmpty()) {
@@ -96,11 +141,11 @@ public class FeishuNotificationProvider extends AbstractNotificationProvider {
         }
 
         // Format stacktrace if enabled
-        if (properties.getNotification().isIncludeStacktrace() && exceptionInfo.getStacktrace() != null) {
+        if (config.getNotification().isIncludeStacktrace() && exceptionInfo.getStacktrace() != null) {
             sb.append("堆栈信息：\n");
 
             // Limit stacktrace lines if configured
-            int maxLines = properties.getNotification().getMaxStacktraceLines();
+            int maxLines = config.getNotification().getMaxStacktraceLines();
             if (maxLines > 0) {
                 String[] lines = exceptionInfo.getStacktrace().split("\n");
                 String limitedStacktrace = Arrays.stream(lines)
@@ -117,56 +162,25 @@ public class FeishuNotificationProvider extends AbstractNotificationProvider {
         }
 
         // 添加处理人信息
-        if (exceptionInfo.getAuthorInfo() != null && StringUtils.hasText(exceptionInfo.getAuthorInfo().getEmail()) &&
-            properties.getFeishu().getAt() != null && properties.getFeishu().getAt().isEnabled()) {
-            if (properties.getFeishu().getAt().getOpenIdMappingGitEmail() != null
-                && !properties.getFeishu().getAt().getOpenIdMappingGitEmail().isEmpty()) {
-                // at 具体用户
-                String feishuOpenId = properties.getFeishu().getAt().getOpenIdMappingGitEmail().entrySet().stream()
-                        // 根据邮箱匹配对应的企微用户id
-                        .filter(entry -> entry.getValue().contains(exceptionInfo.getAuthorInfo().getEmail()))
-                        .map(Map.Entry::getKey)
-                        .findFirst()
-                        .orElse(null);
-
-                if (StringUtils.hasText(feishuOpenId)) {
-                   sb.append(String.format("\n处理人: <at user_id=\"%s\">名字</at>", feishuOpenId));
+        if (exceptionInfo.getAuthorInfo() != null &&
+            config.getFeishu().getAt() != null && config.getFeishu().getAt().isEnabled()) {
+            // at 具体用户：根据邮箱或 CODEOWNERS 负责人匹配对应的飞书用户id
+            List<String> feishuOpenIds = findMentionedUserIds(exceptionInfo,
+                    config.getFeishu().getAt().getOpenIdMappingGitEmail());
+
+            if (!feishuOpenIds.isEmpty()) {
+                sb.append("\n处理人:");
+                for (String feishuOpenId : feishuOpenIds) {
+                    sb.append(String.format(" <at user_id=\"%s\">名字</at>", feishuOpenId));
                 }
             }
         }
 
-        // Build request body according to Feishu bot API
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("msg_type", "text");
-
-        Map<String, String> contentMap = new HashMap<>();
-        contentMap.put("text", sb.toString());
-        requestBody.put("content", contentMap);
-
-        String jsonBody = objectMapper.writeValueAsString(requestBody);
-
-        Request request = new Request.Builder()
-                .url(webhook)
-                .header("Content-Type", "application/json")
-                .post(RequestBody.create(jsonBody, JSON))
-                .build();
-
-        try (Response response = httpClient.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                log.error("Failed to send Feishu notification: {}", response.code());
-                return false;
-            }
-
-            String responseBody = response.body().string();
-            log.debug("Feishu response: {}", responseBody);
-            return true;
-        }
+        return sb.toString();
     }
 
     @Override
     public boolean isEnabled() {
-        return properties.isEnabled() &&
-               properties.getFeishu().getWebhook() != null &&
-               !properties.getFeishu().getWebhook().isEmpty();
+        return snapshot().isFeishuEnabled();
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.nolimit35.springkit.notification.provider;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.formatter.NotificationFormatter;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.notification.AbstractNotificationProvider;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.*;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WeChat Work implementation of NotificationProvider
+ */
+@Slf4j
+@Component
+public class WeChatWorkNotificationProvider extends AbstractNotificationProvider {
+    private final NotificationFormatter formatter;
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    public WeChatWorkNotificationProvider(ExceptionNotifyProperties properties, NotificationFormatter formatter) {
+        super(properties);
+        this.formatter = formatter;
+    }
+
+    @Override
+    protected boolean doSendNotification(ExceptionInfo exceptionInfo) throws Exception {
+        ExceptionNotifyProperties config = snapshot().getProperties();
+        String webhook = config.getWechatwork().getWebhook();
+
+        // Format the exception info into a notification
+        String content = formatter.format(exceptionInfo);
+
+        // 添加处理人信息
+        if (exceptionInfo.getAuthorInfo() != null &&
+                config.getWechatwork().getAt() != null && config.getWechatwork().getAt().isEnabled()) {
+
+            // at 具体用户：根据邮箱或 CODEOWNERS 负责人匹配对应的企微用户id
+            List<String> qwUserIds = findMentionedUserIds(exceptionInfo,
+                    config.getWechatwork().getAt().getUserIdMappingGitEmail());
+
+            if (!qwUserIds.isEmpty()) {
+                StringBuilder mentions = new StringBuilder("\n**处理人：**");
+                for (String qwUserId : qwUserIds) {
+                    // 处理 yaml 配置中 key 为 [@] 会序列化为 .@. 的情况
+                    mentions.append(" <@").append(qwUserId.replace(".@.", "@")).append(">");
+                }
+                content += mentions.append("\n");
+            }
+        }
+
+        // Prepare request body
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("msgtype", "markdown");
+
+        Map<String, String> markdown = new HashMap<>();
+        markdown.put("content", content);
+        requestBody.put("markdown", markdown);
+
+        String jsonBody = objectMapper().writeValueAsString(requestBody);
+
+        Request request = new Request.Builder()
+                .url(webhook)
+                .post(RequestBody.create(jsonBody, JSON))
+                .build();
+
+        try (Response response = httpClient().newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                log.error("Failed to send WeChat Work notification: {}", response.code());
+                return false;
+            }
+
+            String responseBody = response.body().string();
+            log.debug("WeChat Work response: {}", responseBody);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return snapshot().isWeChatWorkEnabled();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,601 @@
+package com.nolimit35.springkit.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.CodeAuthorInfo;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Abstract implementation of GitSourceControlService providing common functionality
+ * for different git source control providers (GitHub, Gitee, etc.)
+ */
+@Slf4j
+public abstract class AbstractGitSourceControlService implements GitSourceControlService {
+
+    protected final ExceptionNotifyProperties properties;
+    private volatile OkHttpClient httpClient;
+    protected final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    protected final String serviceName;
+    protected final ScmCircuitBreaker circuitBreaker;
+    protected final ScmLookupCache<Boolean> negativeCache;
+    protected final ScmLookupCache<ConditionalEntry<SourceLines>> contentCache;
+    private volatile ScmDiskCache diskCache;
+    private boolean diskCacheOpened;
+    private boolean diskCacheReleased;
+
+    protected AbstractGitSourceControlService(ExceptionNotifyProperties properties) {
+        this(properties, null);
+    }
+
+    protected AbstractGitSourceControlService(ExceptionNotifyProperties properties, String serviceName) {
+        this.properties = properties;
+        this.serviceName = serviceName != null ? serviceName : getClass().getSimpleName();
+        this.circuitBreaker = new ScmCircuitBreaker(this.serviceName, properties.getScm().getCircuitBreaker());
+        ExceptionNotifyProperties.Scm.NegativeCache negativeCacheConfig = properties.getScm().getNegativeCache();
+        this.negativeCache = new ScmLookupCache<>(
+                negativeCacheConfig.isEnabled() ? negativeCacheConfig.getMaxEntries() : 0,
+                TimeUnit.MINUTES.toMillis(negativeCacheConfig.getTtlMinutes()));
+        ExceptionNotifyProperties.Scm.ContentCache contentCacheConfig = properties.getScm().getContentCache();
+        this.contentCache = new ScmLookupCache<>(
+                contentCacheConfig.isEnabled() ? contentCacheConfig.getMaxEntries() : 0,
+                TimeUnit.MINUTES.toMillis(contentCacheConfig.getTtlMinutes()));
+    }
+
+    /**
+     * Get the HTTP client of this service, built with the configured timeouts on first use
+     *
+     * @return the HTTP client
+     */
+    protected OkHttpClient httpClient() {
+        OkHttpClient client = httpClient;
+        if (client == null) {
+            synchronized (this) {
+                client = httpClient;
+                if (client == null) {
+                    client = buildHttpClient(properties.getScm());
+                    httpClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Get the object mapper shared by the source control services, built on first use
+     *
+     * @return the shared object mapper
+     */
+    protected static ObjectMapper objectMapper() {
+        return SharedClients.OBJECT_MAPPER;
+    }
+
+    private static OkHttpClient buildHttpClient(ExceptionNotifyProperties.Scm config) {
+        return new OkHttpClient.Builder()
+                .connectTimeout(config.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(config.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Rebuild the HTTP client if the configured timeouts changed
+     * Requests already running finish on the previous client, whose idle connections are released afterwards.
+     *
+     * @return true if the client was replaced
+     */
+    public synchronized boolean rebuildHttpClient() {
+        ExceptionNotifyProperties.Scm config = properties.getScm();
+        OkHttpClient previous = httpClient;
+        if (previous == null) {
+            // Not built yet, the first request builds it from the current timeouts
+            return false;
+        }
+        if (previous.connectTimeoutMillis() == config.getConnectTimeoutMillis()
+                && previous.readTimeoutMillis() == config.getReadTimeoutMillis()) {
+            return false;
+        }
+
+        httpClient = buildHttpClient(config);
+        previous.connectionPool().evictAll();
+        log.info("{} HTTP client rebuilt with connect timeout {} ms and read timeout {} ms",
+                serviceName, config.getConnectTimeoutMillis(), config.getReadTimeoutMillis());
+        return true;
+    }
+
+    /**
+     * Release the disk cache, it is closed once no other source control service uses its directory
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        diskCacheReleased = true;
+        ScmDiskCache cache = diskCache;
+        diskCache = null;
+        if (cache != null) {
+            try {
+                cache.close();
+            } catch (IOException e) {
+                log.debug("Failed to close SCM disk cache: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get the disk cache, opened on first use
+     *
+     * @return the disk cache, or null if it is disabled, could not be opened or was released
+     */
+    private ScmDiskCache diskCache() {
+        ScmDiskCache cache = diskCache;
+        if (cache != null || diskCacheOpened) {
+            return cache;
+        }
+        synchronized (this) {
+            if (!diskCacheOpened && !diskCacheReleased) {
+                diskCache = openDiskCache(properties.getScm().getDiskCache());
+                diskCacheOpened = true;
+            }
+            return diskCache;
+        }
+    }
+
+    private ScmDiskCache openDiskCache(ExceptionNotifyProperties.Scm.DiskCache config) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+
+        Path directory = config.getDirectory() != null
+                ? Paths.get(config.getDirectory())
+                : Paths.get(System.getProperty("java.io.tmpdir"), "exception-notify", "scm-cache");
+        try {
+            return ScmDiskCache.open(directory, config.getMaxEntries(), config.getMaxSizeMb() * 1024 * 1024,
+                    TimeUnit.MINUTES.toMillis(config.getTtlMinutes()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to open SCM disk cache in {}, continuing without it: {}", directory, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Validates that the required configuration is present
+     *
+     * @param token The API token
+     * @param repoOwner The repository owner
+     * @param repoName The repository name
+     * @param serviceName The name of the service (for logging)
+     * @return true if configuration is valid, false otherwise
+     */
+    protected boolean validateConfiguration(String token, String repoOwner, String repoName, String serviceName) {
+        if (token == null || repoOwner == null || repoName == null) {
+            log.warn("{} configuration is incomplete. Cannot fetch author information.", serviceName);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check whether the circuit breaker currently rejects requests to this service
+     *
+     * @return true if requests should be skipped
+     */
+    protected boolean isCircuitOpen() {
+        if (circuitBreaker.isOpen()) {
+            log.debug("{} circuit breaker is open, skipping request", serviceName);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check whether a file is known to be unresolvable at a ref
+     *
+     * @param path the file path
+     * @param ref the branch, tag or commit
+     * @return true if a previous lookup of the file failed and the failure has not expired yet
+     */
+    protected boolean isKnownMissing(String path, String ref) {
+        if (negativeCache.get(ScmLookupCache.key(path, ref)) != null) {
+            log.debug("{} lookup skipped, {} is known to be unresolvable at {}", serviceName, path, ref);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remember that a file could not be resolved at a ref, so that repeated lookups cost nothing
+     *
+     * @param path the file path
+     * @param ref the branch, tag or commit
+     * @param reason short description of the failure (for logging)
+     */
+    protected void rememberMissing(String path, String ref, String reason) {
+        negativeCache.put(ScmLookupCache.key(path, ref), Boolean.TRUE);
+        log.debug("{} remembered {} at {} as unresolvable: {}", serviceName, path, ref, reason);
+    }
+
+    /**
+     * Get code context from a source file cached by a previous lookup
+     *
+     * @param path the file path
+     * @param ref the branch, tag or commit
+     * @param lineNumber the line number
+     * @param contextLines number of lines before and after to include
+     * @return code context, or null if the file is not cached or needs revalidation
+     */
+    protected String getCachedCodeContext(String path, String ref, int lineNumber, int contextLines) {
+        ConditionalEntry<SourceLines> entry = getCachedContent(path, ref);
+        ScmDiskCache diskCache = diskCache();
+        if (entry == null && diskCache != null) {
+            byte[] content = diskCache.get(diskCacheKey("content", path, ref));
+            if (content != null) {
+                entry = ConditionalEntry.of(SourceLines.of(content), null);
+                contentCache.put(ScmLookupCache.key(path, ref), entry);
+            }
+        }
+        return entry != null && isFresh(entry) ? entry.getValue().window(lineNumber, contextLines) : null;
+    }
+
+    /**
+     * Get a cached source file, fresh or not
+     *
+     * @param path the file path
+     * @param ref the branch, tag or commit
+     * @return the cached file with its validators, or null if not cached
+     */
+    protected ConditionalEntry<SourceLines> getCachedContent(String path, String ref) {
+        return contentCache.get(ScmLookupCache.key(path, ref));
+    }
+
+    /**
+     * Check whether a cached response can be used without asking the server
+     *
+     * @param entry the cached response
+     * @return true if conditional requests are disabled or the entry was validated recently
+     */
+    protected boolean isFresh(ConditionalEntry<?> entry) {
+        ExceptionNotifyProperties.Scm.ConditionalRequests config = properties.getScm().getConditionalRequests();
+        return !config.isEnabled()
+                || System.currentTimeMillis() - entry.getValidatedAt() < TimeUnit.SECONDS.toMillis(config.getRevalidateAfterSeconds());
+    }
+
+    /**
+     * Make a request conditional on the cached response having changed
+     *
+     * @param builder the request builder
+     * @param entry the cached response, may be null
+     * @return the request builder
+     */
+    protected Request.Builder withValidators(Request.Builder builder, ConditionalEntry<?> entry) {
+        if (entry != null && properties.getScm().getConditionalRequests().isEnabled()) {
+            if (entry.getEtag() != null) {
+                builder.header("If-None-Match", entry.getEtag());
+            }
+            if (entry.getLastModified() != null) {
+                builder.header("If-Modified-Since", entry.getLastModified());
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Check for a 304 response to a conditional request, and mark the cached response as current if so
+     *
+     * @param response the response
+     * @param entry the cached response the request was conditional on, may be null
+     * @return true if the cached response is still current
+     */
+    protected boolean isNotModified(Response response, ConditionalEntry<?> entry) {
+        if (response.code() != 304 || entry == null) {
+            return false;
+        }
+        entry.markValidated();
+        log.debug("{} response not modified, reusing cached content", serviceName);
+        return true;
+    }
+
+    /**
+     * Index a fetched source file and keep it for later code context lookups
+     *
+     * @param path the file path
+     * @param ref the branch, tag or commit
+     * @param content the UTF-8 file content
+     * @return the indexed file
+     */
+    protected SourceLines cacheContent(String path, String ref, byte[] content) {
+        return cacheContent(path, ref, content, null);
+    }
+
+    /**
+     * Index a fetched source file and keep it, with the validators of its response, for later
+     * code context lookups
+     *
+     * @param path the file path
+     * @param ref the branch, tag or commit
+     * @param content the UTF-8 file content
+     * @param response the response the content was read from, may be null
+     * @return the indexed file
+     */
+    protected SourceLines cacheContent(String path, String ref, byte[] content, Response response) {
+        SourceLines lines = SourceLines.of(content);
+        contentCache.put(ScmLookupCache.key(path, ref), ConditionalEntry.of(lines, response));
+        ScmDiskCache diskCache = diskCache();
+        if (diskCache != null) {
+            diskCache.put(diskCacheKey("content", path, ref), content);
+        }
+        return lines;
+    }
+
+    /**
+     * Check whether fetched source files are kept
+     *
+     * @return true if the content cache or the disk cache is enabled
+     */
+    protected boolean isContentCacheEnabled() {
+        return (properties.getScm().getContentCache().isEnabled()
+                && properties.getScm().getContentCache().getMaxEntries() > 0) || diskCache() != null;
+    }
+
+    /**
+     * Get author information stored in the disk cache by a previous lookup (possibly of another process)
+     *
+     * @param path the file path
+     * @param ref the branch, tag or commit
+     * @param lineNumber the line number
+     * @return author information, or null if not cached
+     */
+    protected CodeAuthorInfo getCachedAuthorInfo(String path, String ref, int lineNumber) {
+        ScmDiskCache diskCache = diskCache();
+        if (diskCache == null) {
+            return null;
+        }
+
+        byte[] value = diskCache.get(diskCacheKey("blame", path, ref) + "#" + lineNumber);
+        if (value == null) {
+            return null;
+        }
+        try {
+            Map<?, ?> fields = objectMapper().readValue(value, Map.class);
+            Object lastCommitTime = fields.get("lastCommitTime");
+            return CodeAuthorInfo.builder()
+                    .name((String) fields.get("name"))
+                    .email((String) fields.get("email"))
+                    .lastCommitTime(lastCommitTime != null ? LocalDateTime.parse((String) lastCommitTime) : null)
+                    .fileName((String) fields.get("fileName"))
+                    .lineNumber(lineNumber)
+                    .commitMessage((String) fields.get("commitMessage"))
+                    .build();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Ignoring unreadable cached author information for {}:{}", path, lineNumber);
+            return null;
+        }
+    }
+
+    /**
+     * Store author information in the disk cache
+     *
+     * @param path the file path
+     * @param ref the branch, tag or commit
+     * @param lineNumber the line number
+     * @param authorInfo the author information, may be null
+     * @return the author information
+     */
+    protected CodeAuthorInfo cacheAuthorInfo(String path, String ref, int lineNumber, CodeAuthorInfo authorInfo) {
+        ScmDiskCache diskCache = diskCache();
+        if (diskCache == null || authorInfo == null) {
+            return authorInfo;
+        }
+
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", authorInfo.getName());
+        fields.put("email", authorInfo.getEmail());
+        fields.put("lastCommitTime", authorInfo.getLastCommitTime() != null ? authorInfo.getLastCommitTime().toString() : null);
+        fields.put("fileName", authorInfo.getFileName());
+        fields.put("commitMessage", authorInfo.getCommitMessage());
+        try {
+            diskCache.put(diskCacheKey("blame", path, ref) + "#" + lineNumber, objectMapper().writeValueAsBytes(fields));
+        } catch (IOException e) {
+            log.debug("Failed to cache author information for {}:{}", path, lineNumber);
+        }
+        return authorInfo;
+    }
+
+    /**
+     * Build a disk cache key, unique across providers and repositories
+     *
+     * @param kind the kind of cached response
+     * @param path the file path
+     * @param ref the branch, tag or commit
+     * @return cache key
+     */
+    private String diskCacheKey(String kind, String path, String ref) {
+        return kind + "|" + serviceName + "|" + getRepositoryId() + "|" + ref + "|" + path;
+    }
+
+    /**
+     * Identify the configured repository, so that cached responses of different repositories never mix
+     *
+     * @return repository identifier
+     */
+    protected String getRepositoryId() {
+        return "";
+    }
+
+    /**
+     * Get the disk cache of this service (useful for monitoring), opening it if it is not open yet
+     *
+     * @return disk cache, or null if disabled
+     */
+    public ScmDiskCache getDiskCache() {
+        return diskCache();
+    }
+
+    /**
+     * Get the source file content cache of this service (useful for monitoring)
+     *
+     * @return content cache
+     */
+    public ScmLookupCache<ConditionalEntry<SourceLines>> getContentCache() {
+        return contentCache;
+    }
+
+    /**
+     * Get the negative cache of this service (useful for monitoring)
+     *
+     * @return negative cache
+     */
+    public ScmLookupCache<Boolean> getNegativeCache() {
+        return negativeCache;
+    }
+
+    /**
+     * Clear the in-memory caches of this service; the disk cache is shared with other processes and kept
+     */
+    public void clearCaches() {
+        contentCache.clear();
+        negativeCache.clear();
+    }
+
+    /**
+     * Execute a request through the circuit breaker
+     * Network errors and server errors count as failures, rate-limit responses open the circuit
+     * until the limit resets.
+     *
+     * @param request the request
+     * @return the response, which the caller must close
+     * @throws ScmCircuitOpenException if the circuit breaker rejects the request
+     * @throws IOException if the request fails
+     */
+    protected Response executeRequest(Request request) throws IOException {
+        if (!circuitBreaker.allowRequest()) {
+            throw new ScmCircuitOpenException(serviceName);
+        }
+
+        Response response;
+        try {
+            response = httpClient().newCall(request).execute();
+        } catch (IOException e) {
+            circuitBreaker.recordFailure(e.getClass().getSimpleName() + ": " + e.getMessage());
+            throw e;
+        }
+
+        recordResponse(response);
+        return response;
+    }
+
+    /**
+     * Feed the outcome of a response to the circuit breaker
+     *
+     * @param response the response
+     */
+    private void recordResponse(Response response) {
+        int code = response.code();
+        String remaining = firstHeader(response, "X-RateLimit-Remaining", "RateLimit-Remaining");
+        boolean limitExhausted = "0".equals(remaining);
+        long retryAfterMillis = getRetryAfterMillis(response);
+
+        if (code == 429 || (code == 403 && (limitExhausted || retryAfterMillis >= 0))) {
+            circuitBreaker.recordRateLimited(retryAfterMillis, "HTTP " + code + " rate limited");
+        } else if (code >= 500 || code == 401 || code == 403) {
+            circuitBreaker.recordFailure("HTTP " + code);
+        } else {
+            circuitBreaker.recordSuccess();
+            if (limitExhausted) {
+                // This request still succeeded, but the next one would be rejected
+                circuitBreaker.recordRateLimited(retryAfterMillis, "rate limit exhausted");
+            }
+        }
+    }
+
+    /**
+     * Get the time until the service accepts requests again from Retry-After or rate-limit reset headers
+     *
+     * @param response the response
+     * @return milliseconds to wait, or -1 if the response does not say
+     */
+    private long getRetryAfterMillis(Response response) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter != null) {
+            try {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                log.debug("Unsupported Retry-After header: {}", retryAfter);
+            }
+        }
+
+        String reset = firstHeader(response, "X-RateLimit-Reset", "RateLimit-Reset");
+        if (reset != null) {
+            try {
+                long resetEpochSeconds = Long.parseLong(reset.trim());
+                return Math.max(0, TimeUnit.SECONDS.toMillis(resetEpochSeconds) - System.currentTimeMillis());
+            } catch (NumberFormatException e) {
+                log.debug("Unsupported rate-limit reset header: {}", reset);
+            }
+        }
+
+        return -1;
+    }
+
+    private String firstHeader(Response response, String... names) {
+        for (String name : names) {
+            String value = response.header(name);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the circuit breaker of this service (useful for monitoring)
+     *
+     * @return circuit breaker
+     */
+    public ScmCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Abstract method to be implemented by concrete services to get author information
+     * for a specific file and line
+     *
+     * @param fileName the file name
+     * @param lineNumber the line number
+     * @return author information or null if not found
+     */
+    @Override
+    public abstract CodeAuthorInfo getAuthorInfo(String fileName, int lineNumber);
+
+    /**
+     * Get code context around a specific line
+     * Default implementation returns null, subclasses should override this method
+     *
+     * @param fileName the file name
+     * @param lineNumber the line number
+     * @param contextLines number of lines before and after to include
+     * @return code context or null if not found
+     */
+    @Override
+    public String getCodeContext(String fileName, int lineNumber, int contextLines) {
+        // Default implementation - subclasses should override this
+        return null;
+    }
+
+    /**
+     * Lazily initialized holder of the shared object mapper, loaded on the first call to {@link #objectMapper()}
+     */
+    private static final class SharedClients {
+        private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    }
+}
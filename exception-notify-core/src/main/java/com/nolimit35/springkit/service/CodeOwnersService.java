@@ -0,0 +1,217 @@
+package com.nolimit35.springkit.service;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.CodeAuthorInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the owners of a source file from a CODEOWNERS file
+ * The file is parsed once into compiled patterns, so lookups need no network request. As in GitHub and GitLab,
+ * the last matching rule wins, and a matching rule without owners leaves the file unowned. The service
+ * never provides code context.
+ */
+@Slf4j
+public class CodeOwnersService implements GitSourceControlService {
+    private static final List<String> DEFAULT_LOCATIONS = Arrays.asList(
+            "CODEOWNERS", ".github/CODEOWNERS", ".gitlab/CODEOWNERS", "docs/CODEOWNERS");
+
+    private final List<String> sourceRoots;
+    private final List<Rule> rules;
+
+    public CodeOwnersService(ExceptionNotifyProperties properties) {
+        this.sourceRoots = properties.getCodeowners().getSourceRoots();
+        this.rules = load(properties.getCodeowners().getLocation());
+    }
+
+    private static List<Rule> load(String location) {
+        Resource resource = findResource(location);
+        if (resource == null) {
+            log.warn("No CODEOWNERS file found{}, owners will not be resolved",
+                    location != null ? " at " + location : "");
+            return Collections.emptyList();
+        }
+
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            List<Rule> rules = parse(reader);
+            log.info("Loaded {} CODEOWNERS rules from {}", rules.size(), resource.getDescription());
+            return rules;
+        } catch (IOException e) {
+            log.warn("Failed to read CODEOWNERS from {}: {}", resource.getDescription(), e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private static Resource findResource(String location) {
+        if (location != null) {
+            Resource resource = new DefaultResourceLoader().getResource(location);
+            return resource.exists() ? resource : null;
+        }
+
+        for (String path : DEFAULT_LOCATIONS) {
+            Resource resource = new FileSystemResource(path);
+            if (resource.exists()) {
+                return resource;
+            }
+        }
+        Resource resource = new ClassPathResource("CODEOWNERS");
+        return resource.exists() ? resource : null;
+    }
+
+    /**
+     * Parse CODEOWNERS content
+     *
+     * @param reader the CODEOWNERS content
+     * @return rules in file order
+     * @throws IOException if the content cannot be read
+     */
+    static List<Rule> parse(Reader reader) throws IOException {
+        List<Rule> rules = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            line = line.trim();
+            // GitLab 的 [Section] 标题行不是规则
+            if (line.isEmpty() || line.startsWith("[") || line.startsWith("^[")) {
+                continue;
+            }
+
+            String[] parts = line.split("\\s+");
+            List<String> owners = new ArrayList<>(Arrays.asList(parts).subList(1, parts.length));
+            rules.add(new Rule(compile(parts[0]), Collections.unmodifiableList(owners)));
+        }
+        return rules;
+    }
+
+    /**
+     * Compile a CODEOWNERS pattern into a regular expression over repository-relative paths
+     * A leading or inner slash anchors the pattern to the repository root, otherwise it matches at any depth.
+     * A pattern naming a directory also matches everything below it, a wildcard in the last segment does not.
+     *
+     * @param pattern the CODEOWNERS pattern
+     * @return compiled pattern
+     */
+    static Pattern compile(String pattern) {
+        String path = pattern.startsWith("/") ? pattern.substring(1) : pattern;
+        boolean directory = path.endsWith("/");
+        if (directory) {
+            path = path.substring(0, path.length() - 1);
+        }
+        boolean anchored = pattern.startsWith("/") || path.indexOf('/') >= 0;
+        String lastSegment = path.substring(path.lastIndexOf('/') + 1);
+        boolean wildcardName = lastSegment.indexOf('*') >= 0 || lastSegment.indexOf('?') >= 0;
+
+        StringBuilder regex = new StringBuilder(anchored ? "" : "(?:.*/)?");
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '*' && i + 1 < path.length() && path.charAt(i + 1) == '*') {
+                i++;
+                if (i + 1 < path.length() && path.charAt(i + 1) == '/') {
+                    i++;
+                    regex.append("(?:.*/)?");
+                } else {
+                    regex.append(".*");
+                }
+            } else if (c == '*') {
+                regex.append("[^/]*");
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        if (directory) {
+            regex.append("/.*");
+        } else if (!wildcardName || lastSegment.equals("**")) {
+            regex.append("(?:/.*)?");
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Find the owners of a file
+     *
+     * @param fileName the file path as derived from the class name, or a repository-relative path
+     * @return owners of the last matching rule, empty if no rule matches or the file is unowned
+     */
+    public List<String> getOwners(String fileName) {
+        if (fileName == null || rules.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String path = fileName.startsWith("/") ? fileName.substring(1) : fileName;
+        List<String> candidates = new ArrayList<>(sourceRoots.size() + 1);
+        candidates.add(path);
+        for (String sourceRoot : sourceRoots) {
+            candidates.add(sourceRoot.endsWith("/") ? sourceRoot + path : sourceRoot + "/" + path);
+        }
+
+        for (int i = rules.size() - 1; i >= 0; i--) {
+            Rule rule = rules.get(i);
+            for (String candidate : candidates) {
+                if (rule.pattern.matcher(candidate).matches()) {
+                    return rule.owners;
+                }
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public CodeAuthorInfo getAuthorInfo(String fileName, int lineNumber) {
+        List<String> owners = getOwners(fileName);
+        if (owners.isEmpty()) {
+            return null;
+        }
+
+        return CodeAuthorInfo.builder()
+                .name(String.join(", ", owners))
+                .email(owners.stream().filter(owner -> owner.indexOf('@') > 0).findFirst().orElse(null))
+                .owners(owners)
+                .fileName(fileName)
+                .lineNumber(lineNumber)
+                .build();
+    }
+
+    @Override
+    public String getCodeContext(String fileName, int lineNumber, int contextLines) {
+        return null;
+    }
+
+    /**
+     * Get the number of loaded rules
+     *
+     * @return rule count
+     */
+    public int getRuleCount() {
+        return rules.size();
+    }
+
+    static final class Rule {
+        private final Pattern pattern;
+        private final List<String> owners;
+
+        Rule(Pattern pattern, List<String> owners) {
+            this.pattern = pattern;
+            this.owners = owners;
+        }
+    }
+}
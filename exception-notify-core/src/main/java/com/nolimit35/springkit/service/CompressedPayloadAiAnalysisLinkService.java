@@ -3,16 +3,18 @@ package com.nolimit35.springkit.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.metrics.ExceptionNotifyMetrics;
 import com.nolimit35.springkit.model.AiAnalysisPayload;
+import com.nolimit35.springkit.model.JsonWriter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
-import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
-import java.util.Collections;
 
+import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -33,6 +35,7 @@ public class CompressedPayloadAiAnalysisLinkService implements AiAnalysisLinkSer
     private final ExceptionNotifyProperties properties;
     private final ObjectMapper objectMapper;
     private final OkHttpClient httpClient;
+    private ExceptionNotifyMetrics metrics = ExceptionNotifyMetrics.NOOP;
 
     public CompressedPayloadAiAnalysisLinkService(ExceptionNotifyProperties properties) {
         this.properties = properties;
@@ -40,12 +43,29 @@ public class CompressedPayloadAiAnalysisLinkService implements AiAnalysisLinkSer
         this.httpClient = new OkHttpClient();
     }
 
+    /**
+     * Set the metrics callback, a no-op unless a metrics backend is configured
+     *
+     * @param metrics the metrics callback
+     */
+    @Autowired(required = false)
+    public void setMetrics(ExceptionNotifyMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     @Override
     public String buildAnalysisLink(AiAnalysisPayload payload) {
         if (!isAvailable() || payload == null) {
             return null;
         }
 
+        long start = System.nanoTime();
+        String link = requestAnalysisLink(payload);
+        metrics.recordAiLink(link != null ? "success" : "failure", System.nanoTime() - start);
+        return link;
+    }
+
+    private String requestAnalysisLink(AiAnalysisPayload payload) {
         try {
             ExceptionNotifyProperties.AI aiConfig = properties.getAi();
             String baseUrl = aiConfig.getAnalysisPageUrl();
@@ -58,12 +78,11 @@ public class CompressedPayloadAiAnalysisLinkService implements AiAnalysisLinkSer
                 return null;
             }
 
-            return UriComponentsBuilder
-                    .fromUriString(baseUrl)
-                    .replaceQuery(null)
-                    .replaceQueryParam(PAYLOAD_QUERY_PARAM, shortCode)
-                    .build(true)
-                    .toUriString();
+            return HttpUrl.get(baseUrl).newBuilder()
+                    .query(null)
+                    .setQueryParameter(PAYLOAD_QUERY_PARAM, shortCode)
+                    .build()
+                    .toString();
         } catch (Exception e) {
             log.error("Failed to build AI analysis link", e);
             return null;
@@ -79,13 +98,16 @@ public class CompressedPayloadAiAnalysisLinkService implements AiAnalysisLinkSer
     }
 
     private String requestCompressedToken(String baseUrl, AiAnalysisPayload payload) {
-        String compressUrl = UriComponentsBuilder.fromUriString(baseUrl)
-                .path("/api/compress")
-                .build(true)
-                .toUriString();
+        HttpUrl compressUrl = HttpUrl.get(baseUrl).newBuilder()
+                .addPathSegments("api/compress")
+                .build();
 
         try {
-            String requestBody = objectMapper.writeValueAsString(Collections.singletonMap(PAYLOAD_QUERY_PARAM, payload));
+            // Written field by field, so the payload needs no reflection metadata in a native image
+            String requestBody = payload.writeTo(new JsonWriter().beginObject().beginObject(PAYLOAD_QUERY_PARAM))
+                    .endObject()
+                    .endObject()
+                    .toString();
             Request request = new Request.Builder()
                     .url(compressUrl)
                     .post(RequestBody.create(requestBody, JSON_MEDIA_TYPE))
@@ -0,0 +1,71 @@
+package com.nolimit35.springkit.service;
+
+import okhttp3.Response;
+
+/**
+ * Cached response value together with the validators (ETag / Last-Modified) needed to revalidate it
+ * with a conditional GET once it is no longer fresh
+ *
+ * @param <T> the cached value type
+ */
+public final class ConditionalEntry<T> {
+
+    private final T value;
+    private final String etag;
+    private final String lastModified;
+    private volatile long validatedAt;
+
+    public ConditionalEntry(T value, String etag, String lastModified, long validatedAt) {
+        this.value = value;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.validatedAt = validatedAt;
+    }
+
+    /**
+     * Create an entry from a successful response
+     *
+     * @param value the value parsed from the response
+     * @param response the response, may be null if the value did not come from an HTTP response
+     * @param <T> the cached value type
+     * @return cache entry, validated now
+     */
+    public static <T> ConditionalEntry<T> of(T value, Response response) {
+        return new ConditionalEntry<>(value,
+                response != null ? response.header("ETag") : null,
+                response != null ? response.header("Last-Modified") : null,
+                System.currentTimeMillis());
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public long getValidatedAt() {
+        return validatedAt;
+    }
+
+    /**
+     * Check whether the entry carries anything a conditional request can be made with
+     *
+     * @return true if an ETag or Last-Modified value is known
+     */
+    public boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+
+    /**
+     * Record that the server confirmed the value is still current (304 Not Modified)
+     */
+    public void markValidated() {
+        validatedAt = System.currentTimeMillis();
+    }
+}
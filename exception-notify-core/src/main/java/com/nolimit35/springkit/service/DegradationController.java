@@ -0,0 +1,345 @@
+package com.nolimit35.springkit.service;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Adaptive degradation of the notification pipeline
+ * <p>
+ * The aspect reports the time it spent on each failing request and the analyzer reports the enrichment backlog.
+ * When the smoothed overhead or the backlog crosses its threshold the level is raised by one step, at most once per
+ * evaluation interval; the overhead only counts once several consecutive requests were slower than the threshold. A level is lowered again by one step once both stay below the recover ratio of their
+ * thresholds and the level has been kept for the recover period.
+ * <p>
+ * At the digest-only level exceptions are not analyzed; they are counted here and sent as one digest per interval.
+ * <p>
+ * A daemon thread re-evaluates the level and flushes a due digest every evaluation interval, so the level recovers
+ * and the last digest is sent even when no further exception arrives, and the digest is never sent on a request thread.
+ */
+@Slf4j
+public class DegradationController implements Closeable {
+
+    /**
+     * Degradation levels, each one skipping more of the enrichment than the previous one
+     */
+    public enum Level {
+        NORMAL,
+        NO_CODE_CONTEXT,
+        NO_BLAME,
+        NO_AI_LINK,
+        DIGEST_ONLY;
+
+        public boolean includesCodeContext() {
+            return this == NORMAL;
+        }
+
+        public boolean includesBlame() {
+            return compareTo(NO_BLAME) < 0;
+        }
+
+        public boolean includesAiLink() {
+            return compareTo(NO_AI_LINK) < 0;
+        }
+
+        public boolean isDigestOnly() {
+            return this == DIGEST_ONLY;
+        }
+    }
+
+    /**
+     * Weight of a new overhead sample in the moving average
+     */
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * Maximum number of distinct exceptions listed in a digest, the rest are counted together
+     */
+    private static final int MAX_DIGEST_ENTRIES = 50;
+    private static final String OTHER_DIGEST_ENTRY = "(other)";
+
+    private final ExceptionNotifyProperties.Degradation config;
+    private final LongSupplier clock;
+    private final ScheduledExecutorService scheduler;
+    private volatile IntSupplier backlogSource;
+    private volatile Consumer<Map<String, Long>> digestSender;
+
+    private volatile Level level = Level.NORMAL;
+    private double overheadMillis;
+    private int slowRequests;
+    private long lastSampleMillis;
+    private long lastChangeMillis;
+    private long lastEvaluationMillis;
+    private volatile int backlog;
+
+    private Map<String, Long> digest = new LinkedHashMap<>();
+    private long digestStartMillis;
+
+    public DegradationController(ExceptionNotifyProperties properties) {
+        this(properties.getDegradation(), System::currentTimeMillis, newScheduler());
+        long interval = Math.max(1, config.getEvaluationIntervalMillis());
+        scheduler.scheduleWithFixedDelay(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Create a controller without the evaluation thread, {@link #tick()} is called by the caller
+     */
+    DegradationController(ExceptionNotifyProperties.Degradation config, LongSupplier clock) {
+        this(config, clock, null);
+    }
+
+    private DegradationController(ExceptionNotifyProperties.Degradation config, LongSupplier clock,
+                                  ScheduledExecutorService scheduler) {
+        this.config = config;
+        this.clock = clock;
+        this.scheduler = scheduler;
+        long now = clock.getAsLong();
+        this.lastChangeMillis = now;
+        this.digestStartMillis = now;
+    }
+
+    private static ScheduledExecutorService newScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "exception-notify-degradation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Set where the enrichment backlog is read from on each scheduled evaluation
+     *
+     * @param backlogSource current number of enrichment stages waiting for a worker thread
+     */
+    public void setBacklogSource(IntSupplier backlogSource) {
+        this.backlogSource = backlogSource;
+    }
+
+    /**
+     * Set the callback that sends a due digest, called on the evaluation thread
+     *
+     * @param digestSender receives exception counts by type, message and location
+     */
+    public void setDigestSender(Consumer<Map<String, Long>> digestSender) {
+        this.digestSender = digestSender;
+    }
+
+    /**
+     * Get the current level
+     *
+     * @return the level, {@link Level#NORMAL} when degradation is disabled
+     */
+    public Level getLevel() {
+        return config.isEnabled() ? level : Level.NORMAL;
+    }
+
+    /**
+     * Record the time the pipeline added to a failing request and re-evaluate the level
+     *
+     * @param nanos time spent on the request thread in nanoseconds
+     */
+    public synchronized void recordOverhead(long nanos) {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        long now = clock.getAsLong();
+        double sample = nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        // An idle period makes the old average meaningless, start over from the new sample
+        if (lastSampleMillis == 0 || now - lastSampleMillis >= config.getRecoverAfterMillis()) {
+            overheadMillis = sample;
+            slowRequests = 0;
+        } else {
+            overheadMillis += SMOOTHING * (sample - overheadMillis);
+        }
+        slowRequests = sample > config.getMaxOverheadMillis() ? slowRequests + 1 : 0;
+        lastSampleMillis = now;
+        evaluate(now);
+    }
+
+    /**
+     * Record the number of enrichment stages waiting for a worker thread
+     *
+     * @param backlog current backlog
+     */
+    public void recordBacklog(int backlog) {
+        this.backlog = backlog;
+    }
+
+    /**
+     * Re-evaluate the level and send the digest if one is due
+     * Runs on the evaluation thread every evaluation interval. Without failing requests there is no overhead to
+     * report, so once none has been reported for the recover period the overhead counts as zero and the level can
+     * step down.
+     */
+    public void tick() {
+        Map<String, Long> digest;
+        synchronized (this) {
+            if (config.isEnabled()) {
+                long now = clock.getAsLong();
+                IntSupplier source = backlogSource;
+                if (source != null) {
+                    backlog = source.getAsInt();
+                }
+                if (lastSampleMillis != 0 && now - lastSampleMillis >= config.getRecoverAfterMillis()) {
+                    overheadMillis = 0;
+                    slowRequests = 0;
+                }
+                evaluate(now);
+            }
+            digest = drainDigestIfDue();
+        }
+        sendDigest(digest);
+    }
+
+    /**
+     * Send the counted exceptions now, whether or not the digest interval has elapsed
+     *
+     * @return number of distinct exceptions sent, 0 if nothing was counted or no digest sender is set
+     */
+    public int flushDigest() {
+        if (digestSender == null) {
+            return 0;
+        }
+        Map<String, Long> drained;
+        synchronized (this) {
+            if (digest.isEmpty()) {
+                return 0;
+            }
+            drained = digest;
+            digest = new LinkedHashMap<>();
+            digestStartMillis = clock.getAsLong();
+        }
+        sendDigest(drained);
+        return drained.size();
+    }
+
+    private void sendDigest(Map<String, Long> digest) {
+        Consumer<Map<String, Long>> sender = digestSender;
+        if (digest != null && sender != null) {
+            try {
+                sender.accept(digest);
+            } catch (RuntimeException e) {
+                log.warn("Failed to send the exception digest", e);
+            }
+        }
+    }
+
+    private void evaluate(long now) {
+        if (now - lastEvaluationMillis < config.getEvaluationIntervalMillis()) {
+            return;
+        }
+        lastEvaluationMillis = now;
+
+        boolean slow = overheadMillis > config.getMaxOverheadMillis()
+                && slowRequests >= Math.max(1, config.getMinSlowRequests());
+        boolean overloaded = slow || backlog > config.getMaxBacklog();
+        boolean relieved = overheadMillis < config.getMaxOverheadMillis() * config.getRecoverRatio()
+                && backlog <= config.getMaxBacklog() * config.getRecoverRatio();
+
+        if (overloaded && level != Level.DIGEST_ONLY) {
+            changeLevel(Level.values()[level.ordinal() + 1], now);
+        } else if (relieved && level != Level.NORMAL && now - lastChangeMillis >= config.getRecoverAfterMillis()) {
+            changeLevel(Level.values()[level.ordinal() - 1], now);
+        }
+    }
+
+    private void changeLevel(Level newLevel, long now) {
+        log.warn("Exception notification degradation level changed from {} to {} (overhead {} ms, backlog {})",
+                level, newLevel, Math.round(overheadMillis), backlog);
+        level = newLevel;
+        lastChangeMillis = now;
+    }
+
+    /**
+     * Count an exception for the digest
+     *
+     * @param throwable the exception
+     */
+    public synchronized void recordDigest(Throwable throwable) {
+        String key = digestKey(throwable);
+        if (!digest.containsKey(key) && digest.size() >= MAX_DIGEST_ENTRIES) {
+            key = OTHER_DIGEST_ENTRY;
+        }
+        digest.merge(key, 1L, Long::sum);
+    }
+
+    /**
+     * Take the counted exceptions if the digest interval has elapsed, or right away once the level has been
+     * restored from digest-only
+     *
+     * @return exception counts by type, message and location, or null if no digest is due
+     */
+    public synchronized Map<String, Long> drainDigestIfDue() {
+        if (digest.isEmpty()) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        if (getLevel().isDigestOnly() && now - digestStartMillis < TimeUnit.SECONDS.toMillis(config.getDigestIntervalSeconds())) {
+            return null;
+        }
+        Map<String, Long> drained = digest;
+        digest = new LinkedHashMap<>();
+        digestStartMillis = now;
+        return drained;
+    }
+
+    /**
+     * Get the number of distinct exceptions counted for the next digest
+     *
+     * @return pending digest entries
+     */
+    public synchronized int getPendingDigestEntries() {
+        return digest.size();
+    }
+
+    /**
+     * Get the smoothed time the pipeline adds to a failing request
+     *
+     * @return overhead in milliseconds
+     */
+    public synchronized double getOverheadMillis() {
+        return overheadMillis;
+    }
+
+    /**
+     * Get the last reported enrichment backlog
+     *
+     * @return backlog
+     */
+    public int getBacklog() {
+        return backlog;
+    }
+
+    /**
+     * Stop the evaluation thread
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static String digestKey(Throwable throwable) {
+        StringBuilder key = new StringBuilder(throwable.getClass().getName());
+        String message = throwable.getMessage();
+        if (message != null) {
+            key.append(": ").append(message.length() > 100 ? message.substring(0, 100) + "..." : message);
+        }
+        StackTraceElement[] stackTrace = throwable.getStackTrace();
+        if (stackTrace.length > 0) {
+            key.append(" @ ").append(stackTrace[0]);
+        }
+        return key.toString();
+    }
+}
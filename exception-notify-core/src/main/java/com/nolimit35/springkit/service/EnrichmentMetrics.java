@@ -0,0 +1,148 @@
+package com.nolimit35.springkit.service;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stage-level latency and outcome metrics for exception enrichment
+ */
+public class EnrichmentMetrics {
+
+    /**
+     * Enrichment stages run for every analyzed exception
+     */
+    public enum Stage {
+        AUTHOR,
+        CODE_CONTEXT,
+        TRACE_URL,
+        AI_LINK
+    }
+
+    private final Map<Stage, StageStats> stats;
+
+    public EnrichmentMetrics() {
+        Map<Stage, StageStats> map = new EnumMap<>(Stage.class);
+        for (Stage stage : Stage.values()) {
+            map.put(stage, new StageStats());
+        }
+        this.stats = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Record a stage that finished within the time budget
+     *
+     * @param stage the stage
+     * @param nanos elapsed time in nanoseconds
+     */
+    public void recordCompleted(Stage stage, long nanos) {
+        StageStats stageStats = stats.get(stage);
+        stageStats.completed.increment();
+        stageStats.record(nanos);
+    }
+
+    /**
+     * Record a stage that finished after the time budget, its result having been dropped
+     *
+     * @param stage the stage
+     * @param nanos elapsed time in nanoseconds
+     */
+    public void recordLate(Stage stage, long nanos) {
+        StageStats stageStats = stats.get(stage);
+        stageStats.late.increment();
+        stageStats.record(nanos);
+    }
+
+    /**
+     * Record a stage that threw an exception
+     *
+     * @param stage the stage
+     * @param nanos elapsed time in nanoseconds
+     */
+    public void recordFailed(Stage stage, long nanos) {
+        StageStats stageStats = stats.get(stage);
+        stageStats.failed.increment();
+        stageStats.record(nanos);
+    }
+
+    /**
+     * Record a stage that could not be scheduled because the worker queue was full
+     *
+     * @param stage the stage
+     */
+    public void recordRejected(Stage stage) {
+        stats.get(stage).rejected.increment();
+    }
+
+    /**
+     * Get statistics of a stage
+     *
+     * @param stage the stage
+     * @return statistics of the stage
+     */
+    public StageStats getStats(Stage stage) {
+        return stats.get(stage);
+    }
+
+    /**
+     * Get statistics of all stages
+     *
+     * @return unmodifiable map of stage to statistics
+     */
+    public Map<Stage, StageStats> getAllStats() {
+        return stats;
+    }
+
+    /**
+     * Counters and latency of a single stage
+     */
+    public static class StageStats {
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder late = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long nanos) {
+            totalNanos.add(nanos);
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+        }
+
+        public long getCompleted() {
+            return completed.sum();
+        }
+
+        public long getLate() {
+            return late.sum();
+        }
+
+        public long getFailed() {
+            return failed.sum();
+        }
+
+        public long getRejected() {
+            return rejected.sum();
+        }
+
+        /**
+         * Average latency over all finished executions (completed, late and failed)
+         *
+         * @return average latency in milliseconds, 0 if nothing finished yet
+         */
+        public double getAverageMillis() {
+            long count = completed.sum() + late.sum() + failed.sum();
+            return count == 0 ? 0 : (double) totalNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        public long getMaxMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+        }
+    }
+}
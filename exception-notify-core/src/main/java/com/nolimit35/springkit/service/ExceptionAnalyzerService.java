@@ -0,0 +1,610 @@
+package com.nolimit35.springkit.service;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.config.ExceptionNotifySnapshot;
+import com.nolimit35.springkit.config.ExceptionNotifySnapshotHolder;
+import com.nolimit35.springkit.jfr.JfrEvents;
+import com.nolimit35.springkit.jfr.JfrSpan;
+import com.nolimit35.springkit.metrics.ExceptionNotifyMetrics;
+import com.nolimit35.springkit.model.AiAnalysisPayload;
+import com.nolimit35.springkit.model.CodeAuthorInfo;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.model.SourceLocation;
+import com.nolimit35.springkit.service.EnrichmentMetrics.Stage;
+import com.nolimit35.springkit.trace.TraceInfoProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Service for analyzing exceptions
+ */
+@Slf4j
+@Service
+public class ExceptionAnalyzerService {
+    private static final DateTimeFormatter ISO_DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final List<GitSourceControlService> gitSourceControlServices;
+    private final ExceptionNotifyProperties properties;
+    private final TraceInfoProvider traceInfoProvider;
+
+    private ObjectProvider<AiAnalysisLinkService> aiAnalysisLinkServiceProvider;
+    private volatile AiAnalysisLinkService aiAnalysisLinkService;
+
+    @Autowired(required = false)
+    private ScmCacheWarmer scmCacheWarmer;
+
+    @Value("${spring.application.name:unknown}")
+    private String applicationName;
+
+    private final EnrichmentMetrics enrichmentMetrics = new EnrichmentMetrics();
+    private volatile ExecutorService enrichmentExecutor;
+    private ExceptionNotifyMetrics metrics = ExceptionNotifyMetrics.NOOP;
+    private DegradationController degradationController;
+    private ExceptionNotifySnapshotHolder snapshotHolder;
+
+    public ExceptionAnalyzerService(List<GitSourceControlService> gitSourceControlServices,
+                                  ExceptionNotifyProperties properties,
+                                  TraceInfoProvider traceInfoProvider) {
+        this.gitSourceControlServices = gitSourceControlServices;
+        this.properties = properties;
+        this.traceInfoProvider = traceInfoProvider;
+        this.snapshotHolder = new ExceptionNotifySnapshotHolder(properties);
+    }
+
+    /**
+     * Set the shared configuration snapshot holder, refreshed when the configuration changes
+     *
+     * @param snapshotHolder the snapshot holder
+     */
+    @Autowired(required = false)
+    public void setSnapshotHolder(ExceptionNotifySnapshotHolder snapshotHolder) {
+        this.snapshotHolder = snapshotHolder;
+    }
+
+    /**
+     * Set the provider of the AI analysis link service
+     * The service is resolved, and so created, the first time an exception is analyzed with AI analysis enabled.
+     *
+     * @param aiAnalysisLinkServiceProvider the AI analysis link service provider
+     */
+    @Autowired(required = false)
+    public void setAiAnalysisLinkServiceProvider(ObjectProvider<AiAnalysisLinkService> aiAnalysisLinkServiceProvider) {
+        this.aiAnalysisLinkServiceProvider = aiAnalysisLinkServiceProvider;
+    }
+
+    /**
+     * Set the AI analysis link service directly, for use outside a Spring context
+     *
+     * @param aiAnalysisLinkService the AI analysis link service
+     */
+    public void setAiAnalysisLinkService(AiAnalysisLinkService aiAnalysisLinkService) {
+        this.aiAnalysisLinkService = aiAnalysisLinkService;
+    }
+
+    /**
+     * Set the application name shown in notifications, bound from spring.application.name in a Spring context
+     *
+     * @param applicationName the application name
+     */
+    public void setApplicationName(String applicationName) {
+        this.applicationName = applicationName;
+    }
+
+    /**
+     * Set the metrics callback, a no-op unless a metrics backend is configured
+     *
+     * @param metrics the metrics callback
+     */
+    @Autowired(required = false)
+    public void setMetrics(ExceptionNotifyMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Set the degradation controller that decides which enrichment stages are skipped under pressure
+     *
+     * @param degradationController the degradation controller
+     */
+    @Autowired(required = false)
+    public void setDegradationController(DegradationController degradationController) {
+        this.degradationController = degradationController;
+        degradationController.setBacklogSource(this::getEnrichmentQueueDepth);
+    }
+
+    /**
+     * Analyze exception and create ExceptionInfo
+     * Enrichment stages (author lookup, code context, trace URL and AI link) run concurrently
+     * under the configured time budget; results that are not ready before the deadline are dropped.
+     *
+     * @param throwable the exception to analyze
+     * @param traceId the trace ID (optional)
+     * @return exception information
+     */
+    public ExceptionInfo analyzeException(Throwable throwable, String traceId) {
+        LocalDateTime occurrenceTime = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        JfrSpan span = JfrEvents.enrichmentCompleted();
+        ExceptionNotifySnapshot config = snapshotHolder.get();
+        boolean parallel = config.isParallelEnrichment();
+        long deadline = computeDeadline(config);
+        DegradationController.Level level = degradationController != null
+                ? degradationController.getLevel() : DegradationController.Level.NORMAL;
+
+        // Get exception details
+        String exceptionType = throwable.getClass().getName();
+        String message = throwable.getMessage();
+        String stacktrace = getStackTraceAsString(throwable);
+
+        // Find the first application-specific stack trace element
+        StackTraceElement[] stackTraceElements = throwable.getStackTrace();
+        StackTraceElement firstAppElement = findFirstApplicationElement(stackTraceElements, config);
+
+        String location = null;
+        CompletableFuture<CodeAuthorInfo> authorFuture = CompletableFuture.completedFuture(null);
+        CompletableFuture<String> codeContextFuture = CompletableFuture.completedFuture(null);
+        CompletableFuture<String> traceUrlFuture = CompletableFuture.completedFuture(null);
+
+        if (firstAppElement != null) {
+            location = firstAppElement.getClassName() + "." + firstAppElement.getMethodName() +
+                       "(" + firstAppElement.getFileName() + ":" + firstAppElement.getLineNumber() + ")";
+
+            String fileName = convertClassNameToFilePath(firstAppElement.getClassName()) + ".java";
+            int lineNumber = firstAppElement.getLineNumber();
+            if (scmCacheWarmer != null) {
+                scmCacheWarmer.recordLocation(fileName, lineNumber);
+            }
+
+            // Get author information from available git source control services
+            if (level.includesBlame()) {
+                authorFuture = submit(Stage.AUTHOR, () -> findAuthorInfo(fileName, lineNumber), deadline, parallel);
+            }
+
+            // Capture code context if configured
+            if (config.isIncludeCodeContext() && level.includesCodeContext()) {
+                int contextLines = config.getCodeContextLines();
+                codeContextFuture = submit(Stage.CODE_CONTEXT, () -> getCodeContext(fileName, lineNumber, contextLines),
+                        deadline, parallel);
+            }
+        }
+
+        // Generate trace URL if trace is enabled and traceId is available
+        if (config.isTraceEnabled() && traceId != null && !traceId.isEmpty()) {
+            traceUrlFuture = submit(Stage.TRACE_URL, () -> traceInfoProvider.generateTraceUrl(traceId), deadline, parallel);
+        }
+
+        if (degradationController != null) {
+            degradationController.recordBacklog(getEnrichmentQueueDepth());
+        }
+
+        CodeAuthorInfo authorInfo = await(Stage.AUTHOR, authorFuture, deadline, config);
+        String codeContext = await(Stage.CODE_CONTEXT, codeContextFuture, deadline, config);
+        String traceUrl = await(Stage.TRACE_URL, traceUrlFuture, deadline, config);
+
+        // Build exception info
+        ExceptionInfo exceptionInfo = ExceptionInfo.builder()
+                .time(occurrenceTime)
+                .type(exceptionType)
+                .message(message != null ? message : "No message")
+                .location(location)
+                .stacktrace(stacktrace)
+                .traceId(traceId)
+                .appName(applicationName)
+                .environment(config.getCurrentEnvironment())
+                .authorInfo(authorInfo)
+                .traceUrl(traceUrl)
+                .build();
+
+        // Build AI analysis link if enabled, it depends on the results of the other stages
+        AiAnalysisLinkService aiService = config.isAiEnabled() && level.includesAiLink() ? aiAnalysisLinkService() : null;
+        if (aiService != null && aiService.isAvailable()) {
+            AiAnalysisPayload payload = buildAiAnalysisPayload(exceptionInfo, codeContext);
+            CompletableFuture<String> aiLinkFuture = submit(Stage.AI_LINK, () -> aiService.buildAnalysisLink(payload), deadline, parallel);
+            exceptionInfo.setAiAnalysisUrl(await(Stage.AI_LINK, aiLinkFuture, deadline, config));
+        }
+
+        metrics.recordAnalysis(exceptionType, System.nanoTime() - startNanos);
+        if (span.isRecording()) {
+            span.exceptionType(exceptionType)
+                    .fingerprint(ExceptionDeduplicationService.generateExceptionKey(exceptionInfo))
+                    .outcome(exceptionInfo.getAuthorInfo() != null ? "author_found" : "author_missing")
+                    .commit();
+        }
+        return exceptionInfo;
+    }
+
+    /**
+     * Get the AI analysis link service, resolved from the application context on first use
+     */
+    private AiAnalysisLinkService aiAnalysisLinkService() {
+        AiAnalysisLinkService service = aiAnalysisLinkService;
+        if (service == null && aiAnalysisLinkServiceProvider != null) {
+            service = aiAnalysisLinkServiceProvider.getIfAvailable();
+            aiAnalysisLinkService = service;
+        }
+        return service;
+    }
+
+    /**
+     * Build the AI analysis payload for an analyzed exception
+     *
+     * @param exceptionInfo the exception information
+     * @param codeContext the code context (optional)
+     * @return AI analysis payload
+     */
+    private AiAnalysisPayload buildAiAnalysisPayload(ExceptionInfo exceptionInfo, String codeContext) {
+        AiAnalysisPayload.AiAnalysisPayloadBuilder payloadBuilder = AiAnalysisPayload.builder()
+                .appName(exceptionInfo.getAppName())
+                .environment(exceptionInfo.getEnvironment())
+                .occurrenceTime(exceptionInfo.getTime().format(ISO_DATE_TIME))
+                .exceptionType(exceptionInfo.getType())
+                .exceptionMessage(exceptionInfo.getMessage())
+                .location(exceptionInfo.getLocation())
+                .stacktrace(exceptionInfo.getStacktrace())
+                .traceId(exceptionInfo.getTraceId())
+                .traceUrl(exceptionInfo.getTraceUrl());
+
+        if (codeContext != null && !codeContext.isEmpty()) {
+            payloadBuilder.codeContext(codeContext);
+        }
+
+        CodeAuthorInfo authorInfo = exceptionInfo.getAuthorInfo();
+        if (authorInfo != null) {
+            payloadBuilder.author(AiAnalysisPayload.Author.builder()
+                    .name(authorInfo.getName())
+                    .email(authorInfo.getEmail())
+                    .lastCommitTime(authorInfo.getLastCommitTime() != null
+                            ? authorInfo.getLastCommitTime().format(ISO_DATE_TIME)
+                            : null)
+                    .fileName(authorInfo.getFileName())
+                    .lineNumber(authorInfo.getLineNumber())
+                    .commitMessage(authorInfo.getCommitMessage())
+                    .build());
+        }
+
+        return payloadBuilder.build();
+    }
+
+    /**
+     * Compute the enrichment deadline of an exception being analyzed
+     *
+     * @param config the configuration snapshot
+     * @return deadline in {@link System#nanoTime()} units, or {@link Long#MAX_VALUE} if unlimited
+     */
+    private long computeDeadline(ExceptionNotifySnapshot config) {
+        long timeoutNanos = config.getEnrichmentTimeoutNanos();
+        return timeoutNanos > 0 ? System.nanoTime() + timeoutNanos : Long.MAX_VALUE;
+    }
+
+    /**
+     * Run an enrichment stage, on the enrichment executor when parallel enrichment is enabled
+     *
+     * @param stage the stage
+     * @param task the stage task
+     * @param deadline deadline in {@link System#nanoTime()} units, used to tell late results apart
+     * @param parallel whether to run the stage on the enrichment executor
+     * @return future of the stage result, completed with null if the stage fails or cannot be scheduled
+     */
+    private <T> CompletableFuture<T> submit(Stage stage, Supplier<T> task, long deadline, boolean parallel) {
+        long start = System.nanoTime();
+        Supplier<T> timedTask = () -> {
+            try {
+                T result = task.get();
+                long end = System.nanoTime();
+                if (deadline != Long.MAX_VALUE && end - deadline > 0) {
+                    enrichmentMetrics.recordLate(stage, end - start);
+                } else {
+                    enrichmentMetrics.recordCompleted(stage, end - start);
+                }
+                return result;
+            } catch (Exception e) {
+                enrichmentMetrics.recordFailed(stage, System.nanoTime() - start);
+                log.error("Error running enrichment stage {}", stage, e);
+                return null;
+            }
+        };
+
+        if (!parallel) {
+            return CompletableFuture.completedFuture(timedTask.get());
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(timedTask, getEnrichmentExecutor());
+        } catch (RejectedExecutionException e) {
+            enrichmentMetrics.recordRejected(stage);
+            metrics.recordDropped("enrichment_rejected");
+            log.warn("Enrichment stage {} skipped: executor queue is full", stage);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Wait for an enrichment stage until the deadline
+     *
+     * @param stage the stage
+     * @param future future of the stage result
+     * @param deadline deadline in {@link System#nanoTime()} units
+     * @param config the configuration snapshot the deadline was computed from
+     * @return the stage result, or null if it did not finish before the deadline
+     */
+    private <T> T await(Stage stage, CompletableFuture<T> future, long deadline, ExceptionNotifySnapshot config) {
+        if (future.isDone() || deadline == Long.MAX_VALUE) {
+            return future.join();
+        }
+
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // The result is dropped, the stage records its latency as late once it finishes
+            log.warn("Enrichment stage {} exceeded the time budget of {} ms, result dropped",
+                    stage, TimeUnit.NANOSECONDS.toMillis(config.getEnrichmentTimeoutNanos()));
+            metrics.recordDropped("enrichment_timeout");
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            log.error("Error running enrichment stage {}", stage, e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Get the enrichment executor, creating it on first use
+     *
+     * @return the enrichment executor
+     */
+    private ExecutorService getEnrichmentExecutor() {
+        ExecutorService executor = enrichmentExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = enrichmentExecutor;
+                if (executor == null) {
+                    ExceptionNotifyProperties.Enrichment enrichment = properties.getEnrichment();
+                    int threads = Math.max(1, enrichment.getThreads());
+                    AtomicInteger threadIndex = new AtomicInteger();
+                    ThreadPoolExecutor threadPool = new ThreadPoolExecutor(threads, threads,
+                            60L, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<>(Math.max(1, enrichment.getQueueCapacity())),
+                            runnable -> {
+                                Thread thread = new Thread(runnable, "exception-notify-enrich-" + threadIndex.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    threadPool.allowCoreThreadTimeOut(true);
+                    enrichmentExecutor = executor = threadPool;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Get the application name used in notifications
+     *
+     * @return application name
+     */
+    public String getApplicationName() {
+        return applicationName;
+    }
+
+    /**
+     * Get stage-level enrichment metrics
+     *
+     * @return enrichment metrics
+     */
+    public EnrichmentMetrics getEnrichmentMetrics() {
+        return enrichmentMetrics;
+    }
+
+    /**
+     * Get the number of enrichment stages waiting for a worker thread
+     *
+     * @return queue depth, 0 if the executor has not been started
+     */
+    public int getEnrichmentQueueDepth() {
+        ExecutorService executor = enrichmentExecutor;
+        return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getQueue().size() : 0;
+    }
+
+    /**
+     * Get the number of enrichment stages currently running
+     *
+     * @return active worker count, 0 if the executor has not been started
+     */
+    public int getActiveEnrichmentCount() {
+        ExecutorService executor = enrichmentExecutor;
+        return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getActiveCount() : 0;
+    }
+
+    /**
+     * Shut down the enrichment executor
+     */
+    @PreDestroy
+    public void shutdown() {
+        ExecutorService executor = enrichmentExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Find author information by trying all available git source control services
+     *
+     * @param fileName the file name
+     * @param lineNumber the line number
+     * @return author information or null if not found
+     */
+    private CodeAuthorInfo findAuthorInfo(String fileName, int lineNumber) {
+        for (GitSourceControlService service : gitSourceControlServices) {
+            long start = System.nanoTime();
+            CodeAuthorInfo authorInfo;
+            try {
+                authorInfo = service.getAuthorInfo(fileName, lineNumber);
+            } catch (RuntimeException e) {
+                recordScmCall(service, "author", "error", start);
+                throw e;
+            }
+            recordScmCall(service, "author", authorInfo != null ? "found" : "not_found", start);
+            if (authorInfo != null) {
+                return authorInfo;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find author information for several locations at once by trying all available git source control services
+     * Locations a service cannot resolve are passed on to the next service in one batch.
+     *
+     * @param locations the source locations
+     * @return author information in the order of the locations, with null entries for locations not found
+     */
+    public List<CodeAuthorInfo> findAuthorInfo(List<SourceLocation> locations) {
+        List<CodeAuthorInfo> result = new ArrayList<>(Collections.nCopies(locations.size(), (CodeAuthorInfo) null));
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < locations.size(); i++) {
+            pending.add(i);
+        }
+
+        for (GitSourceControlService service : gitSourceControlServices) {
+            if (pending.isEmpty()) {
+                break;
+            }
+
+            List<SourceLocation> batch = pending.stream().map(locations::get).collect(Collectors.toList());
+            long start = System.nanoTime();
+            List<CodeAuthorInfo> found = service.getAuthorInfo(batch);
+            recordScmCall(service, "author_batch", found.stream().anyMatch(Objects::nonNull) ? "found" : "not_found", start);
+            List<Integer> stillPending = new ArrayList<>();
+            for (int i = 0; i < pending.size(); i++) {
+                CodeAuthorInfo authorInfo = i < found.size() ? found.get(i) : null;
+                if (authorInfo != null) {
+                    result.set(pending.get(i), authorInfo);
+                } else {
+                    stillPending.add(pending.get(i));
+                }
+            }
+            pending = stillPending;
+        }
+        return result;
+    }
+
+    /**
+     * Get code context by trying all available git source control services
+     *
+     * @param fileName the file name
+     * @param lineNumber the line number
+     * @param contextLines number of lines before and after to include
+     * @return code context or null if not found
+     */
+    private String getCodeContext(String fileName, int lineNumber, int contextLines) {
+        for (GitSourceControlService service : gitSourceControlServices) {
+            long start = System.nanoTime();
+            String codeContext;
+            try {
+                codeContext = service.getCodeContext(fileName, lineNumber, contextLines);
+            } catch (RuntimeException e) {
+                recordScmCall(service, "code_context", "error", start);
+                throw e;
+            }
+            recordScmCall(service, "code_context", codeContext != null ? "found" : "not_found", start);
+            if (codeContext != null) {
+                return codeContext;
+            }
+        }
+        return null;
+    }
+
+    private void recordScmCall(GitSourceControlService service, String operation, String outcome, long start) {
+        metrics.recordScmCall(service.getClass().getSimpleName(), operation, outcome, System.nanoTime() - start);
+    }
+
+
+
+    /**
+     * Find the first application-specific stack trace element
+     *
+     * @param stackTraceElements the stack trace elements
+     * @param config the configuration snapshot
+     * @return the first application-specific element or null if not found
+     */
+    private StackTraceElement findFirstApplicationElement(StackTraceElement[] stackTraceElements,
+                                                          ExceptionNotifySnapshot config) {
+        // Check if package filtering is enabled
+        if (config.isPackageFilterActive()) {
+            // Filter based on configured packages
+            for (StackTraceElement element : stackTraceElements) {
+                if (config.isIncludedPackage(element.getClassName())) {
+                    return element;
+                }
+            }
+
+            // If no stack trace element matches the configured packages, return the first element
+            return stackTraceElements.length > 0 ? stackTraceElements[0] : null;
+        } else {
+            // Original behavior if package filtering is not enabled
+            for (StackTraceElement element : stackTraceElements) {
+                String className = element.getClassName();
+
+                // Skip common framework packages
+                if (!className.startsWith("java.") &&
+                    !className.startsWith("javax.") &&
+                    !className.startsWith("sun.") &&
+                    !className.startsWith("com.sun.") &&
+                    !className.startsWith("org.springframework.") &&
+                    !className.startsWith("org.apache.") &&
+                    !className.startsWith("com.nolimit35.springkit")) {
+                    return element;
+                }
+            }
+
+            // If no application-specific element found, return the first element
+            return stackTraceElements.length > 0 ? stackTraceElements[0] : null;
+        }
+    }
+
+    /**
+     * Convert class name to file path
+     *
+     * @param className the class name
+     * @return file path
+     */
+    private String convertClassNameToFilePath(String className) {
+        return className.replace('.', '/');
+    }
+
+    /**
+     * Get stack trace as string
+     *
+     * @param throwable the exception
+     * @return stack trace as string
+     */
+    private String getStackTraceAsString(Throwable throwable) {
+        return Arrays.stream(throwable.getStackTrace())
+                .map(StackTraceElement::toString)
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,253 @@
+package com.nolimit35.springkit.service;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.config.ExceptionNotifySnapshot;
+import com.nolimit35.springkit.config.ExceptionNotifySnapshotHolder;
+import com.nolimit35.springkit.jfr.JfrEvents;
+import com.nolimit35.springkit.jfr.JfrSpan;
+import com.nolimit35.springkit.metrics.ExceptionNotifyMetrics;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Service for exception deduplication
+ * Prevents duplicate exception notifications within a configured time window
+ */
+@Slf4j
+@Service
+public class ExceptionDeduplicationService {
+    private final Map<String, LocalDateTime> exceptionCache = new ConcurrentHashMap<>();
+    private final Map<String, FingerprintCount> fingerprintCounts = new ConcurrentHashMap<>();
+    private ExceptionNotifyMetrics metrics = ExceptionNotifyMetrics.NOOP;
+    private ExceptionNotifySnapshotHolder snapshotHolder;
+
+    public ExceptionDeduplicationService(ExceptionNotifyProperties properties) {
+        this.snapshotHolder = new ExceptionNotifySnapshotHolder(properties);
+    }
+
+    /**
+     * Set the shared configuration snapshot holder, refreshed when the configuration changes
+     *
+     * @param snapshotHolder the snapshot holder
+     */
+    @Autowired(required = false)
+    public void setSnapshotHolder(ExceptionNotifySnapshotHolder snapshotHolder) {
+        this.snapshotHolder = snapshotHolder;
+    }
+
+    /**
+     * Set the metrics callback, a no-op unless a metrics backend is configured
+     *
+     * @param metrics the metrics callback
+     */
+    @Autowired(required = false)
+    public void setMetrics(ExceptionNotifyMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Check if the exception should be notified
+     * Returns true if notification should be sent, false if it's a duplicate within time window
+     *
+     * @param exceptionInfo the exception information
+     * @return true if should notify, false otherwise
+     */
+    public boolean shouldNotify(ExceptionInfo exceptionInfo) {
+        ExceptionNotifySnapshot config = snapshotHolder.get();
+
+        // If deduplication is disabled, always notify
+        if (!config.isDeduplicationEnabled()) {
+            return true;
+        }
+
+        JfrSpan span = JfrEvents.dedupDecision();
+
+        // Generate unique key for the exception
+        String exceptionKey = generateExceptionKey(exceptionInfo);
+        LocalDateTime now = LocalDateTime.now();
+        fingerprintCounts.computeIfAbsent(exceptionKey,
+                key -> new FingerprintCount(key, exceptionInfo.getType(), exceptionInfo.getLocation())).increment();
+
+        // Check if exception exists in cache
+        LocalDateTime lastNotificationTime = exceptionCache.get(exceptionKey);
+
+        if (lastNotificationTime != null) {
+            // Calculate time difference in minutes
+            long minutesSinceLastNotification = ChronoUnit.MINUTES.between(lastNotificationTime, now);
+
+            // If within time window, don't notify
+            if (minutesSinceLastNotification < config.getDeduplicationWindowMinutes()) {
+                log.debug("Exception filtered by deduplication: {} (last notified {} minutes ago)",
+                    exceptionInfo.getType(), minutesSinceLastNotification);
+                metrics.recordDeduplication(false);
+                span.exceptionType(exceptionInfo.getType()).fingerprint(exceptionKey).outcome("suppressed").commit();
+                return false;
+            }
+        }
+
+        // Update cache with current time
+        exceptionCache.put(exceptionKey, now);
+        metrics.recordDeduplication(true);
+        span.exceptionType(exceptionInfo.getType()).fingerprint(exceptionKey).outcome("notify").commit();
+        return true;
+    }
+
+    /**
+     * Generate unique key for exception based on type, message, and location
+     * The key doubles as the exception fingerprint in diagnostics
+     *
+     * @param exceptionInfo the exception information
+     * @return unique key
+     */
+    public static String generateExceptionKey(ExceptionInfo exceptionInfo) {
+        StringBuilder keyBuilder = new StringBuilder();
+
+        // Include exception type
+        if (exceptionInfo.getType() != null) {
+            keyBuilder.append(exceptionInfo.getType());
+        }
+        keyBuilder.append("|");
+
+        // Include exception message
+        if (exceptionInfo.getMessage() != null) {
+            keyBuilder.append(exceptionInfo.getMessage());
+        }
+        keyBuilder.append("|");
+
+        // Include exception location
+        if (exceptionInfo.getLocation() != null) {
+            keyBuilder.append(exceptionInfo.getLocation());
+        }
+
+        // Generate hash to keep key size reasonable
+        return generateHash(keyBuilder.toString());
+    }
+
+    /**
+     * Generate SHA-256 hash of the input string
+     *
+     * @param input the input string
+     * @return base64 encoded hash
+     */
+    private static String generateHash(String input) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Fallback to the input string if hashing fails
+            log.warn("Failed to generate hash, using raw key", e);
+            return input;
+        }
+    }
+
+    /**
+     * Clean up expired entries from cache
+     * Runs at configured interval to prevent memory leaks; a plain placeholder with a time unit instead of a
+     * SpEL expression, which needs no expression evaluation at startup and works in native images
+     */
+    @Scheduled(fixedRateString = "${exception.notify.notification.deduplication.cleanup-interval-minutes:60}",
+            timeUnit = TimeUnit.MINUTES)
+    public void cleanupExpiredEntries() {
+        ExceptionNotifySnapshot config = snapshotHolder.get();
+        if (!config.isDeduplicationEnabled()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long timeWindowMinutes = config.getDeduplicationWindowMinutes();
+
+        // Remove entries older than time window
+        exceptionCache.entrySet().removeIf(entry -> {
+            long minutesSinceLastNotification = ChronoUnit.MINUTES.between(entry.getValue(), now);
+            return minutesSinceLastNotification >= timeWindowMinutes;
+        });
+        fingerprintCounts.keySet().retainAll(exceptionCache.keySet());
+
+        log.debug("Cleaned up expired exception cache entries. Current cache size: {}", exceptionCache.size());
+    }
+
+    /**
+     * Clear all cache entries (useful for testing)
+     */
+    public void clearCache() {
+        exceptionCache.clear();
+        fingerprintCounts.clear();
+        log.debug("Exception cache cleared");
+    }
+
+    /**
+     * Get current cache size (useful for monitoring)
+     *
+     * @return cache size
+     */
+    public int getCacheSize() {
+        return exceptionCache.size();
+    }
+
+    /**
+     * Get the most frequent exceptions within the deduplication window
+     *
+     * @param limit maximum number of fingerprints returned
+     * @return fingerprints ordered by occurrence count, highest first
+     */
+    public List<FingerprintCount> getTopFingerprints(int limit) {
+        return fingerprintCounts.values().stream()
+                .sorted(Comparator.comparingLong(FingerprintCount::getCount).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Occurrence count of one exception fingerprint
+     */
+    public static class FingerprintCount {
+        private final String fingerprint;
+        private final String exceptionType;
+        private final String location;
+        private final AtomicLong count = new AtomicLong();
+
+        FingerprintCount(String fingerprint, String exceptionType, String location) {
+            this.fingerprint = fingerprint;
+            this.exceptionType = exceptionType;
+            this.location = location;
+        }
+
+        private void increment() {
+            count.incrementAndGet();
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public String getExceptionType() {
+            return exceptionType;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.nolimit35.springkit.service;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.config.ExceptionNotifySnapshot;
+import com.nolimit35.springkit.config.ExceptionNotifySnapshotHolder;
+import com.nolimit35.springkit.filter.ExceptionFilter;
+import com.nolimit35.springkit.formatter.NotificationFormatter;
+import com.nolimit35.springkit.jfr.JfrEvents;
+import com.nolimit35.springkit.jfr.JfrSpan;
+import com.nolimit35.springkit.metrics.ExceptionNotifyMetrics;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.model.RequestInfo;
+import com.nolimit35.springkit.notification.NotificationProviderManager;
+import com.nolimit35.springkit.trace.TraceInfoProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.lang.ref.WeakReference;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for handling exception notifications
+ */
+@Slf4j
+@Service
+public class ExceptionNotificationService {
+    /**
+     * Causes followed when looking for an already processed exception inside a wrapper
+     */
+    private static final int MAX_CAUSE_DEPTH = 16;
+
+    /**
+     * Most recent exception processed on each thread
+     * The interception layers an exception crosses on its way up (an @ExceptionNotify service, then the controller,
+     * or the methods woven by the agent) run on the thread that threw it, so one entry per thread is enough to
+     * recognise the same instance, or a wrapper of it, without running the pipeline again.
+     */
+    private final ThreadLocal<ProcessedThrowable> lastProcessed = new ThreadLocal<>();
+
+    private final ExceptionAnalyzerService analyzerService;
+    private final NotificationProviderManager notificationManager;
+    private final NotificationFormatter formatter;
+    private final ExceptionFilter filter;
+    private final TraceInfoProvider traceInfoProvider;
+    private final ExceptionDeduplicationService deduplicationService;
+    private ExceptionNotifyMetrics metrics = ExceptionNotifyMetrics.NOOP;
+    private DegradationController degradationController;
+    private ExceptionNotifySnapshotHolder snapshotHolder;
+
+    public ExceptionNotificationService(
+            ExceptionNotifyProperties properties,
+            ExceptionAnalyzerService analyzerService,
+            NotificationProviderManager notificationManager,
+            NotificationFormatter formatter,
+            ExceptionFilter filter,
+            EnvironmentProvider environmentProvider,
+            TraceInfoProvider traceInfoProvider,
+            ExceptionDeduplicationService deduplicationService) {
+        this(new ExceptionNotifySnapshotHolder(properties, environmentProvider), analyzerService, notificationManager,
+                formatter, filter, traceInfoProvider, deduplicationService);
+    }
+
+    /**
+     * Create the service outside a Spring context, the current environment is taken from the snapshot holder
+     */
+    public ExceptionNotificationService(
+            ExceptionNotifySnapshotHolder snapshotHolder,
+            ExceptionAnalyzerService analyzerService,
+            NotificationProviderManager notificationManager,
+            NotificationFormatter formatter,
+            ExceptionFilter filter,
+            TraceInfoProvider traceInfoProvider,
+            ExceptionDeduplicationService deduplicationService) {
+        this.analyzerService = analyzerService;
+        this.notificationManager = notificationManager;
+        this.formatter = formatter;
+        this.filter = filter;
+        this.traceInfoProvider = traceInfoProvider;
+        this.deduplicationService = deduplicationService;
+        this.snapshotHolder = snapshotHolder;
+    }
+
+    /**
+     * Set the shared configuration snapshot holder, refreshed when the configuration changes
+     *
+     * @param snapshotHolder the snapshot holder
+     */
+    @Autowired(required = false)
+    public void setSnapshotHolder(ExceptionNotifySnapshotHolder snapshotHolder) {
+        this.snapshotHolder = snapshotHolder;
+    }
+
+    /**
+     * Set the metrics callback, a no-op unless a metrics backend is configured
+     *
+     * @param metrics the metrics callback
+     */
+    @Autowired(required = false)
+    public void setMetrics(ExceptionNotifyMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Set the degradation controller, exceptions are only counted for a digest at its digest-only level
+     * The controller sends the digest from its own thread through this service.
+     *
+     * @param degradationController the degradation controller
+     */
+    @Autowired(required = false)
+    public void setDegradationController(DegradationController degradationController) {
+        this.degradationController = degradationController;
+        degradationController.setDigestSender(this::sendDigest);
+    }
+
+    /**
+     * Process exception and send notification if needed
+     *
+     * @param throwable the exception to process
+     */
+    public void processException(Throwable throwable) {
+        processException(throwable, null);
+    }
+
+    /**
+     * Process exception captured during a web request and send notification if needed
+     *
+     * @param throwable the exception to process
+     * @param request the request the exception was captured in, shown in the notification; may be null
+     */
+    public void processException(Throwable throwable, RequestInfo request) {
+        long start = System.nanoTime();
+        JfrSpan span = JfrEvents.exceptionCaptured();
+        String outcome = doProcessException(throwable, request, span);
+        metrics.recordProcessing(throwable.getClass().getName(), outcome, System.nanoTime() - start);
+        span.exceptionType(throwable.getClass().getName()).outcome(outcome).commit();
+    }
+
+    /**
+     * Run the notification pipeline for an exception
+     *
+     * @param throwable the exception to process
+     * @param request the request the exception was captured in, may be null
+     * @param span the JFR event of this exception, given the fingerprint once the exception is analyzed
+     * @return how processing ended, used as the metrics outcome
+     */
+    private String doProcessException(Throwable throwable, RequestInfo request, JfrSpan span) {
+        ExceptionNotifySnapshot config = snapshotHolder.get();
+        if (!config.isEnabled()) {
+            log.debug("Exception notification is disabled");
+            return "disabled";
+        }
+
+        if (isAlreadyProcessed(throwable, config)) {
+            log.debug("Exception already processed on this thread: {}", throwable.getClass().getName());
+            return "repeated";
+        }
+        lastProcessed.set(new ProcessedThrowable(throwable));
+
+        // The current environment is resolved from the Spring profiles when the snapshot is compiled
+        String currentEnvironment = config.getCurrentEnvironment();
+
+        // Check if we should report from the current environment
+        if (!config.isReportFromCurrentEnvironment()) {
+            log.debug("Exception notification is disabled for the current environment: {}", currentEnvironment);
+            return "environment_skipped";
+        }
+
+        if (!filter.shouldNotify(throwable)) {
+            log.debug("Exception filtered out: {}", throwable.getClass().getName());
+            return "filtered";
+        }
+
+        if (notificationManager.isPaused()) {
+            log.debug("Notification delivery is paused, skipping: {}", throwable.getClass().getName());
+            return "paused";
+        }
+
+        if (degradationController != null && degradationController.getLevel().isDigestOnly()) {
+            degradationController.recordDigest(throwable);
+            log.debug("Pipeline degraded to digest only, exception counted: {}", throwable.getClass().getName());
+            return "digested";
+        }
+
+        try {
+            // Get trace ID from provider
+            String traceId = traceInfoProvider.getTraceId();
+
+            // Analyze exception
+            ExceptionInfo exceptionInfo = analyzerService.analyzeException(throwable, traceId);
+            if (span.isRecording()) {
+                span.fingerprint(ExceptionDeduplicationService.generateExceptionKey(exceptionInfo));
+            }
+
+            // Add current environment to exception info
+            exceptionInfo.setEnvironment(currentEnvironment);
+            exceptionInfo.setRequest(request);
+
+            // Check for duplicate exceptions
+            if (!deduplicationService.shouldNotify(exceptionInfo)) {
+                log.debug("Exception filtered by deduplication: {}", exceptionInfo.getType());
+                return "deduplicated";
+            }
+
+            // Send notification via notification manager
+            boolean notificationSent = notificationManager.sendNotification(exceptionInfo);
+
+            if (notificationSent) {
+                log.info("Exception notification sent for: {}", exceptionInfo.getType());
+                return "sent";
+            } else {
+                log.warn("No notification channels were successful for exception: {}", exceptionInfo.getType());
+                metrics.recordDropped("delivery_failed");
+                return "failed";
+            }
+        } catch (Exception e) {
+            log.error("Error processing exception notification", e);
+            metrics.recordDropped("processing_error");
+            return "error";
+        }
+    }
+
+    /**
+     * Check whether this exception, or the exception it wraps, is the one last processed on this thread
+     * Compares by identity and allocates nothing. An instance seen again after the deduplication window is
+     * processed again, so exceptions kept in a constant are not suppressed for the lifetime of a pooled thread.
+     *
+     * @param throwable the exception to check
+     * @param config the current configuration
+     * @return true if the pipeline already ran for it
+     */
+    private boolean isAlreadyProcessed(Throwable throwable, ExceptionNotifySnapshot config) {
+        ProcessedThrowable last = lastProcessed.get();
+        if (last == null) {
+            return false;
+        }
+        Throwable processed = last.get();
+        if (processed == null
+                || System.nanoTime() - last.processedAtNanos > TimeUnit.MINUTES.toNanos(config.getDeduplicationWindowMinutes())) {
+            return false;
+        }
+
+        Throwable current = throwable;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            if (current == processed) {
+                return true;
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+
+    /**
+     * Weakly held, so a thread does not keep its last exception and the objects it references alive
+     */
+    private static final class ProcessedThrowable extends WeakReference<Throwable> {
+        private final long processedAtNanos = System.nanoTime();
+
+        private ProcessedThrowable(Throwable throwable) {
+            super(throwable);
+        }
+    }
+
+    /**
+     * Send the exceptions counted at the digest-only level as one notification
+     *
+     * @param digest exception counts by type, message and location
+     */
+    private void sendDigest(Map<String, Long> digest) {
+        long total = digest.values().stream().mapToLong(Long::longValue).sum();
+        StringBuilder lines = new StringBuilder();
+        digest.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> lines.append(entry.getValue()).append(" x ").append(entry.getKey()).append("\n"));
+
+        String appName = analyzerService.getApplicationName();
+        ExceptionInfo digestInfo = ExceptionInfo.builder()
+                .time(LocalDateTime.now())
+                .type("ExceptionDigest")
+                .message(String.format("系统降级期间共捕获 %d 个异常（%d 种），未逐条分析", total, digest.size()))
+                .location("见堆栈信息中的异常摘要")
+                .stacktrace(lines.toString())
+                .appName(appName != null ? appName : "unknown")
+                .environment(snapshotHolder.get().getCurrentEnvironment())
+                .build();
+        try {
+            if (!notificationManager.sendNotification(digestInfo)) {
+                metrics.recordDropped("digest_failed");
+            }
+        } catch (Exception e) {
+            log.error("Error sending exception digest", e);
+            metrics.recordDropped("digest_failed");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,769 @@
+package com.nolimit35.springkit.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.CodeAuthorInfo;
+import com.nolimit35.springkit.model.SourceLocation;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Service for interacting with GitHub API
+ */
+@Slf4j
+@Service
+public class GitHubService extends AbstractGitSourceControlService {
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private static final String BLAME_RANGES_FRAGMENT =
+        "fragment BlameRanges on Blame {\n" +
+        "  ranges {\n" +
+        "    startingLine\n" +
+        "    endingLine\n" +
+        "    commit {\n" +
+        "      author {\n" +
+        "        name\n" +
+        "        email\n" +
+        "        date\n" +
+        "      }\n" +
+        "      committer {\n" +
+        "        date\n" +
+        "      }\n" +
+        "      message\n" +
+        "    }\n" +
+        "  }\n" +
+        "}\n";
+
+    /**
+     * Blame and (optionally) blob text of a file in one round-trip
+     * The blob is requested first so that parsing can stop at the blame range containing the line.
+     */
+    private static final String BLAME_QUERY =
+        "query($owner: String!, $name: String!, $ref: String!, $path: String!, $blob: String!, $withText: Boolean!) {\n" +
+        "  repository(owner: $owner, name: $name) {\n" +
+        "    object(expression: $blob) @include(if: $withText) {\n" +
+        "      ... on Blob {\n" +
+        "        text\n" +
+        "        isTruncated\n" +
+        "      }\n" +
+        "    }\n" +
+        "    ref(qualifiedName: $ref) {\n" +
+        "      target {\n" +
+        "        ... on Commit {\n" +
+        "          blame(path: $path) {\n" +
+        "            ...BlameRanges\n" +
+        "          }\n" +
+        "        }\n" +
+        "      }\n" +
+        "    }\n" +
+        "  }\n" +
+        "}\n" +
+        BLAME_RANGES_FRAGMENT;
+
+    /**
+     * The query document is escaped once, only the variables are serialized per request
+     */
+    private static final String BLAME_QUERY_PREFIX =
+        "{\"query\":\"" + new String(JsonStringEncoder.getInstance().quoteAsString(BLAME_QUERY)) + "\",\"variables\":";
+
+    /**
+     * Lookups currently running, so that blame and code context of the same line share one request
+     */
+    private final ConcurrentMap<String, CompletableFuture<BlameResult>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Escaped batch query documents by number of files, built on first use
+     */
+    private final ConcurrentMap<Integer, String> batchQueryPrefixes = new ConcurrentHashMap<>();
+
+    public GitHubService(ExceptionNotifyProperties properties) {
+        super(properties, "GitHub");
+    }
+
+    @Override
+    protected String getRepositoryId() {
+        return properties.getGithub().getRepoOwner() + "/" + properties.getGithub().getRepoName();
+    }
+
+    /**
+     * Get author information for a specific file and line using GitHub GraphQL API
+     *
+     * @param fileName the file name
+     * @param lineNumber the line number
+     * @return author information or null if not found
+     */
+    @Override
+    public CodeAuthorInfo getAuthorInfo(String fileName, int lineNumber) {
+        if (!validateConfiguration(
+                properties.getGithub().getToken(),
+                properties.getGithub().getRepoOwner(),
+                properties.getGithub().getRepoName(),
+                "GitHub")) {
+            return null;
+        }
+
+        String branch = properties.getGithub().getBranch();
+        CodeAuthorInfo cachedAuthorInfo = getCachedAuthorInfo(fileName, branch, lineNumber);
+        if (cachedAuthorInfo != null) {
+            return cachedAuthorInfo;
+        }
+
+        if (isCircuitOpen()) {
+            return null;
+        }
+
+        if (isKnownMissing(fileName, branch)) {
+            return null;
+        }
+
+        try {
+            // Fetch the blob text along with the blame unless it is cached already
+            boolean withText = isContentCacheEnabled()
+                    && getContentCache().get(ScmLookupCache.key(fileName, branch)) == null;
+            BlameResult result = lookup(fileName, lineNumber, branch, withText);
+            return result != null ? cacheAuthorInfo(fileName, branch, lineNumber, result.authorInfo) : null;
+        } catch (ScmCircuitOpenException e) {
+            log.debug("Skipped fetching author information from GitHub: {}", e.getMessage());
+        } catch (IOException e) {
+            log.error("Error fetching author information from GitHub", e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Run the blame query, or wait for the identical query another thread is already running
+     *
+     * @param fileName the file name
+     * @param lineNumber the line number
+     * @param branch the branch
+     * @param withText whether to fetch the blob text as well
+     * @return lookup result or null if the request failed
+     * @throws IOException if the request fails
+     */
+    private BlameResult lookup(String fileName, int lineNumber, String branch, boolean withText) throws IOException {
+        String key = ScmLookupCache.key(fileName, branch) + "#" + lineNumber;
+        CompletableFuture<BlameResult> future = new CompletableFuture<>();
+        CompletableFuture<BlameResult> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            return join(running);
+        }
+
+        try {
+            BlameResult result = queryBlame(fileName, lineNumber, branch, withText);
+            future.complete(result);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private BlameResult join(CompletableFuture<BlameResult> running) throws IOException {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("GitHub lookup failed", e.getCause());
+        }
+    }
+
+    private BlameResult queryBlame(String fileName, int lineNumber, String branch, boolean withText) throws IOException {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("owner", properties.getGithub().getRepoOwner());
+        variables.put("name", properties.getGithub().getRepoName());
+        variables.put("ref", branch);
+        variables.put("path", fileName);
+        variables.put("blob", branch + ":" + fileName);
+        variables.put("withText", withText);
+
+        String graphQLQuery = BLAME_QUERY_PREFIX + objectMapper().writeValueAsString(variables) + "}";
+
+        RequestBody body = RequestBody.create(graphQLQuery, JSON);
+        Request request = new Request.Builder()
+            .url(properties.getGithub().getBaseUrl() + "/graphql")
+            .header("Authorization", "Bearer " + properties.getGithub().getToken())
+            .post(body)
+            .build();
+
+        try (Response response = executeRequest(request)) {
+            if (!response.isSuccessful()) {
+                log.error("Failed to get blame information: {}", response.code());
+                return null;
+            }
+
+            try (JsonParser parser = objectMapper().getFactory().createParser(response.body().byteStream())) {
+                return parseResponse(parser, fileName, lineNumber, branch);
+            }
+        }
+    }
+
+    /**
+     * Parse the GraphQL response, stopping as soon as the blame range containing the line is found
+     * Without a blame the whole response is read for its errors: only a NOT_FOUND error under a resolved ref
+     * means the file does not exist. A ref that does not resolve, rate limiting or missing permissions are
+     * logged and not remembered, so lookups resume once they are fixed.
+     *
+     * @param parser parser over the response body
+     * @param fileName the file name
+     * @param lineNumber the line number
+     * @param branch the branch the blame was requested for
+     * @return lookup result, never null
+     * @throws IOException if the response cannot be read
+     */
+    private BlameResult parseResponse(JsonParser parser, String fileName, int lineNumber, String branch) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            log.error("Unexpected GraphQL response for {}", fileName);
+            return new BlameResult(null, null);
+        }
+
+        SourceLines lines = null;
+        boolean refResolved = false;
+        List<GraphQLError> errors = Collections.emptyList();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("errors".equals(field)) {
+                errors = readErrors(parser);
+                continue;
+            }
+            if (!"data".equals(field) || !ScmJsonReader.moveToField(parser, "repository")) {
+                parser.skipChildren();
+                continue;
+            }
+
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String repositoryField = parser.getCurrentName();
+                    parser.nextToken();
+                    if ("object".equals(repositoryField)) {
+                        lines = readBlob(ScmJsonReader.readFields(parser), fileName, branch);
+                    } else if ("ref".equals(repositoryField) && parser.currentToken() == JsonToken.START_OBJECT) {
+                        refResolved = true;
+                        JsonStreamContext repository = parser.getParsingContext().getParent();
+                        if (ScmJsonReader.moveToPath(parser, "target", "blame", "ranges")
+                                && parser.currentToken() == JsonToken.START_ARRAY) {
+                            CodeAuthorInfo authorInfo = parseRanges(
+                                    parser, fileName, Collections.singleton(lineNumber), branch, false).get(lineNumber);
+                            return new BlameResult(authorInfo, lines);
+                        }
+                        ScmJsonReader.skipTo(parser, repository);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+            // Rest of the data object
+            ScmJsonReader.skipRemaining(parser);
+        }
+
+        if (!refResolved) {
+            log.warn("GitHub returned no ref {} for {}, not remembering it as missing: {}", branch, fileName, errors);
+        } else if (errors.stream().anyMatch(GraphQLError::isPathNotFound)) {
+            rememberMissing(fileName, branch, "path not found");
+        } else {
+            log.warn("GitHub returned no blame for {} at {}: {}", fileName, branch, errors);
+        }
+        return new BlameResult(null, lines);
+    }
+
+    /**
+     * Read the errors array of a GraphQL response
+     *
+     * @param parser parser positioned on the value of the errors field
+     * @return the errors, empty if the value is not an array
+     * @throws IOException if the response cannot be read
+     */
+    private static List<GraphQLError> readErrors(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return Collections.emptyList();
+        }
+
+        List<GraphQLError> errors = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String type = null;
+            String message = null;
+            List<String> path = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("type".equals(field)) {
+                    type = ScmJsonReader.readText(parser);
+                } else if ("message".equals(field)) {
+                    message = ScmJsonReader.readText(parser);
+                } else if ("path".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        path.add(ScmJsonReader.readText(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            errors.add(new GraphQLError(type, path, message));
+        }
+        return errors;
+    }
+
+    private SourceLines readBlob(Map<String, String> blob, String fileName, String branch) {
+        String text = blob.get("text");
+        if (text == null || "true".equals(blob.get("isTruncated"))) {
+            // Binary or too large for GraphQL, the REST API is used for code context instead
+            return null;
+        }
+
+        byte[] content = text.getBytes(StandardCharsets.UTF_8);
+        return isContentCacheEnabled() ? cacheContent(fileName, branch, content) : SourceLines.of(content);
+    }
+
+    /**
+     * Find the blame ranges that contain the lines, stopping once all of them are found
+     *
+     * @param parser parser positioned on the START_ARRAY token of the ranges
+     * @param fileName the file name
+     * @param lineNumbers the line numbers
+     * @param branch the branch the blame was requested for
+     * @param drain whether to skip to the end of the ranges after an early stop,
+     *              so that the rest of the response can still be read
+     * @return author information by line number, lines not found are absent
+     * @throws IOException if the response cannot be read
+     */
+    private Map<Integer, CodeAuthorInfo> parseRanges(JsonParser parser, String fileName, Set<Integer> lineNumbers,
+                                                     String branch, boolean drain) throws IOException {
+        Map<Integer, CodeAuthorInfo> found = new HashMap<>();
+        int rangeCount = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            rangeCount++;
+            int startLine = -1;
+            int endLine = -1;
+            Map<String, String> commit = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("startingLine".equals(field)) {
+                    startLine = parser.getIntValue();
+                } else if ("endingLine".equals(field)) {
+                    endLine = parser.getIntValue();
+                } else if ("commit".equals(field) && (endLine < 0 || containsAny(lineNumbers, startLine, endLine))) {
+                    commit = ScmJsonReader.readFields(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (commit == null) {
+                continue;
+            }
+            for (Integer lineNumber : lineNumbers) {
+                if (lineNumber >= startLine && lineNumber <= endLine) {
+                    found.put(lineNumber, CodeAuthorInfo.builder()
+                        .name(commit.get("author.name"))
+                        .email(commit.get("author.email"))
+                        .lastCommitTime(LocalDateTime.parse(commit.get("committer.date"), DateTimeFormatter.ISO_DATE_TIME))
+                        .fileName(fileName)
+                        .lineNumber(lineNumber)
+                        .commitMessage(commit.get("message"))
+                        .build());
+                }
+            }
+            if (found.size() == lineNumbers.size()) {
+                if (drain) {
+                    ScmJsonReader.skipRemaining(parser);
+                }
+                return found;
+            }
+        }
+
+        if (rangeCount == 0) {
+            rememberMissing(fileName, branch, "empty blame");
+        } else {
+            log.warn("Could not find blame information for {}:{}", fileName, lineNumbers);
+        }
+        return found;
+    }
+
+    private static boolean containsAny(Set<Integer> lineNumbers, int startLine, int endLine) {
+        for (Integer lineNumber : lineNumbers) {
+            if (lineNumber >= startLine && lineNumber <= endLine) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get author information for several locations, blaming up to
+     * {@code blameBatchSize} files per GraphQL request through aliased sub-queries
+     *
+     * @param locations the source locations
+     * @return author information in the order of the locations, with null entries for locations not found
+     */
+    @Override
+    public List<CodeAuthorInfo> getAuthorInfo(List<SourceLocation> locations) {
+        List<CodeAuthorInfo> result = new ArrayList<>(Collections.nCopies(locations.size(), (CodeAuthorInfo) null));
+        if (locations.isEmpty() || !validateConfiguration(
+                properties.getGithub().getToken(),
+                properties.getGithub().getRepoOwner(),
+                properties.getGithub().getRepoName(),
+                "GitHub")) {
+            return result;
+        }
+
+        if (isCircuitOpen()) {
+            return result;
+        }
+
+        // Group the requested lines by file, skipping files known to be unresolvable
+        String branch = properties.getGithub().getBranch();
+        Map<String, Set<Integer>> linesByFile = new LinkedHashMap<>();
+        for (int i = 0; i < locations.size(); i++) {
+            SourceLocation location = locations.get(i);
+            CodeAuthorInfo cachedAuthorInfo = getCachedAuthorInfo(location.getFileName(), branch, location.getLineNumber());
+            if (cachedAuthorInfo != null) {
+                result.set(i, cachedAuthorInfo);
+            } else if (!isKnownMissing(location.getFileName(), branch)) {
+                linesByFile.computeIfAbsent(location.getFileName(), k -> new HashSet<>()).add(location.getLineNumber());
+            }
+        }
+
+        Map<String, Map<Integer, CodeAuthorInfo>> found = new HashMap<>();
+        List<String> files = new ArrayList<>(linesByFile.keySet());
+        int batchSize = Math.max(1, properties.getGithub().getBlameBatchSize());
+        for (int from = 0; from < files.size(); from += batchSize) {
+            List<String> batch = files.subList(from, Math.min(files.size(), from + batchSize));
+            try {
+                found.putAll(queryBlameBatch(batch, linesByFile, branch));
+            } catch (ScmCircuitOpenException e) {
+                log.debug("Skipped fetching author information from GitHub: {}", e.getMessage());
+                break;
+            } catch (IOException e) {
+                log.error("Error fetching author information from GitHub", e);
+                break;
+            }
+        }
+
+        for (int i = 0; i < locations.size(); i++) {
+            SourceLocation location = locations.get(i);
+            Map<Integer, CodeAuthorInfo> byLine = found.get(location.getFileName());
+            if (result.get(i) == null && byLine != null) {
+                result.set(i, cacheAuthorInfo(location.getFileName(), branch, location.getLineNumber(),
+                        byLine.get(location.getLineNumber())));
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Map<Integer, CodeAuthorInfo>> queryBlameBatch(List<String> batch,
+                                                                      Map<String, Set<Integer>> linesByFile,
+                                                                      String branch) throws IOException {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("owner", properties.getGithub().getRepoOwner());
+        variables.put("name", properties.getGithub().getRepoName());
+        variables.put("ref", branch);
+        for (int i = 0; i < batch.size(); i++) {
+            variables.put("path" + i, batch.get(i));
+        }
+
+        String queryPrefix = batchQueryPrefixes.computeIfAbsent(batch.size(), GitHubService::buildBatchQueryPrefix);
+        RequestBody body = RequestBody.create(queryPrefix + objectMapper().writeValueAsString(variables) + "}", JSON);
+        Request request = new Request.Builder()
+            .url(properties.getGithub().getBaseUrl() + "/graphql")
+            .header("Authorization", "Bearer " + properties.getGithub().getToken())
+            .post(body)
+            .build();
+
+        Map<String, Map<Integer, CodeAuthorInfo>> found = null;
+        try (Response response = executeRequest(request)) {
+            if (!response.isSuccessful()) {
+                log.error("Failed to get batched blame information: {}", response.code());
+                return Collections.emptyMap();
+            }
+
+            try (JsonParser parser = objectMapper().getFactory().createParser(response.body().byteStream())) {
+                found = parseBatchResponse(parser, batch, linesByFile, branch);
+            }
+        }
+
+        if (found == null) {
+            // An unresolvable path nulls the whole commit in GraphQL, look the files up one by one instead
+            log.debug("Batched blame query failed, falling back to single lookups for {} files", batch.size());
+            found = new HashMap<>();
+            for (String fileName : batch) {
+                Map<Integer, CodeAuthorInfo> byLine = new HashMap<>();
+                for (Integer lineNumber : linesByFile.get(fileName)) {
+                    CodeAuthorInfo authorInfo = getAuthorInfo(fileName, lineNumber);
+                    if (authorInfo != null) {
+                        byLine.put(lineNumber, authorInfo);
+                    }
+                }
+                found.put(fileName, byLine);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Parse the aliased blame results of a batch query
+     *
+     * @return author information by file and line, or null if the query returned no commit at all
+     */
+    private Map<String, Map<Integer, CodeAuthorInfo>> parseBatchResponse(JsonParser parser, List<String> batch,
+                                                                         Map<String, Set<Integer>> linesByFile,
+                                                                         String branch) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT
+                || !ScmJsonReader.moveToPath(parser, "data", "repository", "ref", "target")
+                || parser.currentToken() != JsonToken.START_OBJECT) {
+            return batch.size() > 1 ? null : Collections.emptyMap();
+        }
+
+        Map<String, Map<Integer, CodeAuthorInfo>> found = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            int index = aliasIndex(parser.getCurrentName());
+            parser.nextToken();
+            if (index < 0 || index >= batch.size()) {
+                parser.skipChildren();
+                continue;
+            }
+
+            String fileName = batch.get(index);
+            boolean hasRanges = parser.currentToken() == JsonToken.START_OBJECT
+                    && ScmJsonReader.moveToField(parser, "ranges");
+            if (hasRanges && parser.currentToken() == JsonToken.START_ARRAY) {
+                found.put(fileName, parseRanges(parser, fileName, linesByFile.get(fileName), branch, true));
+            } else {
+                rememberMissing(fileName, branch, "no blame");
+            }
+            if (hasRanges) {
+                // Rest of the blame object
+                ScmJsonReader.skipRemaining(parser);
+            }
+        }
+        return found;
+    }
+
+    private static int aliasIndex(String alias) {
+        if (alias == null || alias.length() < 2 || alias.charAt(0) != 'f') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(alias.substring(1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Build the escaped query document blaming {@code size} files through aliases f0..fN
+     *
+     * @param size number of files
+     * @return request body prefix, followed by the variables object and a closing brace
+     */
+    private static String buildBatchQueryPrefix(int size) {
+        StringBuilder parameters = new StringBuilder("$owner: String!, $name: String!, $ref: String!");
+        StringBuilder blames = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            parameters.append(", $path").append(i).append(": String!");
+            blames.append("          f").append(i).append(": blame(path: $path").append(i).append(") {\n")
+                  .append("            ...BlameRanges\n")
+                  .append("          }\n");
+        }
+
+        String query = "query(" + parameters + ") {\n" +
+            "  repository(owner: $owner, name: $name) {\n" +
+            "    ref(qualifiedName: $ref) {\n" +
+            "      target {\n" +
+            "        ... on Commit {\n" +
+            blames +
+            "        }\n" +
+            "      }\n" +
+            "    }\n" +
+            "  }\n" +
+            "}\n" +
+            BLAME_RANGES_FRAGMENT;
+        return "{\"query\":\"" + new String(JsonStringEncoder.getInstance().quoteAsString(query)) + "\",\"variables\":";
+    }
+
+    /**
+     * Get code context around a specific line from GitHub
+     * The file is fetched together with the blame of the line, so the author lookup for the
+     * same frame costs no further request.
+     *
+     * @param fileName the file name
+     * @param lineNumber the line number
+     * @param contextLines number of lines before and after to include
+     * @return code context or null if not found
+     */
+    @Override
+    public String getCodeContext(String fileName, int lineNumber, int contextLines) {
+        if (!validateConfiguration(
+                properties.getGithub().getToken(),
+                properties.getGithub().getRepoOwner(),
+                properties.getGithub().getRepoName(),
+                "GitHub")) {
+            return null;
+        }
+
+        String cachedContext = getCachedCodeContext(
+                fileName, properties.getGithub().getBranch(), lineNumber, contextLines);
+        if (cachedContext != null) {
+            return cachedContext;
+        }
+
+        if (isCircuitOpen()) {
+            return null;
+        }
+
+        if (isKnownMissing(fileName, properties.getGithub().getBranch())) {
+            return null;
+        }
+
+        try {
+            // A stale cached file is revalidated with a conditional GET instead of querying the blame again
+            ConditionalEntry<SourceLines> cached = getCachedContent(fileName, properties.getGithub().getBranch());
+            if (cached == null) {
+                BlameResult result = lookup(fileName, lineNumber, properties.getGithub().getBranch(), true);
+                if (result == null || isKnownMissing(fileName, properties.getGithub().getBranch())) {
+                    return null;
+                }
+                if (result.lines != null) {
+                    return result.lines.window(lineNumber, contextLines);
+                }
+            }
+
+            return getRawCodeContext(fileName, lineNumber, contextLines, cached);
+        } catch (ScmCircuitOpenException e) {
+            log.debug("Skipped fetching code context from GitHub: {}", e.getMessage());
+        } catch (IOException e) {
+            log.error("Error fetching code context from GitHub", e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Get code context from the raw file content, for blobs the GraphQL query does not return text for
+     * and for revalidating cached files
+     *
+     * @param fileName the file name
+     * @param lineNumber the line number
+     * @param contextLines number of lines before and after to include
+     * @param cached the stale cached file to revalidate, may be null
+     * @return code context or null if not found
+     * @throws IOException if the request fails
+     */
+    private String getRawCodeContext(String fileName, int lineNumber, int contextLines,
+                                     ConditionalEntry<SourceLines> cached) throws IOException {
+        // Construct API URL to get file content
+        String url = String.format(
+            "%s/repos/%s/%s/contents/%s?ref=%s",
+            properties.getGithub().getBaseUrl(),
+            properties.getGithub().getRepoOwner(),
+            properties.getGithub().getRepoName(),
+            fileName,
+            properties.getGithub().getBranch()
+        );
+
+        Request request = withValidators(new Request.Builder(), cached)
+            .url(url)
+            .header("Authorization", "Bearer " + properties.getGithub().getToken())
+            .header("Accept", "application/vnd.github.v3.raw")
+            .build();
+
+        try (Response response = executeRequest(request)) {
+            if (isNotModified(response, cached)) {
+                return cached.getValue().window(lineNumber, contextLines);
+            }
+
+            if (!response.isSuccessful()) {
+                if (response.code() == 404) {
+                    rememberMissing(fileName, properties.getGithub().getBranch(), "HTTP 404");
+                }
+                log.error("Failed to get file content: {}", response.code());
+                return null;
+            }
+
+            if (isContentCacheEnabled()) {
+                return cacheContent(fileName, properties.getGithub().getBranch(), response.body().bytes(), response)
+                        .window(lineNumber, contextLines);
+            }
+
+            // The file is not kept, so only the requested window is copied while the response is read
+            return SourceLines.window(response.body().byteStream(), lineNumber, contextLines);
+        }
+    }
+
+    /**
+     * Type, location and message of a GraphQL error
+     */
+    private static final class GraphQLError {
+        private final String type;
+        private final List<String> path;
+        private final String message;
+
+        private GraphQLError(String type, List<String> path, String message) {
+            this.type = type;
+            this.path = path;
+            this.message = message;
+        }
+
+        /**
+         * A file missing at a resolved ref is reported as NOT_FOUND below repository.ref
+         */
+        private boolean isPathNotFound() {
+            return "NOT_FOUND".equals(type) && path.size() > 2
+                    && "repository".equals(path.get(0)) && "ref".equals(path.get(1));
+        }
+
+        @Override
+        public String toString() {
+            return type + " " + String.join(".", path) + ": " + message;
+        }
+    }
+
+    /**
+     * Outcome of one blame query
+     */
+    private static final class BlameResult {
+        private final CodeAuthorInfo authorInfo;
+        private final SourceLines lines;
+
+        private BlameResult(CodeAuthorInfo authorInfo, SourceLines lines) {
+            this.authorInfo = authorInfo;
+            this.lines = lines;
+        }
+    }
+}
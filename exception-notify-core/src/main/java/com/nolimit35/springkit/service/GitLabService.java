@@ -0,0 +1,295 @@
+package com.nolimit35.springkit.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.CodeAuthorInfo;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Service for interacting with GitLab API
+ */
+@Slf4j
+@Service
+public class GitLabService extends AbstractGitSourceControlService {
+    private static final String API_FILE_BLAME = "%s/projects/%s/repository/files/%s/blame";
+    
+    public GitLabService(ExceptionNotifyProperties properties) {
+        super(properties, "GitLab");
+    }
+
+    @Override
+    protected String getRepositoryId() {
+        return properties.getGitlab().getBaseUrl() + "/" + properties.getGitlab().getProjectId();
+    }
+
+    /**
+     * Get author information for a specific file and line using GitLab API
+     *
+     * @param fileName the file name
+     * @param lineNumber the line number
+     * @return author information or null if not found
+     */
+    @Override
+    public CodeAuthorInfo getAuthorInfo(String fileName, int lineNumber) {
+        if (!validateConfiguration(
+                properties.getGitlab().getToken(),
+                properties.getGitlab().getProjectId(),
+                properties.getGitlab().getBranch(),
+                "GitLab")) {
+            return null;
+        }
+
+        CodeAuthorInfo cachedAuthorInfo = getCachedAuthorInfo(fileName, properties.getGitlab().getBranch(), lineNumber);
+        if (cachedAuthorInfo != null) {
+            return cachedAuthorInfo;
+        }
+
+        if (isCircuitOpen()) {
+            return null;
+        }
+
+        if (isKnownMissing(fileName, properties.getGitlab().getBranch())) {
+            return null;
+        }
+
+        try {
+            // URL encode the file path for GitLab API
+            String encodedFilePath = URLEncoder.encode(fileName, StandardCharsets.UTF_8.toString());
+            
+            // Construct GitLab API URL for blame information
+            String apiUrl = String.format(
+                API_FILE_BLAME,
+                properties.getGitlab().getBaseUrl(),
+                properties.getGitlab().getProjectId(),
+                encodedFilePath
+            );
+            
+            // Add query parameters for branch and line range, only the blame of the line itself is returned
+            apiUrl += "?ref=" + properties.getGitlab().getBranch()
+                    + "&range[start]=" + lineNumber
+                    + "&range[end]=" + lineNumber;
+            
+            Request request = new Request.Builder()
+                .url(apiUrl)
+                .header("PRIVATE-TOKEN", properties.getGitlab().getToken())
+                .get()
+                .build();
+
+            try (Response response = executeRequest(request)) {
+                if (!response.isSuccessful()) {
+                    if (response.code() == 404) {
+                        rememberMissing(fileName, properties.getGitlab().getBranch(), "HTTP 404");
+                    }
+                    log.error("Failed to get blame information from GitLab: {}", response.code());
+                    return null;
+                }
+
+                try (JsonParser parser = objectMapper().getFactory().createParser(response.body().byteStream())) {
+                    return cacheAuthorInfo(fileName, properties.getGitlab().getBranch(), lineNumber,
+                            processBlameData(parser, fileName, lineNumber, lineNumber));
+                }
+            }
+        } catch (ScmCircuitOpenException e) {
+            log.debug("Skipped fetching author information from GitLab: {}", e.getMessage());
+        } catch (IOException e) {
+            log.error("Error fetching author information from GitLab", e);
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Process the GitLab blame data to extract author information for a specific line
+     *
+     * The response is streamed: ranges are consumed one by one and parsing stops at the
+     * range containing the line, commits of other ranges are skipped without being materialized.
+     *
+     * @param parser parser over the GitLab blame response
+     * @param fileName the file name
+     * @param firstLine the first line of the requested blame range
+     * @param lineNumber the line number to get author for
+     * @return the author information or null if not found
+     * @throws IOException if the response cannot be read
+     */
+    private CodeAuthorInfo processBlameData(JsonParser parser, String fileName, int firstLine, int lineNumber)
+            throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            rememberMissing(fileName, properties.getGitlab().getBranch(), "empty blame");
+            return null;
+        }
+
+        // Ranges are consecutive, the first line of a range follows the last line of the previous one
+        int startLine = firstLine;
+        int rangeCount = 0;
+
+        // Find the blame range that contains the line
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            rangeCount++;
+            int linesCount = -1;
+            Map<String, String> commit = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("lines".equals(field)) {
+                    linesCount = ScmJsonReader.countElements(parser);
+                } else if ("commit".equals(field)
+                        && (linesCount < 0 || lineNumber < startLine + linesCount)) {
+                    commit = ScmJsonReader.readFields(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            linesCount = Math.max(linesCount, 0);
+
+            if (commit != null && lineNumber >= startLine && lineNumber < startLine + linesCount) {
+                return CodeAuthorInfo.builder()
+                    .name(commit.get("author_name"))
+                    .email(commit.get("author_email"))
+                    .lastCommitTime(LocalDateTime.parse(
+                        commit.get("authored_date"),
+                        DateTimeFormatter.ISO_DATE_TIME))
+                    .fileName(fileName)
+                    .lineNumber(lineNumber)
+                    .commitMessage(commit.get("message"))
+                    .build();
+            }
+
+            startLine += linesCount;
+        }
+
+        if (rangeCount == 0) {
+            rememberMissing(fileName, properties.getGitlab().getBranch(), "empty blame");
+        }
+        return null;
+    }
+
+    /**
+     * Validates that the required configuration is present
+     *
+     * @param token The API token
+     * @param projectId The project ID
+     * @param branch The branch name
+     * @param serviceName The name of the service (for logging)
+     * @return true if configuration is valid, false otherwise
+     */
+    @Override
+    protected boolean validateConfiguration(String token, String projectId, String branch, String serviceName) {
+        if (token == null || projectId == null || branch == null) {
+            log.warn("{} configuration is incomplete. Cannot fetch author information.", serviceName);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get code context around a specific line from GitLab
+     *
+     * @param fileName the file name
+     * @param lineNumber the line number
+     * @param contextLines number of lines before and after to include
+     * @return code context or null if not found
+     */
+    @Override
+    public String getCodeContext(String fileName, int lineNumber, int contextLines) {
+        if (!validateConfiguration(
+                properties.getGitlab().getToken(),
+                properties.getGitlab().getProjectId(),
+                properties.getGitlab().getBranch(),
+                "GitLab")) {
+            return null;
+        }
+
+        String cachedContext = getCachedCodeContext(
+                fileName, properties.getGitlab().getBranch(), lineNumber, contextLines);
+        if (cachedContext != null) {
+            return cachedContext;
+        }
+
+        if (isCircuitOpen()) {
+            return null;
+        }
+
+        if (isKnownMissing(fileName, properties.getGitlab().getBranch())) {
+            return null;
+        }
+
+        try {
+            // URL encode the file path for GitLab API
+            String encodedFilePath = URLEncoder.encode(fileName, StandardCharsets.UTF_8.toString());
+
+            // Construct GitLab API URL to get file content
+            // Using standard endpoint that returns Base64 encoded content
+            String apiUrl = String.format(
+                "%s/projects/%s/repository/files/%s",
+                properties.getGitlab().getBaseUrl(),
+                properties.getGitlab().getProjectId(),
+                encodedFilePath
+            );
+
+            // Add query parameter for branch
+            apiUrl += "?ref=" + properties.getGitlab().getBranch();
+
+            // A stale cached file is revalidated, an unchanged file is answered with an empty 304
+            ConditionalEntry<SourceLines> cached = getCachedContent(fileName, properties.getGitlab().getBranch());
+            Request request = withValidators(new Request.Builder(), cached)
+                .url(apiUrl)
+                .header("PRIVATE-TOKEN", properties.getGitlab().getToken())
+                .get()
+                .build();
+
+            try (Response response = executeRequest(request)) {
+                if (isNotModified(response, cached)) {
+                    return cached.getValue().window(lineNumber, contextLines);
+                }
+
+                if (!response.isSuccessful()) {
+                    if (response.code() == 404) {
+                        rememberMissing(fileName, properties.getGitlab().getBranch(), "HTTP 404");
+                    }
+                    log.error("Failed to get file content from GitLab: {}", response.code());
+                    return null;
+                }
+
+                // Check if the response contains base64 encoded content
+                byte[] decodedBytes;
+                try (JsonParser parser = objectMapper().getFactory().createParser(response.body().byteStream())) {
+                    if (parser.nextToken() != JsonToken.START_OBJECT
+                            || !ScmJsonReader.moveToField(parser, "content")
+                            || parser.currentToken() != JsonToken.VALUE_STRING) {
+                        log.error("No content field found in GitLab response");
+                        return null;
+                    }
+
+                    // Decode base64 content straight from the parser (MIME variant tolerates line breaks)
+                    decodedBytes = parser.getBinaryValue(Base64Variants.MIME);
+                }
+                SourceLines lines = isContentCacheEnabled()
+                        ? cacheContent(fileName, properties.getGitlab().getBranch(), decodedBytes, response)
+                        : SourceLines.of(decodedBytes);
+                return lines.window(lineNumber, contextLines);
+            }
+        } catch (ScmCircuitOpenException e) {
+            log.debug("Skipped fetching code context from GitLab: {}", e.getMessage());
+        } catch (IOException e) {
+            log.error("Error fetching code context from GitLab", e);
+        }
+
+        return null;
+    }
+}
\ No newline at end of file
@@ -1,6 +1,10 @@
 package com.nolimit35.springkit.service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.nolimit35.springkit.model.CodeAuthorInfo;
+import com.nolimit35.springkit.model.SourceLocation;
 
 /**
  * Interface for Git source control services (GitHub, Gitee, etc.)
@@ -17,6 +21,22 @@ public interface GitSourceControlService {
      */
     CodeAuthorInfo getAuthorInfo(String fileName, int lineNumber);
 
+    /**
+     * Get author information for several locations at once
+     * Default implementation looks the locations up one by one, services that support
+     * batched queries should override this method.
+     *
+     * @param locations the source locations
+     * @return author information in the order of the locations, with null entries for locations not found
+     */
+    default List<CodeAuthorInfo> getAuthorInfo(List<SourceLocation> locations) {
+        List<CodeAuthorInfo> result = new ArrayList<>(locations.size());
+        for (SourceLocation location : locations) {
+            result.add(getAuthorInfo(location.getFileName(), location.getLineNumber()));
+        }
+        return result;
+    }
+
     /**
      * Get code context around a specific line
      *
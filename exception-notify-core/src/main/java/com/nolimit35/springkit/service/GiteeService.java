@@ -0,0 +1,508 @@
+package com.nolimit35.springkit.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.CodeAuthorInfo;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Service for interacting with Gitee API
+ */
+@Slf4j
+@Service
+public class GiteeService extends AbstractGitSourceControlService {
+    private static final int TREE_CACHE_SIZE = 8;
+
+    /**
+     * Repository trees by branch
+     */
+    private final ScmLookupCache<ConditionalEntry<List<String>>> treeCache;
+
+    public GiteeService(ExceptionNotifyProperties properties) {
+        super(properties, "Gitee");
+        this.treeCache = new ScmLookupCache<>(TREE_CACHE_SIZE,
+                TimeUnit.MINUTES.toMillis(properties.getScm().getContentCache().getTtlMinutes()));
+    }
+
+    @Override
+    protected String getRepositoryId() {
+        return properties.getGitee().getRepoOwner() + "/" + properties.getGitee().getRepoName();
+    }
+
+    @Override
+    public void clearCaches() {
+        super.clearCaches();
+        treeCache.clear();
+    }
+
+    /**
+     * Get the full file path in the repository based on a filename
+     *
+     * @param fileName the file name or partial path
+     * @return the full path of the file in the repository, or null if not found
+     */
+    private String getFilePathFromName(String fileName) {
+        if (!validateConfiguration(
+                properties.getGitee().getToken(),
+                properties.getGitee().getRepoOwner(),
+                properties.getGitee().getRepoName(),
+                "Gitee")) {
+            return null;
+        }
+
+        // Check if fileName is null or empty
+        if (fileName == null || fileName.trim().isEmpty()) {
+            log.error("File name is empty or null");
+            return null;
+        }
+
+        // Log if fileName already appears to be a path
+        boolean isLikelyPath = fileName.contains("/") && !fileName.startsWith("/");
+        if (isLikelyPath) {
+            log.debug("File name already appears to be a path: {}", fileName);
+        }
+
+        List<String> blobPaths = getRepositoryTree();
+        if (blobPaths == null || blobPaths.isEmpty()) {
+            log.warn("Repository tree is empty or not available");
+            return null;
+        }
+
+        // First check for exact match (for full paths)
+        if (blobPaths.contains(fileName)) {
+            log.info("Found exact file path match: {}", fileName);
+            return fileName;
+        }
+
+        // If exact match not found, try other matching strategies
+        String simpleFileName = getSimpleFileName(fileName);
+        log.debug("Simple file name extracted: {}", simpleFileName);
+
+        // Try to find the best match using different strategies
+        String bestMatch = null;
+        int bestMatchScore = 0;
+
+        for (String path : blobPaths) {
+            int score = scorePathMatch(path, fileName, simpleFileName, isLikelyPath);
+
+            // Update best match if this path has a higher score
+            if (score > bestMatchScore) {
+                bestMatch = path;
+                bestMatchScore = score;
+            }
+        }
+
+        if (bestMatch != null) {
+            log.info("Found best matching file path: {} (score: {})", bestMatch, bestMatchScore);
+            return bestMatch;
+        }
+
+        log.warn("File '{}' not found in repository tree", fileName);
+        rememberMissing(fileName, properties.getGitee().getBranch(), "no tree match");
+        return null;
+    }
+
+    /**
+     * Get the paths of all files in the repository tree of the configured branch
+     * The recursive tree is the biggest payload fetched from Gitee, so it is cached and revalidated
+     * with a conditional request; an unchanged tree costs an empty 304 response.
+     *
+     * @return file paths, or null if the tree is not available
+     */
+    private List<String> getRepositoryTree() {
+        String branch = properties.getGitee().getBranch();
+        ConditionalEntry<List<String>> cached = treeCache.get(branch);
+        if (cached != null && isFresh(cached)) {
+            return cached.getValue();
+        }
+
+        try {
+            String url = String.format(
+                    "https://gitee.com/api/v5/repos/%s/%s/git/trees/%s?access_token=%s&recursive=1",
+                    properties.getGitee().getRepoOwner(),
+                    properties.getGitee().getRepoName(),
+                    branch,
+                    properties.getGitee().getToken()
+            );
+
+            log.debug("Fetching repository tree from: {}", url.replaceAll("access_token=[^&]+", "access_token=***"));
+
+            Request request = withValidators(new Request.Builder(), cached)
+                    .url(url)
+                    .header("Content-Type", "application/json;charset=UTF-8")
+                    .build();
+
+            try (Response response = executeRequest(request)) {
+                if (isNotModified(response, cached)) {
+                    return cached.getValue();
+                }
+
+                if (!response.isSuccessful()) {
+                    log.error("Failed to get repository tree from Gitee: {}", response.code());
+                    return null;
+                }
+
+                List<String> blobPaths = new ArrayList<>();
+                int itemCount = 0;
+
+                // Stream the tree items, only path and type of each item are read
+                try (JsonParser parser = objectMapper().getFactory().createParser(response.body().byteStream())) {
+                    if (parser.nextToken() != JsonToken.START_OBJECT
+                            || !ScmJsonReader.moveToField(parser, "tree")
+                            || parser.currentToken() != JsonToken.START_ARRAY) {
+                        return null;
+                    }
+
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        itemCount++;
+                        String path = null;
+                        String type = null;
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String field = parser.getCurrentName();
+                            parser.nextToken();
+                            if ("path".equals(field)) {
+                                path = ScmJsonReader.readText(parser);
+                            } else if ("type".equals(field)) {
+                                type = ScmJsonReader.readText(parser);
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+
+                        // Skip directories
+                        if (path != null && "blob".equals(type)) {
+                            blobPaths.add(path);
+                        }
+                    }
+                }
+
+                log.debug("Repository tree contains {} items", itemCount);
+                treeCache.put(branch, ConditionalEntry.of(blobPaths, response));
+                return blobPaths;
+            }
+        } catch (ScmCircuitOpenException e) {
+            log.debug("Skipped fetching repository tree from Gitee: {}", e.getMessage());
+        } catch (IOException e) {
+            log.error("Error fetching repository tree from Gitee", e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Score how well a repository path matches the requested file name
+     *
+     * @param path the repository path of a blob
+     * @param fileName the requested file name or partial path
+     * @param simpleFileName the requested file name without directories
+     * @param isLikelyPath whether the requested file name contains directories
+     * @return match score, 0 if the path does not match at all
+     */
+    private int scorePathMatch(String path, String fileName, String simpleFileName, boolean isLikelyPath) {
+        int score = 0;
+
+        // Strategy 1: Path ends with the simple file name
+        if (path.endsWith("/" + simpleFileName) || path.equals(simpleFileName)) {
+            score += 10;
+        }
+
+        // Strategy 2: For paths, check if path contains the full fileName
+        if (isLikelyPath && path.contains(fileName)) {
+            score += 20;
+        }
+
+        // Strategy 3: Check if the file name components match in order
+        if (isLikelyPath) {
+            String[] fileNameParts = fileName.split("/");
+            String[] pathParts = path.split("/");
+            int matchingParts = 0;
+
+            // Check matching parts from the end
+            for (int i = 0; i < Math.min(fileNameParts.length, pathParts.length); i++) {
+                if (fileNameParts[fileNameParts.length - 1 - i].equals(
+                        pathParts[pathParts.length - 1 - i])) {
+                    matchingParts++;
+                } else {
+                    break;
+                }
+            }
+
+            score += matchingParts * 5;
+        }
+
+        return score;
+    }
+
+    /**
+     * Extract simple file name from a path
+     * 
+     * @param path Path or filename
+     * @return Simple file name without directories
+     */
+    private String getSimpleFileName(String path) {
+        if (path == null) {
+            return "";
+        }
+        int lastSeparator = path.lastIndexOf('/');
+        return lastSeparator >= 0 ? path.substring(lastSeparator + 1) : path;
+    }
+
+    /**
+     * Get author information for a specific file and line
+     *
+     * @param fileName the file name
+     * @param lineNumber the line number
+     * @return author information or null if not found
+     */
+    @Override
+    public CodeAuthorInfo getAuthorInfo(String fileName, int lineNumber) {
+        if (!validateConfiguration(
+                properties.getGitee().getToken(),
+                properties.getGitee().getRepoOwner(),
+                properties.getGitee().getRepoName(),
+                "Gitee")) {
+            return null;
+        }
+
+        CodeAuthorInfo cachedAuthorInfo = getCachedAuthorInfo(fileName, properties.getGitee().getBranch(), lineNumber);
+        if (cachedAuthorInfo != null) {
+            return cachedAuthorInfo;
+        }
+
+        if (isCircuitOpen()) {
+            return null;
+        }
+
+        if (isKnownMissing(fileName, properties.getGitee().getBranch())) {
+            return null;
+        }
+
+        // Get the full file path
+        String filePath = getFilePathFromName(fileName);
+        if (filePath == null) {
+            log.error("Could not find file path for: {}", fileName);
+            return null;
+        }
+
+        try {
+            String url = String.format(
+                    "https://gitee.com/api/v5/repos/%s/%s/blame/%s?access_token=%s&ref=%s",
+                    properties.getGitee().getRepoOwner(),
+                    properties.getGitee().getRepoName(),
+                    filePath,
+                    properties.getGitee().getToken(),
+                    properties.getGitee().getBranch()
+
+            );
+
+            Request request = new Request.Builder()
+                .url(url)
+                .build();
+
+            try (Response response = executeRequest(request)) {
+                if (!response.isSuccessful()) {
+                    if (response.code() == 404) {
+                        rememberMissing(fileName, properties.getGitee().getBranch(), "HTTP 404");
+                    }
+                    log.error("Failed to get blame information from Gitee: {}", response.code());
+                    return null;
+                }
+
+                try (JsonParser parser = objectMapper().getFactory().createParser(response.body().byteStream())) {
+                    CodeAuthorInfo authorInfo = parseBlame(parser, fileName, filePath, lineNumber);
+                    if (authorInfo != null) {
+                        return cacheAuthorInfo(fileName, properties.getGitee().getBranch(), lineNumber, authorInfo);
+                    }
+                }
+
+                log.warn("Could not find author information for line {} in file {}", lineNumber, filePath);
+            }
+        } catch (ScmCircuitOpenException e) {
+            log.debug("Skipped fetching author information from Gitee: {}", e.getMessage());
+        } catch (IOException e) {
+            log.error("Error fetching author information from Gitee", e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Stream through the blame ranges until the one containing the target line
+     * Only the line count of each range is read until the match, the commit of
+     * later ranges is never parsed.
+     *
+     * @param parser parser over the blame response
+     * @param fileName the requested file name (negative cache key)
+     * @param filePath the resolved repository path
+     * @param lineNumber the line number
+     * @return author information or null if the line is not covered
+     * @throws IOException if the response cannot be read
+     */
+    private CodeAuthorInfo parseBlame(JsonParser parser, String fileName, String filePath, int lineNumber)
+            throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            rememberMissing(fileName, properties.getGitee().getBranch(), "empty blame");
+            return null;
+        }
+
+        // Track the current line number through all blame ranges
+        int currentLineIndex = 1;
+        int rangeCount = 0;
+
+        // Iterate through blame ranges
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            rangeCount++;
+            int linesCount = -1;
+            Map<String, String> commit = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("lines".equals(field)) {
+                    linesCount = ScmJsonReader.countElements(parser);
+                } else if ("commit".equals(field)
+                        && (linesCount < 0 || lineNumber < currentLineIndex + linesCount)) {
+                    commit = ScmJsonReader.readFields(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            linesCount = Math.max(linesCount, 0);
+
+            // Check if our target line is within this range
+            if (commit != null && lineNumber >= currentLineIndex && lineNumber < currentLineIndex + linesCount) {
+                // Found the range containing our line
+                String dateStr = commit.get("committer.date")
+                        .replaceAll("\\+\\d{2}:\\d{2}$", "")
+                        .replaceAll("T"," ");
+                return CodeAuthorInfo.builder()
+                        .name(commit.get("committer.name"))
+                        .email(commit.get("committer.email"))
+                        .lastCommitTime(LocalDateTime.parse(dateStr, this.DATE_FORMAT))
+                        .fileName(filePath)
+                        .lineNumber(lineNumber)
+                        .commitMessage(commit.get("message"))
+                        .build();
+            }
+
+            // Move to the next range
+            currentLineIndex += linesCount;
+        }
+
+        if (rangeCount == 0) {
+            rememberMissing(fileName, properties.getGitee().getBranch(), "empty blame");
+        }
+        return null;
+    }
+
+    /**
+     * Get code context around a specific line from Gitee
+     *
+     * @param fileName the file name
+     * @param lineNumber the line number
+     * @param contextLines number of lines before and after to include
+     * @return code context or null if not found
+     */
+    @Override
+    public String getCodeContext(String fileName, int lineNumber, int contextLines) {
+        if (!validateConfiguration(
+                properties.getGitee().getToken(),
+                properties.getGitee().getRepoOwner(),
+                properties.getGitee().getRepoName(),
+                "Gitee")) {
+            return null;
+        }
+
+        String cachedContext = getCachedCodeContext(
+                fileName, properties.getGitee().getBranch(), lineNumber, contextLines);
+        if (cachedContext != null) {
+            return cachedContext;
+        }
+
+        if (isCircuitOpen()) {
+            return null;
+        }
+
+        if (isKnownMissing(fileName, properties.getGitee().getBranch())) {
+            return null;
+        }
+
+        // Get the full file path
+        String filePath = getFilePathFromName(fileName);
+        if (filePath == null) {
+            log.error("Could not find file path for: {}", fileName);
+            return null;
+        }
+
+        try {
+            String url = String.format(
+                    "https://gitee.com/api/v5/repos/%s/%s/contents/%s?access_token=%s&ref=%s",
+                    properties.getGitee().getRepoOwner(),
+                    properties.getGitee().getRepoName(),
+                    filePath,
+                    properties.getGitee().getToken(),
+                    properties.getGitee().getBranch()
+            );
+
+            // A stale cached file is revalidated, an unchanged file is answered with an empty 304
+            ConditionalEntry<SourceLines> cached = getCachedContent(fileName, properties.getGitee().getBranch());
+            Request request = withValidators(new Request.Builder(), cached)
+                .url(url)
+                .header("Content-Type", "application/json;charset=UTF-8")
+                .build();
+
+            try (Response response = executeRequest(request)) {
+                if (isNotModified(response, cached)) {
+                    return cached.getValue().window(lineNumber, contextLines);
+                }
+
+                if (!response.isSuccessful()) {
+                    if (response.code() == 404) {
+                        rememberMissing(fileName, properties.getGitee().getBranch(), "HTTP 404");
+                    }
+                    log.error("Failed to get file content from Gitee: {}", response.code());
+                    return null;
+                }
+
+                // Check if the response contains base64 encoded content
+                byte[] decodedBytes;
+                try (JsonParser parser = objectMapper().getFactory().createParser(response.body().byteStream())) {
+                    if (parser.nextToken() != JsonToken.START_OBJECT
+                            || !ScmJsonReader.moveToField(parser, "content")
+                            || parser.currentToken() != JsonToken.VALUE_STRING) {
+                        log.error("No content field found in Gitee response");
+                        return null;
+                    }
+
+                    // Decode base64 content straight from the parser (MIME variant tolerates line breaks)
+                    decodedBytes = parser.getBinaryValue(Base64Variants.MIME);
+                }
+                SourceLines lines = isContentCacheEnabled()
+                        ? cacheContent(fileName, properties.getGitee().getBranch(), decodedBytes, response)
+                        : SourceLines.of(decodedBytes);
+                return lines.window(lineNumber, contextLines);
+            }
+        } catch (ScmCircuitOpenException e) {
+            log.debug("Skipped fetching code context from Gitee: {}", e.getMessage());
+        } catch (IOException e) {
+            log.error("Error fetching code context from Gitee", e);
+        }
+
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,306 @@
+package com.nolimit35.springkit.service;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.SourceLocation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Warms up the source control caches after the application has started
+ * A low-priority daemon thread looks up the most frequent exception locations of the previous run first,
+ * then the classes under packageFilter.includePackages, until the lookup budget is spent. Each lookup goes
+ * through the regular services, so it fills the repository path index, content, blame and disk caches.
+ */
+@Slf4j
+public class ScmCacheWarmer {
+    private static final int MAX_TRACKED_LOCATIONS = 1000;
+
+    private final ExceptionNotifyProperties properties;
+    private final List<GitSourceControlService> gitSourceControlServices;
+    private final ResourcePatternResolver resourceResolver;
+    private final Map<String, AtomicInteger> locationCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private volatile Thread worker;
+    private volatile boolean stopped;
+
+    public ScmCacheWarmer(ExceptionNotifyProperties properties, List<GitSourceControlService> gitSourceControlServices) {
+        this(properties, gitSourceControlServices, new PathMatchingResourcePatternResolver());
+    }
+
+    public ScmCacheWarmer(ExceptionNotifyProperties properties, List<GitSourceControlService> gitSourceControlServices,
+                          ResourcePatternResolver resourceResolver) {
+        this.properties = properties;
+        this.gitSourceControlServices = gitSourceControlServices;
+        this.resourceResolver = resourceResolver;
+    }
+
+    /**
+     * Start the warm-up once the application is ready to serve
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (worker != null || stopped) {
+            return;
+        }
+
+        Thread thread = new Thread(this::warmUp, "exception-notify-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        worker = thread;
+        thread.start();
+    }
+
+    /**
+     * Run the warm-up on the calling thread
+     *
+     * @return number of lookups issued
+     */
+    public int warmUp() {
+        long start = System.currentTimeMillis();
+        int budget = properties.getScm().getWarmup().getMaxRequests();
+        int contextLines = properties.getAi().getCodeContextLines();
+        List<SourceLocation> targets = getWarmupTargets();
+
+        int warmed = 0;
+        for (SourceLocation target : targets) {
+            if (stopped || Thread.currentThread().isInterrupted() || lookups.get() >= budget) {
+                break;
+            }
+            if (warm(target, contextLines, budget)) {
+                warmed++;
+            }
+        }
+
+        log.info("SCM cache warm-up finished: {} of {} locations warmed with {} lookups in {} ms",
+                warmed, targets.size(), lookups.get(), System.currentTimeMillis() - start);
+        return lookups.get();
+    }
+
+    /**
+     * Look a location up with each service until one resolves it
+     * Line 0 stands for a whole class without a known line, for which only the file is fetched.
+     */
+    private boolean warm(SourceLocation target, int contextLines, int budget) {
+        String fileName = target.getFileName();
+        int lineNumber = Math.max(target.getLineNumber(), 1);
+
+        for (GitSourceControlService service : gitSourceControlServices) {
+            // CODEOWNERS 在本地解析，无需预热
+            if (service instanceof CodeOwnersService) {
+                continue;
+            }
+            if (service instanceof AbstractGitSourceControlService
+                    && ((AbstractGitSourceControlService) service).getCircuitBreaker().isOpen()) {
+                continue;
+            }
+            if (!acquire(budget)) {
+                return false;
+            }
+
+            try {
+                if (service.getCodeContext(fileName, lineNumber, contextLines) == null) {
+                    continue;
+                }
+                if (target.getLineNumber() > 0 && acquire(budget)) {
+                    service.getAuthorInfo(fileName, lineNumber);
+                }
+                return true;
+            } catch (RuntimeException e) {
+                log.debug("SCM cache warm-up failed for {}: {}", fileName, e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    private boolean acquire(int budget) {
+        if (lookups.get() >= budget) {
+            return false;
+        }
+        lookups.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Collect the locations to warm: hot locations of the previous run, then included classes not already covered
+     *
+     * @return locations in warm-up order
+     */
+    List<SourceLocation> getWarmupTargets() {
+        List<SourceLocation> targets = new ArrayList<>(loadHotLocations());
+        Set<String> covered = targets.stream().map(SourceLocation::getFileName).collect(Collectors.toSet());
+        for (String fileName : scanIncludedClasses()) {
+            if (covered.add(fileName)) {
+                targets.add(new SourceLocation(fileName, 0));
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Find the source files of the top-level classes under the included packages
+     *
+     * @return file names in the same form the analyzer looks up, e.g. com/example/Foo.java
+     */
+    Set<String> scanIncludedClasses() {
+        Set<String> fileNames = new TreeSet<>();
+        ExceptionNotifyProperties.PackageFilter packageFilter = properties.getPackageFilter();
+        if (!packageFilter.isEnabled()) {
+            return fileNames;
+        }
+
+        for (String packageName : packageFilter.getIncludePackages()) {
+            String packagePath = packageName.replace('.', '/');
+            try {
+                for (Resource resource : resourceResolver.getResources(
+                        ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + packagePath + "/**/*.class")) {
+                    String url = resource.getURL().toString();
+                    int index = url.lastIndexOf(packagePath + "/");
+                    if (index < 0) {
+                        continue;
+                    }
+                    String className = url.substring(index, url.length() - ".class".length());
+                    // 内部类与顶层类在同一个源文件中
+                    if (className.indexOf('$') < 0 && !className.endsWith("package-info")
+                            && !className.endsWith("module-info")) {
+                        fileNames.add(className + ".java");
+                    }
+                }
+            } catch (IOException e) {
+                log.debug("Failed to scan package {} for SCM cache warm-up: {}", packageName, e.getMessage());
+            }
+        }
+        return fileNames;
+    }
+
+    /**
+     * Count an exception location, so the most frequent ones are warmed first on the next start
+     *
+     * @param fileName the file name
+     * @param lineNumber the line number
+     */
+    public void recordLocation(String fileName, int lineNumber) {
+        String key = fileName + ":" + lineNumber;
+        AtomicInteger count = locationCounts.get(key);
+        if (count == null) {
+            if (locationCounts.size() >= MAX_TRACKED_LOCATIONS) {
+                return;
+            }
+            count = locationCounts.computeIfAbsent(key, k -> new AtomicInteger());
+        }
+        count.incrementAndGet();
+    }
+
+    /**
+     * Stop the warm-up and save the most frequent exception locations of this run
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        saveHotLocations();
+    }
+
+    /**
+     * Save the most frequent exception locations of this run; the previous file is kept if nothing was recorded
+     */
+    void saveHotLocations() {
+        if (locationCounts.isEmpty()) {
+            return;
+        }
+
+        Path stateFile = getStateFile();
+        List<Map.Entry<String, AtomicInteger>> hot = locationCounts.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<String, AtomicInteger> e) -> e.getValue().get()).reversed())
+                .limit(properties.getScm().getWarmup().getHotLocations())
+                .collect(Collectors.toList());
+        try {
+            Files.createDirectories(stateFile.toAbsolutePath().getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(stateFile, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, AtomicInteger> entry : hot) {
+                    writer.write(entry.getValue().get() + "\t" + entry.getKey());
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to save hot exception locations to {}: {}", stateFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Load the exception locations saved by the previous run, most frequent first
+     *
+     * @return saved locations, empty if there is no state file
+     */
+    List<SourceLocation> loadHotLocations() {
+        Path stateFile = getStateFile();
+        Map<String, SourceLocation> locations = new LinkedHashMap<>();
+        if (!Files.isRegularFile(stateFile)) {
+            return new ArrayList<>();
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(stateFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // 格式: 次数\t文件:行号
+                int tab = line.indexOf('\t');
+                int colon = line.lastIndexOf(':');
+                if (tab < 0 || colon < tab) {
+                    continue;
+                }
+                try {
+                    String fileName = line.substring(tab + 1, colon);
+                    int lineNumber = Integer.parseInt(line.substring(colon + 1).trim());
+                    locations.putIfAbsent(fileName + ":" + lineNumber, new SourceLocation(fileName, lineNumber));
+                } catch (NumberFormatException e) {
+                    log.debug("Skipping malformed hot location: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read hot exception locations from {}: {}", stateFile, e.getMessage());
+        }
+        return new ArrayList<>(locations.values());
+    }
+
+    private Path getStateFile() {
+        String stateFile = properties.getScm().getWarmup().getStateFile();
+        return stateFile != null
+                ? Paths.get(stateFile)
+                : Paths.get(System.getProperty("java.io.tmpdir"), "exception-notify", "hot-locations");
+    }
+
+    /**
+     * Get the number of lookups issued by the warm-up so far
+     *
+     * @return lookup count
+     */
+    public int getLookupCount() {
+        return lookups.get();
+    }
+}
@@ -0,0 +1,173 @@
+package com.nolimit35.springkit.service;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker guarding the requests of a single source control service
+ * <p>
+ * The circuit opens after a number of consecutive failures, or immediately when the service reports
+ * that its rate limit is exhausted. While open, requests are rejected without touching the network.
+ * Once the open period has elapsed a single half-open probe is let through: its success closes the
+ * circuit, its failure opens it again.
+ */
+@Slf4j
+public class ScmCircuitBreaker {
+
+    /**
+     * Circuit breaker state
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final ExceptionNotifyProperties.Scm.CircuitBreaker config;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntilMillis;
+    private boolean probeInFlight;
+    private String lastOpenReason;
+
+    public ScmCircuitBreaker(String name, ExceptionNotifyProperties.Scm.CircuitBreaker config) {
+        this(name, config, System::currentTimeMillis);
+    }
+
+    ScmCircuitBreaker(String name, ExceptionNotifyProperties.Scm.CircuitBreaker config, LongSupplier clock) {
+        this.name = name;
+        this.config = config;
+        this.clock = clock;
+    }
+
+    /**
+     * Check whether a request may be sent, reserving the half-open probe if the open period has elapsed
+     *
+     * @return true if the request may be sent
+     */
+    public synchronized boolean allowRequest() {
+        if (!config.isEnabled()) {
+            return true;
+        }
+
+        switch (state) {
+            case OPEN:
+                if (clock.getAsLong() < openUntilMillis) {
+                    return false;
+                }
+                log.info("{} circuit breaker is half-open, probing the service", name);
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            case HALF_OPEN:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Check whether requests are currently rejected, without reserving the half-open probe
+     *
+     * @return true if requests are rejected
+     */
+    public synchronized boolean isOpen() {
+        if (!config.isEnabled()) {
+            return false;
+        }
+        return (state == State.OPEN && clock.getAsLong() < openUntilMillis)
+                || (state == State.HALF_OPEN && probeInFlight);
+    }
+
+    /**
+     * Record a request that reached a healthy service
+     */
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            log.info("{} circuit breaker closed", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    /**
+     * Record a failed request (network error, timeout or server error)
+     *
+     * @param reason short description of the failure
+     */
+    public synchronized void recordFailure(String reason) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= Math.max(1, config.getFailureThreshold())) {
+            open(TimeUnit.SECONDS.toMillis(config.getOpenDurationSeconds()), reason);
+        }
+    }
+
+    /**
+     * Record a rate-limit response, opening the circuit until the limit resets
+     *
+     * @param retryAfterMillis time until the service accepts requests again, negative if unknown
+     * @param reason short description of the rate limit
+     */
+    public synchronized void recordRateLimited(long retryAfterMillis, String reason) {
+        long duration = retryAfterMillis >= 0
+                ? retryAfterMillis
+                : TimeUnit.SECONDS.toMillis(config.getOpenDurationSeconds());
+        open(duration, reason);
+    }
+
+    private void open(long durationMillis, String reason) {
+        long maxDuration = TimeUnit.SECONDS.toMillis(config.getMaxOpenDurationSeconds());
+        long duration = Math.min(Math.max(0, durationMillis), maxDuration);
+        if (state != State.OPEN) {
+            log.warn("{} circuit breaker opened for {} ms: {}", name, duration, reason);
+        }
+        state = State.OPEN;
+        openUntilMillis = clock.getAsLong() + duration;
+        probeInFlight = false;
+        lastOpenReason = reason;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the current state, reporting an open circuit whose open period has elapsed as half-open
+     *
+     * @return the current state
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && clock.getAsLong() >= openUntilMillis) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Get the time when the open period ends
+     *
+     * @return epoch milliseconds, meaningful only while the circuit is open
+     */
+    public synchronized long getOpenUntilMillis() {
+        return openUntilMillis;
+    }
+
+    public synchronized String getLastOpenReason() {
+        return lastOpenReason;
+    }
+}
@@ -0,0 +1,13 @@
+package com.nolimit35.springkit.service;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a source control request is rejected because the service's circuit breaker is open
+ */
+public class ScmCircuitOpenException extends IOException {
+
+    public ScmCircuitOpenException(String serviceName) {
+        super(serviceName + " circuit breaker is open, request skipped");
+    }
+}
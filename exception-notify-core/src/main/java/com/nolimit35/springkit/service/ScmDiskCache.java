@@ -0,0 +1,568 @@
+package com.nolimit35.springkit.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Persistent, content-addressed cache of source control responses on local disk
+ * <p>
+ * Values are stored once per content (SHA-256) under {@code objects/}. The memory-mapped index file holds two
+ * fixed-size linear-probing hash tables: the keys, and the reference count of each stored object. Removals shift
+ * the following entries of the probe sequence back instead of leaving tombstones, so lookups never degrade.
+ * Entries expire after the TTL, and the least recently used ones are evicted once the entry or size limit is
+ * reached. Index and object updates are guarded by a file lock, so several JVMs on the same host can share one
+ * directory; within a JVM, caches are shared per directory (see {@link #open(Path, int, long, long)}).
+ */
+@Slf4j
+public class ScmDiskCache implements Closeable {
+
+    private static final ConcurrentMap<Path, ScmDiskCache> OPEN_CACHES = new ConcurrentHashMap<>();
+
+    private static final int MAGIC = 0x534d4443;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 64;
+    private static final int HEADER_SLOT_COUNT = 8;
+    private static final int HEADER_ENTRY_COUNT = 16;
+    private static final int HEADER_TOTAL_SIZE = 24;
+
+    private static final int SLOT_SIZE = 80;
+    private static final int SLOT_STATE = 0;
+    private static final int SLOT_KEY = 8;
+    private static final int SLOT_DIGEST = 24;
+    private static final int SLOT_SIZE_BYTES = 56;
+    private static final int SLOT_CREATED = 64;
+    private static final int SLOT_ACCESSED = 72;
+
+    private static final int OBJECT_SLOT_SIZE = 48;
+    private static final int OBJECT_SLOT_STATE = 0;
+    private static final int OBJECT_SLOT_DIGEST = 8;
+    private static final int OBJECT_SLOT_REFERENCES = 40;
+
+    private static final long EMPTY = 0;
+    private static final long USED = 1;
+
+    private static final int KEY_DIGEST_LENGTH = 16;
+    private static final int CONTENT_DIGEST_LENGTH = 32;
+
+    private final Path directory;
+    private final Path objectsDirectory;
+    private final int maxEntries;
+    private final long maxSizeBytes;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final RandomAccessFile indexFile;
+    private final FileChannel lockChannel;
+    private final MappedByteBuffer index;
+    private final int slotCount;
+    private final int objectTableOffset;
+    private final int configuredMaxEntries;
+    private int openCount = 1;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Open the cache in a directory, or return the cache already open in this JVM
+     * Each call is released with {@link #close()}.
+     *
+     * @param directory the cache directory, created if missing
+     * @param maxEntries maximum number of keys
+     * @param maxSizeBytes maximum total size of the cached values
+     * @param ttlMillis how long an entry is valid, 0 for no expiry
+     * @return the cache
+     * @throws IOException if the directory or index cannot be opened
+     */
+    public static ScmDiskCache open(Path directory, int maxEntries, long maxSizeBytes, long ttlMillis) throws IOException {
+        Files.createDirectories(directory);
+        Path key = directory.toRealPath();
+        ScmDiskCache cache;
+        synchronized (OPEN_CACHES) {
+            cache = OPEN_CACHES.get(key);
+            if (cache == null) {
+                cache = new ScmDiskCache(key, maxEntries, maxSizeBytes, ttlMillis, System::currentTimeMillis);
+                OPEN_CACHES.put(key, cache);
+                return cache;
+            }
+            cache.openCount++;
+        }
+        if (cache.configuredMaxEntries != maxEntries || cache.maxSizeBytes != maxSizeBytes || cache.ttlMillis != ttlMillis) {
+            log.warn("SCM disk cache in {} is already open with max {} entries, {} bytes and a TTL of {} ms, "
+                            + "ignoring max {} entries, {} bytes and a TTL of {} ms",
+                    key, cache.configuredMaxEntries, cache.maxSizeBytes, cache.ttlMillis, maxEntries, maxSizeBytes, ttlMillis);
+        }
+        return cache;
+    }
+
+    ScmDiskCache(Path directory, int maxEntries, long maxSizeBytes, long ttlMillis, LongSupplier clock) throws IOException {
+        this.directory = directory;
+        this.objectsDirectory = directory.resolve("objects");
+        this.configuredMaxEntries = maxEntries;
+        this.maxSizeBytes = maxSizeBytes;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        Files.createDirectories(objectsDirectory);
+
+        this.lockChannel = FileChannel.open(directory.resolve("index.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.indexFile = new RandomAccessFile(directory.resolve("index.dat").toFile(), "rw");
+
+        // Twice as many slots as entries keeps the probe sequences short
+        int requestedSlots = Math.max(1, maxEntries) * 2;
+        try (FileLock ignored = lockChannel.lock()) {
+            int existingSlots = readExistingSlotCount(requestedSlots);
+            this.slotCount = existingSlots > 0 ? existingSlots : requestedSlots;
+            // An index created with fewer slots limits the entries, so both tables always keep empty slots
+            this.maxEntries = Math.min(Math.max(1, maxEntries), slotCount / 2);
+            this.objectTableOffset = HEADER_SIZE + slotCount * SLOT_SIZE;
+            long length = indexLength(slotCount);
+            if (existingSlots <= 0) {
+                indexFile.setLength(0);
+                indexFile.setLength(length);
+            }
+            this.index = indexFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+            if (existingSlots <= 0) {
+                index.putInt(0, MAGIC);
+                index.putInt(4, VERSION);
+                index.putInt(HEADER_SLOT_COUNT, slotCount);
+                index.force();
+            }
+        }
+    }
+
+    private int readExistingSlotCount(int requestedSlots) throws IOException {
+        if (indexFile.length() < HEADER_SIZE) {
+            return -1;
+        }
+        indexFile.seek(0);
+        int magic = indexFile.readInt();
+        int version = indexFile.readInt();
+        int slots = indexFile.readInt();
+        if (magic != MAGIC || version != VERSION || slots <= 0 || indexFile.length() != indexLength(slots)) {
+            log.warn("SCM disk cache index in {} is not usable, recreating it", directory);
+            return -1;
+        }
+        if (slots != requestedSlots) {
+            log.debug("SCM disk cache in {} keeps its existing size of {} slots", directory, slots);
+        }
+        return slots;
+    }
+
+    private static long indexLength(int slots) {
+        return HEADER_SIZE + (long) slots * (SLOT_SIZE + OBJECT_SLOT_SIZE);
+    }
+
+    /**
+     * Get a cached value
+     *
+     * @param key the cache key
+     * @return the value, or null if absent, expired or unreadable
+     */
+    public byte[] get(String key) {
+        byte[] keyDigest = keyDigest(key);
+        byte[] contentDigest;
+        try {
+            synchronized (this) {
+                try (FileLock ignored = lockChannel.lock()) {
+                    int slot = findSlot(keyDigest);
+                    if (slot < 0) {
+                        misses.increment();
+                        return null;
+                    }
+                    long now = clock.getAsLong();
+                    if (ttlMillis > 0 && now - index.getLong(slotOffset(slot) + SLOT_CREATED) >= ttlMillis) {
+                        removeSlot(slot);
+                        misses.increment();
+                        return null;
+                    }
+                    index.putLong(slotOffset(slot) + SLOT_ACCESSED, now);
+                    contentDigest = readBytes(slotOffset(slot) + SLOT_DIGEST, CONTENT_DIGEST_LENGTH);
+                }
+            }
+
+            byte[] value = Files.readAllBytes(objectPath(contentDigest));
+            if (!Arrays.equals(contentDigest, sha256(value))) {
+                log.warn("Corrupt SCM disk cache object {}, ignoring it", objectPath(contentDigest));
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return value;
+        } catch (NoSuchFileException e) {
+            // Evicted by another process in the meantime
+            misses.increment();
+            return null;
+        } catch (IOException e) {
+            log.warn("Failed to read SCM disk cache: {}", e.getMessage());
+            misses.increment();
+            return null;
+        }
+    }
+
+    /**
+     * Cache a value
+     *
+     * @param key the cache key
+     * @param value the value
+     */
+    public void put(String key, byte[] value) {
+        if (value.length > maxSizeBytes) {
+            return;
+        }
+
+        byte[] keyDigest = keyDigest(key);
+        byte[] contentDigest = sha256(value);
+        try {
+            synchronized (this) {
+                try (FileLock ignored = lockChannel.lock()) {
+                    int slot = findSlot(keyDigest);
+                    if (slot >= 0) {
+                        removeSlot(slot);
+                    }
+                    while (entryCount() >= maxEntries || sizeBytes() + value.length > maxSizeBytes) {
+                        if (!evictLeastRecentlyUsed()) {
+                            break;
+                        }
+                    }
+
+                    // Written under the lock, so another process cannot delete the object before it is referenced
+                    retainObject(contentDigest, value);
+                    slot = findInsertionSlot(keyDigest);
+                    long now = clock.getAsLong();
+                    int offset = slotOffset(slot);
+                    writeBytes(offset + SLOT_KEY, keyDigest);
+                    writeBytes(offset + SLOT_DIGEST, contentDigest);
+                    index.putLong(offset + SLOT_SIZE_BYTES, value.length);
+                    index.putLong(offset + SLOT_CREATED, now);
+                    index.putLong(offset + SLOT_ACCESSED, now);
+                    index.putLong(offset + SLOT_STATE, USED);
+                    index.putLong(HEADER_ENTRY_COUNT, entryCount() + 1);
+                    index.putLong(HEADER_TOTAL_SIZE, sizeBytes() + value.length);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write SCM disk cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Remove all cached values
+     */
+    public synchronized void clear() {
+        try (FileLock ignored = lockChannel.lock()) {
+            for (int slot = 0; slot < slotCount; slot++) {
+                int objectOffset = objectSlotOffset(slot);
+                if (index.getLong(objectOffset + OBJECT_SLOT_STATE) == USED) {
+                    deleteObject(readBytes(objectOffset + OBJECT_SLOT_DIGEST, CONTENT_DIGEST_LENGTH));
+                }
+                index.putLong(objectOffset + OBJECT_SLOT_STATE, EMPTY);
+                index.putLong(slotOffset(slot) + SLOT_STATE, EMPTY);
+            }
+            index.putLong(HEADER_ENTRY_COUNT, 0);
+            index.putLong(HEADER_TOTAL_SIZE, 0);
+        } catch (IOException e) {
+            log.warn("Failed to clear SCM disk cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Get the number of cached keys (across all processes sharing the directory)
+     *
+     * @return entry count
+     */
+    public synchronized long getEntryCount() {
+        try (FileLock ignored = lockChannel.lock()) {
+            return entryCount();
+        } catch (IOException e) {
+            log.debug("Failed to lock SCM disk cache index: {}", e.getMessage());
+            return entryCount();
+        }
+    }
+
+    /**
+     * Get the total size of the cached values, counted once per key
+     *
+     * @return size in bytes
+     */
+    public synchronized long getSizeBytes() {
+        try (FileLock ignored = lockChannel.lock()) {
+            return sizeBytes();
+        } catch (IOException e) {
+            log.debug("Failed to lock SCM disk cache index: {}", e.getMessage());
+            return sizeBytes();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Release the cache, the index is closed once every {@link #open(Path, int, long, long)} of it is released
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (OPEN_CACHES) {
+            if (--openCount > 0) {
+                return;
+            }
+            OPEN_CACHES.remove(directory, this);
+        }
+        synchronized (this) {
+            index.force();
+            try {
+                indexFile.close();
+            } finally {
+                lockChannel.close();
+            }
+        }
+    }
+
+    private long entryCount() {
+        return index.getLong(HEADER_ENTRY_COUNT);
+    }
+
+    private long sizeBytes() {
+        return index.getLong(HEADER_TOTAL_SIZE);
+    }
+
+    private int findSlot(byte[] keyDigest) {
+        int start = startSlot(keyDigest);
+        for (int i = 0; i < slotCount; i++) {
+            int slot = (start + i) % slotCount;
+            if (index.getLong(slotOffset(slot) + SLOT_STATE) == EMPTY) {
+                return -1;
+            }
+            if (Arrays.equals(keyDigest, readBytes(slotOffset(slot) + SLOT_KEY, KEY_DIGEST_LENGTH))) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int findInsertionSlot(byte[] keyDigest) {
+        int slot = startSlot(keyDigest);
+        while (index.getLong(slotOffset(slot) + SLOT_STATE) != EMPTY) {
+            slot = (slot + 1) % slotCount;
+        }
+        return slot;
+    }
+
+    private boolean evictLeastRecentlyUsed() {
+        int oldest = -1;
+        long oldestAccess = Long.MAX_VALUE;
+        for (int slot = 0; slot < slotCount; slot++) {
+            int offset = slotOffset(slot);
+            if (index.getLong(offset + SLOT_STATE) == USED && index.getLong(offset + SLOT_ACCESSED) < oldestAccess) {
+                oldest = slot;
+                oldestAccess = index.getLong(offset + SLOT_ACCESSED);
+            }
+        }
+        if (oldest < 0) {
+            return false;
+        }
+        removeSlot(oldest);
+        return true;
+    }
+
+    private void removeSlot(int slot) {
+        int offset = slotOffset(slot);
+        byte[] contentDigest = readBytes(offset + SLOT_DIGEST, CONTENT_DIGEST_LENGTH);
+        index.putLong(HEADER_ENTRY_COUNT, Math.max(0, entryCount() - 1));
+        index.putLong(HEADER_TOTAL_SIZE, Math.max(0, sizeBytes() - index.getLong(offset + SLOT_SIZE_BYTES)));
+        shiftBack(HEADER_SIZE, slot, SLOT_SIZE, SLOT_KEY);
+        releaseObject(contentDigest);
+    }
+
+    /**
+     * Count a reference to an object, writing it if this is the first one
+     */
+    private void retainObject(byte[] contentDigest, byte[] value) throws IOException {
+        int slot = startSlot(contentDigest);
+        while (index.getLong(objectSlotOffset(slot) + OBJECT_SLOT_STATE) == USED) {
+            int offset = objectSlotOffset(slot);
+            if (Arrays.equals(contentDigest, readBytes(offset + OBJECT_SLOT_DIGEST, CONTENT_DIGEST_LENGTH))) {
+                // Written again in case it was removed from disk behind the cache's back
+                writeObject(contentDigest, value);
+                index.putLong(offset + OBJECT_SLOT_REFERENCES, index.getLong(offset + OBJECT_SLOT_REFERENCES) + 1);
+                return;
+            }
+            slot = (slot + 1) % slotCount;
+        }
+
+        writeObject(contentDigest, value);
+        int offset = objectSlotOffset(slot);
+        writeBytes(offset + OBJECT_SLOT_DIGEST, contentDigest);
+        index.putLong(offset + OBJECT_SLOT_REFERENCES, 1);
+        index.putLong(offset + OBJECT_SLOT_STATE, USED);
+    }
+
+    /**
+     * Drop a reference to an object, deleting it once no key refers to it any more
+     * Content is shared between keys with identical values.
+     */
+    private void releaseObject(byte[] contentDigest) {
+        int start = startSlot(contentDigest);
+        for (int i = 0; i < slotCount; i++) {
+            int slot = (start + i) % slotCount;
+            int offset = objectSlotOffset(slot);
+            if (index.getLong(offset + OBJECT_SLOT_STATE) == EMPTY) {
+                break;
+            }
+            if (Arrays.equals(contentDigest, readBytes(offset + OBJECT_SLOT_DIGEST, CONTENT_DIGEST_LENGTH))) {
+                long references = index.getLong(offset + OBJECT_SLOT_REFERENCES) - 1;
+                if (references > 0) {
+                    index.putLong(offset + OBJECT_SLOT_REFERENCES, references);
+                    return;
+                }
+                shiftBack(objectTableOffset, slot, OBJECT_SLOT_SIZE, OBJECT_SLOT_DIGEST);
+                break;
+            }
+        }
+        deleteObject(contentDigest);
+    }
+
+    /**
+     * Empty a slot of a linear-probing table, moving later entries of the probe sequence into the gap
+     * so that lookups can stop at the first empty slot
+     *
+     * @param tableOffset offset of the table in the index
+     * @param slot the slot to empty
+     * @param slotSize size of a slot of the table
+     * @param hashOffset offset of the hashed digest within a slot
+     */
+    private void shiftBack(int tableOffset, int slot, int slotSize, int hashOffset) {
+        int base = tableOffset;
+        int gap = slot;
+        int next = slot;
+        byte[] entry = new byte[slotSize];
+        while (true) {
+            next = (next + 1) % slotCount;
+            int nextOffset = base + next * slotSize;
+            if (index.getLong(nextOffset) == EMPTY) {
+                break;
+            }
+            int home = startSlot(readBytes(nextOffset + hashOffset, 4));
+            // Entries whose home lies cyclically in (gap, next] are still reachable and stay in place
+            boolean reachable = gap <= next ? gap < home && home <= next : gap < home || home <= next;
+            if (reachable) {
+                continue;
+            }
+            for (int i = 0; i < slotSize; i++) {
+                entry[i] = index.get(nextOffset + i);
+            }
+            writeBytes(base + gap * slotSize, entry);
+            gap = next;
+        }
+        index.putLong(base + gap * slotSize, EMPTY);
+    }
+
+    private void writeObject(byte[] contentDigest, byte[] value) throws IOException {
+        Path target = objectPath(contentDigest);
+        if (Files.exists(target)) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "obj", ".tmp");
+        try {
+            Files.write(temp, value);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // Written concurrently by another process, the content is identical
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void deleteObject(byte[] contentDigest) {
+        try {
+            Files.deleteIfExists(objectPath(contentDigest));
+        } catch (IOException e) {
+            log.debug("Failed to delete SCM disk cache object: {}", e.getMessage());
+        }
+    }
+
+    private Path objectPath(byte[] contentDigest) {
+        String hex = toHex(contentDigest);
+        return objectsDirectory.resolve(hex.substring(0, 2)).resolve(hex.substring(2));
+    }
+
+    private int startSlot(byte[] keyDigest) {
+        int hash = ((keyDigest[0] & 0xff) << 24) | ((keyDigest[1] & 0xff) << 16)
+                | ((keyDigest[2] & 0xff) << 8) | (keyDigest[3] & 0xff);
+        return (hash & Integer.MAX_VALUE) % slotCount;
+    }
+
+    private int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private int objectSlotOffset(int slot) {
+        return objectTableOffset + slot * OBJECT_SLOT_SIZE;
+    }
+
+    private byte[] readBytes(int offset, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = index.get(offset + i);
+        }
+        return bytes;
+    }
+
+    private void writeBytes(int offset, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            index.put(offset + i, bytes[i]);
+        }
+    }
+
+    private static byte[] keyDigest(String key) {
+        return Arrays.copyOf(sha256(key.getBytes(StandardCharsets.UTF_8)), KEY_DIGEST_LENGTH);
+    }
+
+    private static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,166 @@
+package com.nolimit35.springkit.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Navigation helpers for reading SCM responses with Jackson's streaming {@link JsonParser}
+ * Only the fields that are needed are materialized, everything else is skipped token by token.
+ */
+final class ScmJsonReader {
+
+    private ScmJsonReader() {
+    }
+
+    /**
+     * Move to the value of a field of the current object, skipping all other fields
+     *
+     * @param parser parser positioned on the START_OBJECT token or on a field name of the object
+     * @param fieldName the field to look for
+     * @return true if the parser is now positioned on the value of the field,
+     *         false if the object ended without it (the parser is then on END_OBJECT)
+     * @throws IOException if the content cannot be read
+     */
+    static boolean moveToField(JsonParser parser, String fieldName) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT && parser.currentToken() != JsonToken.FIELD_NAME) {
+            return false;
+        }
+
+        JsonToken token = parser.currentToken() == JsonToken.FIELD_NAME ? JsonToken.FIELD_NAME : parser.nextToken();
+        while (token == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (fieldName.equals(name)) {
+                return true;
+            }
+            if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+            }
+            token = parser.nextToken();
+        }
+        return false;
+    }
+
+    /**
+     * Move along a path of nested object fields
+     *
+     * @param parser parser positioned on the START_OBJECT token of the outermost object
+     * @param path field names, outermost first
+     * @return true if the parser is now positioned on the value of the last field
+     * @throws IOException if the content cannot be read
+     */
+    static boolean moveToPath(JsonParser parser, String... path) throws IOException {
+        for (int i = 0; i < path.length; i++) {
+            if (!moveToField(parser, path[i])) {
+                return false;
+            }
+            if (i < path.length - 1 && parser.currentToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read the current value as text
+     *
+     * @param parser parser positioned on a value token
+     * @return the text, or null if the value is null or structured
+     * @throws IOException if the content cannot be read
+     */
+    static String readText(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        return token == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    /**
+     * Read the scalar fields of the current object, including those of nested objects
+     * Nested field names are joined with dots (e.g. {@code author.name}); arrays are skipped.
+     *
+     * @param parser parser positioned on a START_OBJECT token
+     * @return field values by (dotted) name, empty if the value is not an object
+     * @throws IOException if the content cannot be read
+     */
+    static Map<String, String> readFields(JsonParser parser) throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            readFields(parser, "", fields);
+        } else {
+            parser.skipChildren();
+        }
+        return fields;
+    }
+
+    private static void readFields(JsonParser parser, String prefix, Map<String, String> fields) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = prefix + parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_OBJECT) {
+                readFields(parser, name + ".", fields);
+            } else if (value == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+            } else if (value != JsonToken.VALUE_NULL) {
+                fields.put(name, parser.getText());
+            }
+        }
+    }
+
+    /**
+     * Count the elements of the current array without materializing them
+     *
+     * @param parser parser positioned on a START_ARRAY token
+     * @return number of elements, 0 if the value is not an array
+     * @throws IOException if the content cannot be read
+     */
+    static int countElements(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return 0;
+        }
+
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Skip to the end of a value the parser has descended into, however deep it currently is
+     *
+     * @param parser parser positioned anywhere inside the value
+     * @param enclosing the parsing context containing the value, taken while on its START token
+     * @throws IOException if the content cannot be read
+     */
+    static void skipTo(JsonParser parser, JsonStreamContext enclosing) throws IOException {
+        while (parser.getParsingContext() != enclosing && parser.nextToken() != null) {
+            // Tokens of the value are skipped until its END token returns to the enclosing context
+        }
+    }
+
+    /**
+     * Skip the remaining entries of the enclosing object or array
+     *
+     * @param parser parser positioned inside an object or array
+     * @throws IOException if the content cannot be read
+     */
+    static void skipRemaining(JsonParser parser) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+        }
+    }
+}
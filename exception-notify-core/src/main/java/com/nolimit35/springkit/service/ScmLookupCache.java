@@ -0,0 +1,121 @@
+package com.nolimit35.springkit.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, time-limited cache for source control lookups
+ * Entries are evicted in least-recently-used order once the size limit is reached, and expire after the TTL.
+ *
+ * @param <V> the cached value type
+ */
+public class ScmLookupCache<V> {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ScmLookupCache(int maxEntries, long ttlMillis) {
+        this(maxEntries, ttlMillis, System::currentTimeMillis);
+    }
+
+    ScmLookupCache(int maxEntries, long ttlMillis, LongSupplier clock) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > ScmLookupCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Build the cache key of a file at a ref
+     *
+     * @param path the file path
+     * @param ref the branch, tag or commit
+     * @return cache key
+     */
+    public static String key(String path, String ref) {
+        return ref + ":" + path;
+    }
+
+    /**
+     * Get a cached value
+     *
+     * @param key the cache key
+     * @return the value, or null if absent or expired
+     */
+    public synchronized V get(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (ttlMillis > 0 && clock.getAsLong() - entry.createdAt >= ttlMillis) {
+            entries.remove(key);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Cache a value
+     *
+     * @param key the cache key
+     * @param value the value
+     */
+    public synchronized void put(String key, V value) {
+        if (maxEntries == 0) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, clock.getAsLong()));
+    }
+
+    /**
+     * Remove a cached value
+     *
+     * @param key the cache key
+     */
+    public synchronized void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Remove all cached values
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long createdAt;
+
+        private Entry(V value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.nolimit35.springkit.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * UTF-8 source file content with a prebuilt line-offset table
+ * A window of lines around a target line is sliced directly from the offsets, without splitting the whole
+ * file into lines. {@link #window(InputStream, int, int)} extracts the same window while a response is
+ * streamed, without keeping the file at all.
+ */
+public final class SourceLines {
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final byte[] content;
+    private final int[] lineStarts;
+    private final int lineCount;
+
+    private SourceLines(byte[] content, int[] lineStarts, int lineCount) {
+        this.content = content;
+        this.lineStarts = lineStarts;
+        this.lineCount = lineCount;
+    }
+
+    /**
+     * Index the lines of a file
+     *
+     * @param content the UTF-8 file content, not copied
+     * @return indexed file
+     */
+    public static SourceLines of(byte[] content) {
+        int[] starts = new int[64];
+        int count = 1;
+        for (int i = 0; i < content.length; i++) {
+            // A trailing newline does not start another line
+            if (content[i] == '\n' && i + 1 < content.length) {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                }
+                starts[count++] = i + 1;
+            }
+        }
+        return new SourceLines(content, starts, count);
+    }
+
+    /**
+     * Get the number of lines
+     *
+     * @return line count, at least 1
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Get the size of the file content
+     *
+     * @return size in bytes
+     */
+    public int getSizeBytes() {
+        return content.length;
+    }
+
+    /**
+     * Get a single line
+     *
+     * @param lineNumber the line number (1-based)
+     * @return the line without its line break
+     */
+    public String getLine(int lineNumber) {
+        if (lineNumber < 1 || lineNumber > lineCount) {
+            throw new IndexOutOfBoundsException("Line " + lineNumber + " of " + lineCount);
+        }
+        int start = lineStarts[lineNumber - 1];
+        int end = lineNumber < lineCount ? lineStarts[lineNumber] - 1 : content.length;
+        if (lineNumber == lineCount && end > start && content[end - 1] == '\n') {
+            end--;
+        }
+        return new String(content, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Format the lines around a target line
+     * A target beyond the end of the file falls back to the last line.
+     *
+     * @param lineNumber the target line number (1-based)
+     * @param contextLines number of lines before and after to include
+     * @return formatted code context
+     */
+    public String window(int lineNumber, int contextLines) {
+        int actualLineNumber = Math.min(Math.max(lineNumber, 1), lineCount);
+        int startLine = Math.max(1, actualLineNumber - contextLines);
+        int endLine = (int) Math.min(lineCount, (long) actualLineNumber + contextLines);
+
+        StringBuilder context = new StringBuilder();
+        for (int i = startLine; i <= endLine; i++) {
+            appendLine(context, i, actualLineNumber, getLine(i));
+        }
+        return context.toString();
+    }
+
+    /**
+     * Format the lines around a target line while reading a UTF-8 stream
+     * Only the newlines are counted; reading stops as soon as the last line of the window is complete,
+     * and only the most recent window-sized run of lines is kept (in reused buffers), so that a target
+     * beyond the end of the file can fall back to the last line.
+     *
+     * @param in the file content, not closed
+     * @param lineNumber the target line number (1-based)
+     * @param contextLines number of lines before and after to include
+     * @return formatted code context
+     * @throws IOException if the stream cannot be read
+     */
+    public static String window(InputStream in, int lineNumber, int contextLines) throws IOException {
+        int targetLine = Math.max(lineNumber, 1);
+        long lastLine = (long) targetLine + contextLines;
+        int ringSize = 2 * contextLines + 1;
+        ByteArrayOutputStream[] ring = new ByteArrayOutputStream[ringSize];
+        for (int i = 0; i < ringSize; i++) {
+            ring[i] = new ByteArrayOutputStream();
+        }
+
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        int currentLine = 1;
+        ByteArrayOutputStream current = ring[0];
+        int totalLines = -1;
+        int read;
+
+        scan:
+        while ((read = in.read(buffer)) != -1) {
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    current.write(buffer, start, i - start);
+                    if (currentLine >= lastLine) {
+                        totalLines = currentLine;
+                        break scan;
+                    }
+                    currentLine++;
+                    current = ring[(currentLine - 1) % ringSize];
+                    current.reset();
+                    start = i + 1;
+                }
+            }
+            current.write(buffer, start, read - start);
+        }
+
+        if (totalLines < 0) {
+            // End of stream: the last line only counts if it is not empty after a trailing newline
+            totalLines = current.size() > 0 || currentLine == 1 ? currentLine : currentLine - 1;
+        }
+
+        int actualLineNumber = Math.min(targetLine, totalLines);
+        int startLine = Math.max(1, actualLineNumber - contextLines);
+        int endLine = (int) Math.min(totalLines, (long) actualLineNumber + contextLines);
+
+        StringBuilder context = new StringBuilder();
+        for (int i = startLine; i <= endLine; i++) {
+            appendLine(context, i, actualLineNumber, ring[(i - 1) % ringSize].toString(StandardCharsets.UTF_8.name()));
+        }
+        return context.toString();
+    }
+
+    private static void appendLine(StringBuilder context, int line, int targetLine, String text) {
+        String linePrefix = (line == targetLine) ? ">>> " : "    ";
+        context.append(linePrefix)
+               .append(line)
+               .append(": ")
+               .append(text)
+               .append("\n");
+    }
+}
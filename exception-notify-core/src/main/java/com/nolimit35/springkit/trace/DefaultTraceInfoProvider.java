@@ -9,18 +9,20 @@ import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import javax.servlet.http.HttpServletRequest;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
 /**
  * Default implementation of TraceInfoProvider
  * Retrieves trace ID from MDC or request headers and generates Tencent CLS trace URLs
+ * The request header lookup is only attempted when spring-web and the servlet API are on the classpath
  */
 @Slf4j
 @Component
 @ConditionalOnMissingBean(TraceInfoProvider.class)
 public class DefaultTraceInfoProvider implements TraceInfoProvider {
+    private static final boolean SERVLET_REQUEST_PRESENT = detectServletRequest();
+
     private final ExceptionNotifyProperties properties;
 
     public DefaultTraceInfoProvider(ExceptionNotifyProperties properties) {
@@ -41,12 +43,8 @@ public class DefaultTraceInfoProvider implements TraceInfoProvider {
             }
 
             // If not found in MDC, try to get from request header
-            RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
-            if (requestAttributes instanceof ServletRequestAttributes) {
-                HttpServletRequest request = ((ServletRequestAttributes) requestAttributes).getRequest();
-                String headerName = properties.getTrace().getHeaderName();
-                traceId = request.getHeader(headerName);
-
+            if (SERVLET_REQUEST_PRESENT) {
+                traceId = CurrentRequest.header(properties.getTrace().getHeaderName());
                 if (traceId != null && !traceId.isEmpty()) {
                     return traceId;
                 }
@@ -88,4 +86,28 @@ public class DefaultTraceInfoProvider implements TraceInfoProvider {
         
         return null;
     }
+
+    private static boolean detectServletRequest() {
+        ClassLoader classLoader = DefaultTraceInfoProvider.class.getClassLoader();
+        try {
+            Class.forName("org.springframework.web.context.request.RequestContextHolder", false, classLoader);
+            Class.forName("javax.servlet.http.HttpServletRequest", false, classLoader);
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Holds the spring-web references, so they are only resolved once the classes are known to be present
+     */
+    private static final class CurrentRequest {
+        private static String header(String headerName) {
+            RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+            if (requestAttributes instanceof ServletRequestAttributes) {
+                return ((ServletRequestAttributes) requestAttributes).getRequest().getHeader(headerName);
+            }
+            return null;
+        }
+    }
 }
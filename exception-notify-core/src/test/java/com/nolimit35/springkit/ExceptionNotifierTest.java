@@ -0,0 +1,86 @@
+package com.nolimit35.springkit;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.notification.NotificationProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExceptionNotifierTest {
+
+    private static ExceptionNotifyProperties offlineProperties() {
+        ExceptionNotifyProperties properties = new ExceptionNotifyProperties();
+        properties.getAi().setEnabled(false);
+        return properties;
+    }
+
+    @Test
+    public void testNotifyWithoutSpringContext() {
+        RecordingProvider provider = new RecordingProvider();
+        try (ExceptionNotifier notifier = ExceptionNotifier.builder()
+                .properties(offlineProperties())
+                .applicationName("order-batch")
+                .environment("prod")
+                .addProvider(provider)
+                .build()) {
+            notifier.notify(new IllegalStateException("batch failed"));
+        }
+
+        assertEquals(1, provider.received.size());
+        ExceptionInfo info = provider.received.get(0);
+        assertEquals("order-batch", info.getAppName());
+        assertEquals("prod", info.getEnvironment());
+        assertEquals(IllegalStateException.class.getName(), info.getType());
+        assertEquals("batch failed", info.getMessage());
+    }
+
+    @Test
+    public void testEnvironmentNotReportedFrom() {
+        RecordingProvider provider = new RecordingProvider();
+        try (ExceptionNotifier notifier = ExceptionNotifier.builder()
+                .properties(offlineProperties())
+                .environment("dev")
+                .addProvider(provider)
+                .build()) {
+            notifier.notify(new IllegalStateException("local failure"));
+        }
+
+        assertTrue(provider.received.isEmpty());
+    }
+
+    @Test
+    public void testDuplicatesAreSuppressed() {
+        ExceptionNotifyProperties properties = offlineProperties();
+        properties.getEnvironment().setCurrent("test");
+        RecordingProvider provider = new RecordingProvider();
+        try (ExceptionNotifier notifier = ExceptionNotifier.builder()
+                .properties(properties)
+                .addProvider(provider)
+                .build()) {
+            IllegalStateException exception = new IllegalStateException("same failure");
+            notifier.notify(exception);
+            notifier.notify(exception);
+        }
+
+        assertEquals(1, provider.received.size());
+    }
+
+    private static class RecordingProvider implements NotificationProvider {
+        private final List<ExceptionInfo> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public boolean sendNotification(ExceptionInfo exceptionInfo) {
+            received.add(exceptionInfo);
+            return true;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+    }
+}
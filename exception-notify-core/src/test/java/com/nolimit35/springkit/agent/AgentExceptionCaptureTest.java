@@ -0,0 +1,50 @@
+package com.nolimit35.springkit.agent;
+
+import com.nolimit35.springkit.service.DegradationController;
+import com.nolimit35.springkit.service.ExceptionNotificationService;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class AgentExceptionCaptureTest {
+
+    @Test
+    public void testReportsWhileOpen() {
+        ExceptionNotificationService notificationService = mock(ExceptionNotificationService.class);
+        DegradationController degradationController = mock(DegradationController.class);
+        IllegalStateException exception = new IllegalStateException("woven failure");
+
+        AgentExceptionCapture capture = new AgentExceptionCapture(notificationService, degradationController);
+        try {
+            ExceptionNotifyAgentBridge.report(exception);
+            ExceptionNotifyAgentBridge.report(new OutOfMemoryError());
+        } finally {
+            capture.close();
+        }
+        ExceptionNotifyAgentBridge.report(new IllegalArgumentException("after close"));
+
+        verify(notificationService, times(1)).processException(any());
+        verify(notificationService).processException(exception);
+        verify(degradationController).recordOverhead(anyLong());
+    }
+
+    @Test
+    public void testNestedReportIsIgnored() {
+        ExceptionNotificationService notificationService = mock(ExceptionNotificationService.class);
+        doAnswer(invocation -> {
+            // A woven method called from the pipeline, e.g. a custom notification provider
+            ExceptionNotifyAgentBridge.report(new IllegalArgumentException("from provider"));
+            throw new IllegalStateException("pipeline failure");
+        }).when(notificationService).processException(any());
+
+        AgentExceptionCapture capture = new AgentExceptionCapture(notificationService, null);
+        try {
+            ExceptionNotifyAgentBridge.report(new IllegalStateException("woven failure"));
+        } finally {
+            capture.close();
+        }
+
+        verify(notificationService, times(1)).processException(any());
+    }
+}
@@ -0,0 +1,83 @@
+package com.nolimit35.springkit.config;
+
+import com.nolimit35.springkit.service.EnvironmentProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for compiling and swapping the configuration snapshot
+ */
+public class ExceptionNotifySnapshotHolderTest {
+
+    private ExceptionNotifyProperties properties;
+    private ExceptionNotifySnapshotHolder holder;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new ExceptionNotifyProperties();
+        properties.getFeishu().setWebhook("https://open.feishu.cn/open-apis/bot/v2/hook/test");
+        properties.getPackageFilter().setEnabled(true);
+        properties.getPackageFilter().setIncludePackages(new HashSet<>(Arrays.asList("com.example.order", "com.example.pay")));
+        properties.getEnrichment().setTimeoutMillis(1500);
+
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("prod");
+        holder = new ExceptionNotifySnapshotHolder(properties, new EnvironmentProvider(environment));
+    }
+
+    @Test
+    public void testSnapshotIsCompiledFromProperties() {
+        ExceptionNotifySnapshot snapshot = holder.get();
+
+        assertTrue(snapshot.isEnabled());
+        assertEquals("prod", snapshot.getCurrentEnvironment());
+        assertTrue(snapshot.isReportFromCurrentEnvironment());
+        assertEquals("prod", properties.getEnvironment().getCurrent());
+        assertTrue(snapshot.isDeduplicationEnabled());
+        assertEquals(3, snapshot.getDeduplicationWindowMinutes());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1500), snapshot.getEnrichmentTimeoutNanos());
+        assertTrue(snapshot.isFeishuEnabled());
+        assertFalse(snapshot.isDingTalkEnabled());
+        assertFalse(snapshot.isWeChatWorkEnabled());
+    }
+
+    @Test
+    public void testPackageFilterMatchesPrefixes() {
+        ExceptionNotifySnapshot snapshot = holder.get();
+
+        assertTrue(snapshot.isPackageFilterActive());
+        assertTrue(snapshot.isIncludedPackage("com.example.order.OrderService"));
+        assertTrue(snapshot.isIncludedPackage("com.example.pay.PayController"));
+        assertFalse(snapshot.isIncludedPackage("com.example.user.UserService"));
+
+        properties.getPackageFilter().setEnabled(false);
+        assertFalse(holder.refresh().isPackageFilterActive());
+    }
+
+    @Test
+    public void testRefreshSwapsWithoutChangingOldSnapshot() {
+        ExceptionNotifySnapshot before = holder.get();
+
+        properties.setEnabled(false);
+        properties.getNotification().getDeduplication().setTimeWindowMinutes(10);
+
+        // Property changes are not visible until refresh
+        assertSame(before, holder.get());
+
+        ExceptionNotifySnapshot after = holder.refresh();
+        assertSame(after, holder.get());
+        assertFalse(after.isEnabled());
+        assertFalse(after.isFeishuEnabled());
+        assertEquals(10, after.getDeduplicationWindowMinutes());
+
+        assertTrue(before.isEnabled());
+        assertEquals(3, before.getDeduplicationWindowMinutes());
+    }
+}
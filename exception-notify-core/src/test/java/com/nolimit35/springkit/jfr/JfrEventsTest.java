@@ -0,0 +1,66 @@
+package com.nolimit35.springkit.jfr;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.service.ExceptionDeduplicationService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the JFR events of the notification pipeline
+ */
+public class JfrEventsTest {
+
+    private static final String DEDUP_EVENT = "com.nolimit35.exceptionnotify.DedupDecision";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testSpansAreNoOpsWithoutRecording() {
+        JfrSpan span = JfrEvents.exceptionCaptured();
+
+        assertSame(JfrSpan.NOOP, span);
+        assertFalse(span.isRecording());
+    }
+
+    @Test
+    public void testDedupDecisionsAreRecorded() throws IOException {
+        ExceptionDeduplicationService deduplicationService = new ExceptionDeduplicationService(new ExceptionNotifyProperties());
+        ExceptionInfo exceptionInfo = ExceptionInfo.builder()
+                .type("java.lang.IllegalStateException")
+                .message("boom")
+                .location("com.example.Foo.bar(Foo.java:10)")
+                .build();
+
+        Path file = directory.resolve("dedup.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(DEDUP_EVENT).withThreshold(Duration.ZERO);
+            recording.start();
+            deduplicationService.shouldNotify(exceptionInfo);
+            deduplicationService.shouldNotify(exceptionInfo);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(DEDUP_EVENT))
+                .collect(Collectors.toList());
+        assertEquals(2, events.size());
+        assertEquals("notify", events.get(0).getString("outcome"));
+        assertEquals("suppressed", events.get(1).getString("outcome"));
+        assertEquals(ExceptionDeduplicationService.generateExceptionKey(exceptionInfo), events.get(1).getString("fingerprint"));
+        assertEquals("java.lang.IllegalStateException", events.get(1).getString("exceptionType"));
+    }
+}
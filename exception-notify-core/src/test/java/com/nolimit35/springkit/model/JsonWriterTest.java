@@ -0,0 +1,61 @@
+package com.nolimit35.springkit.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the reflection-free JSON serialization of the models
+ */
+public class JsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testAiAnalysisPayloadMatchesJackson() throws Exception {
+        AiAnalysisPayload payload = AiAnalysisPayload.builder()
+                .appName("orders")
+                .environment("prod")
+                .occurrenceTime("2024-01-01T10:00:00")
+                .exceptionType("java.lang.IllegalStateException")
+                .exceptionMessage("quote \" backslash \\ tab \t control \u0001 中文")
+                .location("com.example.Foo.bar(Foo.java:10)")
+                .stacktrace("java.lang.IllegalStateException: boom\n\tat com.example.Foo.bar(Foo.java:10)\r\n")
+                .author(AiAnalysisPayload.Author.builder().name("dev").email("dev@example.com").lineNumber(10).build())
+                .build();
+
+        assertEquals(objectMapper.valueToTree(payload), objectMapper.readTree(payload.toJson()));
+
+        payload.setAuthor(null);
+        assertEquals(objectMapper.valueToTree(payload), objectMapper.readTree(payload.toJson()));
+    }
+
+    @Test
+    public void testExceptionInfoToJson() throws Exception {
+        ExceptionInfo exceptionInfo = ExceptionInfo.builder()
+                .time(LocalDateTime.of(2024, 1, 1, 10, 0, 0))
+                .type("java.lang.IllegalStateException")
+                .message("boom")
+                .appName("orders")
+                .authorInfo(CodeAuthorInfo.builder().name("dev").lineNumber(42)
+                        .owners(Arrays.asList("@team-a", "@team-b")).build())
+                .request(RequestInfo.builder().method("POST").uri("/orders").handler("OrderController#create").build())
+                .build();
+
+        JsonNode json = objectMapper.readTree(exceptionInfo.toJson());
+
+        assertEquals("2024-01-01T10:00", json.path("time").asText());
+        assertEquals("boom", json.path("message").asText());
+        assertTrue(json.path("traceId").isNull());
+        assertEquals(42, json.path("authorInfo").path("lineNumber").asInt());
+        assertEquals("@team-b", json.path("authorInfo").path("owners").get(1).asText());
+        assertEquals("POST", json.path("request").path("method").asText());
+        assertEquals("OrderController#create", json.path("request").path("handler").asText());
+        assertTrue(objectMapper.readTree(ExceptionInfo.builder().build().toJson()).path("request").isNull());
+    }
+}
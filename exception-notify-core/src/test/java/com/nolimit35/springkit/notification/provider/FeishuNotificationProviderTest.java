@@ -0,0 +1,79 @@
+package com.nolimit35.springkit.notification.provider;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.formatter.DefaultNotificationFormatter;
+import com.nolimit35.springkit.model.CodeAuthorInfo;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the @-mentions of the Feishu provider
+ */
+public class FeishuNotificationProviderTest {
+
+    private ExceptionNotifyProperties properties;
+    private FeishuNotificationProvider provider;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new ExceptionNotifyProperties();
+        Map<String, List<String>> mapping = new LinkedHashMap<>();
+        mapping.put("ou_dev", Arrays.asList("dev@example.com", "@dev"));
+        mapping.put("ou_dev_alias", Collections.singletonList("dev@example.com"));
+        mapping.put("ou_payments", Collections.singletonList("@org/payments"));
+        mapping.put("ou_lead", Arrays.asList("lead@example.com", "@org/payments"));
+        properties.getFeishu().getAt().setOpenIdMappingGitEmail(mapping);
+        provider = new FeishuNotificationProvider(properties, new DefaultNotificationFormatter(properties));
+    }
+
+    @Test
+    public void testEmailMentionsFirstMatchingUserOnly() {
+        String text = provider.buildText(exceptionInfo(CodeAuthorInfo.builder()
+                .name("dev").email("dev@example.com").build()));
+
+        assertTrue(text.contains("处理人: <at user_id=\"ou_dev\">名字</at>"));
+        assertFalse(text.contains("ou_dev_alias"));
+        assertFalse(text.contains("ou_payments"));
+    }
+
+    @Test
+    public void testOwnersMentionEveryMatchingUserAfterTheEmailMatch() {
+        String text = provider.buildText(exceptionInfo(CodeAuthorInfo.builder()
+                .name("dev").email("dev@example.com")
+                .owners(Arrays.asList("@org/payments", "@dev")).build()));
+
+        assertTrue(text.contains("处理人: <at user_id=\"ou_dev\">名字</at>"
+                + " <at user_id=\"ou_payments\">名字</at> <at user_id=\"ou_lead\">名字</at>"));
+        assertFalse(text.contains("ou_dev_alias"));
+    }
+
+    @Test
+    public void testNoMentionWithoutMatch() {
+        String text = provider.buildText(exceptionInfo(CodeAuthorInfo.builder()
+                .name("other").email("other@example.com")
+                .owners(Collections.singletonList("@org/search")).build()));
+
+        assertFalse(text.contains("处理人"));
+    }
+
+    private static ExceptionInfo exceptionInfo(CodeAuthorInfo authorInfo) {
+        return ExceptionInfo.builder()
+                .time(LocalDateTime.now())
+                .type("java.lang.IllegalStateException")
+                .message("boom")
+                .location("com.example.Foo.bar(Foo.java:10)")
+                .appName("orders")
+                .authorInfo(authorInfo)
+                .build();
+    }
+}
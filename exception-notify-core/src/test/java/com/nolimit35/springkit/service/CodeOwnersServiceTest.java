@@ -0,0 +1,97 @@
+package com.nolimit35.springkit.service;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.CodeAuthorInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for CODEOWNERS parsing and owner lookup
+ */
+public class CodeOwnersServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private CodeOwnersService codeOwnersService;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Path file = directory.resolve("CODEOWNERS");
+        Files.write(file, String.join("\n",
+                "# Default owners",
+                "*                                   @org/platform",
+                "*.yaml                              ops@example.com",
+                "",
+                "[Payments]",
+                "/src/main/java/com/example/pay/     @alice @org/payments   # payment team",
+                "docs/*                              @writer",
+                "/src/main/java/com/example/pay/generated/",
+                "**/legacy/**                        @bob").getBytes(StandardCharsets.UTF_8));
+
+        ExceptionNotifyProperties properties = new ExceptionNotifyProperties();
+        properties.getCodeowners().setLocation(file.toUri().toString());
+        codeOwnersService = new CodeOwnersService(properties);
+    }
+
+    @Test
+    public void testRulesAreLoaded() {
+        assertEquals(6, codeOwnersService.getRuleCount());
+    }
+
+    @Test
+    public void testLastMatchingRuleWins() {
+        assertEquals(Arrays.asList("@alice", "@org/payments"),
+                codeOwnersService.getOwners("com/example/pay/PaymentService.java"));
+        assertEquals(Collections.singletonList("@org/platform"),
+                codeOwnersService.getOwners("com/example/order/OrderService.java"));
+        assertEquals(Collections.singletonList("@bob"),
+                codeOwnersService.getOwners("com/example/pay/legacy/OldGateway.java"));
+    }
+
+    @Test
+    public void testRuleWithoutOwnersLeavesFileUnowned() {
+        assertTrue(codeOwnersService.getOwners("com/example/pay/generated/Dto.java").isEmpty());
+        assertNull(codeOwnersService.getAuthorInfo("com/example/pay/generated/Dto.java", 10));
+    }
+
+    @Test
+    public void testWildcardInLastSegmentDoesNotMatchSubdirectories() {
+        assertEquals(Collections.singletonList("@writer"), codeOwnersService.getOwners("docs/guide.md"));
+        assertEquals(Collections.singletonList("@org/platform"), codeOwnersService.getOwners("docs/api/index.md"));
+        assertEquals(Collections.singletonList("ops@example.com"),
+                codeOwnersService.getOwners("deploy/app.yaml"));
+    }
+
+    @Test
+    public void testAuthorInfoCarriesOwners() {
+        CodeAuthorInfo authorInfo = codeOwnersService.getAuthorInfo("com/example/pay/PaymentService.java", 42);
+
+        assertNotNull(authorInfo);
+        assertEquals(Arrays.asList("@alice", "@org/payments"), authorInfo.getOwners());
+        assertEquals(42, authorInfo.getLineNumber());
+        assertNull(authorInfo.getEmail());
+        assertNull(codeOwnersService.getCodeContext("com/example/pay/PaymentService.java", 42, 3));
+    }
+
+    @Test
+    public void testMissingFileResolvesNothing() {
+        ExceptionNotifyProperties properties = new ExceptionNotifyProperties();
+        properties.getCodeowners().setLocation(directory.resolve("missing").toUri().toString());
+
+        CodeOwnersService service = new CodeOwnersService(properties);
+
+        assertEquals(0, service.getRuleCount());
+        assertNull(service.getAuthorInfo("com/example/pay/PaymentService.java", 1));
+    }
+}
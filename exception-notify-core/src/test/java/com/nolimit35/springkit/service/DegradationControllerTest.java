@@ -0,0 +1,238 @@
+package com.nolimit35.springkit.service;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.CodeAuthorInfo;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.trace.DefaultTraceInfoProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for DegradationController level changes and the digest
+ */
+public class DegradationControllerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private ExceptionNotifyProperties.Degradation config;
+    private DegradationController controller;
+
+    @BeforeEach
+    public void setUp() {
+        config = new ExceptionNotifyProperties.Degradation();
+        config.setMaxOverheadMillis(100);
+        config.setMaxBacklog(10);
+        config.setEvaluationIntervalMillis(1000);
+        config.setRecoverAfterMillis(10_000);
+        config.setDigestIntervalSeconds(60);
+        // Level changes are stepped through one slow request at a time
+        config.setMinSlowRequests(1);
+        controller = new DegradationController(config, now::get);
+    }
+
+    @Test
+    public void testSingleSlowRequestDoesNotDegrade() {
+        config = new ExceptionNotifyProperties.Degradation();
+        controller = new DegradationController(config, now::get);
+
+        // A cold-cache alert spending the whole enrichment budget plus a slow webhook delivery
+        controller.recordOverhead(millis(8000));
+        for (int i = 0; i < 5; i++) {
+            now.addAndGet(1000);
+            controller.tick();
+            controller.recordOverhead(millis(50));
+        }
+        assertEquals(DegradationController.Level.NORMAL, controller.getLevel());
+
+        // Sustained slow requests still degrade
+        for (int i = 0; i < config.getMinSlowRequests(); i++) {
+            now.addAndGet(1000);
+            controller.recordOverhead(millis(8000));
+        }
+        assertEquals(DegradationController.Level.NO_CODE_CONTEXT, controller.getLevel());
+    }
+
+    @Test
+    public void testDegradesOneLevelPerEvaluationInterval() {
+        controller.recordOverhead(millis(500));
+        assertEquals(DegradationController.Level.NO_CODE_CONTEXT, controller.getLevel());
+
+        // Within the same evaluation interval the level is kept
+        controller.recordOverhead(millis(500));
+        assertEquals(DegradationController.Level.NO_CODE_CONTEXT, controller.getLevel());
+
+        for (int i = 0; i < 5; i++) {
+            now.addAndGet(1000);
+            controller.recordOverhead(millis(500));
+        }
+        assertEquals(DegradationController.Level.DIGEST_ONLY, controller.getLevel());
+    }
+
+    @Test
+    public void testBacklogDegrades() {
+        controller.recordBacklog(50);
+        controller.recordOverhead(millis(1));
+
+        assertEquals(DegradationController.Level.NO_CODE_CONTEXT, controller.getLevel());
+    }
+
+    @Test
+    public void testRecoversOneLevelAfterRecoverPeriod() {
+        controller.recordOverhead(millis(500));
+        now.addAndGet(1000);
+        controller.recordOverhead(millis(500));
+        assertEquals(DegradationController.Level.NO_BLAME, controller.getLevel());
+
+        // Pressure is gone once the smoothed overhead has decayed, but the level is kept for the recover period
+        for (int i = 0; i < 20; i++) {
+            controller.recordOverhead(millis(1));
+        }
+        assertTrue(controller.getOverheadMillis() < 50);
+        for (int i = 0; i < 8; i++) {
+            now.addAndGet(1000);
+            controller.recordOverhead(millis(1));
+        }
+        assertEquals(DegradationController.Level.NO_BLAME, controller.getLevel());
+
+        now.addAndGet(2000);
+        controller.recordOverhead(millis(1));
+        assertEquals(DegradationController.Level.NO_CODE_CONTEXT, controller.getLevel());
+
+        now.addAndGet(10_000);
+        controller.recordOverhead(millis(1));
+        assertEquals(DegradationController.Level.NORMAL, controller.getLevel());
+    }
+
+    @Test
+    public void testDisabledStaysNormal() {
+        config.setEnabled(false);
+        controller.recordOverhead(millis(5000));
+
+        assertEquals(DegradationController.Level.NORMAL, controller.getLevel());
+    }
+
+    @Test
+    public void testDigestIsSentPerIntervalAndAfterRecovery() {
+        for (int i = 0; i < 4; i++) {
+            controller.recordOverhead(millis(500));
+            now.addAndGet(1000);
+        }
+        assertTrue(controller.getLevel().isDigestOnly());
+
+        IllegalStateException exception = new IllegalStateException("boom");
+        controller.recordDigest(exception);
+        controller.recordDigest(exception);
+        controller.recordDigest(new IllegalArgumentException("bad"));
+        assertNull(controller.drainDigestIfDue(), "Digest is not due before the interval");
+
+        now.addAndGet(60_000);
+        Map<String, Long> digest = controller.drainDigestIfDue();
+        assertNotNull(digest);
+        assertEquals(2, digest.size());
+        assertEquals(3L, digest.values().stream().mapToLong(Long::longValue).sum());
+        assertNull(controller.drainDigestIfDue(), "Drained digest is empty");
+
+        // Once the level is restored the remaining counts are sent right away
+        controller.recordDigest(exception);
+        now.addAndGet(10_000);
+        controller.recordOverhead(millis(1));
+        assertEquals(DegradationController.Level.NO_AI_LINK, controller.getLevel());
+        assertEquals(1, controller.drainDigestIfDue().size());
+    }
+
+    @Test
+    public void testTickSendsDigestAndRecoversWithoutNewExceptions() {
+        List<Map<String, Long>> sent = new ArrayList<>();
+        controller.setDigestSender(sent::add);
+        for (int i = 0; i < 4; i++) {
+            controller.recordOverhead(millis(500));
+            now.addAndGet(1000);
+        }
+        assertTrue(controller.getLevel().isDigestOnly());
+        controller.recordDigest(new IllegalStateException("boom"));
+
+        // No further exception arrives, only the evaluation thread runs
+        now.addAndGet(1000);
+        controller.tick();
+        assertTrue(sent.isEmpty(), "Digest is not due before the interval");
+        assertTrue(controller.getLevel().isDigestOnly());
+
+        now.addAndGet(60_000);
+        controller.tick();
+        assertEquals(1, sent.size());
+        assertEquals(1L, sent.get(0).values().iterator().next());
+        assertEquals(DegradationController.Level.NO_AI_LINK, controller.getLevel());
+
+        for (int i = 0; i < 3; i++) {
+            now.addAndGet(10_000);
+            controller.tick();
+        }
+        assertEquals(DegradationController.Level.NORMAL, controller.getLevel());
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    public void testTickReadsBacklogSource() {
+        AtomicInteger backlog = new AtomicInteger(50);
+        controller.setBacklogSource(backlog::get);
+
+        controller.tick();
+        assertEquals(DegradationController.Level.NO_CODE_CONTEXT, controller.getLevel());
+
+        backlog.set(0);
+        now.addAndGet(10_000);
+        controller.tick();
+        assertEquals(DegradationController.Level.NORMAL, controller.getLevel());
+    }
+
+    @Test
+    public void testAnalyzerSkipsDegradedStages() {
+        AtomicInteger authorCalls = new AtomicInteger();
+        AtomicInteger contextCalls = new AtomicInteger();
+        GitSourceControlService service = new GitSourceControlService() {
+            @Override
+            public CodeAuthorInfo getAuthorInfo(String fileName, int lineNumber) {
+                authorCalls.incrementAndGet();
+                return CodeAuthorInfo.builder().name("author").build();
+            }
+
+            @Override
+            public String getCodeContext(String fileName, int lineNumber, int contextLines) {
+                contextCalls.incrementAndGet();
+                return "context";
+            }
+        };
+        ExceptionNotifyProperties properties = new ExceptionNotifyProperties();
+        properties.getEnrichment().setParallel(false);
+        ExceptionAnalyzerService analyzerService = new ExceptionAnalyzerService(
+                Collections.singletonList(service), properties, new DefaultTraceInfoProvider(properties));
+        analyzerService.setDegradationController(controller);
+
+        analyzerService.analyzeException(new RuntimeException("test"), null);
+        assertEquals(1, authorCalls.get());
+        assertEquals(1, contextCalls.get());
+
+        controller.recordOverhead(millis(500));
+        now.addAndGet(1000);
+        controller.recordOverhead(millis(500));
+        assertEquals(DegradationController.Level.NO_BLAME, controller.getLevel());
+
+        ExceptionInfo exceptionInfo = analyzerService.analyzeException(new RuntimeException("test"), null);
+        assertEquals(1, authorCalls.get());
+        assertEquals(1, contextCalls.get());
+        assertNull(exceptionInfo.getAuthorInfo());
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
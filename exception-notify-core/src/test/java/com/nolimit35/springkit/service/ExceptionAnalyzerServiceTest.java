@@ -0,0 +1,146 @@
+package com.nolimit35.springkit.service;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.CodeAuthorInfo;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.model.SourceLocation;
+import com.nolimit35.springkit.service.EnrichmentMetrics.Stage;
+import com.nolimit35.springkit.trace.TraceInfoProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the enrichment stage of ExceptionAnalyzerService
+ */
+public class ExceptionAnalyzerServiceTest {
+
+    private ExceptionNotifyProperties properties;
+    private ExceptionAnalyzerService analyzerService;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new ExceptionNotifyProperties();
+        properties.getAi().setEnabled(false);
+        properties.getTrace().setEnabled(false);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (analyzerService != null) {
+            analyzerService.shutdown();
+        }
+    }
+
+    @Test
+    public void testEnrichmentWithinBudget() {
+        properties.getEnrichment().setTimeoutMillis(1000);
+        analyzerService = createAnalyzer(new StubSourceControlService(0));
+
+        ExceptionInfo info = analyzerService.analyzeException(new IllegalStateException("boom"), null);
+
+        assertNotNull(info.getAuthorInfo(), "Author should be resolved within the budget");
+        assertEquals("stub", info.getAuthorInfo().getName());
+        assertEquals(1, analyzerService.getEnrichmentMetrics().getStats(Stage.AUTHOR).getCompleted());
+    }
+
+    @Test
+    public void testLateEnrichmentIsDropped() throws InterruptedException {
+        properties.getEnrichment().setTimeoutMillis(100);
+        analyzerService = createAnalyzer(new StubSourceControlService(500));
+
+        long start = System.currentTimeMillis();
+        ExceptionInfo info = analyzerService.analyzeException(new IllegalStateException("boom"), null);
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertNull(info.getAuthorInfo(), "Late author lookup should be dropped");
+        assertNotNull(info.getLocation(), "Location does not depend on enrichment");
+        assertTrue(elapsed < 400, "Analysis should not wait for late stages, took " + elapsed + " ms");
+
+        // 等待超时的阶段执行完毕后，延迟结果应被记录
+        Thread.sleep(600);
+        EnrichmentMetrics.StageStats stats = analyzerService.getEnrichmentMetrics().getStats(Stage.AUTHOR);
+        assertEquals(1, stats.getLate());
+        assertEquals(0, stats.getCompleted());
+    }
+
+    @Test
+    public void testSequentialEnrichmentIgnoresBudget() {
+        properties.getEnrichment().setParallel(false);
+        properties.getEnrichment().setTimeoutMillis(10);
+        analyzerService = createAnalyzer(new StubSourceControlService(100));
+
+        ExceptionInfo info = analyzerService.analyzeException(new IllegalStateException("boom"), null);
+
+        assertNotNull(info.getAuthorInfo(), "Sequential enrichment should wait for every stage");
+    }
+
+    @Test
+    public void testBatchAuthorLookupFallsThroughServices() {
+        GitSourceControlService onlyFoo = new StubSourceControlService(0) {
+            @Override
+            public CodeAuthorInfo getAuthorInfo(String fileName, int lineNumber) {
+                return fileName.startsWith("Foo") ? super.getAuthorInfo(fileName, lineNumber) : null;
+            }
+        };
+        analyzerService = new ExceptionAnalyzerService(
+                Arrays.asList(onlyFoo, new StubSourceControlService(0)), properties, createTraceInfoProvider());
+
+        List<CodeAuthorInfo> authors = analyzerService.findAuthorInfo(Arrays.asList(
+                new SourceLocation("Foo.java", 10),
+                new SourceLocation("Bar.java", 20),
+                new SourceLocation("Foo.java", 30)));
+
+        assertEquals(3, authors.size());
+        assertEquals("Foo.java", authors.get(0).getFileName());
+        assertEquals(20, authors.get(1).getLineNumber());
+        assertEquals(30, authors.get(2).getLineNumber());
+    }
+
+    private ExceptionAnalyzerService createAnalyzer(GitSourceControlService service) {
+        return new ExceptionAnalyzerService(Collections.singletonList(service), properties, createTraceInfoProvider());
+    }
+
+    private TraceInfoProvider createTraceInfoProvider() {
+        return new TraceInfoProvider() {
+            @Override
+            public String getTraceId() {
+                return null;
+            }
+
+            @Override
+            public String generateTraceUrl(String traceId) {
+                return null;
+            }
+        };
+    }
+
+    private static class StubSourceControlService implements GitSourceControlService {
+        private final long delayMillis;
+
+        StubSourceControlService(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public CodeAuthorInfo getAuthorInfo(String fileName, int lineNumber) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CodeAuthorInfo.builder().name("stub").fileName(fileName).lineNumber(lineNumber).build();
+        }
+
+        @Override
+        public String getCodeContext(String fileName, int lineNumber, int contextLines) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.nolimit35.springkit.service;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.config.ExceptionNotifySnapshotHolder;
+import com.nolimit35.springkit.filter.DefaultExceptionFilter;
+import com.nolimit35.springkit.formatter.NotificationFormatter;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.notification.NotificationProviderManager;
+import com.nolimit35.springkit.trace.TraceInfoProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the suppression of an exception instance seen at several interception layers
+ */
+public class ExceptionNotificationServiceTest {
+
+    private ExceptionAnalyzerService analyzerService;
+    private ExceptionNotificationService notificationService;
+
+    @BeforeEach
+    public void setUp() {
+        ExceptionNotifyProperties properties = new ExceptionNotifyProperties();
+        analyzerService = mock(ExceptionAnalyzerService.class);
+        when(analyzerService.analyzeException(any(), any())).thenAnswer(invocation -> ExceptionInfo.builder()
+                .time(LocalDateTime.now())
+                .type(invocation.getArgument(0).getClass().getName())
+                .build());
+        ExceptionDeduplicationService deduplicationService = mock(ExceptionDeduplicationService.class);
+        when(deduplicationService.shouldNotify(any())).thenReturn(true);
+        NotificationProviderManager notificationManager = mock(NotificationProviderManager.class);
+        when(notificationManager.sendNotification(any())).thenReturn(true);
+
+        notificationService = new ExceptionNotificationService(
+                new ExceptionNotifySnapshotHolder(properties, () -> "prod"), analyzerService, notificationManager,
+                mock(NotificationFormatter.class), new DefaultExceptionFilter(), mock(TraceInfoProvider.class),
+                deduplicationService);
+    }
+
+    @Test
+    public void testSameInstanceIsProcessedOnce() {
+        IllegalStateException exception = new IllegalStateException("boom");
+
+        notificationService.processException(exception);
+        notificationService.processException(exception);
+
+        verify(analyzerService, times(1)).analyzeException(same(exception), any());
+    }
+
+    @Test
+    public void testWrapperOfProcessedInstanceIsSkipped() {
+        IllegalStateException exception = new IllegalStateException("boom");
+
+        notificationService.processException(exception);
+        notificationService.processException(new RuntimeException("wrapped", exception));
+
+        verify(analyzerService, times(1)).analyzeException(any(), any());
+    }
+
+    @Test
+    public void testDistinctInstancesAreProcessed() {
+        notificationService.processException(new IllegalStateException("boom"));
+        notificationService.processException(new IllegalStateException("boom"));
+
+        verify(analyzerService, times(2)).analyzeException(any(), any());
+    }
+
+    @Test
+    public void testSameInstanceOnAnotherThreadIsProcessed() throws InterruptedException {
+        IllegalStateException exception = new IllegalStateException("boom");
+
+        notificationService.processException(exception);
+        Thread other = new Thread(() -> notificationService.processException(exception));
+        other.start();
+        other.join();
+
+        verify(analyzerService, times(2)).analyzeException(same(exception), any());
+    }
+}
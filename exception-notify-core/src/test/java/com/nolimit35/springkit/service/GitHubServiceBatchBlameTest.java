@@ -0,0 +1,168 @@
+package com.nolimit35.springkit.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.CodeAuthorInfo;
+import com.nolimit35.springkit.model.SourceLocation;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the aliased GitHub GraphQL batch blame of several files, against a local HTTP server
+ */
+public class GitHubServiceBatchBlameTest {
+
+    private static final String ORDER = "src/main/java/Order.java";
+    private static final String PAYMENT = "src/main/java/Payment.java";
+    private static final String REFUND = "src/main/java/Refund.java";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> requestBodies = new CopyOnWriteArrayList<>();
+    private final Map<String, String> singleResponses = new ConcurrentHashMap<>();
+    private volatile String batchResponse;
+    private HttpServer server;
+    private GitHubService gitHubService;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/graphql", this::handleGraphQL);
+        server.start();
+
+        ExceptionNotifyProperties properties = new ExceptionNotifyProperties();
+        properties.getGithub().setToken("token");
+        properties.getGithub().setRepoOwner("demo");
+        properties.getGithub().setRepoName("repo");
+        properties.getGithub().setBranch("main");
+        properties.getGithub().setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.getScm().getDiskCache().setEnabled(false);
+        gitHubService = new GitHubService(properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        gitHubService.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    public void testSeveralFilesAreBlamedInOneAliasedQuery() throws IOException {
+        batchResponse = "{\"data\":{\"repository\":{\"ref\":{\"target\":{"
+                + "\"f0\":{\"ranges\":[" + range(1, 15, "alice") + "]},"
+                + "\"f1\":{\"ranges\":[" + range(1, 17, "carol") + "," + range(18, 25, "bob") + "]}"
+                + "}}}}}";
+
+        List<CodeAuthorInfo> authors = gitHubService.getAuthorInfo(Arrays.asList(
+                new SourceLocation(ORDER, 10), new SourceLocation(PAYMENT, 20), new SourceLocation(ORDER, 12)));
+
+        assertEquals("alice", authors.get(0).getName());
+        assertEquals(10, authors.get(0).getLineNumber());
+        assertEquals("bob", authors.get(1).getName());
+        assertEquals(PAYMENT, authors.get(1).getFileName());
+        assertEquals("alice", authors.get(2).getName());
+        assertEquals(12, authors.get(2).getLineNumber());
+
+        assertEquals(1, requestBodies.size());
+        JsonNode request = objectMapper.readTree(requestBodies.get(0));
+        String query = request.get("query").asText();
+        assertTrue(query.contains("f0: blame(path: $path0)"));
+        assertTrue(query.contains("f1: blame(path: $path1)"));
+        assertEquals(query.indexOf("fragment BlameRanges on Blame"), query.lastIndexOf("fragment BlameRanges on Blame"));
+        assertEquals(ORDER, request.get("variables").get("path0").asText());
+        assertEquals(PAYMENT, request.get("variables").get("path1").asText());
+    }
+
+    @Test
+    public void testNullAliasIsRememberedAndMissingAliasIsNot() {
+        batchResponse = "{\"data\":{\"repository\":{\"ref\":{\"target\":{"
+                + "\"f0\":{\"ranges\":[" + range(1, 15, "alice") + "]},"
+                + "\"f1\":null"
+                + "}}}}}";
+
+        List<CodeAuthorInfo> authors = gitHubService.getAuthorInfo(Arrays.asList(
+                new SourceLocation(ORDER, 10), new SourceLocation(PAYMENT, 20), new SourceLocation(REFUND, 30)));
+
+        assertEquals("alice", authors.get(0).getName());
+        assertNull(authors.get(1));
+        assertNull(authors.get(2));
+        // Only the file GitHub answered with a null blame is known to be missing
+        assertEquals(1, gitHubService.getNegativeCache().size());
+
+        requestBodies.clear();
+        gitHubService.getAuthorInfo(Arrays.asList(new SourceLocation(PAYMENT, 20), new SourceLocation(REFUND, 30)));
+        assertEquals(1, requestBodies.size());
+        assertFalse(requestBodies.get(0).contains(PAYMENT));
+        assertTrue(requestBodies.get(0).contains(REFUND));
+    }
+
+    @Test
+    public void testFailedBatchFallsBackToSingleLookups() {
+        // One unresolvable path nulls the commit of the whole batch
+        batchResponse = "{\"data\":{\"repository\":{\"ref\":{\"target\":null}}},"
+                + "\"errors\":[{\"type\":\"NOT_FOUND\",\"path\":[\"repository\",\"ref\",\"target\",\"f1\"],"
+                + "\"message\":\"Could not resolve file for path 'src/main/java/Payment.java'.\"}]}";
+        singleResponses.put(ORDER, "{\"data\":{\"repository\":{\"object\":null,\"ref\":{\"target\":{\"blame\":"
+                + "{\"ranges\":[" + range(1, 15, "alice") + "]}}}}}}");
+        singleResponses.put(PAYMENT, "{\"data\":{\"repository\":{\"object\":null,\"ref\":{\"target\":{\"blame\":null}}}},"
+                + "\"errors\":[{\"type\":\"NOT_FOUND\",\"path\":[\"repository\",\"ref\",\"target\",\"blame\"],"
+                + "\"message\":\"Could not resolve file for path 'src/main/java/Payment.java'.\"}]}");
+
+        List<CodeAuthorInfo> authors = gitHubService.getAuthorInfo(Arrays.asList(
+                new SourceLocation(ORDER, 10), new SourceLocation(PAYMENT, 20)));
+
+        assertEquals("alice", authors.get(0).getName());
+        assertNull(authors.get(1));
+        // The batch query, then one single lookup per file
+        assertEquals(3, requestBodies.size());
+        assertEquals(1, gitHubService.getNegativeCache().size());
+    }
+
+    private static String range(int startingLine, int endingLine, String author) {
+        return "{\"startingLine\":" + startingLine + ",\"endingLine\":" + endingLine + ",\"commit\":{"
+                + "\"author\":{\"name\":\"" + author + "\",\"email\":\"" + author + "@example.com\","
+                + "\"date\":\"2024-01-02T03:04:05Z\"},"
+                + "\"committer\":{\"date\":\"2024-01-02T03:04:05Z\"},"
+                + "\"message\":\"Change by " + author + "\"}}";
+    }
+
+    private void handleGraphQL(HttpExchange exchange) throws IOException {
+        String requestBody = new String(readAll(exchange), StandardCharsets.UTF_8);
+        requestBodies.add(requestBody);
+
+        JsonNode variables = objectMapper.readTree(requestBody).get("variables");
+        String response = variables.has("path0") ? batchResponse : singleResponses.get(variables.get("path").asText());
+        byte[] body = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] readAll(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        int read;
+        while ((read = exchange.getRequestBody().read(chunk)) != -1) {
+            buffer.write(chunk, 0, read);
+        }
+        return buffer.toByteArray();
+    }
+}
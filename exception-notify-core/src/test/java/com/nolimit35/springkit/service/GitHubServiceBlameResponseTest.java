@@ -0,0 +1,107 @@
+package com.nolimit35.springkit.service;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for how GitHub GraphQL blame responses without a blame are remembered, against a local HTTP server
+ */
+public class GitHubServiceBlameResponseTest {
+
+    private static final String FILE = "src/main/java/Demo.java";
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile String responseBody;
+    private GitHubService gitHubService;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/graphql", this::handleGraphQL);
+        server.start();
+
+        ExceptionNotifyProperties properties = new ExceptionNotifyProperties();
+        properties.getGithub().setToken("token");
+        properties.getGithub().setRepoOwner("demo");
+        properties.getGithub().setRepoName("repo");
+        properties.getGithub().setBranch("main");
+        properties.getGithub().setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        gitHubService = new GitHubService(properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testMissingPathIsRemembered() {
+        responseBody = "{\"data\":{\"repository\":{\"object\":null,\"ref\":{\"target\":{\"blame\":null}}}},"
+                + "\"errors\":[{\"type\":\"NOT_FOUND\",\"path\":[\"repository\",\"ref\",\"target\",\"blame\"],"
+                + "\"message\":\"Could not resolve file for path 'src/main/java/Demo.java'.\"}]}";
+
+        assertNull(gitHubService.getAuthorInfo(FILE, 10));
+        assertNull(gitHubService.getAuthorInfo(FILE, 10));
+
+        assertEquals(1, requests.get());
+        assertEquals(1, gitHubService.getNegativeCache().size());
+    }
+
+    @Test
+    public void testUnknownBranchIsNotRemembered() {
+        responseBody = "{\"data\":{\"repository\":{\"object\":null,\"ref\":null}}}";
+
+        assertNull(gitHubService.getAuthorInfo(FILE, 10));
+        assertNull(gitHubService.getAuthorInfo(FILE, 10));
+
+        assertEquals(2, requests.get());
+        assertEquals(0, gitHubService.getNegativeCache().size());
+    }
+
+    @Test
+    public void testRateLimitIsNotRemembered() {
+        responseBody = "{\"errors\":[{\"type\":\"RATE_LIMITED\",\"message\":\"API rate limit exceeded\"}],\"data\":null}";
+
+        assertNull(gitHubService.getAuthorInfo(FILE, 10));
+        assertNull(gitHubService.getAuthorInfo(FILE, 10));
+
+        assertEquals(2, requests.get());
+        assertEquals(0, gitHubService.getNegativeCache().size());
+    }
+
+    @Test
+    public void testPartialErrorIsNotRemembered() {
+        responseBody = "{\"data\":{\"repository\":{\"object\":null,\"ref\":{\"target\":{\"blame\":null}}}},"
+                + "\"errors\":[{\"type\":\"FORBIDDEN\",\"path\":[\"repository\",\"ref\",\"target\",\"blame\"],"
+                + "\"message\":\"Resource not accessible by integration\"}]}";
+
+        assertNull(gitHubService.getAuthorInfo(FILE, 10));
+        assertNull(gitHubService.getAuthorInfo(FILE, 10));
+
+        assertEquals(2, requests.get());
+        assertEquals(0, gitHubService.getNegativeCache().size());
+    }
+
+    private void handleGraphQL(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        byte[] body = responseBody.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
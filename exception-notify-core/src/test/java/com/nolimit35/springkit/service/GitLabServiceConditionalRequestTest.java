@@ -0,0 +1,111 @@
+package com.nolimit35.springkit.service;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for conditional revalidation of GitLab file reads against a local HTTP server
+ */
+public class GitLabServiceConditionalRequestTest {
+
+    private static final String FILE = "src/main/java/Demo.java";
+    private static final String ETAG = "\"abc123\"";
+
+    private HttpServer server;
+    private final List<String> ifNoneMatchHeaders = Collections.synchronizedList(new ArrayList<>());
+    private ExceptionNotifyProperties properties;
+    private GitLabService gitLabService;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v4/projects/42/repository/files/", this::handleFile);
+        server.start();
+
+        properties = new ExceptionNotifyProperties();
+        properties.getGitlab().setToken("token");
+        properties.getGitlab().setProjectId("42");
+        properties.getGitlab().setBranch("main");
+        properties.getGitlab().setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/api/v4");
+        // 每次都重新验证，便于观察条件请求
+        properties.getScm().getConditionalRequests().setRevalidateAfterSeconds(0);
+        gitLabService = new GitLabService(properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testStaleFileIsRevalidatedWithIfNoneMatch() {
+        String first = gitLabService.getCodeContext(FILE, 2, 1);
+        String second = gitLabService.getCodeContext(FILE, 3, 1);
+
+        assertEquals("    1: line 1\n>>> 2: line 2\n    3: line 3\n", first);
+        assertEquals("    2: line 2\n>>> 3: line 3\n", second, "304 should be answered from the cached file");
+        assertEquals(2, ifNoneMatchHeaders.size());
+        assertNull(ifNoneMatchHeaders.get(0));
+        assertEquals(ETAG, ifNoneMatchHeaders.get(1));
+    }
+
+    @Test
+    public void testFreshFileIsServedWithoutRequest() {
+        properties.getScm().getConditionalRequests().setRevalidateAfterSeconds(300);
+
+        gitLabService.getCodeContext(FILE, 2, 1);
+        gitLabService.getCodeContext(FILE, 3, 1);
+
+        assertEquals(1, ifNoneMatchHeaders.size());
+    }
+
+    @Test
+    public void testDisabledConditionalRequestsSendNoValidators() {
+        properties.getScm().getConditionalRequests().setEnabled(false);
+        properties.getScm().getContentCache().setEnabled(false);
+        gitLabService = new GitLabService(properties);
+
+        gitLabService.getCodeContext(FILE, 2, 1);
+        gitLabService.getCodeContext(FILE, 2, 1);
+
+        assertEquals(2, ifNoneMatchHeaders.size());
+        assertNull(ifNoneMatchHeaders.get(1));
+    }
+
+    private void handleFile(HttpExchange exchange) throws IOException {
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        ifNoneMatchHeaders.add(ifNoneMatch);
+
+        if (ETAG.equals(ifNoneMatch)) {
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        String content = Base64.getMimeEncoder().encodeToString("line 1\nline 2\nline 3\n".getBytes(StandardCharsets.UTF_8));
+        byte[] body = ("{\"file_path\":\"" + FILE + "\",\"encoding\":\"base64\",\"content\":\""
+                + content.replace("\r\n", "\\n") + "\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("ETag", ETAG);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
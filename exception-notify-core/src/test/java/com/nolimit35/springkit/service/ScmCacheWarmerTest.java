@@ -0,0 +1,105 @@
+package com.nolimit35.springkit.service;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.CodeAuthorInfo;
+import com.nolimit35.springkit.model.SourceLocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ScmCacheWarmer target selection and lookup budget
+ */
+public class ScmCacheWarmerTest {
+
+    @TempDir
+    Path directory;
+
+    private ExceptionNotifyProperties properties;
+    private RecordingService service;
+    private ScmCacheWarmer warmer;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new ExceptionNotifyProperties();
+        properties.getScm().getWarmup().setStateFile(directory.resolve("hot-locations").toString());
+        service = new RecordingService();
+        warmer = new ScmCacheWarmer(properties, Collections.singletonList(service));
+    }
+
+    @Test
+    public void testHotLocationsSurviveRestart() {
+        properties.getScm().getWarmup().setHotLocations(2);
+        warmer.recordLocation("com/example/Rare.java", 5);
+        for (int i = 0; i < 3; i++) {
+            warmer.recordLocation("com/example/Hot.java", 10);
+        }
+        warmer.recordLocation("com/example/Warm.java", 20);
+        warmer.recordLocation("com/example/Warm.java", 20);
+        warmer.shutdown();
+
+        List<SourceLocation> hot = new ScmCacheWarmer(properties, Collections.singletonList(service)).loadHotLocations();
+        assertEquals(2, hot.size());
+        assertEquals(new SourceLocation("com/example/Hot.java", 10), hot.get(0));
+        assertEquals(new SourceLocation("com/example/Warm.java", 20), hot.get(1));
+    }
+
+    @Test
+    public void testIncludedClassesAreScanned() {
+        properties.getPackageFilter().setEnabled(true);
+        properties.getPackageFilter().getIncludePackages().add("com.nolimit35.springkit.model");
+
+        Set<String> fileNames = warmer.scanIncludedClasses();
+
+        assertTrue(fileNames.contains("com/nolimit35/springkit/model/SourceLocation.java"));
+        assertTrue(fileNames.stream().allMatch(name -> name.indexOf('$') < 0));
+    }
+
+    @Test
+    public void testHotLocationsAreWarmedBeforeClassesWithBlame() {
+        warmer.recordLocation("com/nolimit35/springkit/model/SourceLocation.java", 12);
+        warmer.saveHotLocations();
+        properties.getPackageFilter().setEnabled(true);
+        properties.getPackageFilter().getIncludePackages().add("com.nolimit35.springkit.model");
+        properties.getScm().getWarmup().setMaxRequests(3);
+
+        int lookups = warmer.warmUp();
+
+        assertEquals(3, lookups);
+        assertEquals("context:com/nolimit35/springkit/model/SourceLocation.java:12", service.calls.get(0));
+        assertEquals("author:com/nolimit35/springkit/model/SourceLocation.java:12", service.calls.get(1));
+        assertTrue(service.calls.get(2).startsWith("context:"));
+        assertTrue(service.calls.get(2).endsWith(":1"), "classes without a known line are fetched only");
+        assertFalse(service.calls.get(2).contains("SourceLocation.java"), "hot files are not fetched twice");
+    }
+
+    @Test
+    public void testNothingToWarmWithoutTargets() {
+        assertEquals(0, warmer.warmUp());
+        assertTrue(service.calls.isEmpty());
+    }
+
+    private static class RecordingService implements GitSourceControlService {
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public CodeAuthorInfo getAuthorInfo(String fileName, int lineNumber) {
+            calls.add("author:" + fileName + ":" + lineNumber);
+            return null;
+        }
+
+        @Override
+        public String getCodeContext(String fileName, int lineNumber, int contextLines) {
+            calls.add("context:" + fileName + ":" + lineNumber);
+            return "code";
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.nolimit35.springkit.service;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ScmCircuitBreaker state transitions
+ */
+public class ScmCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private ExceptionNotifyProperties.Scm.CircuitBreaker config;
+    private ScmCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setUp() {
+        config = new ExceptionNotifyProperties.Scm.CircuitBreaker();
+        config.setFailureThreshold(3);
+        config.setOpenDurationSeconds(60);
+        circuitBreaker = new ScmCircuitBreaker("test", config, now::get);
+    }
+
+    @Test
+    public void testOpensAfterConsecutiveFailures() {
+        circuitBreaker.recordFailure("HTTP 502");
+        circuitBreaker.recordFailure("HTTP 502");
+        assertEquals(ScmCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+
+        circuitBreaker.recordFailure("HTTP 502");
+        assertEquals(ScmCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.isOpen());
+        assertFalse(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    public void testSuccessResetsFailureCount() {
+        circuitBreaker.recordFailure("timeout");
+        circuitBreaker.recordFailure("timeout");
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure("timeout");
+
+        assertEquals(ScmCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(1, circuitBreaker.getConsecutiveFailures());
+    }
+
+    @Test
+    public void testHalfOpenAllowsSingleProbe() {
+        circuitBreaker.recordRateLimited(10_000, "HTTP 403 rate limited");
+        assertFalse(circuitBreaker.allowRequest());
+
+        now.addAndGet(10_000);
+        assertEquals(ScmCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.isOpen(), "Probe should be available once the open period has elapsed");
+        assertTrue(circuitBreaker.allowRequest(), "First request after the open period is the probe");
+        assertFalse(circuitBreaker.allowRequest(), "Only one probe may be in flight");
+        assertTrue(circuitBreaker.isOpen());
+
+        circuitBreaker.recordSuccess();
+        assertEquals(ScmCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    public void testFailedProbeReopens() {
+        circuitBreaker.recordRateLimited(-1, "HTTP 429 rate limited");
+        now.addAndGet(60_000);
+        assertTrue(circuitBreaker.allowRequest());
+
+        circuitBreaker.recordFailure("HTTP 503");
+        assertEquals(ScmCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(now.get() + 60_000, circuitBreaker.getOpenUntilMillis());
+    }
+
+    @Test
+    public void testRetryAfterIsCapped() {
+        config.setMaxOpenDurationSeconds(120);
+        circuitBreaker.recordRateLimited(3_600_000, "HTTP 403 rate limited");
+
+        assertEquals(now.get() + 120_000, circuitBreaker.getOpenUntilMillis());
+    }
+
+    @Test
+    public void testDisabledNeverRejects() {
+        config.setEnabled(false);
+        circuitBreaker.recordRateLimited(60_000, "HTTP 429 rate limited");
+
+        assertFalse(circuitBreaker.isOpen());
+        assertTrue(circuitBreaker.allowRequest());
+    }
+}
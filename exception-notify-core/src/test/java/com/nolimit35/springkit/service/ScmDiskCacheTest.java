@@ -0,0 +1,176 @@
+package com.nolimit35.springkit.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ScmDiskCache persistence, eviction and sharing
+ */
+public class ScmDiskCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final List<ScmDiskCache> caches = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        for (ScmDiskCache cache : caches) {
+            cache.close();
+        }
+    }
+
+    @Test
+    public void testValuesSurviveReopen() throws IOException {
+        ScmDiskCache cache = open(16, 1024, 0);
+        cache.put("content|GitHub|demo/repo|master|Foo.java", bytes("class Foo {}"));
+        cache.close();
+        caches.remove(cache);
+
+        ScmDiskCache reopened = open(16, 1024, 0);
+        assertEquals("class Foo {}", string(reopened.get("content|GitHub|demo/repo|master|Foo.java")));
+        assertNull(reopened.get("content|GitHub|demo/repo|main|Foo.java"));
+        assertEquals(1, reopened.getEntryCount());
+    }
+
+    @Test
+    public void testIndexIsSharedBetweenInstances() throws IOException {
+        // Two instances on one directory stand in for two processes on the same host
+        ScmDiskCache first = open(16, 1024, 0);
+        ScmDiskCache second = open(16, 1024, 0);
+
+        first.put("a", bytes("shared"));
+        assertEquals("shared", string(second.get("a")));
+
+        second.clear();
+        assertNull(first.get("a"));
+    }
+
+    @Test
+    public void testIdenticalContentIsStoredOnce() throws IOException {
+        ScmDiskCache cache = open(16, 1024, 0);
+        cache.put("a", bytes("same"));
+        cache.put("b", bytes("same"));
+
+        assertEquals(1, countObjects());
+        assertEquals(2, cache.getEntryCount());
+
+        // The object is still referenced by b after a is replaced
+        cache.put("a", bytes("other"));
+        assertEquals("same", string(cache.get("b")));
+        assertEquals(2, countObjects());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvictedBySize() throws IOException {
+        ScmDiskCache cache = open(16, 10, 0);
+        cache.put("a", bytes("1111"));
+        now.incrementAndGet();
+        cache.put("b", bytes("2222"));
+        now.incrementAndGet();
+
+        // 访问 a 之后，b 成为最久未使用的条目
+        assertNotNull(cache.get("a"));
+        now.incrementAndGet();
+        cache.put("c", bytes("3333"));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(8, cache.getSizeBytes());
+        assertEquals(2, countObjects());
+    }
+
+    @Test
+    public void testEntryLimit() throws IOException {
+        ScmDiskCache cache = open(2, 1024, 0);
+        for (int i = 0; i < 10; i++) {
+            now.incrementAndGet();
+            cache.put("key" + i, bytes("value" + i));
+        }
+
+        assertEquals(2, cache.getEntryCount());
+        assertEquals("value9", string(cache.get("key9")));
+        assertNull(cache.get("key0"));
+    }
+
+    @Test
+    public void testEntriesExpire() throws IOException {
+        ScmDiskCache cache = open(16, 1024, 1000);
+        cache.put("a", bytes("value"));
+
+        now.addAndGet(999);
+        assertNotNull(cache.get("a"));
+        now.addAndGet(1);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void testChurnKeepsLookupsAndObjectsConsistent() throws IOException {
+        ScmDiskCache cache = open(4, 1024, 0);
+        for (int i = 0; i < 500; i++) {
+            now.incrementAndGet();
+            cache.put("key" + i, bytes("value" + (i % 7)));
+        }
+
+        // Evictions leave no tombstones behind, the last keys are still found and unreferenced objects are gone
+        for (int i = 496; i < 500; i++) {
+            assertEquals("value" + (i % 7), string(cache.get("key" + i)));
+        }
+        assertNull(cache.get("key495"));
+        assertEquals(4, cache.getEntryCount());
+        assertEquals(4, countObjects());
+
+        cache.put("key496", bytes("value0"));
+        cache.put("key497", bytes("value0"));
+        assertEquals(3, countObjects());
+    }
+
+    @Test
+    public void testSharedOpenIsClosedByLastRelease() throws IOException {
+        ScmDiskCache first = ScmDiskCache.open(directory, 16, 1024, 0);
+        ScmDiskCache second = ScmDiskCache.open(directory, 8, 1024, 0);
+        assertSame(first, second);
+
+        first.put("a", bytes("value"));
+        first.close();
+        assertEquals("value", string(second.get("a")));
+        second.close();
+        assertNull(second.get("a"));
+    }
+
+    private ScmDiskCache open(int maxEntries, long maxSizeBytes, long ttlMillis) throws IOException {
+        ScmDiskCache cache = new ScmDiskCache(directory, maxEntries, maxSizeBytes, ttlMillis, now::get);
+        caches.add(cache);
+        return cache;
+    }
+
+    private long countObjects() throws IOException {
+        try (Stream<Path> files = Files.walk(directory.resolve("objects"))) {
+            return files.filter(Files::isRegularFile).collect(Collectors.toList()).size();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return value != null ? new String(value, StandardCharsets.UTF_8) : null;
+    }
+}
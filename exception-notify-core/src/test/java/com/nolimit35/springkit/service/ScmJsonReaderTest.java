@@ -0,0 +1,76 @@
+package com.nolimit35.springkit.service;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ScmJsonReader streaming navigation
+ */
+public class ScmJsonReaderTest {
+
+    private final JsonFactory factory = new JsonFactory();
+
+    @Test
+    public void testMoveToPathSkipsUnrelatedFields() throws IOException {
+        String json = "{\"meta\":{\"a\":[1,2,{\"b\":3}]},\"data\":{\"repository\":{\"name\":\"demo\"}}}";
+        try (JsonParser parser = factory.createParser(json)) {
+            parser.nextToken();
+            assertTrue(ScmJsonReader.moveToPath(parser, "data", "repository", "name"));
+            assertEquals("demo", ScmJsonReader.readText(parser));
+        }
+    }
+
+    @Test
+    public void testMoveToFieldReturnsFalseWhenAbsent() throws IOException {
+        try (JsonParser parser = factory.createParser("{\"a\":{\"b\":1},\"c\":2}")) {
+            parser.nextToken();
+            assertFalse(ScmJsonReader.moveToField(parser, "missing"));
+            assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+        }
+    }
+
+    @Test
+    public void testReadFieldsFlattensNestedObjects() throws IOException {
+        String json = "{\"message\":\"fix\",\"author\":{\"name\":\"dev\",\"email\":null},\"parents\":[{\"sha\":\"x\"}]}";
+        try (JsonParser parser = factory.createParser(json)) {
+            parser.nextToken();
+            Map<String, String> fields = ScmJsonReader.readFields(parser);
+
+            assertEquals("fix", fields.get("message"));
+            assertEquals("dev", fields.get("author.name"));
+            assertFalse(fields.containsKey("author.email"));
+            assertFalse(fields.containsKey("parents"));
+            assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+        }
+    }
+
+    @Test
+    public void testCountElements() throws IOException {
+        try (JsonParser parser = factory.createParser("[\"a\",{\"b\":[1]},[2,3],null]")) {
+            parser.nextToken();
+            assertEquals(4, ScmJsonReader.countElements(parser));
+            assertEquals(JsonToken.END_ARRAY, parser.currentToken());
+        }
+    }
+
+    @Test
+    public void testBase64ContentWithLineBreaksDecodes() throws IOException {
+        // SCM content APIs wrap base64 content every 60 characters
+        String json = "{\"content\":\"bGluZSAx\\nCmxpbmUg\\nMg==\\n\"}";
+        try (JsonParser parser = factory.createParser(json)) {
+            parser.nextToken();
+            assertTrue(ScmJsonReader.moveToField(parser, "content"));
+            byte[] decoded = parser.getBinaryValue(Base64Variants.MIME);
+            assertEquals("line 1\nline 2", new String(decoded, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.nolimit35.springkit.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ScmLookupCache eviction and expiry
+ */
+public class ScmLookupCacheTest {
+
+    private final AtomicLong now = new AtomicLong(0);
+
+    @Test
+    public void testEntriesExpireAfterTtl() {
+        ScmLookupCache<Boolean> cache = new ScmLookupCache<>(10, 1000, now::get);
+        String key = ScmLookupCache.key("src/main/java/Foo.java", "master");
+        cache.put(key, Boolean.TRUE);
+
+        now.set(999);
+        assertEquals(Boolean.TRUE, cache.get(key));
+
+        now.set(1000);
+        assertNull(cache.get(key), "Entry should expire once the TTL has elapsed");
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        ScmLookupCache<String> cache = new ScmLookupCache<>(2, 0, now::get);
+        cache.put("a", "A");
+        cache.put("b", "B");
+
+        // 访问 a 之后，b 成为最久未使用的条目
+        assertEquals("A", cache.get("a"));
+        cache.put("c", "C");
+
+        assertEquals(2, cache.size());
+        assertEquals("A", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("C", cache.get("c"));
+    }
+
+    @Test
+    public void testZeroSizeDisablesCache() {
+        ScmLookupCache<Boolean> cache = new ScmLookupCache<>(0, 1000, now::get);
+        cache.put("a", Boolean.TRUE);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testKeyDependsOnRef() {
+        assertNotEquals(ScmLookupCache.key("Foo.java", "master"), ScmLookupCache.key("Foo.java", "main"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.nolimit35.springkit.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SourceLines window extraction
+ */
+public class SourceLinesTest {
+
+    private static final String FILE = "package demo;\n\npublic class Demo {\n    // 中文注释\n    void run() {\n"
+            + "        throw new IllegalStateException();\n    }\n}\n";
+
+    @Test
+    public void testWindowAroundLine() throws IOException {
+        String expected = "    4:     // 中文注释\n"
+                + "    5:     void run() {\n"
+                + ">>> 6:         throw new IllegalStateException();\n"
+                + "    7:     }\n"
+                + "    8: }\n";
+
+        assertEquals(expected, SourceLines.of(bytes(FILE)).window(6, 2));
+        assertEquals(expected, SourceLines.window(stream(FILE), 6, 2));
+    }
+
+    @Test
+    public void testWindowIsClippedAtFileStart() throws IOException {
+        String expected = ">>> 1: package demo;\n    2: \n";
+
+        assertEquals(expected, SourceLines.of(bytes(FILE)).window(1, 1));
+        assertEquals(expected, SourceLines.window(stream(FILE), 1, 1));
+    }
+
+    @Test
+    public void testLineBeyondEndFallsBackToLastLine() throws IOException {
+        String expected = "    7:     }\n>>> 8: }\n";
+
+        assertEquals(8, SourceLines.of(bytes(FILE)).getLineCount());
+        assertEquals(expected, SourceLines.of(bytes(FILE)).window(100, 1));
+        assertEquals(expected, SourceLines.window(stream(FILE), 100, 1));
+    }
+
+    @Test
+    public void testStreamingMatchesIndexForEveryLine() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 20_000; i++) {
+            content.append("line ").append(i).append('\n');
+        }
+        // Lines longer than the read buffer must be reassembled across reads
+        content.append(new String(new char[10_000]).replace('\0', 'x'));
+        SourceLines lines = SourceLines.of(bytes(content.toString()));
+
+        for (int line : new int[] {1, 2, 5, 8191, 8192, 19_999, 20_000, 20_001, 20_050}) {
+            assertEquals(lines.window(line, 5), SourceLines.window(stream(content.toString()), line, 5),
+                    "Window around line " + line);
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        assertEquals(">>> 1: \n", SourceLines.of(new byte[0]).window(3, 5));
+        assertEquals(">>> 1: \n", SourceLines.window(stream(""), 3, 5));
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(bytes(content));
+    }
+}
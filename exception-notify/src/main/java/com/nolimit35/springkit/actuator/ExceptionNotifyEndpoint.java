@@ -0,0 +1,202 @@
+package com.nolimit35.springkit.actuator;
+
+import com.nolimit35.springkit.config.ExceptionNotifyConfigReloader;
+import com.nolimit35.springkit.config.ExceptionNotifySnapshot;
+import com.nolimit35.springkit.notification.NotificationProviderManager;
+import com.nolimit35.springkit.service.AbstractGitSourceControlService;
+import com.nolimit35.springkit.service.DegradationController;
+import com.nolimit35.springkit.service.ExceptionAnalyzerService;
+import com.nolimit35.springkit.service.ExceptionDeduplicationService;
+import com.nolimit35.springkit.service.GitSourceControlService;
+import com.nolimit35.springkit.service.ScmCircuitBreaker;
+import com.nolimit35.springkit.service.ScmDiskCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Actuator endpoint exposing the live state of the exception notification pipeline
+ * GET /actuator/exceptionnotify returns queue depths, the degradation level and pending digest, delivery statistics, deduplication
+ * and SCM cache state.
+ * POST /actuator/exceptionnotify/{action} runs one of pause, resume, clear-caches, clear-disk-cache, flush-digest
+ * or reload.
+ */
+@Slf4j
+@Endpoint(id = "exceptionnotify")
+public class ExceptionNotifyEndpoint {
+    private static final int TOP_FINGERPRINTS = 10;
+
+    private final ExceptionAnalyzerService analyzerService;
+    private final NotificationProviderManager notificationManager;
+    private final ExceptionDeduplicationService deduplicationService;
+    private final List<GitSourceControlService> gitSourceControlServices;
+    private DegradationController degradationController;
+    private ExceptionNotifyConfigReloader configReloader;
+
+    public ExceptionNotifyEndpoint(ExceptionAnalyzerService analyzerService,
+                                   NotificationProviderManager notificationManager,
+                                   ExceptionDeduplicationService deduplicationService,
+                                   List<GitSourceControlService> gitSourceControlServices) {
+        this.analyzerService = analyzerService;
+        this.notificationManager = notificationManager;
+        this.deduplicationService = deduplicationService;
+        this.gitSourceControlServices = gitSourceControlServices;
+    }
+
+    /**
+     * Set the degradation controller whose level and pending digest are reported and whose digest is flushed
+     *
+     * @param degradationController the degradation controller
+     */
+    @Autowired(required = false)
+    public void setDegradationController(DegradationController degradationController) {
+        this.degradationController = degradationController;
+    }
+
+    /**
+     * Set the configuration reloader used by the reload action
+     *
+     * @param configReloader the configuration reloader
+     */
+    @Autowired(required = false)
+    public void setConfigReloader(ExceptionNotifyConfigReloader configReloader) {
+        this.configReloader = configReloader;
+    }
+
+    @ReadOperation
+    public Map<String, Object> state() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("paused", notificationManager.isPaused());
+
+        Map<String, Object> enrichment = new LinkedHashMap<>();
+        enrichment.put("queueDepth", analyzerService.getEnrichmentQueueDepth());
+        enrichment.put("active", analyzerService.getActiveEnrichmentCount());
+        enrichment.put("stages", analyzerService.getEnrichmentMetrics().getAllStats());
+        state.put("enrichment", enrichment);
+
+        if (degradationController != null) {
+            Map<String, Object> degradation = new LinkedHashMap<>();
+            degradation.put("level", degradationController.getLevel());
+            degradation.put("overheadMillis", Math.round(degradationController.getOverheadMillis()));
+            degradation.put("backlog", degradationController.getBacklog());
+            degradation.put("pendingDigestEntries", degradationController.getPendingDigestEntries());
+            state.put("degradation", degradation);
+        }
+
+        state.put("providers", notificationManager.getProviderStats());
+
+        Map<String, Object> deduplication = new LinkedHashMap<>();
+        deduplication.put("cacheSize", deduplicationService.getCacheSize());
+        deduplication.put("topFingerprints", deduplicationService.getTopFingerprints(TOP_FINGERPRINTS));
+        state.put("deduplication", deduplication);
+
+        Map<String, Object> scm = new LinkedHashMap<>();
+        for (GitSourceControlService service : gitSourceControlServices) {
+            if (service instanceof AbstractGitSourceControlService) {
+                scm.put(service.getClass().getSimpleName(), describe((AbstractGitSourceControlService) service));
+            }
+        }
+        state.put("scm", scm);
+        return state;
+    }
+
+    @WriteOperation
+    public Map<String, Object> action(@Selector String action) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("action", action);
+        switch (action) {
+            case "pause":
+                notificationManager.pause();
+                break;
+            case "resume":
+                notificationManager.resume();
+                break;
+            case "clear-caches":
+                deduplicationService.clearCache();
+                forEachScmService(AbstractGitSourceControlService::clearCaches);
+                break;
+            case "clear-disk-cache":
+                forEachScmService(service -> {
+                    if (service.getDiskCache() != null) {
+                        service.getDiskCache().clear();
+                    }
+                });
+                break;
+            case "flush-digest":
+                if (degradationController == null) {
+                    throw new InvalidEndpointRequestException("Degradation is not enabled",
+                            "Degradation is not enabled");
+                }
+                result.put("flushedDigestEntries", degradationController.flushDigest());
+                break;
+            case "reload":
+                if (configReloader == null) {
+                    throw new InvalidEndpointRequestException("Configuration reload is not available",
+                            "Configuration reload is not available");
+                }
+                // Bound and swapped on the reload thread, the request only waits for the outcome
+                ExceptionNotifySnapshot snapshot = configReloader.reloadAsync().join();
+                result.put("enabled", snapshot.isEnabled());
+                result.put("environment", snapshot.getCurrentEnvironment());
+                result.put("reloadCount", configReloader.getReloadCount());
+                result.put("restartRequired", configReloader.getRestartRequired());
+                break;
+            default:
+                throw new InvalidEndpointRequestException("Unknown action: " + action,
+                        "Unknown action, expected one of pause, resume, clear-caches, clear-disk-cache, flush-digest, reload");
+        }
+
+        log.info("Exception notify endpoint action executed: {}", action);
+        result.put("paused", notificationManager.isPaused());
+        return result;
+    }
+
+    private void forEachScmService(Consumer<AbstractGitSourceControlService> action) {
+        for (GitSourceControlService service : gitSourceControlServices) {
+            if (service instanceof AbstractGitSourceControlService) {
+                action.accept((AbstractGitSourceControlService) service);
+            }
+        }
+    }
+
+    private static Map<String, Object> describe(AbstractGitSourceControlService service) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        ScmCircuitBreaker circuitBreaker = service.getCircuitBreaker();
+        Map<String, Object> circuit = new LinkedHashMap<>();
+        circuit.put("state", circuitBreaker.getState());
+        circuit.put("consecutiveFailures", circuitBreaker.getConsecutiveFailures());
+        circuit.put("openUntil", circuitBreaker.getOpenUntilMillis());
+        circuit.put("lastOpenReason", circuitBreaker.getLastOpenReason());
+        description.put("circuitBreaker", circuit);
+
+        description.put("contentCache", describe(service.getContentCache().size(),
+                service.getContentCache().getHits(), service.getContentCache().getMisses()));
+        description.put("negativeCache", describe(service.getNegativeCache().size(),
+                service.getNegativeCache().getHits(), service.getNegativeCache().getMisses()));
+        ScmDiskCache diskCache = service.getDiskCache();
+        if (diskCache != null) {
+            Map<String, Object> disk = describe(diskCache.getEntryCount(), diskCache.getHits(), diskCache.getMisses());
+            disk.put("sizeBytes", diskCache.getSizeBytes());
+            description.put("diskCache", disk);
+        }
+        return description;
+    }
+
+    private static Map<String, Object> describe(long size, long hits, long misses) {
+        Map<String, Object> cache = new LinkedHashMap<>();
+        cache.put("size", size);
+        cache.put("hits", hits);
+        cache.put("misses", misses);
+        cache.put("hitRatio", hits + misses == 0 ? 0 : (double) hits / (hits + misses));
+        return cache;
+    }
+}
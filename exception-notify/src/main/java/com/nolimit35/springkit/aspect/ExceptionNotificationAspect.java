@@ -1,10 +1,12 @@
 package com.nolimit35.springkit.aspect;
 
+import com.nolimit35.springkit.service.DegradationController;
 import com.nolimit35.springkit.service.ExceptionNotificationService;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Slf4j
@@ -13,11 +15,22 @@ import org.springframework.stereotype.Component;
 public class ExceptionNotificationAspect {
 
 	private final ExceptionNotificationService notificationService;
+	private DegradationController degradationController;
 
 	public ExceptionNotificationAspect(ExceptionNotificationService notificationService) {
 		this.notificationService = notificationService;
 	}
 
+	/**
+	 * 设置降级控制器, 切面在请求线程上的耗时会上报给它
+	 *
+	 * @param degradationController the degradation controller
+	 */
+	@Autowired(required = false)
+	public void setDegradationController(DegradationController degradationController) {
+		this.degradationController = degradationController;
+	}
+
 	// 定义切点：所有被 @Controller 或 @RestController 标记的类的所有方法,或者 @ExceptionNotify 标记的类
 	@Pointcut("@within(org.springframework.stereotype.Controller) || @within(org.springframework.web.bind.annotation.RestController) || @annotation(com.nolimit35.springkit.annotation.ExceptionNotify)")
 	public void allPointcut() {
@@ -32,10 +45,15 @@ public class ExceptionNotificationAspect {
 			throwing = "ex"
 	)
 	public void handleException(Exception ex) {
+		long start = System.nanoTime();
 		try {
 			notificationService.processException(ex);
 		} catch (Exception e) {
 			log.error("Error in exception notification aspect", e);
+		} finally {
+			if (degradationController != null) {
+				degradationController.recordOverhead(System.nanoTime() - start);
+			}
 		}
 	}
 }
\ No newline at end of file
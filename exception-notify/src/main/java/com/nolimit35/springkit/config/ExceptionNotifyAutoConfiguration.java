@@ -0,0 +1,341 @@
+package com.nolimit35.springkit.config;
+
+import com.nolimit35.springkit.actuator.ExceptionNotifyEndpoint;
+import com.nolimit35.springkit.agent.AgentExceptionCapture;
+import com.nolimit35.springkit.aspect.ExceptionNotificationAspect;
+import com.nolimit35.springkit.filter.DefaultExceptionFilter;
+import com.nolimit35.springkit.filter.ExceptionFilter;
+import com.nolimit35.springkit.formatter.DefaultNotificationFormatter;
+import com.nolimit35.springkit.formatter.NotificationFormatter;
+import com.nolimit35.springkit.metrics.ExceptionNotifyMetrics;
+import com.nolimit35.springkit.metrics.MicrometerExceptionNotifyMetrics;
+import com.nolimit35.springkit.monitor.Monitor;
+import com.nolimit35.springkit.notification.NotificationProviderManager;
+import com.nolimit35.springkit.notification.provider.DingTalkNotificationProvider;
+import com.nolimit35.springkit.notification.provider.FeishuNotificationProvider;
+import com.nolimit35.springkit.notification.provider.WeChatWorkNotificationProvider;
+import com.nolimit35.springkit.service.*;
+import com.nolimit35.springkit.trace.DefaultTraceInfoProvider;
+import com.nolimit35.springkit.trace.TraceInfoProvider;
+import com.nolimit35.springkit.web.ExceptionNotifyFilter;
+import com.nolimit35.springkit.web.ExceptionNotifyHandlerExceptionResolver;
+import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Auto-configuration for Exception-Notify
+ * Registered through META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports; bean
+ * methods are not proxied, which keeps the configuration usable for Spring AOT processing.
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(ExceptionNotifyProperties.class)
+@ConditionalOnProperty(prefix = "exception.notify", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableScheduling
+@Import({
+    DefaultExceptionFilter.class,
+    DefaultNotificationFormatter.class,
+    DefaultTraceInfoProvider.class
+})
+@Slf4j
+public class ExceptionNotifyAutoConfiguration {
+
+    /**
+     * CODEOWNERS needs no network request, so it is asked before the blame-based services
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "exception.notify.codeowners", name = "enabled", havingValue = "true")
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public CodeOwnersService codeOwnersService(ExceptionNotifyProperties properties) {
+        return new CodeOwnersService(properties);
+    }
+
+    /**
+     * Source control services are only created when their token is configured
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "exception.notify.github", name = "token")
+    public GitHubService gitHubService(ExceptionNotifyProperties properties) {
+        return new GitHubService(properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "exception.notify.gitee", name = "token")
+    public GiteeService giteeService(ExceptionNotifyProperties properties) {
+        return new GiteeService(properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "exception.notify.gitlab", name = "token")
+    public GitLabService gitLabService(ExceptionNotifyProperties properties) {
+        return new GitLabService(properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EnvironmentProvider environmentProvider(Environment environment) {
+        return new EnvironmentProvider(environment);
+    }
+
+    /**
+     * Configuration compiled for the exception hot path, shared by the pipeline services and providers
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ExceptionNotifySnapshotHolder exceptionNotifySnapshotHolder(ExceptionNotifyProperties properties,
+                                                                       EnvironmentProvider environmentProvider) {
+        return new ExceptionNotifySnapshotHolder(properties, environmentProvider);
+    }
+
+    /**
+     * Runtime reload of the configuration, triggered by the actuator endpoint or a Spring Cloud refresh
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ExceptionNotifyConfigReloader exceptionNotifyConfigReloader(Environment environment,
+                                                                       ExceptionNotifySnapshotHolder snapshotHolder,
+                                                                       ObjectProvider<GitSourceControlService> gitSourceControlServices) {
+        return new ExceptionNotifyConfigReloader(environment, snapshotHolder, scmServices(gitSourceControlServices));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ExceptionAnalyzerService exceptionAnalyzerService(
+            ObjectProvider<GitSourceControlService> gitSourceControlServices,
+            ExceptionNotifyProperties properties,
+            TraceInfoProvider traceInfoProvider) {
+        return new ExceptionAnalyzerService(scmServices(gitSourceControlServices), properties, traceInfoProvider);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "exception.notify.degradation", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public DegradationController degradationController(ExceptionNotifyProperties properties) {
+        return new DegradationController(properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "exception.notify.scm.warmup", name = "enabled", havingValue = "true")
+    public ScmCacheWarmer scmCacheWarmer(
+            ExceptionNotifyProperties properties,
+            ObjectProvider<GitSourceControlService> gitSourceControlServices) {
+        return new ScmCacheWarmer(properties, scmServices(gitSourceControlServices));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ExceptionDeduplicationService exceptionDeduplicationService(ExceptionNotifyProperties properties) {
+        return new ExceptionDeduplicationService(properties);
+    }
+
+	/**
+	 * Created on first use, once AI analysis is enabled
+	 */
+	@Bean
+	@Lazy
+	@ConditionalOnMissingBean
+	public CompressedPayloadAiAnalysisLinkService compressedPayloadAiAnalysisLinkService(ExceptionNotifyProperties properties) {
+		return new CompressedPayloadAiAnalysisLinkService(properties);
+	}
+
+    @Bean
+    @ConditionalOnMissingBean
+    public NotificationProviderManager notificationProviderManager(List<com.nolimit35.springkit.notification.NotificationProvider> providers) {
+        return new NotificationProviderManager(providers);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DingTalkNotificationProvider dingTalkNotificationProvider(ExceptionNotifyProperties properties, NotificationFormatter formatter) {
+        return new DingTalkNotificationProvider(properties, formatter);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public FeishuNotificationProvider feishuNotificationProvider(ExceptionNotifyProperties properties, NotificationFormatter formatter) {
+        return new FeishuNotificationProvider(properties, formatter);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public WeChatWorkNotificationProvider weChatWorkNotificationProvider(ExceptionNotifyProperties properties, NotificationFormatter formatter) {
+        return new WeChatWorkNotificationProvider(properties, formatter);
+    }
+
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "exception.notify.capture", name = "mode", havingValue = "aspect", matchIfMissing = true)
+    public ExceptionNotificationAspect exceptionNotificationAspect(ExceptionNotificationService notificationService) {
+        return new ExceptionNotificationAspect(notificationService);
+    }
+
+    @Bean
+    public Monitor monitor(NotificationProviderManager manager,
+                           @Value("${spring.application.name:unknown}") String appName,
+                           ExceptionNotifyProperties properties,
+                           TraceInfoProvider traceInfoProvider) {
+        return new Monitor(manager, appName, properties, traceInfoProvider);
+    }
+
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ExceptionNotificationService exceptionNotificationService(
+            ExceptionNotifyProperties properties,
+            ExceptionAnalyzerService analyzerService,
+            NotificationProviderManager notificationManager,
+            NotificationFormatter formatter,
+            ExceptionFilter filter,
+            EnvironmentProvider environmentProvider,
+            TraceInfoProvider traceInfoProvider,
+            ExceptionDeduplicationService deduplicationService) {
+        ExceptionNotificationService notificationService = new ExceptionNotificationService(
+                properties, analyzerService, notificationManager, formatter, filter, environmentProvider, traceInfoProvider, deduplicationService);
+        log.info("异常通知组件已注入 :) ");
+        return notificationService;
+    }
+
+    /**
+     * Collect the configured source control services, in order
+     * Resolved through an {@link ObjectProvider} because none of them is registered when no token is configured.
+     */
+    static List<GitSourceControlService> scmServices(ObjectProvider<GitSourceControlService> gitSourceControlServices) {
+        return gitSourceControlServices.orderedStream().collect(Collectors.toList());
+    }
+
+    /**
+     * Pipeline metrics, only active when Micrometer is on the classpath
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MicrometerMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(ExceptionNotifyMetrics.class)
+        public MicrometerExceptionNotifyMetrics exceptionNotifyMetrics(
+                ObjectProvider<MeterRegistry> meterRegistry,
+                ObjectProvider<GitSourceControlService> gitSourceControlServices,
+                ObjectProvider<ExceptionDeduplicationService> deduplicationService,
+                ObjectProvider<DegradationController> degradationController) {
+            return new MicrometerExceptionNotifyMetrics(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                    gitSourceControlServices, deduplicationService, degradationController);
+        }
+    }
+
+    /**
+     * Proxy-free capture through a Spring MVC exception resolver, replacing the aspect when
+     * exception.notify.capture.mode=resolver
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.web.servlet.HandlerExceptionResolver")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(prefix = "exception.notify.capture", name = "mode", havingValue = "resolver")
+    static class ResolverCaptureConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ExceptionNotifyHandlerExceptionResolver exceptionNotifyHandlerExceptionResolver(
+                ExceptionNotificationService notificationService,
+                ObjectProvider<DegradationController> degradationController) {
+            return new ExceptionNotifyHandlerExceptionResolver(notificationService, degradationController.getIfAvailable());
+        }
+    }
+
+    /**
+     * Capture through the exception-notify java agent, replacing the aspect when exception.notify.capture.mode=agent
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "exception.notify.capture", name = "mode", havingValue = "agent")
+    static class AgentCaptureConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AgentExceptionCapture agentExceptionCapture(ExceptionNotificationService notificationService,
+                                                           ObjectProvider<DegradationController> degradationController) {
+            return new AgentExceptionCapture(notificationService, degradationController.getIfAvailable());
+        }
+    }
+
+    /**
+     * Proxy-free capture through a servlet filter, replacing the aspect when exception.notify.capture.mode=filter
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "javax.servlet.Filter")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(prefix = "exception.notify.capture", name = "mode", havingValue = "filter")
+    static class FilterCaptureConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(name = "exceptionNotifyFilter")
+        public FilterRegistrationBean<ExceptionNotifyFilter> exceptionNotifyFilter(
+                ExceptionNotificationService notificationService,
+                ObjectProvider<DegradationController> degradationController) {
+            FilterRegistrationBean<ExceptionNotifyFilter> registration = new FilterRegistrationBean<>(
+                    new ExceptionNotifyFilter(notificationService, degradationController.getIfAvailable()));
+            // Outermost, so exceptions thrown by other filters are captured too
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+
+    /**
+     * Reload on Spring Cloud environment refresh, only active when spring-cloud-context is on the classpath
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.cloud.context.environment.EnvironmentChangeEvent")
+    static class SpringCloudRefreshConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public SpringCloudRefreshListener exceptionNotifySpringCloudRefreshListener(ExceptionNotifyConfigReloader reloader) {
+            return new SpringCloudRefreshListener(reloader);
+        }
+    }
+
+    /**
+     * Actuator endpoint, only active when Spring Boot Actuator is on the classpath and the endpoint is exposed
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint")
+    static class EndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnAvailableEndpoint(endpoint = ExceptionNotifyEndpoint.class)
+        public ExceptionNotifyEndpoint exceptionNotifyEndpoint(
+                ExceptionAnalyzerService analyzerService,
+                NotificationProviderManager notificationManager,
+                ExceptionDeduplicationService deduplicationService,
+                ObjectProvider<GitSourceControlService> gitSourceControlServices) {
+            return new ExceptionNotifyEndpoint(analyzerService, notificationManager, deduplicationService,
+                    scmServices(gitSourceControlServices));
+        }
+    }
+}
\ No newline at end of file
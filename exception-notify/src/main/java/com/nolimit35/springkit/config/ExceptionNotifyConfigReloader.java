@@ -0,0 +1,150 @@
+package com.nolimit35.springkit.config;
+
+import com.nolimit35.springkit.service.AbstractGitSourceControlService;
+import com.nolimit35.springkit.service.CodeOwnersService;
+import com.nolimit35.springkit.service.GitHubService;
+import com.nolimit35.springkit.service.GitLabService;
+import com.nolimit35.springkit.service.GitSourceControlService;
+import com.nolimit35.springkit.service.GiteeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reloads the exception notification configuration at runtime
+ * A reload binds a fresh {@link ExceptionNotifyProperties} from the environment on a background thread, swaps the
+ * compiled snapshot in through {@link ExceptionNotifySnapshotHolder#swap(ExceptionNotifyProperties)} and rebuilds
+ * the SCM HTTP clients whose timeouts changed. Deliveries already running finish on the snapshot they started with.
+ * Cache sizes, circuit breaker settings and thread pools are still only read at startup, and so is which source
+ * control services exist: a reload that configures a token (or codeowners.enabled) for a service the application
+ * started without logs a warning and reports it in {@link #getRestartRequired()}, the service needs a restart.
+ */
+@Slf4j
+public class ExceptionNotifyConfigReloader implements DisposableBean {
+    /**
+     * Prefix of the exception notification properties
+     */
+    public static final String PREFIX = "exception.notify";
+
+    private final Environment environment;
+    private final ExceptionNotifySnapshotHolder snapshotHolder;
+    private final List<GitSourceControlService> gitSourceControlServices;
+    private final ExecutorService executor;
+    private final AtomicLong reloadCount = new AtomicLong();
+    private volatile List<String> restartRequired = Collections.emptyList();
+
+    public ExceptionNotifyConfigReloader(Environment environment,
+                                         ExceptionNotifySnapshotHolder snapshotHolder,
+                                         List<GitSourceControlService> gitSourceControlServices) {
+        this.environment = environment;
+        this.snapshotHolder = snapshotHolder;
+        this.gitSourceControlServices = gitSourceControlServices;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "exception-notify-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Reload the configuration on the reload thread
+     * Reloads are queued, so concurrent triggers never bind or swap at the same time.
+     *
+     * @return the snapshot in effect once the reload completes
+     */
+    public CompletableFuture<ExceptionNotifySnapshot> reloadAsync() {
+        return CompletableFuture.supplyAsync(this::reload, executor);
+    }
+
+    /**
+     * Reload the configuration on the calling thread
+     *
+     * @return the new snapshot
+     */
+    public synchronized ExceptionNotifySnapshot reload() {
+        ExceptionNotifyProperties fresh = Binder.get(environment)
+                .bind(PREFIX, ExceptionNotifyProperties.class)
+                .orElseGet(ExceptionNotifyProperties::new);
+        ExceptionNotifySnapshot snapshot = snapshotHolder.swap(fresh);
+
+        for (GitSourceControlService service : gitSourceControlServices) {
+            if (service instanceof AbstractGitSourceControlService) {
+                ((AbstractGitSourceControlService) service).rebuildHttpClient();
+            }
+        }
+
+        List<String> pending = restartRequired(fresh);
+        if (!pending.isEmpty()) {
+            log.warn("Exception notify configuration reloaded, but {} only take effect after a restart, "
+                    + "the source control services are created at startup", pending);
+        }
+        restartRequired = pending;
+
+        long count = reloadCount.incrementAndGet();
+        log.info("Exception notify configuration reloaded (#{}), enabled: {}, environment: {}",
+                count, snapshot.isEnabled(), snapshot.getCurrentEnvironment());
+        return snapshot;
+    }
+
+    /**
+     * Get the number of completed reloads
+     *
+     * @return reload count
+     */
+    public long getReloadCount() {
+        return reloadCount.get();
+    }
+
+    /**
+     * Get the properties of the last reload that configure a source control service the application started without
+     *
+     * @return property names, empty when the reload took full effect
+     */
+    public List<String> getRestartRequired() {
+        return restartRequired;
+    }
+
+    /**
+     * Properties of the fresh configuration that would create a source control service which is not registered
+     */
+    private List<String> restartRequired(ExceptionNotifyProperties fresh) {
+        List<String> pending = new ArrayList<>();
+        if (fresh.getCodeowners().isEnabled() && !hasService(CodeOwnersService.class)) {
+            pending.add(PREFIX + ".codeowners.enabled");
+        }
+        if (StringUtils.hasText(fresh.getGithub().getToken()) && !hasService(GitHubService.class)) {
+            pending.add(PREFIX + ".github.token");
+        }
+        if (StringUtils.hasText(fresh.getGitee().getToken()) && !hasService(GiteeService.class)) {
+            pending.add(PREFIX + ".gitee.token");
+        }
+        if (StringUtils.hasText(fresh.getGitlab().getToken()) && !hasService(GitLabService.class)) {
+            pending.add(PREFIX + ".gitlab.token");
+        }
+        return Collections.unmodifiableList(pending);
+    }
+
+    private boolean hasService(Class<? extends GitSourceControlService> type) {
+        for (GitSourceControlService service : gitSourceControlServices) {
+            if (type.isInstance(service)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,50 @@
+package com.nolimit35.springkit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.SmartApplicationListener;
+
+/**
+ * Reloads the exception notification configuration when Spring Cloud refreshes the environment
+ * An {@link EnvironmentChangeEvent} triggers a reload only if one of the changed keys belongs to exception.notify;
+ * a {@link RefreshScopeRefreshedEvent} does not carry the keys and always triggers one.
+ * Only registered when spring-cloud-context is on the classpath.
+ */
+@Slf4j
+public class SpringCloudRefreshListener implements SmartApplicationListener {
+    private final ExceptionNotifyConfigReloader reloader;
+
+    public SpringCloudRefreshListener(ExceptionNotifyConfigReloader reloader) {
+        this.reloader = reloader;
+    }
+
+    @Override
+    public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+        return EnvironmentChangeEvent.class.isAssignableFrom(eventType)
+                || RefreshScopeRefreshedEvent.class.isAssignableFrom(eventType);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof EnvironmentChangeEvent && !isRelevant((EnvironmentChangeEvent) event)) {
+            return;
+        }
+
+        log.debug("Reloading exception notify configuration after {}", event.getClass().getSimpleName());
+        reloader.reloadAsync().exceptionally(e -> {
+            log.error("Failed to reload exception notify configuration: {}", e.getMessage(), e);
+            return null;
+        });
+    }
+
+    private static boolean isRelevant(EnvironmentChangeEvent event) {
+        for (String key : event.getKeys()) {
+            if (key.startsWith(ExceptionNotifyConfigReloader.PREFIX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,159 @@
+package com.nolimit35.springkit.metrics;
+
+import com.nolimit35.springkit.service.AbstractGitSourceControlService;
+import com.nolimit35.springkit.service.DegradationController;
+import com.nolimit35.springkit.service.ExceptionDeduplicationService;
+import com.nolimit35.springkit.service.GitSourceControlService;
+import com.nolimit35.springkit.service.ScmDiskCache;
+import com.nolimit35.springkit.service.ScmLookupCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer backed pipeline metrics
+ * Only the timers with bounded tags (scm.call, ai.link) publish percentile histograms, the ones tagged with the
+ * exception type would otherwise add a full bucket set per type; cache sizes, hit counts and circuit-breaker states of the
+ * source control services, the deduplication cache and the degradation level are registered as gauges once all beans exist.
+ */
+public class MicrometerExceptionNotifyMetrics implements ExceptionNotifyMetrics, SmartInitializingSingleton {
+    private static final String PREFIX = "exception.notify.";
+
+    private final MeterRegistry registry;
+    private final ObjectProvider<GitSourceControlService> gitSourceControlServices;
+    private final ObjectProvider<ExceptionDeduplicationService> deduplicationService;
+    private final ObjectProvider<DegradationController> degradationController;
+
+    public MicrometerExceptionNotifyMetrics(MeterRegistry registry,
+                                            ObjectProvider<GitSourceControlService> gitSourceControlServices,
+                                            ObjectProvider<ExceptionDeduplicationService> deduplicationService,
+                                            ObjectProvider<DegradationController> degradationController) {
+        this.registry = registry;
+        this.gitSourceControlServices = gitSourceControlServices;
+        this.deduplicationService = deduplicationService;
+        this.degradationController = degradationController;
+    }
+
+    @Override
+    public void recordProcessing(String exceptionType, String outcome, long nanos) {
+        timer("process", "Time spent processing an exception", Tags.of("exception", exceptionType, "outcome", outcome), false)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordAnalysis(String exceptionType, long nanos) {
+        timer("analyze", "Time spent analyzing and enriching an exception", Tags.of("exception", exceptionType), false)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordScmCall(String service, String operation, String outcome, long nanos) {
+        timer("scm.call", "Source control service call latency",
+                Tags.of("service", service, "operation", operation, "outcome", outcome), true)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordDeduplication(boolean notify) {
+        Counter.builder(PREFIX + "dedup")
+                .description("Deduplication decisions")
+                .tag("result", notify ? "notify" : "suppressed")
+                .register(registry)
+                .increment();
+    }
+
+    @Override
+    public void recordAiLink(String outcome, long nanos) {
+        timer("ai.link", "Time spent building AI analysis links", Tags.of("outcome", outcome), true)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordNotification(String provider, String exceptionType, String outcome, long nanos) {
+        timer("notification", "Notification delivery latency",
+                Tags.of("provider", provider, "exception", exceptionType, "outcome", outcome), false)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordDropped(String reason) {
+        Counter.builder(PREFIX + "dropped")
+                .description("Enrichment results and notifications that were dropped")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    private Timer timer(String name, String description, Tags tags, boolean histogram) {
+        return Timer.builder(PREFIX + name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram(histogram)
+                .register(registry);
+    }
+
+    /**
+     * Register gauges once the services are created; they are looked up lazily to avoid circular references
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        ExceptionDeduplicationService dedup = deduplicationService.getIfAvailable();
+        if (dedup != null) {
+            Gauge.builder(PREFIX + "dedup.cache.size", dedup, ExceptionDeduplicationService::getCacheSize)
+                    .description("Number of exceptions remembered by deduplication")
+                    .register(registry);
+        }
+
+        DegradationController degradation = degradationController.getIfAvailable();
+        if (degradation != null) {
+            Gauge.builder(PREFIX + "degradation.level", degradation, d -> d.getLevel().ordinal())
+                    .description("Degradation level, 0 is normal and 4 is digest only")
+                    .register(registry);
+        }
+
+        gitSourceControlServices.orderedStream()
+                .filter(AbstractGitSourceControlService.class::isInstance)
+                .map(AbstractGitSourceControlService.class::cast)
+                .forEach(this::bindService);
+    }
+
+    private void bindService(AbstractGitSourceControlService service) {
+        String name = service.getClass().getSimpleName();
+        bindCache(name, "content", service.getContentCache());
+        bindCache(name, "negative", service.getNegativeCache());
+
+        ScmDiskCache diskCache = service.getDiskCache();
+        if (diskCache != null) {
+            Tags tags = Tags.of("service", name, "cache", "disk");
+            Gauge.builder(PREFIX + "scm.cache.size", diskCache, ScmDiskCache::getEntryCount)
+                    .tags(tags).register(registry);
+            FunctionCounter.builder(PREFIX + "scm.cache.hits", diskCache, ScmDiskCache::getHits)
+                    .tags(tags).register(registry);
+            FunctionCounter.builder(PREFIX + "scm.cache.misses", diskCache, ScmDiskCache::getMisses)
+                    .tags(tags).register(registry);
+        }
+
+        Gauge.builder(PREFIX + "scm.circuit.open", service, s -> s.getCircuitBreaker().isOpen() ? 1 : 0)
+                .description("Whether the circuit breaker of a source control service is open")
+                .tag("service", name)
+                .register(registry);
+    }
+
+    private void bindCache(String service, String cacheName, ScmLookupCache<?> cache) {
+        Tags tags = Tags.of("service", service, "cache", cacheName);
+        Gauge.builder(PREFIX + "scm.cache.size", cache, ScmLookupCache::size)
+                .description("Number of entries in a source control cache")
+                .tags(tags).register(registry);
+        FunctionCounter.builder(PREFIX + "scm.cache.hits", cache, ScmLookupCache::getHits)
+                .tags(tags).register(registry);
+        FunctionCounter.builder(PREFIX + "scm.cache.misses", cache, ScmLookupCache::getMisses)
+                .tags(tags).register(registry);
+    }
+}
@@ -0,0 +1,69 @@
+package com.nolimit35.springkit.web;
+
+import com.nolimit35.springkit.service.DegradationController;
+import com.nolimit35.springkit.service.ExceptionNotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Proxy-free exception capture for servlet applications
+ * Reports exceptions that escape request processing, then rethrows them unchanged. Unlike the aspect it needs no
+ * AOP proxies, so it also works in GraalVM native images; exceptions handled by an {@code @ExceptionHandler} or
+ * {@code @ControllerAdvice} never reach it.
+ * Enabled with exception.notify.capture.mode=filter.
+ */
+@Slf4j
+public class ExceptionNotifyFilter extends OncePerRequestFilter {
+    private final ExceptionNotificationService notificationService;
+    private final DegradationController degradationController;
+
+    public ExceptionNotifyFilter(ExceptionNotificationService notificationService,
+                                 DegradationController degradationController) {
+        this.notificationService = notificationService;
+        this.degradationController = degradationController;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            report(unwrap(e));
+            throw e;
+        }
+    }
+
+    private void report(Throwable throwable) {
+        if (!(throwable instanceof Exception)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            notificationService.processException(throwable);
+        } catch (Exception e) {
+            log.error("Error in exception notification filter", e);
+        } finally {
+            if (degradationController != null) {
+                degradationController.recordOverhead(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * The DispatcherServlet wraps exceptions thrown by handlers in a NestedServletException
+     */
+    private static Throwable unwrap(Exception e) {
+        if (e instanceof ServletException && e.getCause() != null) {
+            return e.getCause();
+        }
+        return e;
+    }
+}
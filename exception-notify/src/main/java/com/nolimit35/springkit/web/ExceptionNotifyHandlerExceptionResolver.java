@@ -0,0 +1,65 @@
+package com.nolimit35.springkit.web;
+
+import com.nolimit35.springkit.model.RequestInfo;
+import com.nolimit35.springkit.service.DegradationController;
+import com.nolimit35.springkit.service.ExceptionNotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Proxy-free exception capture for Spring MVC
+ * Consulted first by the DispatcherServlet, so each exception thrown by a handler or interceptor is reported once
+ * per request, before any @ExceptionHandler resolves it. It never resolves the exception itself.
+ * Enabled with exception.notify.capture.mode=resolver.
+ */
+@Slf4j
+public class ExceptionNotifyHandlerExceptionResolver implements HandlerExceptionResolver, Ordered {
+    private final ExceptionNotificationService notificationService;
+    private final DegradationController degradationController;
+
+    public ExceptionNotifyHandlerExceptionResolver(ExceptionNotificationService notificationService,
+                                                   DegradationController degradationController) {
+        this.notificationService = notificationService;
+        this.degradationController = degradationController;
+    }
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response,
+                                         Object handler, Exception ex) {
+        long start = System.nanoTime();
+        try {
+            notificationService.processException(ex, RequestInfo.builder()
+                    .method(request.getMethod())
+                    .uri(request.getRequestURI())
+                    .handler(describe(handler))
+                    .build());
+        } catch (Exception e) {
+            log.error("Error in exception notification resolver", e);
+        } finally {
+            if (degradationController != null) {
+                degradationController.recordOverhead(System.nanoTime() - start);
+            }
+        }
+        // Leave the exception to the resolvers that handle it
+        return null;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private static String describe(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+        return handler != null ? handler.getClass().getName() : null;
+    }
+}
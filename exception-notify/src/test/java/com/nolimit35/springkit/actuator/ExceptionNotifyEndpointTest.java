@@ -0,0 +1,177 @@
+package com.nolimit35.springkit.actuator;
+
+import com.nolimit35.springkit.config.ExceptionNotifyConfigReloader;
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.config.ExceptionNotifySnapshotHolder;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.notification.NotificationProvider;
+import com.nolimit35.springkit.notification.NotificationProviderManager;
+import com.nolimit35.springkit.service.DegradationController;
+import com.nolimit35.springkit.service.ExceptionAnalyzerService;
+import com.nolimit35.springkit.service.ExceptionDeduplicationService;
+import com.nolimit35.springkit.service.GitHubService;
+import com.nolimit35.springkit.service.GitSourceControlService;
+import com.nolimit35.springkit.service.ScmLookupCache;
+import com.nolimit35.springkit.trace.DefaultTraceInfoProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the exceptionnotify actuator endpoint
+ */
+public class ExceptionNotifyEndpointTest {
+
+    private ExceptionNotifyProperties properties;
+    private GitHubService gitHubService;
+    private ExceptionDeduplicationService deduplicationService;
+    private NotificationProviderManager notificationManager;
+    private ExceptionNotifyEndpoint endpoint;
+    private int delivered;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new ExceptionNotifyProperties();
+        gitHubService = new GitHubService(properties);
+        deduplicationService = new ExceptionDeduplicationService(properties);
+        notificationManager = new NotificationProviderManager(Collections.singletonList(new NotificationProvider() {
+            @Override
+            public boolean sendNotification(ExceptionInfo exceptionInfo) {
+                delivered++;
+                return true;
+            }
+
+            @Override
+            public boolean isEnabled() {
+                return true;
+            }
+        }));
+        List<GitSourceControlService> services = Collections.singletonList(gitHubService);
+        ExceptionAnalyzerService analyzerService = new ExceptionAnalyzerService(services, properties,
+                new DefaultTraceInfoProvider(properties));
+        endpoint = new ExceptionNotifyEndpoint(analyzerService, notificationManager, deduplicationService, services);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStateReportsDeliveryDeduplicationAndScm() {
+        ExceptionInfo exceptionInfo = exceptionInfo();
+        deduplicationService.shouldNotify(exceptionInfo);
+        deduplicationService.shouldNotify(exceptionInfo);
+        notificationManager.sendNotification(exceptionInfo);
+
+        Map<String, Object> state = endpoint.state();
+
+        assertEquals(false, state.get("paused"));
+        Map<String, NotificationProviderManager.ProviderStats> providers =
+                (Map<String, NotificationProviderManager.ProviderStats>) state.get("providers");
+        assertEquals(1, providers.values().iterator().next().getSuccess());
+
+        Map<String, Object> deduplication = (Map<String, Object>) state.get("deduplication");
+        assertEquals(1, deduplication.get("cacheSize"));
+        List<ExceptionDeduplicationService.FingerprintCount> top =
+                (List<ExceptionDeduplicationService.FingerprintCount>) deduplication.get("topFingerprints");
+        assertEquals(2, top.get(0).getCount());
+        assertEquals("java.lang.IllegalStateException", top.get(0).getExceptionType());
+
+        Map<String, Object> scm = (Map<String, Object>) state.get("scm");
+        Map<String, Object> gitHub = (Map<String, Object>) scm.get("GitHubService");
+        assertNotNull(gitHub.get("circuitBreaker"));
+        assertNotNull(gitHub.get("contentCache"));
+    }
+
+    @Test
+    public void testPauseStopsDelivery() {
+        endpoint.action("pause");
+        assertFalse(notificationManager.sendNotification(exceptionInfo()));
+        assertEquals(0, delivered);
+
+        endpoint.action("resume");
+        assertTrue(notificationManager.sendNotification(exceptionInfo()));
+        assertEquals(1, delivered);
+    }
+
+    @Test
+    public void testClearCaches() {
+        deduplicationService.shouldNotify(exceptionInfo());
+        gitHubService.getNegativeCache().put(ScmLookupCache.key("Foo.java", "main"), Boolean.TRUE);
+
+        endpoint.action("clear-caches");
+
+        assertEquals(0, deduplicationService.getCacheSize());
+        assertTrue(deduplicationService.getTopFingerprints(10).isEmpty());
+        assertEquals(0, gitHubService.getNegativeCache().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFlushDigestAction() {
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.action("flush-digest"));
+
+        List<Map<String, Long>> sent = new ArrayList<>();
+        DegradationController degradationController = new DegradationController(properties);
+        degradationController.setDigestSender(sent::add);
+        endpoint.setDegradationController(degradationController);
+        try {
+            IllegalStateException exception = new IllegalStateException("boom");
+            degradationController.recordDigest(exception);
+            degradationController.recordDigest(exception);
+            degradationController.recordDigest(new IllegalArgumentException("bad"));
+            Map<String, Object> degradation = (Map<String, Object>) endpoint.state().get("degradation");
+            assertEquals(2, degradation.get("pendingDigestEntries"));
+
+            // Sent right away, the digest interval has not elapsed
+            Map<String, Object> result = endpoint.action("flush-digest");
+
+            assertEquals(2, result.get("flushedDigestEntries"));
+            assertEquals(1, sent.size());
+            assertEquals(3L, sent.get(0).values().stream().mapToLong(Long::longValue).sum());
+            degradation = (Map<String, Object>) endpoint.state().get("degradation");
+            assertEquals(0, degradation.get("pendingDigestEntries"));
+            assertEquals(0, endpoint.action("flush-digest").get("flushedDigestEntries"));
+        } finally {
+            degradationController.close();
+        }
+    }
+
+    @Test
+    public void testReloadAction() {
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.action("reload"));
+
+        MockEnvironment environment = new MockEnvironment();
+        environment.setProperty("exception.notify.notification.deduplication.time-window-minutes", "7");
+        ExceptionNotifyConfigReloader reloader = new ExceptionNotifyConfigReloader(environment,
+                new ExceptionNotifySnapshotHolder(properties), Collections.<GitSourceControlService>singletonList(gitHubService));
+        endpoint.setConfigReloader(reloader);
+        try {
+            Map<String, Object> result = endpoint.action("reload");
+
+            assertEquals("reload", result.get("action"));
+            assertEquals(1L, result.get("reloadCount"));
+            assertEquals(7, properties.getNotification().getDeduplication().getTimeWindowMinutes());
+        } finally {
+            reloader.destroy();
+        }
+    }
+
+    @Test
+    public void testUnknownActionIsRejected() {
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.action("reboot"));
+    }
+
+    private static ExceptionInfo exceptionInfo() {
+        return ExceptionInfo.builder()
+                .type("java.lang.IllegalStateException")
+                .message("boom")
+                .location("com.example.Foo.bar(Foo.java:10)")
+                .build();
+    }
+}
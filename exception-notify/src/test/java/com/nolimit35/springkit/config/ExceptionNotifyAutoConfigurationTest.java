@@ -0,0 +1,88 @@
+package com.nolimit35.springkit.config;
+
+import com.nolimit35.springkit.agent.AgentExceptionCapture;
+import com.nolimit35.springkit.aspect.ExceptionNotificationAspect;
+import com.nolimit35.springkit.service.CompressedPayloadAiAnalysisLinkService;
+import com.nolimit35.springkit.service.ExceptionAnalyzerService;
+import com.nolimit35.springkit.service.GitHubService;
+import com.nolimit35.springkit.service.GitLabService;
+import com.nolimit35.springkit.service.GitSourceControlService;
+import com.nolimit35.springkit.service.GiteeService;
+import com.nolimit35.springkit.web.ExceptionNotifyHandlerExceptionResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the conditional and lazy bean registration of the auto-configuration
+ */
+public class ExceptionNotifyAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ExceptionNotifyAutoConfiguration.class));
+
+    @Test
+    public void testScmServicesAreNotCreatedWithoutToken() {
+        contextRunner.run(context -> {
+            assertTrue(context.getBeansOfType(GitSourceControlService.class).isEmpty());
+            assertNotNull(context.getBean(ExceptionAnalyzerService.class));
+        });
+    }
+
+    @Test
+    public void testOnlyConfiguredScmServicesAreCreated() {
+        contextRunner.withPropertyValues("exception.notify.github.token=ghp_test").run(context -> {
+            assertNotNull(context.getBean(GitHubService.class));
+            assertTrue(context.getBeansOfType(GiteeService.class).isEmpty());
+            assertTrue(context.getBeansOfType(GitLabService.class).isEmpty());
+        });
+    }
+
+    @Test
+    public void testFilterCaptureModeReplacesAspect() {
+        new WebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ExceptionNotifyAutoConfiguration.class))
+                .withPropertyValues("exception.notify.capture.mode=filter")
+                .run(context -> {
+                    assertTrue(context.getBeansOfType(ExceptionNotificationAspect.class).isEmpty());
+                    assertTrue(context.containsBean("exceptionNotifyFilter"));
+                });
+        contextRunner.run(context -> assertNotNull(context.getBean(ExceptionNotificationAspect.class)));
+    }
+
+    @Test
+    public void testResolverCaptureModeReplacesAspect() {
+        new WebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ExceptionNotifyAutoConfiguration.class))
+                .withPropertyValues("exception.notify.capture.mode=resolver")
+                .run(context -> {
+                    assertTrue(context.getBeansOfType(ExceptionNotificationAspect.class).isEmpty());
+                    assertNotNull(context.getBean(ExceptionNotifyHandlerExceptionResolver.class));
+                });
+        contextRunner.withPropertyValues("exception.notify.capture.mode=resolver")
+                .run(context -> assertTrue(context.getBeansOfType(ExceptionNotifyHandlerExceptionResolver.class).isEmpty()));
+    }
+
+    @Test
+    public void testAgentCaptureModeReplacesAspect() {
+        contextRunner.withPropertyValues("exception.notify.capture.mode=agent").run(context -> {
+            assertTrue(context.getBeansOfType(ExceptionNotificationAspect.class).isEmpty());
+            assertNotNull(context.getBean(AgentExceptionCapture.class));
+        });
+        contextRunner.run(context -> assertTrue(context.getBeansOfType(AgentExceptionCapture.class).isEmpty()));
+    }
+
+    @Test
+    public void testAiServiceIsCreatedOnFirstUse() {
+        contextRunner.run(context -> {
+            String name = context.getBeanNamesForType(CompressedPayloadAiAnalysisLinkService.class)[0];
+            assertFalse(context.getBeanFactory().containsSingleton(name));
+
+            context.getBean(CompressedPayloadAiAnalysisLinkService.class);
+            assertTrue(context.getBeanFactory().containsSingleton(name));
+        });
+    }
+}
@@ -0,0 +1,135 @@
+package com.nolimit35.springkit.config;
+
+import com.nolimit35.springkit.formatter.DefaultNotificationFormatter;
+import com.nolimit35.springkit.model.CodeAuthorInfo;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.notification.provider.FeishuNotificationProvider;
+import com.nolimit35.springkit.service.EnvironmentProvider;
+import com.nolimit35.springkit.service.GitHubService;
+import com.nolimit35.springkit.service.GitSourceControlService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for reloading the configuration at runtime
+ */
+public class ExceptionNotifyConfigReloaderTest {
+
+    private MockEnvironment environment;
+    private ExceptionNotifyProperties properties;
+    private ExceptionNotifySnapshotHolder holder;
+    private GitHubService gitHubService;
+    private ExceptionNotifyConfigReloader reloader;
+
+    @BeforeEach
+    public void setUp() {
+        environment = new MockEnvironment();
+        environment.setActiveProfiles("prod");
+        environment.setProperty("exception.notify.feishu.webhook", "https://open.feishu.cn/open-apis/bot/v2/hook/old");
+
+        properties = new ExceptionNotifyProperties();
+        properties.getFeishu().setWebhook("https://open.feishu.cn/open-apis/bot/v2/hook/old");
+        holder = new ExceptionNotifySnapshotHolder(properties, new EnvironmentProvider(environment));
+        gitHubService = new ConnectedGitHubService(properties);
+        reloader = new ExceptionNotifyConfigReloader(environment, holder,
+                Collections.<GitSourceControlService>singletonList(gitHubService));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        reloader.destroy();
+    }
+
+    @Test
+    public void testReloadSwapsSnapshotAndKeepsOldOneIntact() {
+        ExceptionNotifySnapshot before = holder.get();
+
+        environment.setProperty("exception.notify.feishu.webhook", "https://open.feishu.cn/open-apis/bot/v2/hook/new");
+        environment.setProperty("exception.notify.notification.deduplication.time-window-minutes", "15");
+        ExceptionNotifySnapshot after = reloader.reloadAsync().join();
+
+        assertSame(after, holder.get());
+        assertEquals(1, reloader.getReloadCount());
+        assertEquals(15, after.getDeduplicationWindowMinutes());
+        assertEquals("prod", after.getCurrentEnvironment());
+        assertEquals("https://open.feishu.cn/open-apis/bot/v2/hook/new", after.getProperties().getFeishu().getWebhook());
+        // Code still reading the live properties sees the new sections
+        assertEquals("https://open.feishu.cn/open-apis/bot/v2/hook/new", properties.getFeishu().getWebhook());
+
+        // A delivery that started before the reload keeps its view
+        assertEquals(3, before.getDeduplicationWindowMinutes());
+        assertEquals("https://open.feishu.cn/open-apis/bot/v2/hook/old", before.getProperties().getFeishu().getWebhook());
+    }
+
+    @Test
+    public void testProvidersUseReloadedMentionMapping() {
+        FeishuNotificationProvider provider = new FeishuNotificationProvider(properties,
+                new DefaultNotificationFormatter(properties));
+        provider.setSnapshotHolder(holder);
+        ExceptionInfo exceptionInfo = ExceptionInfo.builder()
+                .time(LocalDateTime.now())
+                .type("java.lang.IllegalStateException")
+                .message("boom")
+                .location("com.example.Foo.bar(Foo.java:10)")
+                .appName("orders")
+                .authorInfo(CodeAuthorInfo.builder().name("dev").email("dev@example.com").build())
+                .build();
+        assertFalse(provider.buildText(exceptionInfo).contains("ou_123"));
+
+        environment.setProperty("exception.notify.feishu.at.open-id-mapping-git-email.ou_123[0]", "dev@example.com");
+        reloader.reload();
+
+        assertTrue(provider.buildText(exceptionInfo).contains("<at user_id=\"ou_123\">"));
+    }
+
+    @Test
+    public void testReloadRebuildsScmClientOnlyWhenTimeoutsChange() {
+        environment.setProperty("exception.notify.scm.read-timeout-millis", "2500");
+        reloader.reload();
+
+        assertEquals(2500, properties.getScm().getReadTimeoutMillis());
+        // The reload already rebuilt the client with the new timeout
+        assertFalse(gitHubService.rebuildHttpClient());
+
+        properties.getScm().setConnectTimeoutMillis(500);
+        assertTrue(gitHubService.rebuildHttpClient());
+    }
+
+    @Test
+    public void testReloadDoesNotBuildUnusedScmClient() {
+        GitHubService unused = new GitHubService(properties);
+        properties.getScm().setConnectTimeoutMillis(500);
+
+        // Built from the current timeouts by the first request, until then there is nothing to rebuild
+        assertFalse(unused.rebuildHttpClient());
+    }
+
+    @Test
+    public void testReloadReportsScmThatNeedsRestart() {
+        environment.setProperty("exception.notify.github.token", "ghp_token");
+        reloader.reload();
+        assertTrue(reloader.getRestartRequired().isEmpty());
+
+        environment.setProperty("exception.notify.gitlab.token", "glpat_token");
+        reloader.reload();
+
+        assertEquals(Collections.singletonList("exception.notify.gitlab.token"), reloader.getRestartRequired());
+    }
+
+    /**
+     * A service that already sent a request, so its HTTP client exists
+     */
+    private static class ConnectedGitHubService extends GitHubService {
+        ConnectedGitHubService(ExceptionNotifyProperties properties) {
+            super(properties);
+            httpClient();
+        }
+    }
+}
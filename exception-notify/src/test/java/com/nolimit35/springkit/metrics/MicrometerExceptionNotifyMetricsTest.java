@@ -0,0 +1,124 @@
+package com.nolimit35.springkit.metrics;
+
+import com.nolimit35.springkit.config.ExceptionNotifyProperties;
+import com.nolimit35.springkit.model.ExceptionInfo;
+import com.nolimit35.springkit.service.DegradationController;
+import com.nolimit35.springkit.service.ExceptionDeduplicationService;
+import com.nolimit35.springkit.service.GitHubService;
+import com.nolimit35.springkit.service.GitSourceControlService;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Micrometer pipeline metrics
+ */
+public class MicrometerExceptionNotifyMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private ExceptionNotifyProperties properties;
+    private ExceptionDeduplicationService deduplicationService;
+    private MicrometerExceptionNotifyMetrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        properties = new ExceptionNotifyProperties();
+        deduplicationService = new ExceptionDeduplicationService(properties);
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("gitHubService", new GitHubService(properties));
+        beanFactory.registerSingleton("deduplicationService", deduplicationService);
+        ObjectProvider<GitSourceControlService> services = beanFactory.getBeanProvider(GitSourceControlService.class);
+        ObjectProvider<ExceptionDeduplicationService> dedup = beanFactory.getBeanProvider(ExceptionDeduplicationService.class);
+
+        metrics = new MicrometerExceptionNotifyMetrics(registry, services, dedup,
+                beanFactory.getBeanProvider(DegradationController.class));
+        metrics.afterSingletonsInstantiated();
+        deduplicationService.setMetrics(metrics);
+    }
+
+    @Test
+    public void testDeduplicationHitsAreCounted() {
+        ExceptionInfo exceptionInfo = ExceptionInfo.builder()
+                .type("java.lang.IllegalStateException")
+                .message("boom")
+                .location("com.example.Foo.bar(Foo.java:10)")
+                .build();
+
+        deduplicationService.shouldNotify(exceptionInfo);
+        deduplicationService.shouldNotify(exceptionInfo);
+        deduplicationService.shouldNotify(exceptionInfo);
+
+        assertEquals(1, registry.get("exception.notify.dedup").tag("result", "notify").counter().count());
+        assertEquals(2, registry.get("exception.notify.dedup").tag("result", "suppressed").counter().count());
+        assertEquals(1, registry.get("exception.notify.dedup.cache.size").gauge().value());
+    }
+
+    @Test
+    public void testTimersAreTaggedByProviderAndOutcome() {
+        metrics.recordNotification("DingTalkNotificationProvider", "java.lang.IllegalStateException", "success",
+                TimeUnit.MILLISECONDS.toNanos(40));
+        metrics.recordNotification("DingTalkNotificationProvider", "java.lang.IllegalStateException", "failure",
+                TimeUnit.MILLISECONDS.toNanos(60));
+        metrics.recordScmCall("GitHubService", "author", "found", TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertEquals(1, registry.get("exception.notify.notification")
+                .tags("provider", "DingTalkNotificationProvider", "outcome", "success").timer().count());
+        assertEquals(60, registry.get("exception.notify.notification")
+                .tag("outcome", "failure").timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, registry.get("exception.notify.scm.call")
+                .tags("service", "GitHubService", "operation", "author").timer().count());
+    }
+
+    @Test
+    public void testHistogramsOnlyForTimersWithoutExceptionTag() {
+        Map<String, Boolean> histograms = new HashMap<>();
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                histograms.put(id.getName(), config.isPublishingHistogram());
+                return config;
+            }
+        });
+
+        metrics.recordScmCall("GitHubService", "author", "found", TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.recordAiLink("success", TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.recordProcessing("java.lang.IllegalStateException", "notified", TimeUnit.MILLISECONDS.toNanos(80));
+        metrics.recordNotification("DingTalkNotificationProvider", "java.lang.IllegalStateException", "success",
+                TimeUnit.MILLISECONDS.toNanos(40));
+
+        assertTrue(histograms.get("exception.notify.scm.call"));
+        assertTrue(histograms.get("exception.notify.ai.link"));
+        assertFalse(histograms.get("exception.notify.process"));
+        assertFalse(histograms.get("exception.notify.notification"));
+    }
+
+    @Test
+    public void testScmCacheGaugesAreRegistered() {
+        assertNotNull(registry.find("exception.notify.scm.cache.size")
+                .tags("service", "GitHubService", "cache", "content").gauge());
+        assertNotNull(registry.find("exception.notify.scm.cache.hits")
+                .tags("service", "GitHubService", "cache", "negative").functionCounter());
+        assertEquals(0, registry.get("exception.notify.scm.circuit.open").gauge().value());
+    }
+
+    @Test
+    public void testDroppedEventsAreCountedByReason() {
+        metrics.recordDropped("enrichment_timeout");
+        metrics.recordDropped("enrichment_timeout");
+
+        assertEquals(2, registry.get("exception.notify.dropped").tag("reason", "enrichment_timeout").counter().count());
+    }
+}
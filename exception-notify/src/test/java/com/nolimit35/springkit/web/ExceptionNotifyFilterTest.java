@@ -0,0 +1,53 @@
+package com.nolimit35.springkit.web;
+
+import com.nolimit35.springkit.service.ExceptionNotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.NestedServletException;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the proxy-free servlet filter capture
+ */
+public class ExceptionNotifyFilterTest {
+
+    private final ExceptionNotificationService notificationService = mock(ExceptionNotificationService.class);
+    private final ExceptionNotifyFilter filter = new ExceptionNotifyFilter(notificationService, null);
+
+    @Test
+    public void testUnwrapsAndRethrowsHandlerException() {
+        IllegalStateException cause = new IllegalStateException("boom");
+        NestedServletException thrown = new NestedServletException("Request processing failed", cause);
+
+        NestedServletException rethrown = assertThrows(NestedServletException.class,
+                () -> filter.doFilter(new MockHttpServletRequest("GET", "/orders"), new MockHttpServletResponse(),
+                        new MockFilterChain(failingServlet(thrown))));
+
+        assertSame(thrown, rethrown);
+        verify(notificationService).processException(cause);
+    }
+
+    @Test
+    public void testSuccessfulRequestIsNotReported() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/orders"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verifyNoInteractions(notificationService);
+    }
+
+    private static HttpServlet failingServlet(NestedServletException exception) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws NestedServletException {
+                throw exception;
+            }
+        };
+    }
+}
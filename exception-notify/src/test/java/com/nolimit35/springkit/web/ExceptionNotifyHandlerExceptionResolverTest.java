@@ -0,0 +1,62 @@
+package com.nolimit35.springkit.web;
+
+import com.nolimit35.springkit.model.RequestInfo;
+import com.nolimit35.springkit.service.DegradationController;
+import com.nolimit35.springkit.service.ExceptionNotificationService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.Ordered;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the Spring MVC exception resolver capture
+ */
+public class ExceptionNotifyHandlerExceptionResolverTest {
+
+    private final ExceptionNotificationService notificationService = mock(ExceptionNotificationService.class);
+    private final DegradationController degradationController = mock(DegradationController.class);
+    private final ExceptionNotifyHandlerExceptionResolver resolver =
+            new ExceptionNotifyHandlerExceptionResolver(notificationService, degradationController);
+
+    @Test
+    public void testReportsWithRequestAndLeavesExceptionUnresolved() throws Exception {
+        IllegalStateException exception = new IllegalStateException("boom");
+        HandlerMethod handler = new HandlerMethod(new OrderController(), OrderController.class.getMethod("create"));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+        request.setQueryString("dryRun=true");
+
+        assertNull(resolver.resolveException(request, new MockHttpServletResponse(), handler, exception));
+
+        ArgumentCaptor<RequestInfo> captor = ArgumentCaptor.forClass(RequestInfo.class);
+        verify(notificationService).processException(same(exception), captor.capture());
+        assertEquals("POST", captor.getValue().getMethod());
+        assertEquals("/orders", captor.getValue().getUri());
+        assertEquals("OrderController#create", captor.getValue().getHandler());
+        verify(degradationController).recordOverhead(anyLong());
+    }
+
+    @Test
+    public void testPipelineFailureDoesNotResolve() {
+        doThrow(new IllegalStateException("pipeline failure")).when(notificationService).processException(any(), any());
+
+        assertNull(resolver.resolveException(new MockHttpServletRequest("GET", "/orders"), new MockHttpServletResponse(),
+                null, new IllegalArgumentException("boom")));
+    }
+
+    @Test
+    public void testRunsBeforeOtherResolvers() {
+        assertEquals(Ordered.HIGHEST_PRECEDENCE, resolver.getOrder());
+    }
+
+    public static class OrderController {
+        public String create() {
+            return "created";
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.nolimit35.springkit.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Correlates alerts received by the stand-in webhooks with the requests that caused them
+ * Every request carries a trace id of the form lt-N, which the notification text repeats.
+ */
+final class AlertTracker {
+    static final String TRACE_PREFIX = "lt-";
+    private static final Pattern TRACE_ID = Pattern.compile(TRACE_PREFIX + "(\\d+)");
+
+    private final ConcurrentMap<Long, Long> sentNanos = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Latencies> latencies = new ConcurrentHashMap<>();
+
+    void sent(long id, long nanos) {
+        sentNanos.put(id, nanos);
+    }
+
+    void received(String channel, String body) {
+        long now = System.nanoTime();
+        Matcher matcher = TRACE_ID.matcher(body);
+        if (!matcher.find()) {
+            return;
+        }
+        Long sent = sentNanos.get(Long.parseLong(matcher.group(1)));
+        if (sent != null) {
+            latencies.computeIfAbsent(channel, key -> new Latencies()).record(now - sent);
+        }
+    }
+
+    void reset() {
+        sentNanos.clear();
+        latencies.clear();
+    }
+
+    Map<String, Latencies> getLatencies() {
+        return new TreeMap<>(latencies);
+    }
+}
@@ -0,0 +1,22 @@
+package com.nolimit35.springkit.loadtest;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller flooded by the harness, every call to /fail throws
+ */
+@RestController
+public class FailingController {
+
+    @GetMapping("/ok")
+    public String ok() {
+        return "ok";
+    }
+
+    @GetMapping("/fail")
+    public String fail(@RequestParam("key") String key) {
+        throw new IllegalStateException("load test failure " + key);
+    }
+}
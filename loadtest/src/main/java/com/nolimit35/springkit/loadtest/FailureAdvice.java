@@ -0,0 +1,19 @@
+package com.nolimit35.springkit.loadtest;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Answers failures with 500, as an application's own handler would, instead of logging them through the container
+ * The starter's aspect still sees every exception before this advice.
+ */
+@RestControllerAdvice
+public class FailureAdvice {
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handle(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+    }
+}
@@ -0,0 +1,46 @@
+package com.nolimit35.springkit.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Thread-safe collection of latency samples in nanoseconds, summarized as percentiles
+ */
+final class Latencies {
+    private long[] samples = new long[1024];
+    private int size;
+
+    synchronized void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    synchronized void reset() {
+        size = 0;
+    }
+
+    synchronized int count() {
+        return size;
+    }
+
+    /**
+     * Summarize the samples in milliseconds
+     *
+     * @return "n=.. p50=.. p90=.. p99=.. max=.." or "n=0"
+     */
+    synchronized String summary() {
+        if (size == 0) {
+            return "n=0";
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return String.format("n=%d p50=%.2f p90=%.2f p99=%.2f max=%.2f", size,
+                millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99), sorted[size - 1] / 1e6);
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
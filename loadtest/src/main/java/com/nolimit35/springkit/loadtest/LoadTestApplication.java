@@ -0,0 +1,16 @@
+package com.nolimit35.springkit.loadtest;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Application under load
+ */
+@SpringBootApplication
+public class LoadTestApplication {
+
+    @Bean
+    LoadTestMetrics loadTestMetrics() {
+        return new LoadTestMetrics();
+    }
+}
@@ -0,0 +1,277 @@
+package com.nolimit35.springkit.loadtest;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test of the starter
+ * Starts stand-in servers for DingTalk, Feishu, WeChat Work, the GitHub API and the AI compression endpoint,
+ * runs the Spring Boot application against them and floods a failing controller. Reports the time the pipeline
+ * adds to the request thread, the end-to-end alert latency per channel, delivered and dropped counts and heap usage.
+ * <pre>
+ * java -jar target/loadtest.jar --load.threads=32 --load.duration-seconds=30 --load.distinct-keys=16 \
+ *     --mock.latency-ms=50 --mock.error-rate=0.05 --mock.github.rate-limit=20
+ * </pre>
+ * Options of a single stand-in (dingtalk, feishu, wechatwork, github, ai) override the mock.* defaults.
+ * Any other argument, e.g. --exception.notify.enrichment.timeout-millis=500, is passed to the application.
+ */
+public final class LoadTestHarness {
+
+    private static final String[] MOCKS = {"dingtalk", "feishu", "wechatwork", "github", "ai"};
+    private static final List<String> WEBHOOKS = Arrays.asList("dingtalk", "feishu", "wechatwork");
+
+    private static final String GRAPHQL_RESPONSE = "{\"data\":{\"repository\":{"
+            + "\"object\":{\"text\":\"package com.nolimit35.springkit.loadtest;\\n\",\"isTruncated\":false},"
+            + "\"ref\":{\"target\":{\"blame\":{\"ranges\":[{\"startingLine\":1,\"endingLine\":100000,\"commit\":{"
+            + "\"author\":{\"name\":\"Load Test\",\"email\":\"loadtest@example.com\",\"date\":\"2024-01-01T00:00:00Z\"},"
+            + "\"committer\":{\"date\":\"2024-01-01T00:00:00Z\"},\"message\":\"Load test commit\"}}]}}}}}}";
+
+    private final SimpleCommandLinePropertySource options;
+    private final AlertTracker alertTracker = new AlertTracker();
+    private final Map<String, MockServer> mocks = new LinkedHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong requestErrors = new AtomicLong();
+    private final Latencies requestLatencies = new Latencies();
+    private volatile long maxHeapUsed;
+
+    private LoadTestHarness(String[] args) {
+        this.options = new SimpleCommandLinePropertySource(args);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestHarness(args).run(args);
+        System.exit(0);
+    }
+
+    private void run(String[] args) throws Exception {
+        long seed = longOption("load.seed", 42);
+        int threads = (int) longOption("load.threads", 32);
+        long warmupSeconds = longOption("load.warmup-seconds", 5);
+        long durationSeconds = longOption("load.duration-seconds", 30);
+        long drainSeconds = longOption("load.drain-seconds", 5);
+        int distinctKeys = (int) longOption("load.distinct-keys", 16);
+
+        startMocks(seed);
+        ServletWebServerApplicationContext context = (ServletWebServerApplicationContext)
+                SpringApplication.run(LoadTestApplication.class, applicationArgs(args));
+        LoadTestMetrics metrics = context.getBean(LoadTestMetrics.class);
+        String baseUrl = "http://127.0.0.1:" + context.getWebServer().getPort();
+
+        Thread heapSampler = startHeapSampler();
+        try {
+            // Warm-up uses its own keys, so the measured phase is not deduplicated against it
+            flood(baseUrl, threads, warmupSeconds, distinctKeys, "warmup-", seed);
+            metrics.reset();
+            alertTracker.reset();
+            requestLatencies.reset();
+            requestErrors.set(0);
+            mocks.values().forEach(MockServer::resetCounters);
+
+            System.gc();
+            maxHeapUsed = 0;
+            long[] gcBefore = gcTotals();
+            long sent = flood(baseUrl, threads, durationSeconds, distinctKeys, "key-", seed);
+            Thread.sleep(drainSeconds * 1000);
+            long[] gcAfter = gcTotals();
+
+            System.gc();
+            long heapAfterGc = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            report(threads, durationSeconds, distinctKeys, sent, metrics,
+                    gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1], heapAfterGc);
+        } finally {
+            heapSampler.interrupt();
+            context.close();
+            mocks.values().forEach(MockServer::stop);
+        }
+    }
+
+    private void startMocks(long seed) throws IOException {
+        for (int i = 0; i < MOCKS.length; i++) {
+            String name = MOCKS[i];
+            MockServer.Behaviour behaviour = new MockServer.Behaviour(
+                    longOption("mock." + name + ".latency-ms", longOption("mock.latency-ms", 20)),
+                    doubleOption("mock." + name + ".error-rate", doubleOption("mock.error-rate", 0)),
+                    (int) longOption("mock." + name + ".rate-limit", longOption("mock.rate-limit", 0)));
+            Consumer<String> listener = WEBHOOKS.contains(name) ? body -> alertTracker.received(name, body) : body -> { };
+            MockServer server = new MockServer(name, behaviour, seed + i, path -> respond(name, path), listener);
+            server.start();
+            mocks.put(name, server);
+        }
+    }
+
+    private static String respond(String mock, String path) {
+        switch (mock) {
+            case "github":
+                // Blame and blob come from GraphQL, the REST fallback for large files is not served
+                return path.endsWith("/graphql") ? GRAPHQL_RESPONSE : null;
+            case "ai":
+                return path.endsWith("/api/compress") ? "{\"code\":0,\"data\":\"loadtest-token\"}" : null;
+            case "feishu":
+                return "{\"code\":0,\"msg\":\"success\"}";
+            default:
+                return "{\"errcode\":0,\"errmsg\":\"ok\"}";
+        }
+    }
+
+    /**
+     * Point the application at the stand-in servers, unless the same property is given on the command line
+     */
+    private String[] applicationArgs(String[] args) {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("exception.notify.dingtalk.webhook", mocks.get("dingtalk").getBaseUrl() + "/robot/send?access_token=load");
+        defaults.put("exception.notify.feishu.webhook", mocks.get("feishu").getBaseUrl() + "/open-apis/bot/v2/hook/load");
+        defaults.put("exception.notify.wechatwork.webhook", mocks.get("wechatwork").getBaseUrl() + "/cgi-bin/webhook/send?key=load");
+        defaults.put("exception.notify.github.base-url", mocks.get("github").getBaseUrl());
+        defaults.put("exception.notify.ai.analysis-page-url", mocks.get("ai").getBaseUrl());
+
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--load.") && !arg.startsWith("--mock.")) {
+                applicationArgs.add(arg);
+            }
+        }
+        defaults.forEach((key, value) -> {
+            if (!options.containsProperty(key)) {
+                applicationArgs.add("--" + key + "=" + value);
+            }
+        });
+        return applicationArgs.toArray(new String[0]);
+    }
+
+    /**
+     * Call the failing endpoint from several threads for a fixed time
+     *
+     * @return number of requests sent
+     */
+    private long flood(String baseUrl, int threads, long seconds, int distinctKeys, String keyPrefix, long seed)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        AtomicLong sent = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(seed * 31 + t);
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        long id = sequence.incrementAndGet();
+                        String key = keyPrefix + random.nextInt(distinctKeys);
+                        long start = System.nanoTime();
+                        alertTracker.sent(id, start);
+                        callFailingEndpoint(baseUrl, key, id);
+                        requestLatencies.record(System.nanoTime() - start);
+                        sent.incrementAndGet();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + t);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+        return sent.get();
+    }
+
+    private void callFailingEndpoint(String baseUrl, String key, long id) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(baseUrl + "/fail?key=" + key).openConnection();
+            connection.setRequestProperty("X-Trace-Id", AlertTracker.TRACE_PREFIX + id);
+            int status = connection.getResponseCode();
+            InputStream body = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+            if (body != null) {
+                // Drain the body so the connection is kept alive
+                try (InputStream in = body) {
+                    byte[] buffer = new byte[4096];
+                    while (in.read(buffer) != -1) {
+                        // discard
+                    }
+                }
+            }
+            if (status != 500) {
+                requestErrors.incrementAndGet();
+            }
+        } catch (IOException e) {
+            requestErrors.incrementAndGet();
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private Thread startHeapSampler() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                maxHeapUsed = Math.max(maxHeapUsed, memory.getHeapMemoryUsage().getUsed());
+                LockSupport.parkNanos(100_000_000L);
+            }
+        }, "heap-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+        return sampler;
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[]{count, millis};
+    }
+
+    private void report(int threads, long durationSeconds, int distinctKeys, long sent, LoadTestMetrics metrics,
+                        long gcCount, long gcMillis, long heapAfterGc) {
+        System.out.println();
+        System.out.println("== Exception Notify load test ==");
+        System.out.printf("threads=%d duration=%ds distinctKeys=%d%n", threads, durationSeconds, distinctKeys);
+        System.out.println("Stand-in servers:");
+        for (MockServer mock : mocks.values()) {
+            System.out.printf("  %-11s %s | requests=%d failed=%d rateLimited=%d%n", mock.getName(),
+                    mock.getBehaviour(), mock.getRequests(), mock.getFailed(), mock.getRateLimited());
+        }
+        System.out.printf("Requests:                  sent=%d (%.1f/s) unexpectedResponses=%d%n",
+                sent, sent / (double) durationSeconds, requestErrors.get());
+        System.out.println("Request latency (ms):      " + requestLatencies.summary());
+        System.out.println("Pipeline on request thread (ms): " + metrics.getProcessing().summary());
+        System.out.println("Alert latency end-to-end (ms):");
+        for (Map.Entry<String, Latencies> entry : alertTracker.getLatencies().entrySet()) {
+            System.out.printf("  %-11s %s%n", entry.getKey(), entry.getValue().summary());
+        }
+        System.out.println("Pipeline outcomes:         " + metrics.getOutcomes());
+        System.out.println("Dropped:                   " + metrics.getDropped());
+        System.out.printf("Heap (MB):                 maxUsed=%.1f afterGc=%.1f gcCount=%d gcTime=%dms%n",
+                maxHeapUsed / 1048576.0, heapAfterGc / 1048576.0, gcCount, gcMillis);
+    }
+
+    private long longOption(String name, long defaultValue) {
+        String value = options.getProperty(name);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+
+    private double doubleOption(String name, double defaultValue) {
+        String value = options.getProperty(name);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+}
@@ -0,0 +1,54 @@
+package com.nolimit35.springkit.loadtest;
+
+import com.nolimit35.springkit.metrics.ExceptionNotifyMetrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pipeline metrics collected by the harness in place of the Micrometer implementation
+ * The processing time is spent on the request thread, so it is the latency the starter adds to a failing request.
+ */
+class LoadTestMetrics implements ExceptionNotifyMetrics {
+    private final Latencies processing = new Latencies();
+    private final ConcurrentMap<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> dropped = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordProcessing(String exceptionType, String outcome, long nanos) {
+        processing.record(nanos);
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void recordDropped(String reason) {
+        dropped.computeIfAbsent(reason, key -> new LongAdder()).increment();
+    }
+
+    void reset() {
+        processing.reset();
+        outcomes.clear();
+        dropped.clear();
+    }
+
+    Latencies getProcessing() {
+        return processing;
+    }
+
+    Map<String, Long> getOutcomes() {
+        return snapshot(outcomes);
+    }
+
+    Map<String, Long> getDropped() {
+        return snapshot(dropped);
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((key, value) -> snapshot.put(key, value.sum()));
+        return snapshot;
+    }
+}
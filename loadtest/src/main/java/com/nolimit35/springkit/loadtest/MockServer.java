@@ -0,0 +1,191 @@
+package com.nolimit35.springkit.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Local stand-in for a remote HTTP API, with configurable latency, error rate and rate limit
+ * Requests over the rate limit are answered with 429, failed requests with 500, all others with the body
+ * produced by the responder.
+ */
+final class MockServer {
+
+    /**
+     * Behaviour of a stand-in server
+     */
+    static final class Behaviour {
+        final long latencyMillis;
+        final double errorRate;
+        final int rateLimitPerSecond;
+
+        Behaviour(long latencyMillis, double errorRate, int rateLimitPerSecond) {
+            this.latencyMillis = latencyMillis;
+            this.errorRate = errorRate;
+            this.rateLimitPerSecond = rateLimitPerSecond;
+        }
+
+        @Override
+        public String toString() {
+            return "latency=" + latencyMillis + "ms, errorRate=" + errorRate
+                    + ", rateLimit=" + (rateLimitPerSecond > 0 ? rateLimitPerSecond + "/s" : "none");
+        }
+    }
+
+    private final String name;
+    private final Behaviour behaviour;
+    private final Function<String, String> responder;
+    private final Consumer<String> listener;
+    private final Random random;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong windowStart = new AtomicLong();
+    private final AtomicInteger windowCount = new AtomicInteger();
+
+    /**
+     * Create a stand-in server on an ephemeral port of the loopback interface
+     *
+     * @param name name used in the report
+     * @param behaviour latency, error rate and rate limit
+     * @param seed seed of the error decisions
+     * @param responder produces the response body of a successful request from the request body
+     * @param listener receives the body of every successful request
+     * @throws IOException if the server cannot be bound
+     */
+    MockServer(String name, Behaviour behaviour, long seed, Function<String, String> responder,
+               Consumer<String> listener) throws IOException {
+        this.name = name;
+        this.behaviour = behaviour;
+        this.responder = responder;
+        this.listener = listener;
+        this.random = new Random(seed);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "mock-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Behaviour getBehaviour() {
+        return behaviour;
+    }
+
+    String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long getRequests() {
+        return requests.get();
+    }
+
+    long getFailed() {
+        return failed.get();
+    }
+
+    long getRateLimited() {
+        return rateLimited.get();
+    }
+
+    void resetCounters() {
+        requests.set(0);
+        failed.set(0);
+        rateLimited.set(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            String requestBody = read(exchange.getRequestBody());
+            if (behaviour.latencyMillis > 0) {
+                Thread.sleep(behaviour.latencyMillis);
+            }
+
+            if (overRateLimit()) {
+                rateLimited.incrementAndGet();
+                respond(exchange, 429, "{\"code\":429,\"message\":\"rate limited\"}");
+            } else if (behaviour.errorRate > 0 && random.nextDouble() < behaviour.errorRate) {
+                failed.incrementAndGet();
+                respond(exchange, 500, "{\"code\":500,\"message\":\"injected failure\"}");
+            } else {
+                String responseBody = responder.apply(exchange.getRequestURI().getPath());
+                if (responseBody == null) {
+                    respond(exchange, 404, "{\"message\":\"Not Found\"}");
+                    return;
+                }
+                listener.accept(requestBody);
+                respond(exchange, 200, responseBody);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Fixed one second window, shared by all connections
+     */
+    private boolean overRateLimit() {
+        if (behaviour.rateLimitPerSecond <= 0) {
+            return false;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        long current = windowStart.get();
+        if (current != second && windowStart.compareAndSet(current, second)) {
+            windowCount.set(0);
+        }
+        return windowCount.incrementAndGet() > behaviour.rateLimitPerSecond;
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}